@@ -48,6 +48,8 @@ public interface CacheProvider
 
     <V> Cache<V> createAnalyticsCache();
 
+    <V> Cache<V> createAnalyticsSubQueryCache();
+
     <V> Cache<V> createDefaultObjectCache();
 
     <V> Cache<V> createIsDataApprovedCache();
@@ -100,6 +102,8 @@ public interface CacheProvider
 
     <V> Cache<V> createProgramRuleVariablesCache();
 
+    <V> Cache<V> createProgramRuleEngineContextCache();
+
     <V> Cache<V> createUserGroupNameCache();
 
     <V> Cache<V> createUserDisplayNameCache();
@@ -31,5 +31,6 @@ public enum CacheType
 {
     NONE,
     IN_MEMORY,
-    REDIS;
+    REDIS,
+    TWO_TIER;
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.common;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * Position in a result ordered by last updated date and id, both descending,
+ * used for keyset (seek) paging. The next page is selected with a
+ * {@code (lastUpdated, id) < (cursor.lastUpdated, cursor.id)} condition
+ * instead of an offset, so that the cost of fetching a page does not depend on
+ * how deep into the result it is.
+ * <p>
+ * Cursors are handed to clients as opaque tokens, see {@link #encode()} and
+ * {@link #decode(String)}.
+ */
+@Value
+@RequiredArgsConstructor( access = AccessLevel.PRIVATE )
+public class PageCursor
+{
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Last updated date of the last item of the previous page. Kept with the
+     * full precision of the database timestamp, as rows updated within the
+     * same millisecond would be skipped otherwise.
+     */
+    Instant lastUpdated;
+
+    /**
+     * Id of the last item of the previous page.
+     */
+    long id;
+
+    /**
+     * Creates a cursor. The last updated date should be a
+     * {@link java.sql.Timestamp} as read from the database to retain its full
+     * precision.
+     *
+     * @param lastUpdated the last updated date of the last item of the page.
+     * @param id the id of the last item of the page.
+     * @return the cursor.
+     */
+    public static PageCursor of( Date lastUpdated, long id )
+    {
+        return new PageCursor( lastUpdated.toInstant(), id );
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL safe token.
+     *
+     * @return the token.
+     */
+    public String encode()
+    {
+        String value = lastUpdated.getEpochSecond() + SEPARATOR + lastUpdated.getNano() + SEPARATOR + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString( value.getBytes( UTF_8 ) );
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param token the token.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the token is not a valid cursor.
+     */
+    public static PageCursor decode( String token )
+    {
+        try
+        {
+            String[] parts = new String( Base64.getUrlDecoder().decode( token ), UTF_8 ).split( SEPARATOR );
+
+            if ( parts.length == 3 )
+            {
+                Instant lastUpdated = Instant.ofEpochSecond( Long.parseLong( parts[0] ), Long.parseLong( parts[1] ) );
+
+                return new PageCursor( lastUpdated, Long.parseLong( parts[2] ) );
+            }
+        }
+        catch ( IllegalArgumentException | ArithmeticException | DateTimeException ex )
+        {
+            // Not base 64, not numeric or out of range, rejected below
+        }
+
+        throw new IllegalArgumentException( "Invalid page cursor: " + token );
+    }
+}
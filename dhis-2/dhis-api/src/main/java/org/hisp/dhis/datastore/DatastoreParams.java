@@ -56,4 +56,6 @@ public final class DatastoreParams
     String order = "_";
 
     String filter;
+
+    String after;
 }
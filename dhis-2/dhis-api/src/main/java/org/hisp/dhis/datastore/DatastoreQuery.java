@@ -107,6 +107,19 @@ public final class DatastoreQuery
     @Builder.Default
     private final Order order = KEY_ASC;
 
+    /**
+     * When set the result starts with the entry following the entry with this
+     * key in the {@link #order} (keyset paging) instead of skipping the entries
+     * of previous pages.
+     */
+    private final String after;
+
+    /**
+     * True, when the namespace has declared {@link DatastoreIndex}es. Set when
+     * a query is planned so that the query can make use of the indexes.
+     */
+    private final boolean indexed;
+
     public enum Direction
     {
         ASC,
@@ -341,6 +354,7 @@ public final class DatastoreQuery
             .page( pageNo )
             .pageSize( size )
             .filters( parseFilters( getFilters( params.getFilter() ) ) )
+            .after( params.getAfter() )
             .build();
     }
 
@@ -177,4 +177,47 @@ public interface DatastoreService
      */
     void deleteNamespace( String namespace );
 
+    /**
+     * Retrieves the paths indexed in a namespace.
+     *
+     * @param namespace the namespace to retrieve index paths from
+     * @return the indexed paths of the namespace
+     * @throws AccessDeniedException when user lacks authority for namespace
+     */
+    List<String> getIndexedPaths( String namespace );
+
+    /**
+     * Creates the {@link DatastoreIndex} of a path in a namespace.
+     *
+     * @param namespace the namespace to index
+     * @param path the path within the entry values to index
+     * @return the index with the normalised path
+     * @throws IllegalQueryException when the path is not valid
+     * @throws AccessDeniedException when user is not a superuser
+     */
+    DatastoreIndex createIndex( String namespace, String path );
+
+    /**
+     * Builds the indexes on the values at the path of an index for the entries
+     * of its namespace and then declares the index, so that queries filtering
+     * on the path use the indexes from then on.
+     * <p>
+     * Entries can be written while the indexes are built. Building takes long
+     * for large namespaces and must not run within a transaction, hence this
+     * is run as a job.
+     *
+     * @param index the index as created by
+     *        {@link #createIndex(String, String)}
+     */
+    void addIndex( DatastoreIndex index );
+
+    /**
+     * Removes the declaration of an index added with
+     * {@link #addIndex(DatastoreIndex)} and drops its indexes. Like adding an
+     * index this must not run within a transaction.
+     *
+     * @param index the index as created by
+     *        {@link #createIndex(String, String)}
+     */
+    void removeIndex( DatastoreIndex index );
 }
@@ -113,4 +113,46 @@ public interface DatastoreStore
      * @return number of entries in the given namespace.
      */
     int countKeysInNamespace( String namespace );
+
+    /**
+     * Retrieves the paths for which a {@link DatastoreIndex} is declared in the
+     * given namespace.
+     *
+     * @param namespace the namespace to retrieve index paths from
+     * @return the indexed paths in the namespace
+     */
+    List<String> getIndexedPaths( String namespace );
+
+    /**
+     * Creates the partial expression indexes on the values at the path of
+     * entries in the namespace of a {@link DatastoreIndex}. The indexes are
+     * built concurrently so that entries can be written meanwhile, which
+     * requires that this is not called within a transaction.
+     *
+     * @param index the namespace and path to index
+     */
+    void createIndex( DatastoreIndex index );
+
+    /**
+     * Drops the partial expression indexes of a {@link DatastoreIndex}. Like
+     * {@link #createIndex(DatastoreIndex)} this must not be called within a
+     * transaction.
+     *
+     * @param index the namespace and path no longer to index
+     */
+    void dropIndex( DatastoreIndex index );
+
+    /**
+     * Declares a {@link DatastoreIndex} once its indexes exist.
+     *
+     * @param index the indexed namespace and path
+     */
+    void saveIndex( DatastoreIndex index );
+
+    /**
+     * Removes the declaration of a {@link DatastoreIndex}.
+     *
+     * @param index the namespace and path no longer to index
+     */
+    void deleteIndex( DatastoreIndex index );
 }
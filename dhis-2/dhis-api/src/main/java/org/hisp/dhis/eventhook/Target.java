@@ -71,4 +71,11 @@ public abstract class Target
 
     @JsonProperty
     protected final String type;
+
+    /**
+     * Identifies the target within its event hook independent of its position
+     * in the list of targets. Assigned when the event hook is saved.
+     */
+    @JsonProperty
+    protected String id;
 }
@@ -67,6 +67,13 @@ public class WebhookTarget extends Target
     @JsonProperty
     private Auth auth;
 
+    /**
+     * When true, the events delivered together are posted as a single JSON
+     * array instead of one request per event.
+     */
+    @JsonProperty
+    private boolean batch;
+
     public WebhookTarget()
     {
         super( TYPE );
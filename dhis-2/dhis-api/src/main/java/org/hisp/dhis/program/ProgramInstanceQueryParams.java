@@ -38,6 +38,7 @@ import lombok.experimental.Accessors;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
+import org.hisp.dhis.common.PageCursor;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.trackedentity.TrackedEntityType;
 import org.hisp.dhis.user.User;
@@ -132,6 +133,18 @@ public class ProgramInstanceQueryParams
      */
     private boolean skipPaging;
 
+    /**
+     * Indicates whether to use keyset paging on last updated date and id
+     * instead of page numbers.
+     */
+    private boolean cursorPaging;
+
+    /**
+     * Position after which the page starts when using keyset paging, null for
+     * the first page.
+     */
+    private PageCursor cursor;
+
     /**
      * Indicates whether to include soft-deleted enrollments
      */
@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.program.notification;
 
+import java.util.Date;
 import java.util.List;
 
 import org.hisp.dhis.common.IdentifiableObjectStore;
@@ -42,4 +43,16 @@ public interface ProgramNotificationInstanceStore
         ProgramNotificationInstanceParam programNotificationInstanceParam );
 
     Long countProgramNotificationInstances( ProgramNotificationInstanceParam params );
+
+    /**
+     * Returns the instances scheduled between the given dates which were not
+     * sent yet, ordered by ID. Pages are read by passing the ID of the last
+     * instance of the previous page.
+     *
+     * @param from the inclusive start of the schedule period
+     * @param to the exclusive end of the schedule period
+     * @param afterId only instances with a greater ID are returned
+     * @param max the maximum number of instances to return
+     */
+    List<ProgramNotificationInstance> getUnsentScheduledInstances( Date from, Date to, long afterId, int max );
 }
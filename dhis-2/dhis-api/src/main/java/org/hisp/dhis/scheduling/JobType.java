@@ -34,6 +34,7 @@ import org.hisp.dhis.scheduling.parameters.AnalyticsJobParameters;
 import org.hisp.dhis.scheduling.parameters.ContinuousAnalyticsJobParameters;
 import org.hisp.dhis.scheduling.parameters.DataIntegrityJobParameters;
 import org.hisp.dhis.scheduling.parameters.DataSynchronizationJobParameters;
+import org.hisp.dhis.scheduling.parameters.DatastoreIndexJobParameters;
 import org.hisp.dhis.scheduling.parameters.DisableInactiveUsersJobParameters;
 import org.hisp.dhis.scheduling.parameters.EventProgramsDataSynchronizationJobParameters;
 import org.hisp.dhis.scheduling.parameters.LockExceptionCleanupJobParameters;
@@ -120,6 +121,7 @@ public enum JobType
         DisableInactiveUsersJobParameters.class, null ),
     ACCOUNT_EXPIRY_ALERT( false ),
     SYSTEM_VERSION_UPDATE_CHECK( false ),
+    DATASTORE_INDEX( false, SchedulingType.CRON, DatastoreIndexJobParameters.class, null ),
 
     // Testing purposes
     TEST( true, SchedulingType.CRON, TestJobParameters.class, null ),
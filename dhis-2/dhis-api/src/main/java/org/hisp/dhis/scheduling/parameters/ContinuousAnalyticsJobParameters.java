@@ -66,6 +66,14 @@ public class ContinuousAnalyticsJobParameters implements JobParameters
     @JsonProperty
     private Set<AnalyticsTableType> skipTableTypes = new HashSet<>();
 
+    /**
+     * Whether the latest analytics partition update should merge updated data
+     * into the existing yearly partitions instead of rebuilding all data
+     * updated since the last full analytics table update.
+     */
+    @JsonProperty
+    private boolean incrementalUpdate = false;
+
     public ContinuousAnalyticsJobParameters( Integer fullUpdateHourOfDay, Integer lastYears,
         Set<AnalyticsTableType> skipTableTypes )
     {
@@ -33,6 +33,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.hisp.dhis.common.DxfNamespaces;
 import org.hisp.dhis.common.EmbeddedObject;
@@ -85,6 +87,18 @@ public class Property implements Ordered, Klass
      */
     private Method setterMethod;
 
+    /**
+     * Generated accessor calling {@link #getterMethod} without reflection, null
+     * if none could be generated.
+     */
+    private Function<Object, Object> getterAccessor;
+
+    /**
+     * Generated accessor calling {@link #setterMethod} without reflection, null
+     * if none could be generated.
+     */
+    private BiConsumer<Object, Object> setterAccessor;
+
     /**
      * Name for this property, if this class is a collection, it is the name of
      * the items -inside- the collection and not the collection wrapper itself.
@@ -391,6 +405,26 @@ public class Property implements Ordered, Klass
         this.setterMethod = setterMethod;
     }
 
+    public Function<Object, Object> getGetterAccessor()
+    {
+        return getterAccessor;
+    }
+
+    public void setGetterAccessor( Function<Object, Object> getterAccessor )
+    {
+        this.getterAccessor = getterAccessor;
+    }
+
+    public BiConsumer<Object, Object> getSetterAccessor()
+    {
+        return setterAccessor;
+    }
+
+    public void setSetterAccessor( BiConsumer<Object, Object> setterAccessor )
+    {
+        this.setterAccessor = setterAccessor;
+    }
+
     @JsonProperty
     @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
     public String getName()
@@ -27,15 +27,53 @@
  */
 package org.hisp.dhis.sms;
 
+import java.util.concurrent.TimeUnit;
+
 import org.hisp.dhis.sms.incoming.IncomingSms;
 
+/**
+ * Queue of incoming SMS waiting to be processed. The queue is split into
+ * partitions by originator so that messages of the same sender are processed
+ * in order while different senders are processed concurrently.
+ */
 public interface MessageQueue
 {
+    /**
+     * Adds the message to the partition of its originator. Messages which are
+     * already queued are ignored. Messages which do not fit are left in the
+     * database and are queued by {@link #recover()}.
+     */
     void put( IncomingSms message );
 
-    IncomingSms get();
+    /**
+     * Waits up to the given time for the next message of the given partition.
+     *
+     * @return the next message or null if none arrived in time
+     */
+    IncomingSms get( int partition, long timeout, TimeUnit unit )
+        throws InterruptedException;
 
+    /**
+     * Marks the message as processed so that it is no longer considered
+     * queued.
+     */
     void remove( IncomingSms message );
 
+    int getPartitionCount();
+
+    /**
+     * @return the number of messages waiting to be processed
+     */
+    int size();
+
+    /**
+     * Queues all unparsed messages stored in the database.
+     */
     void initialize();
+
+    /**
+     * Queues the unprocessed messages stored in the database if messages were
+     * left out because the queue was full.
+     */
+    void recover();
 }
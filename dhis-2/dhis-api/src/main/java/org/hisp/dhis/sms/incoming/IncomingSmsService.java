@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.sms.incoming;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -41,6 +42,11 @@ public interface IncomingSmsService
 
     void update( IncomingSms sms );
 
+    /**
+     * Updates the given messages in a single transaction.
+     */
+    void updateAll( Collection<IncomingSms> messages );
+
     IncomingSms get( long id );
 
     IncomingSms get( String uid );
@@ -63,4 +69,11 @@ public interface IncomingSmsService
         boolean hasPagination );
 
     List<IncomingSms> getAllUnparsedMessages();
+
+    /**
+     * Returns the oldest messages which have not been processed yet.
+     *
+     * @param max the maximum number of messages to return
+     */
+    List<IncomingSms> getUnprocessedMessages( int max );
 }
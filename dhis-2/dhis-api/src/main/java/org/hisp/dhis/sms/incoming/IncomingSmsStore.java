@@ -48,4 +48,6 @@ public interface IncomingSmsStore extends IdentifiableObjectStore<IncomingSms>
     List<IncomingSms> getSmsByOriginator( String originator );
 
     List<IncomingSms> getAllUnparsedMessages();
+
+    List<IncomingSms> getUnprocessedMessages( int max );
 }
@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.sqlview;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -90,6 +92,25 @@ public interface SqlViewService
     Grid getSqlViewGrid( SqlView sqlView, Map<String, String> criteria, Map<String, String> variables,
         List<String> filters, List<String> fields );
 
+    /**
+     * Writes the SQL view as an Excel (.xlsx) workbook to the given output
+     * stream. Rows are written to the workbook as they are read from the
+     * database and are not collected in a grid. Checks if the SQL query is
+     * valid.
+     *
+     * @param sqlView the SQL view to render.
+     * @param criteria the criteria on the format key:value, will be applied as
+     *        criteria on the SQL result set.
+     * @param variables the variables on the format key:value, will be
+     *        substituted with variables inside the SQL view.
+     * @param out the output stream to write the workbook to.
+     * @throws IOException if writing to the output stream fails.
+     * @throws {@link IllegalQueryException} if the SQL query is invalid.
+     */
+    void writeSqlViewXlsx( SqlView sqlView, Map<String, String> criteria, Map<String, String> variables,
+        List<String> filters, List<String> fields, OutputStream out )
+        throws IOException;
+
     /**
      * Validates the given SQL view. Checks include:
      *
@@ -27,6 +27,9 @@
  */
 package org.hisp.dhis.sqlview;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.IdentifiableObjectStore;
 
@@ -43,5 +46,12 @@ public interface SqlViewStore extends IdentifiableObjectStore<SqlView>
 
     void populateSqlViewGrid( Grid grid, String sql );
 
+    /**
+     * Adds the headers of the result of the given SQL query to the given grid
+     * and hands each row to the given consumer as it is read, without adding
+     * the rows to the grid.
+     */
+    void populateSqlViewGrid( Grid grid, String sql, Consumer<List<Object>> rowConsumer );
+
     boolean refreshMaterializedView( SqlView sqlView );
 }
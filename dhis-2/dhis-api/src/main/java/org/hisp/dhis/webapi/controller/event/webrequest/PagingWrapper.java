@@ -35,6 +35,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.Getter;
 
+import org.hisp.dhis.common.CursorPager;
+
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -101,8 +103,23 @@ public class PagingWrapper<T>
         @JsonProperty
         private String prevPage;
 
+        /**
+         * Cursor of the next page when using keyset paging.
+         */
+        @JsonProperty
+        private String nextCursor;
+
         public static Pager fromLegacy( PagingCriteria pagingCriteria, org.hisp.dhis.common.Pager pager )
         {
+            if ( pager instanceof CursorPager )
+            {
+                return Pager.builder()
+                    .page( null )
+                    .pageSize( pager.getPageSize() )
+                    .nextCursor( ((CursorPager) pager).getNextCursor() )
+                    .build();
+            }
+
             return Pager.builder()
                 .prevPage( pager.getPrevPage() )
                 .page( pager.getPage() )
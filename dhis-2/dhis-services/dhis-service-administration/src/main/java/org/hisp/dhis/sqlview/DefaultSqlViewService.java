@@ -33,6 +33,8 @@ import static org.hisp.dhis.sqlview.SqlView.STANDARD_VARIABLES;
 import static org.hisp.dhis.sqlview.SqlView.getInvalidQueryParams;
 import static org.hisp.dhis.sqlview.SqlView.getInvalidQueryValues;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +55,7 @@ import org.hisp.dhis.jdbc.StatementBuilder;
 import org.hisp.dhis.query.QueryParserException;
 import org.hisp.dhis.query.QueryUtils;
 import org.hisp.dhis.security.acl.AclService;
+import org.hisp.dhis.system.grid.GridWorkbookWriter;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.hisp.dhis.user.CurrentUserService;
 import org.hisp.dhis.user.User;
@@ -194,6 +197,46 @@ public class DefaultSqlViewService
         return grid;
     }
 
+    @Override
+    @Transactional( readOnly = true )
+    public void writeSqlViewXlsx( SqlView sqlView, Map<String, String> criteria, Map<String, String> variables,
+        List<String> filters, List<String> fields, OutputStream out )
+        throws IOException
+    {
+        canAccess( sqlView );
+        validateSqlView( sqlView, criteria, variables );
+
+        Grid grid = new ListGrid();
+        grid.setTitle( sqlView.getName() );
+        grid.setSubtitle( sqlView.getDescription() );
+
+        log.info( String.format( "Streaming data for SQL view: '%s'", sqlView.getUid() ) );
+
+        String sql = sqlView.isQuery() ? getSqlForQuery( sqlView, criteria, variables, filters, fields )
+            : getSqlForView( sqlView, criteria, filters, fields );
+
+        try ( GridWorkbookWriter writer = GridWorkbookWriter.xlsx() )
+        {
+            // the sheet is started with the first row, once the store has
+            // added the headers of the result set to the grid
+            sqlViewStore.populateSqlViewGrid( grid, sql, row -> {
+                if ( !writer.hasSheet() )
+                {
+                    writer.startSheet( grid );
+                }
+
+                writer.addRow( row );
+            } );
+
+            if ( !writer.hasSheet() )
+            {
+                writer.startSheet( grid );
+            }
+
+            writer.write( out );
+        }
+    }
+
     private void canAccess( SqlView sqlView )
     {
         User currentUser = currentUserService.getCurrentUser();
@@ -90,6 +90,19 @@ public interface AnalyticsTableManager
         // NOOP by default
     }
 
+    /**
+     * Merges the data of the populated temporary "latest" partition into the
+     * existing yearly partitions for incremental updates. Expects that
+     * updated and deleted data has been removed through
+     * {@link #removeUpdatedData(List)}.
+     *
+     * @param tables tables to pick partitions from
+     */
+    default void mergeUpdatedData( List<AnalyticsTable> tables )
+    {
+        // NOOP by default
+    }
+
     /**
      * Attempts to drop and then create analytics table.
      *
@@ -57,6 +57,14 @@ public class AnalyticsTableUpdateParams
      */
     private Integer lastYears;
 
+    /**
+     * Indicates whether the data updated since the last successful analytics
+     * table update should be merged into the existing yearly partitions
+     * instead of replacing the "latest" partition. Only applies to updates of
+     * the "latest" partition.
+     */
+    private boolean incrementalUpdate;
+
     /**
      * Indicates whether to skip update of resource tables.
      */
@@ -171,6 +179,16 @@ public class AnalyticsTableUpdateParams
         return Objects.equals( lastYears, AnalyticsTablePartition.LATEST_PARTITION );
     }
 
+    /**
+     * Indicates whether this is an incremental update of the "latest" data,
+     * where updated and deleted rows are merged into the existing yearly
+     * partitions.
+     */
+    public boolean isIncrementalUpdate()
+    {
+        return incrementalUpdate && isLatestUpdate();
+    }
+
     // -------------------------------------------------------------------------
     // toString
     // -------------------------------------------------------------------------
@@ -180,6 +198,7 @@ public class AnalyticsTableUpdateParams
     {
         return MoreObjects.toStringHelper( this )
             .add( "last years", lastYears )
+            .add( "incremental update", incrementalUpdate )
             .add( "skip resource tables", skipResourceTables )
             .add( "skip table types", skipTableTypes )
             .add( "skip programs", skipPrograms )
@@ -223,6 +242,7 @@ public class AnalyticsTableUpdateParams
         AnalyticsTableUpdateParams params = new AnalyticsTableUpdateParams();
 
         params.lastYears = this.lastYears;
+        params.incrementalUpdate = this.incrementalUpdate;
         params.skipResourceTables = this.skipResourceTables;
         params.skipTableTypes = new HashSet<>( this.skipTableTypes );
         params.skipPrograms = new HashSet<>( this.skipPrograms );
@@ -272,6 +292,12 @@ public class AnalyticsTableUpdateParams
             return this;
         }
 
+        public Builder withIncrementalUpdate( boolean incrementalUpdate )
+        {
+            this.params.incrementalUpdate = incrementalUpdate;
+            return this;
+        }
+
         public Builder withSkipResourceTables( boolean skipResourceTables )
         {
             this.params.skipResourceTables = skipResourceTables;
@@ -651,6 +651,44 @@ public class DataQueryParams
         return getQueryKey().build();
     }
 
+    /**
+     * Returns a unique key representing this query including the properties
+     * assigned by the query planner, such as table name and period type. The
+     * key is suitable for caching the result of a single planned sub-query.
+     * Partitions are left out as they follow from the periods of the query.
+     */
+    public String getPlannedQueryKey()
+    {
+        return getQueryKey()
+            .addIgnoreNull( "tableName", tableName )
+            .addIgnoreNull( "dataType", dataType )
+            .addIgnoreNull( "valueColumn", valueColumn )
+            .addIgnoreNull( "queryModsId", queryModsId )
+            .addIgnoreNull( "periodType", periodType )
+            .addIgnoreNull( "dataPeriodType", dataPeriodType, () -> dataPeriodType.getName() )
+            .addIgnoreNull( "program", program, () -> program.getUid() )
+            .addIgnoreNull( "programStage", programStage, () -> programStage.getUid() )
+            .add( "orgUnitLevels", orgUnitLevels.stream()
+                .map( l -> String.valueOf( l.getLevel() ) ).collect( Collectors.joining( "," ) ) )
+            .add( "skipPartitioning", skipPartitioning )
+            .add( "timely", timely )
+            .add( "restrictByOrgUnitOpeningClosedDate", restrictByOrgUnitOpeningClosedDate )
+            .add( "dataApprovalLevels", getDataApprovalLevelsKey() )
+            .build();
+    }
+
+    /**
+     * Returns the user specific data approval levels as a sorted list of org
+     * unit UID and approval level pairs.
+     */
+    private String getDataApprovalLevelsKey()
+    {
+        return dataApprovalLevels == null ? "" : dataApprovalLevels.entrySet().stream()
+            .map( e -> e.getKey().getUid() + ":" + e.getValue() )
+            .sorted()
+            .collect( Collectors.joining( "," ) );
+    }
+
     /**
      * Returns a unique {@link QueryKey}.
      */
@@ -759,6 +797,15 @@ public class DataQueryParams
         return getDimensionIdentifiersAsList().indexOf( PERIOD_DIM_ID );
     }
 
+    /**
+     * Returns the index of the organisation unit dimension in the dimension
+     * map.
+     */
+    public int getOrgUnitDimensionIndex()
+    {
+        return getDimensionIdentifiersAsList().indexOf( ORGUNIT_DIM_ID );
+    }
+
     /**
      * Returns the dimensions which are part of dimensions and filters. If any
      * such dimensions exist this object is in an illegal state.
@@ -28,16 +28,29 @@
 package org.hisp.dhis.analytics.cache;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hisp.dhis.common.DimensionalObject.DIMENSION_SEP;
+import static org.hisp.dhis.common.DimensionalObject.ORGUNIT_DIM_ID;
+import static org.hisp.dhis.common.DimensionalObject.PERIOD_DIM_ID;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.SerializationUtils;
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.Grid;
 import org.springframework.stereotype.Component;
 
@@ -53,6 +66,8 @@ public class AnalyticsCache
 
     private Cache<Grid> queryCache;
 
+    private Cache<Map<String, Object>> subQueryCache;
+
     /**
      * Default constructor. Note that a default expiration time is set, as as
      * the TTL will always be overwritten during cache put operations.
@@ -64,6 +79,7 @@ public class AnalyticsCache
 
         this.analyticsCacheSettings = analyticsCacheSettings;
         this.queryCache = cacheProvider.createAnalyticsCache();
+        this.subQueryCache = cacheProvider.createAnalyticsSubQueryCache();
     }
 
     public Optional<Grid> get( String key )
@@ -116,17 +132,7 @@ public class AnalyticsCache
      */
     public void put( DataQueryParams params, Grid grid )
     {
-        if ( analyticsCacheSettings.isProgressiveCachingEnabled() )
-        {
-            // Uses the progressive TTL
-            put( params.getKey(), grid,
-                analyticsCacheSettings.progressiveExpirationTimeOrDefault( params.getLatestEndDate() ) );
-        }
-        else
-        {
-            // Respects the fixed (predefined) caching TTL
-            put( params.getKey(), grid, analyticsCacheSettings.fixedExpirationTimeOrDefault() );
-        }
+        put( params.getKey(), grid, getExpirationTime( params ) );
     }
 
     /**
@@ -142,12 +148,126 @@ public class AnalyticsCache
         queryCache.put( key, getGridClone( grid ), ttlInSeconds );
     }
 
+    /**
+     * Looks up the cells of a single planned sub-query, as run by the
+     * analytics manager for the given table type and max limit. A cell is the
+     * sub-query restricted to one period and one organisation unit of its
+     * period and organisation unit dimensions, so that sub-queries which
+     * overlap in periods or organisation units share the cells they have in
+     * common.
+     *
+     * @param params the planned DataQueryParams.
+     * @param tableType the {@link AnalyticsTableType}.
+     * @param maxLimit the max limit of records.
+     * @return the {@link CachedSubQuery} holding the data values of the cached
+     *         cells and the query for the missing cells.
+     */
+    public CachedSubQuery getSubQuery( DataQueryParams params, AnalyticsTableType tableType, int maxLimit )
+    {
+        String baseKey = getSubQueryBaseKey( params, tableType, maxLimit );
+
+        Map<String, Object> cachedValues = new HashMap<>();
+        Set<DimensionalItemObject> missingPeriods = new LinkedHashSet<>();
+        Set<DimensionalItemObject> missingOrgUnits = new LinkedHashSet<>();
+
+        for ( DimensionalItemObject period : getCellItems( params.getPeriodDimensionIndex(), params.getPeriods() ) )
+        {
+            for ( DimensionalItemObject orgUnit : getCellItems( params.getOrgUnitDimensionIndex(),
+                params.getOrganisationUnits() ) )
+            {
+                Optional<Map<String, Object>> values = subQueryCache
+                    .get( getCellKey( baseKey, getUid( period ), getUid( orgUnit ) ) );
+
+                if ( values.isPresent() )
+                {
+                    cachedValues.putAll( values.get() );
+                }
+                else
+                {
+                    missingPeriods.add( period );
+                    missingOrgUnits.add( orgUnit );
+                }
+            }
+        }
+
+        if ( missingPeriods.isEmpty() )
+        {
+            return new CachedSubQuery( cachedValues, null, tableType, maxLimit );
+        }
+
+        DataQueryParams.Builder missingQuery = DataQueryParams.newBuilder( params );
+
+        if ( params.getPeriodDimensionIndex() != -1 )
+        {
+            missingQuery.withDimensionOptions( PERIOD_DIM_ID, new ArrayList<>( missingPeriods ) );
+        }
+
+        if ( params.getOrgUnitDimensionIndex() != -1 )
+        {
+            missingQuery.withDimensionOptions( ORGUNIT_DIM_ID, new ArrayList<>( missingOrgUnits ) );
+        }
+
+        return new CachedSubQuery( cachedValues, missingQuery.build(), tableType, maxLimit );
+    }
+
+    /**
+     * Caches the data values returned for the missing query of the given
+     * sub-query, one entry per cell. Cells without data values are cached as
+     * empty. Nothing is cached if a data value cannot be assigned to a cell.
+     * The TTL is set in the same way as for the Grid of a full query.
+     *
+     * @param subQuery the {@link CachedSubQuery} with a missing query.
+     * @param values the map of data values returned for the missing query.
+     */
+    public void putSubQuery( CachedSubQuery subQuery, Map<String, Object> values )
+    {
+        DataQueryParams params = subQuery.getMissingQuery();
+
+        String baseKey = getSubQueryBaseKey( params, subQuery.getTableType(), subQuery.getMaxLimit() );
+
+        int periodIndex = params.getPeriodDimensionIndex();
+        int orgUnitIndex = params.getOrgUnitDimensionIndex();
+        int dimensionCount = params.getDimensions().size();
+
+        Map<String, Map<String, Object>> cells = new HashMap<>();
+
+        for ( DimensionalItemObject period : getCellItems( periodIndex, params.getPeriods() ) )
+        {
+            for ( DimensionalItemObject orgUnit : getCellItems( orgUnitIndex, params.getOrganisationUnits() ) )
+            {
+                cells.put( getCellKey( baseKey, getUid( period ), getUid( orgUnit ) ), new HashMap<>() );
+            }
+        }
+
+        for ( Map.Entry<String, Object> value : values.entrySet() )
+        {
+            String[] keyArray = value.getKey().split( DIMENSION_SEP );
+
+            Map<String, Object> cell = keyArray.length != dimensionCount ? null
+                : cells.get( getCellKey( baseKey, periodIndex == -1 ? null : keyArray[periodIndex],
+                    orgUnitIndex == -1 ? null : keyArray[orgUnitIndex] ) );
+
+            if ( cell == null )
+            {
+                log.debug( "Data value key '{}' does not match a sub-query cell, skipping cache", value.getKey() );
+                return;
+            }
+
+            cell.put( value.getKey(), value.getValue() );
+        }
+
+        long ttl = getExpirationTime( params );
+
+        cells.forEach( ( key, cell ) -> subQueryCache.put( key, cell, ttl ) );
+    }
+
     /**
      * Clears the current cache by removing all existing entries.
      */
     public void invalidateAll()
     {
         queryCache.invalidateAll();
+        subQueryCache.invalidateAll();
 
         log.info( "Analytics cache cleared" );
     }
@@ -157,6 +277,60 @@ public class AnalyticsCache
         return analyticsCacheSettings.isCachingEnabled();
     }
 
+    private long getExpirationTime( DataQueryParams params )
+    {
+        if ( analyticsCacheSettings.isProgressiveCachingEnabled() )
+        {
+            // Uses the progressive TTL
+            return analyticsCacheSettings.progressiveExpirationTimeOrDefault( params.getLatestEndDate() );
+        }
+        else
+        {
+            // Respects the fixed (predefined) caching TTL
+            return analyticsCacheSettings.fixedExpirationTimeOrDefault();
+        }
+    }
+
+    /**
+     * Returns the key of the given sub-query without its periods and
+     * organisation units, which are added per cell.
+     */
+    private String getSubQueryBaseKey( DataQueryParams params, AnalyticsTableType tableType, int maxLimit )
+    {
+        DataQueryParams.Builder base = DataQueryParams.newBuilder( params );
+
+        if ( params.getPeriodDimensionIndex() != -1 )
+        {
+            base.withDimensionOptions( PERIOD_DIM_ID, List.of() );
+        }
+
+        if ( params.getOrgUnitDimensionIndex() != -1 )
+        {
+            base.withDimensionOptions( ORGUNIT_DIM_ID, List.of() );
+        }
+
+        return tableType.name() + "-" + maxLimit + "-" + base.build().getPlannedQueryKey();
+    }
+
+    private String getCellKey( String baseKey, String period, String orgUnit )
+    {
+        return baseKey + "-" + Objects.toString( period, "" ) + "-" + Objects.toString( orgUnit, "" );
+    }
+
+    /**
+     * Returns the items of a dimension to split cells by, or a single null
+     * item if the dimension is not part of the query dimensions.
+     */
+    private List<DimensionalItemObject> getCellItems( int dimensionIndex, List<DimensionalItemObject> items )
+    {
+        return dimensionIndex == -1 ? Collections.singletonList( null ) : items;
+    }
+
+    private String getUid( DimensionalItemObject item )
+    {
+        return item == null ? null : item.getDimensionItem();
+    }
+
     private Grid getGridClone( Grid grid )
     {
         if ( grid != null )
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.cache;
+
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.DataQueryParams;
+
+/**
+ * Result of looking up a planned sub-query in the {@link AnalyticsCache}. The
+ * sub-query is split into cells, one for each combination of the periods and
+ * organisation units of its period and organisation unit dimensions. Holds the
+ * data values of the cells found in the cache and the query for the cells
+ * which are not.
+ */
+@Getter
+@RequiredArgsConstructor( access = AccessLevel.PACKAGE )
+public class CachedSubQuery
+{
+    /**
+     * The data values of the cells found in the cache.
+     */
+    private final Map<String, Object> cachedValues;
+
+    /**
+     * The query for the cells not found in the cache, or null if all cells are
+     * cached.
+     */
+    private final DataQueryParams missingQuery;
+
+    @Getter( AccessLevel.PACKAGE )
+    private final AnalyticsTableType tableType;
+
+    @Getter( AccessLevel.PACKAGE )
+    private final int maxLimit;
+
+    /**
+     * Indicates whether all cells of the sub-query were found in the cache.
+     */
+    public boolean isComplete()
+    {
+        return missingQuery == null;
+    }
+}
@@ -130,6 +130,8 @@ import org.hisp.dhis.analytics.QueryPlanner;
 import org.hisp.dhis.analytics.QueryPlannerParams;
 import org.hisp.dhis.analytics.RawAnalyticsManager;
 import org.hisp.dhis.analytics.analyze.ExecutionPlanStore;
+import org.hisp.dhis.analytics.cache.AnalyticsCache;
+import org.hisp.dhis.analytics.cache.CachedSubQuery;
 import org.hisp.dhis.analytics.event.EventAnalyticsService;
 import org.hisp.dhis.analytics.event.EventQueryParams;
 import org.hisp.dhis.analytics.resolver.ExpressionResolver;
@@ -194,6 +196,8 @@ public class DataHandler
 
     private final ExecutionPlanStore executionPlanStore;
 
+    private final AnalyticsCache analyticsCache;
+
     /**
      * Adds performance metrics.
      *
@@ -1257,21 +1261,47 @@ public class DataHandler
         List<DataQueryParams> queries )
     {
         List<Future<Map<String, Object>>> futures = new ArrayList<>();
+        List<CachedSubQuery> fetchedSubQueries = new ArrayList<>();
 
         for ( DataQueryParams query : queries )
         {
-            futures.add( analyticsManager.getAggregatedDataValues( query, tableType, maxLimit ) );
+            if ( !isSubQueryCacheable( query ) )
+            {
+                futures.add( analyticsManager.getAggregatedDataValues( query, tableType, maxLimit ) );
+                fetchedSubQueries.add( null );
+                continue;
+            }
+
+            // Only the cells of the sub-query which are not cached are queried
+
+            CachedSubQuery subQuery = analyticsCache.getSubQuery( query, tableType, maxLimit );
+
+            map.putAll( subQuery.getCachedValues() );
+
+            if ( !subQuery.isComplete() )
+            {
+                futures.add(
+                    analyticsManager.getAggregatedDataValues( subQuery.getMissingQuery(), tableType, maxLimit ) );
+                fetchedSubQueries.add( subQuery );
+            }
         }
 
-        for ( Future<Map<String, Object>> future : futures )
+        for ( int i = 0; i < futures.size(); i++ )
         {
             try
             {
-                Map<String, Object> taskValues = future.get();
+                Map<String, Object> taskValues = futures.get( i ).get();
 
                 if ( taskValues != null )
                 {
                     map.putAll( taskValues );
+
+                    CachedSubQuery subQuery = fetchedSubQueries.get( i );
+
+                    if ( subQuery != null )
+                    {
+                        analyticsCache.putSubQuery( subQuery, taskValues );
+                    }
                 }
             }
             catch ( Exception ex )
@@ -1292,6 +1322,19 @@ public class DataHandler
         }
     }
 
+    /**
+     * Indicates whether the result of the given planned sub-query can be
+     * served from and stored in the analytics cache. Queries which are run to
+     * collect execution plans must always hit the database.
+     *
+     * @param query the {@link DataQueryParams}.
+     * @return true if the sub-query result is cacheable.
+     */
+    private boolean isSubQueryCacheable( DataQueryParams query )
+    {
+        return analyticsCache.isEnabled() && !query.analyzeOnly();
+    }
+
     /**
      * Gets the number of available cores. Uses explicit number from system
      * setting if available. Detects number of cores from current server runtime
@@ -67,6 +67,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -136,6 +137,8 @@ public abstract class AbstractJdbcEventAnalyticsManager
 
     protected static final int LAST_VALUE_YEARS_OFFSET = -10;
 
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
     private static final String COL_VALUE = "value";
 
     private static final String AND = " and ";
@@ -967,6 +970,21 @@ public abstract class AbstractJdbcEventAnalyticsManager
         }
     }
 
+    /**
+     * Executes the given SQL query and passes the rows to the given consumer
+     * as they are fetched from the database, in batches of the fetch size of
+     * the {@link JdbcTemplate}. The row set is only valid within the consumer.
+     *
+     * @param sql the SQL query.
+     * @param consumer the consumer of the {@link SqlRowSet}.
+     */
+    protected void queryWithCursor( String sql, Consumer<SqlRowSet> consumer )
+    {
+        int fetchSize = jdbcTemplate.getFetchSize() > 0 ? jdbcTemplate.getFetchSize() : DEFAULT_FETCH_SIZE;
+
+        jdbcTemplate.execute( new CursorQuery( sql, fetchSize, consumer ) );
+    }
+
     /**
      * Adds a value from the given row set to the grid.
      *
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.event.data;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.support.rowset.ResultSetWrappingSqlRowSet;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+/**
+ * Connection callback which executes a query through a forward-only,
+ * read-only cursor and hands the open result set to a consumer as a
+ * {@link SqlRowSet}. Rows are fetched from the database in batches of the
+ * given fetch size while the consumer iterates, as opposed to
+ * {@code JdbcTemplate#queryForRowSet} which copies the full result set into
+ * memory before returning.
+ * <p>
+ * PostgreSQL only honours the fetch size within a transaction, hence
+ * auto-commit is disabled for the duration of the query when enabled on the
+ * connection, and restored afterwards. The row set is only valid within the
+ * consumer.
+ * <p>
+ * This only removes the intermediate copy of the result set. The event and
+ * enrollment query consumers still add every row to the grid returned to the
+ * analytics service, so memory use grows with the number of rows returned by
+ * the query.
+ */
+@RequiredArgsConstructor
+class CursorQuery implements ConnectionCallback<Void>, SqlProvider
+{
+    @Getter
+    private final String sql;
+
+    private final int fetchSize;
+
+    private final Consumer<SqlRowSet> consumer;
+
+    @Override
+    public Void doInConnection( Connection connection )
+        throws SQLException
+    {
+        boolean autoCommit = connection.getAutoCommit();
+
+        if ( autoCommit )
+        {
+            connection.setAutoCommit( false );
+        }
+
+        try ( Statement statement = connection.createStatement( ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY ) )
+        {
+            statement.setFetchSize( fetchSize );
+
+            try ( ResultSet resultSet = statement.executeQuery( sql ) )
+            {
+                consumer.accept( new ResultSetWrappingSqlRowSet( resultSet ) );
+            }
+        }
+        finally
+        {
+            if ( autoCommit )
+            {
+                connection.rollback();
+                connection.setAutoCommit( true );
+            }
+        }
+
+        return null;
+    }
+}
@@ -139,11 +139,24 @@ public class JdbcEnrollmentAnalyticsManager
     {
         log.debug( String.format( "Analytics enrollment query SQL: %s", sql ) );
 
-        SqlRowSet rowSet = jdbcTemplate.queryForRowSet( sql );
+        grid.setLastDataRow( true );
 
-        int rowsRed = 0;
+        queryWithCursor( sql, rowSet -> addEnrollments( params, grid, rowSet, unlimitedPaging ) );
+    }
 
-        grid.setLastDataRow( true );
+    /**
+     * Adds the enrollments of the given row set to the given grid. Reading
+     * stops once a row beyond the page size has been seen, which marks the
+     * grid as not holding the last data row.
+     *
+     * @param params the {@link EventQueryParams}.
+     * @param grid the {@link Grid}.
+     * @param rowSet the {@link SqlRowSet} positioned before the first row.
+     * @param unlimitedPaging whether paging is unlimited.
+     */
+    private void addEnrollments( EventQueryParams params, Grid grid, SqlRowSet rowSet, boolean unlimitedPaging )
+    {
+        int rowsRed = 0;
 
         while ( rowSet.next() )
         {
@@ -151,7 +164,7 @@ public class JdbcEnrollmentAnalyticsManager
             {
                 grid.setLastDataRow( false );
 
-                continue;
+                break;
             }
 
             grid.addRow();
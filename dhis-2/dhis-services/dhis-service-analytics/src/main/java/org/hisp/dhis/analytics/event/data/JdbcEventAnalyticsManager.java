@@ -154,11 +154,31 @@ public class JdbcEventAnalyticsManager
     {
         log.debug( "Analytics event query SQL: '{}'", sql );
 
-        SqlRowSet rowSet = queryForRows( sql );
+        grid.setLastDataRow( true );
 
-        int rowsRed = 0;
+        try
+        {
+            queryWithCursor( sql, rowSet -> addEvents( params, grid, rowSet, unlimitedPaging ) );
+        }
+        catch ( DataIntegrityViolationException ex )
+        {
+            ExceptionHandler.handle( ex );
+        }
+    }
 
-        grid.setLastDataRow( true );
+    /**
+     * Adds the events of the given row set to the given grid. Reading stops
+     * once a row beyond the page size has been seen, which marks the grid as
+     * not holding the last data row.
+     *
+     * @param params the {@link EventQueryParams}.
+     * @param grid the {@link Grid}.
+     * @param rowSet the {@link SqlRowSet} positioned before the first row.
+     * @param unlimitedPaging whether paging is unlimited.
+     */
+    private void addEvents( EventQueryParams params, Grid grid, SqlRowSet rowSet, boolean unlimitedPaging )
+    {
+        int rowsRed = 0;
 
         while ( rowSet.next() )
         {
@@ -166,7 +186,7 @@ public class JdbcEventAnalyticsManager
             {
                 grid.setLastDataRow( false );
 
-                continue;
+                break;
             }
 
             grid.addRow();
@@ -455,8 +455,9 @@ public abstract class AbstractJdbcTableManager
     /**
      * Creates a {@link AnalyticsTable} with a partition for the "latest" data.
      * The start date of the partition is the time of the last successful full
-     * analytics table update. The end date of the partition is the start time
-     * of this analytics table update process.
+     * analytics table update, or the time of the last successful analytics
+     * table update of any kind for incremental updates. The end date of the
+     * partition is the start time of this analytics table update process.
      *
      * @param params the {@link AnalyticsTableUpdateParams}.
      * @param dimensionColumns the list of dimension
@@ -475,6 +476,7 @@ public abstract class AbstractJdbcTableManager
         Assert.notNull( lastFullTableUpdate,
             "A full analytics table update process must be run prior to a latest partition update process" );
 
+        Date startDate = params.isIncrementalUpdate() ? lastAnyTableUpdate : lastFullTableUpdate;
         Date endDate = params.getStartTime();
         boolean hasUpdatedData = hasUpdatedLatestData( lastAnyTableUpdate, endDate );
 
@@ -482,9 +484,9 @@ public abstract class AbstractJdbcTableManager
 
         if ( hasUpdatedData )
         {
-            table.addPartitionTable( AnalyticsTablePartition.LATEST_PARTITION, lastFullTableUpdate, endDate );
+            table.addPartitionTable( AnalyticsTablePartition.LATEST_PARTITION, startDate, endDate );
             log.info( "Added latest analytics partition with start: '{}' and end: '{}'",
-                getLongDateString( lastFullTableUpdate ), getLongDateString( endDate ) );
+                getLongDateString( startDate ), getLongDateString( endDate ) );
         }
         else
         {
@@ -558,6 +560,53 @@ public abstract class AbstractJdbcTableManager
         log.info( "{} in: {}", logMessage, timer.stop().toString() );
     }
 
+    /**
+     * Copies the rows of the populated temporary "latest" partition of the
+     * given table into the existing yearly partitions, based on the value of
+     * the given year column. Rows for years without an existing partition are
+     * skipped and will be included by the next full analytics table update.
+     *
+     * @param table the {@link AnalyticsTable}.
+     * @param yearColumn the name of the column holding the partition year.
+     */
+    protected void mergeLatestPartition( AnalyticsTable table, String yearColumn )
+    {
+        AnalyticsTablePartition latestPartition = table.getLatestPartition();
+
+        if ( latestPartition == null )
+        {
+            return;
+        }
+
+        String sourceTable = latestPartition.getTempTableName();
+        String columns = ListUtils.union( table.getDimensionColumns(), table.getValueColumns() ).stream()
+            .map( AnalyticsTableColumn::getName )
+            .collect( Collectors.joining( "," ) );
+
+        List<String> years = jdbcTemplate.queryForList( "select distinct " + quote( yearColumn ) + " from " +
+            sourceTable + " where " + quote( yearColumn ) + " is not null", String.class );
+
+        for ( String year : years )
+        {
+            String partitionTable = new AnalyticsTablePartition( table, Integer.valueOf( year ), null, null, false )
+                .getTableName();
+
+            if ( !partitionManager.tableExists( partitionTable ) )
+            {
+                log.warn( "Partition table does not exist, skipping merge of latest data: '{}'", partitionTable );
+                continue;
+            }
+
+            String sql = "insert into " + partitionTable + " (" + columns + ") " +
+                "select " + columns + " from " + sourceTable + " " +
+                "where " + quote( yearColumn ) + " = '" + year + "'";
+
+            invokeTimeAndLog( sql, String.format( "Merge latest data into %s", partitionTable ) );
+
+            analyzeTable( partitionTable );
+        }
+    }
+
     /**
      * Collects all the {@link PeriodType} as a list of
      * {@link AnalyticsTableColumn}.
@@ -151,7 +151,7 @@ public class DefaultAnalyticsTableService
             clock.logTime( "Tables vacuumed" );
         }
 
-        List<AnalyticsIndex> indexes = getIndexes( partitions );
+        List<AnalyticsIndex> indexes = params.isIncrementalUpdate() ? List.of() : getIndexes( partitions );
         progress.startingStage( "Creating indexes " + tableType, indexes.size(), SKIP_ITEM_OUTLIER );
         createIndexes( indexes, progress );
         clock.logTime( "Created indexes" );
@@ -167,7 +167,20 @@ public class DefaultAnalyticsTableService
             clock.logTime( "Removed updated and deleted data" );
         }
 
-        swapTables( params, tables, progress );
+        if ( params.isIncrementalUpdate() )
+        {
+            progress.startingStage( "Merging updated data into existing partitions " + tableType, SKIP_STAGE );
+            progress.runStage( () -> tableManager.mergeUpdatedData( tables ) );
+            clock.logTime( "Merged updated data" );
+
+            progress.startingStage( "Dropping temp tables " + tableType, tables.size() );
+            dropTempTables( tables, progress );
+            clock.logTime( "Dropped temp tables" );
+        }
+        else
+        {
+            swapTables( params, tables, progress );
+        }
 
         clock.logTime( "Table update done: " + tableType.getTableName() );
     }
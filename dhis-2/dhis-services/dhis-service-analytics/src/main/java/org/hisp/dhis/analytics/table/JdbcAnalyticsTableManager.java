@@ -218,6 +218,12 @@ public class JdbcAnalyticsTableManager
         invokeTimeAndLog( sql, "Remove updated data values" );
     }
 
+    @Override
+    public void mergeUpdatedData( List<AnalyticsTable> tables )
+    {
+        tables.forEach( table -> mergeLatestPartition( table, "year" ) );
+    }
+
     @Override
     protected List<String> getPartitionChecks( AnalyticsTablePartition partition )
     {
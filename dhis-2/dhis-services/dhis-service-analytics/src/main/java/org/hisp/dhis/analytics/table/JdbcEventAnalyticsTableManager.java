@@ -273,8 +273,10 @@ public class JdbcEventAnalyticsTableManager
     /**
      * Creates a list of {@link AnalyticsTable} with a partition each or the
      * "latest" data. The start date of the partition is the time of the last
-     * successful full analytics table update. The end date of the partition is
-     * the start time of this analytics table update process.
+     * successful full analytics table update, or the time of the last
+     * successful analytics table update of any kind for incremental updates.
+     * The end date of the partition is the start time of this analytics table
+     * update process.
      *
      * @param params the {@link AnalyticsTableUpdateParams}.
      * @return a list of {@link AnalyticsTableUpdateParams}.
@@ -290,7 +292,7 @@ public class JdbcEventAnalyticsTableManager
         Assert.notNull( lastFullTableUpdate,
             "A full analytics table update process must be run prior to a latest partition update process" );
 
-        Date startDate = lastFullTableUpdate;
+        Date startDate = params.isIncrementalUpdate() ? lastAnyTableUpdate : lastFullTableUpdate;
         Date endDate = params.getStartTime();
 
         List<AnalyticsTable> tables = new ArrayList<>();
@@ -368,6 +370,12 @@ public class JdbcEventAnalyticsTableManager
         }
     }
 
+    @Override
+    public void mergeUpdatedData( List<AnalyticsTable> tables )
+    {
+        tables.forEach( table -> mergeLatestPartition( table, "yearly" ) );
+    }
+
     @Override
     public List<AnalyticsTableColumn> getFixedColumns()
     {
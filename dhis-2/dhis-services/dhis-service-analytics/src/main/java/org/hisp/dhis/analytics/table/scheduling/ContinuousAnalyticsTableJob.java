@@ -60,7 +60,10 @@ import com.google.common.base.Preconditions;
  * update time is persisted using a system setting. A full analytics table
  * update is performed when the current time is after the next scheduled full
  * update time. Otherwise, a partial update of the latest analytics partition
- * table is performed.
+ * table is performed. When
+ * {@link ContinuousAnalyticsJobParameters#isIncrementalUpdate()} is set, the
+ * partial update only processes data updated since the last run and merges it
+ * into the existing yearly partitions.
  *
  * @author Lars Helge Overland
  */
@@ -130,6 +133,7 @@ public class ContinuousAnalyticsTableJob implements Job
 
             AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder()
                 .withLatestPartition()
+                .withIncrementalUpdate( parameters.isIncrementalUpdate() )
                 .withSkipResourceTables( true )
                 .withSkipTableTypes( parameters.getSkipTableTypes() )
                 .withJobId( jobConfiguration )
@@ -28,12 +28,15 @@
 package org.hisp.dhis.analytics.cache;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheBuilder;
@@ -43,6 +46,9 @@ import org.hisp.dhis.cache.SimpleCacheBuilder;
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.GridHeader;
 import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.junit.jupiter.api.Test;
@@ -120,4 +126,134 @@ class AnalyticsCacheTest
 
         assertEquals( 2, optCachedGrid.get().getRows().size() );
     }
+
+    @Test
+    void reuseCachedSubQueryCellsForOverlappingQueries()
+    {
+        // arrange
+        AnalyticsCache analyticsCache = createSubQueryAnalyticsCache();
+
+        DataElement dataElement = new DataElement( "dataElementA" );
+        dataElement.setUid( "deabcdefghA" );
+
+        OrganisationUnit orgUnit = new OrganisationUnit( "orgUnitA" );
+        orgUnit.setUid( "ouabcdefghA" );
+
+        Period jan = PeriodType.getPeriodFromIsoString( "202301" );
+        Period feb = PeriodType.getPeriodFromIsoString( "202302" );
+        Period mar = PeriodType.getPeriodFromIsoString( "202303" );
+
+        DataQueryParams params = DataQueryParams.newBuilder()
+            .withDataElements( List.of( dataElement ) )
+            .withPeriods( List.of( jan, feb ) )
+            .withOrganisationUnits( List.of( orgUnit ) )
+            .withTableName( "analytics" )
+            .build();
+
+        DataQueryParams overlapping = DataQueryParams.newBuilder( params )
+            .withPeriods( List.of( feb, mar ) )
+            .build();
+
+        DataQueryParams contained = DataQueryParams.newBuilder( params )
+            .withPeriods( List.of( jan ) )
+            .build();
+
+        // act
+        CachedSubQuery subQuery = analyticsCache.getSubQuery( params, AnalyticsTableType.DATA_VALUE, 50000 );
+
+        assertFalse( subQuery.isComplete() );
+        assertEquals( List.of( jan, feb ), subQuery.getMissingQuery().getPeriods() );
+
+        analyticsCache.putSubQuery( subQuery, Map.of( "deabcdefghA-202301-ouabcdefghA", 12.0 ) );
+
+        // assert
+        CachedSubQuery overlappingSubQuery = analyticsCache.getSubQuery( overlapping, AnalyticsTableType.DATA_VALUE,
+            50000 );
+
+        assertEquals( Map.of(), overlappingSubQuery.getCachedValues() );
+        assertEquals( List.of( mar ), overlappingSubQuery.getMissingQuery().getPeriods() );
+        assertEquals( List.of( orgUnit ), overlappingSubQuery.getMissingQuery().getOrganisationUnits() );
+
+        CachedSubQuery containedSubQuery = analyticsCache.getSubQuery( contained, AnalyticsTableType.DATA_VALUE,
+            50000 );
+
+        assertTrue( containedSubQuery.isComplete() );
+        assertEquals( Map.of( "deabcdefghA-202301-ouabcdefghA", 12.0 ), containedSubQuery.getCachedValues() );
+
+        assertFalse( analyticsCache.getSubQuery( contained, AnalyticsTableType.COMPLETENESS, 50000 ).isComplete() );
+        assertFalse( analyticsCache.getSubQuery( contained, AnalyticsTableType.DATA_VALUE, 100 ).isComplete() );
+
+        analyticsCache.invalidateAll();
+
+        assertFalse( analyticsCache.getSubQuery( contained, AnalyticsTableType.DATA_VALUE, 50000 ).isComplete() );
+    }
+
+    @Test
+    void doNotCacheSubQueryCellsForUnmatchedKeys()
+    {
+        // arrange
+        AnalyticsCache analyticsCache = createSubQueryAnalyticsCache();
+
+        OrganisationUnit orgUnit = new OrganisationUnit( "orgUnitA" );
+        orgUnit.setUid( "ouabcdefghA" );
+
+        DataQueryParams params = DataQueryParams.newBuilder()
+            .withDataElements( List.of( new DataElement( "dataElementA" ) ) )
+            .withPeriods( List.of( PeriodType.getPeriodFromIsoString( "202301" ) ) )
+            .withOrganisationUnits( List.of( orgUnit ) )
+            .withTableName( "analytics" )
+            .build();
+
+        // act
+        analyticsCache.putSubQuery( analyticsCache.getSubQuery( params, AnalyticsTableType.DATA_VALUE, 50000 ),
+            Map.of( "dataElementA-202302-ouabcdefghA", 12.0 ) );
+
+        // assert
+        assertFalse( analyticsCache.getSubQuery( params, AnalyticsTableType.DATA_VALUE, 50000 ).isComplete() );
+    }
+
+    @Test
+    void doNotReuseCachedSubQueryValuesForOtherApprovalLevels()
+    {
+        // arrange
+        AnalyticsCache analyticsCache = createSubQueryAnalyticsCache();
+
+        OrganisationUnit orgUnit = new OrganisationUnit( "orgUnitA" );
+        orgUnit.setUid( "ouabcdefghA" );
+
+        DataQueryParams params = DataQueryParams.newBuilder()
+            .withDataElements( List.of( new DataElement( "dataElementA" ) ) )
+            .withTableName( "analytics" )
+            .build();
+
+        DataQueryParams userA = DataQueryParams.newBuilder( params )
+            .withDataApprovalLevels( Map.of( orgUnit, 1 ) )
+            .build();
+
+        DataQueryParams userB = DataQueryParams.newBuilder( params )
+            .withDataApprovalLevels( Map.of( orgUnit, 2 ) )
+            .build();
+
+        // act
+        analyticsCache.putSubQuery( analyticsCache.getSubQuery( userA, AnalyticsTableType.DATA_VALUE, 50000 ),
+            Map.of( "dataElementA", 12.0 ) );
+
+        // assert
+        assertTrue( analyticsCache.getSubQuery( userA, AnalyticsTableType.DATA_VALUE, 50000 ).isComplete() );
+        assertFalse( analyticsCache.getSubQuery( userB, AnalyticsTableType.DATA_VALUE, 50000 ).isComplete() );
+        assertFalse( analyticsCache.getSubQuery( params, AnalyticsTableType.DATA_VALUE, 50000 ).isComplete() );
+    }
+
+    private AnalyticsCache createSubQueryAnalyticsCache()
+    {
+        AnalyticsCacheSettings settings = new AnalyticsCacheSettings( systemSettingManager );
+
+        Mockito.<Cache<Map<String, Object>>> when( cacheProvider.createAnalyticsSubQueryCache() )
+            .thenReturn( new LocalCache<>(
+                new SimpleCacheBuilder<Map<String, Object>>().expireAfterWrite( 1L, TimeUnit.MINUTES ) ) );
+        Mockito.<Cache<Grid>> when( cacheProvider.createAnalyticsCache() )
+            .thenReturn( new LocalCache<>( new SimpleCacheBuilder<Grid>().expireAfterWrite( 1L, TimeUnit.MINUTES ) ) );
+
+        return new AnalyticsCache( cacheProvider, settings );
+    }
 }
@@ -125,7 +125,7 @@ abstract class AnalyticsServiceBaseTest
         MetadataHandler metadataHandler = new MetadataHandler( dataQueryService, schemeIdResponseMapper );
         DataHandler dataHandler = new DataHandler( eventAnalyticsService, rawAnalyticsManager,
             resolvers, expressionService, queryPlanner, systemSettingManager, analyticsManager,
-            organisationUnitService, executionPlanStore );
+            organisationUnitService, executionPlanStore, analyticsCache );
 
         target = new DataAggregator( headerHandler, metadataHandler, dataHandler );
         target.feedHandlers();
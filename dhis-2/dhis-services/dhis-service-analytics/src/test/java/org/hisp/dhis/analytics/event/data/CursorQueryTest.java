@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.event.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class CursorQueryTest
+{
+    private static final String SQL = "select psi from analytics_event";
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    @BeforeEach
+    void setUp()
+        throws SQLException
+    {
+        when( connection.createStatement( ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY ) )
+            .thenReturn( statement );
+        when( statement.executeQuery( SQL ) ).thenReturn( resultSet );
+        when( resultSet.getMetaData() ).thenReturn( metaData );
+    }
+
+    @Test
+    void testDoInConnectionDisablesAutoCommit()
+        throws SQLException
+    {
+        when( connection.getAutoCommit() ).thenReturn( true );
+        when( resultSet.next() ).thenReturn( true, true, false );
+        List<Boolean> rows = new ArrayList<>();
+
+        new CursorQuery( SQL, 500, rowSet -> {
+            while ( rowSet.next() )
+            {
+                rows.add( true );
+            }
+        } ).doInConnection( connection );
+
+        assertEquals( 2, rows.size() );
+
+        InOrder inOrder = inOrder( connection, statement, resultSet );
+        inOrder.verify( connection ).setAutoCommit( false );
+        inOrder.verify( statement ).setFetchSize( 500 );
+        inOrder.verify( resultSet ).close();
+        inOrder.verify( statement ).close();
+        inOrder.verify( connection ).rollback();
+        inOrder.verify( connection ).setAutoCommit( true );
+    }
+
+    @Test
+    void testDoInConnectionKeepsExistingTransaction()
+        throws SQLException
+    {
+        when( connection.getAutoCommit() ).thenReturn( false );
+
+        new CursorQuery( SQL, 1000, rowSet -> {
+        } ).doInConnection( connection );
+
+        verify( statement ).setFetchSize( 1000 );
+        verify( connection, never() ).setAutoCommit( false );
+        verify( connection, never() ).rollback();
+    }
+
+    @Test
+    void testDoInConnectionRestoresAutoCommitOnError()
+        throws SQLException
+    {
+        when( connection.getAutoCommit() ).thenReturn( true );
+
+        CursorQuery query = new CursorQuery( SQL, 1000, rowSet -> {
+            throw new IllegalStateException();
+        } );
+
+        assertThrows( IllegalStateException.class, () -> query.doInConnection( connection ) );
+
+        verify( connection ).rollback();
+        verify( connection ).setAutoCommit( true );
+        assertEquals( SQL, query.getSql() );
+    }
+}
@@ -44,7 +44,6 @@ import static org.hisp.dhis.common.QueryOperator.EQ;
 import static org.hisp.dhis.common.QueryOperator.IN;
 import static org.hisp.dhis.common.QueryOperator.NEQ;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -86,7 +85,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 
 /**
  * @author Luciano Fiandesio
@@ -105,14 +103,11 @@ class EnrollmentAnalyticsManagerTest
     @Mock
     private ExecutionPlanStore executionPlanStore;
 
-    @Mock
-    private SqlRowSet rowSet;
-
     @Mock
     private ProgramIndicatorService programIndicatorService;
 
     @Captor
-    private ArgumentCaptor<String> sql;
+    private ArgumentCaptor<CursorQuery> cursorQuery;
 
     private String DEFAULT_COLUMNS = "pi,tei,enrollmentdate,incidentdate,storedby,"
         + "createdbydisplayname" + "," + "lastupdatedbydisplayname"
@@ -123,9 +118,6 @@ class EnrollmentAnalyticsManagerTest
     @BeforeEach
     public void setUp()
     {
-        when( jdbcTemplate.queryForRowSet( anyString() ) )
-            .thenReturn( this.rowSet );
-
         StatementBuilder statementBuilder = new PostgreSQLStatementBuilder();
         DefaultProgramIndicatorSubqueryBuilder programIndicatorSubqueryBuilder = new DefaultProgramIndicatorSubqueryBuilder(
             programIndicatorService );
@@ -148,12 +140,12 @@ class EnrollmentAnalyticsManagerTest
 
         subject.getEnrollments( params, grid, unlimited );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\"  from " + getTable( programA.getUid() )
             + " as ax where ((enrollmentdate >= '2017-01-01' and enrollmentdate < '2018-01-01'))and (ax.\"uidlevel1\" = 'ouabcdefghA' ) ";
 
-        assertSql( sql.getValue(), expected );
+        assertSql( cursorQuery.getValue().getSql(), expected );
         assertTrue( grid.hasLastDataRow() );
     }
 
@@ -168,12 +160,12 @@ class EnrollmentAnalyticsManagerTest
 
         subject.getEnrollments( params, new ListGrid(), 10000 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\"  from " + getTable( programA.getUid() )
             + " as ax where ((lastupdated >= '2017-01-01' and lastupdated < '2018-01-01'))and (ax.\"uidlevel1\" = 'ouabcdefghA' ) limit 10001";
 
-        assertSql( sql.getValue(), expected );
+        assertSql( cursorQuery.getValue().getSql(), expected );
     }
 
     @Test
@@ -194,7 +186,7 @@ class EnrollmentAnalyticsManagerTest
 
         subject.getEnrollments( params, new ListGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String subSelect = "(select \"fWIAEtYVEGk\" from analytics_event_" + programA.getUid()
             + " where analytics_event_" + programA.getUid() + ".pi = ax.pi and \"fWIAEtYVEGk\" is not null and ps = '"
@@ -208,7 +200,7 @@ class EnrollmentAnalyticsManagerTest
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and (ax.\"uidlevel1\" = 'ouabcdefghA' ) " + "and ps = '"
             + programStage.getUid() + "' limit 101";
 
-        assertSql( sql.getValue(), expected );
+        assertSql( cursorQuery.getValue().getSql(), expected );
     }
 
     @Test
@@ -218,7 +210,7 @@ class EnrollmentAnalyticsManagerTest
 
         subject.getEnrollments( params, new ListGrid(), 10000 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String subSelect = "(select \"fWIAEtYVEGk\" from analytics_event_" + programA.getUid()
             + " where analytics_event_"
@@ -229,7 +221,7 @@ class EnrollmentAnalyticsManagerTest
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and (ax.\"uidlevel1\" = 'ouabcdefghA' ) "
             + "and ps = '" + programStage.getUid() + "' and " + subSelect + " > '10' limit 10001";
 
-        assertSql( sql.getValue(), expected );
+        assertSql( cursorQuery.getValue().getSql(), expected );
     }
 
     @Test
@@ -241,13 +233,13 @@ class EnrollmentAnalyticsManagerTest
 
         subject.getEnrollments( params, new ListGrid(), 10000 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\"  from " + getTable( programA.getUid() )
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and (ax.\"uidlevel1\" = 'ouabcdefghA' )"
             + " and enrollmentstatus in ('ACTIVE','COMPLETED') limit 10001";
 
-        assertSql( sql.getValue(), expected );
+        assertSql( cursorQuery.getValue().getSql(), expected );
     }
 
     @Test
@@ -257,7 +249,7 @@ class EnrollmentAnalyticsManagerTest
 
         subject.getEnrollments( params, new ListGrid(), 10000 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String subSelect = "(select \"fWIAEtYVEGk\" from analytics_event_" + programA.getUid()
             + " where analytics_event_"
@@ -270,7 +262,7 @@ class EnrollmentAnalyticsManagerTest
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and (ax.\"uidlevel1\" = 'ouabcdefghA' ) "
             + "and ps = '" + programStage.getUid() + "' and " + subSelect + " > '10' limit 10001";
 
-        assertSql( sql.getValue(), expected );
+        assertSql( cursorQuery.getValue().getSql(), expected );
     }
 
     @Test
@@ -353,9 +345,9 @@ class EnrollmentAnalyticsManagerTest
             new ListGrid(),
             10000 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
-        assertions.forEach( consumer -> consumer.accept( sql.getValue() ) );
+        assertions.forEach( consumer -> consumer.accept( cursorQuery.getValue().getSql() ) );
     }
 
     @Test
@@ -380,7 +372,7 @@ class EnrollmentAnalyticsManagerTest
 
         subject.getEnrollments( params.build(), new ListGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\",(SELECT avg (" + piSubquery + ") FROM analytics_event_"
             + programA.getUid().toLowerCase() + " as subax WHERE  "
@@ -396,7 +388,7 @@ class EnrollmentAnalyticsManagerTest
             + "\"  " + "from analytics_enrollment_" + programA.getUid()
             + " as ax where ((enrollmentdate >= '2015-01-01' and enrollmentdate < '2017-04-09'))and (ax.\"uidlevel1\" = 'ouabcdefghA' ) limit 101";
 
-        assertSql( sql.getValue(), expected );
+        assertSql( cursorQuery.getValue().getSql(), expected );
     }
 
     @Test
@@ -422,7 +414,7 @@ class EnrollmentAnalyticsManagerTest
 
         subject.getEnrollments( params.build(), new ListGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\",(SELECT avg (" + piSubquery + ") FROM analytics_event_"
             + programA.getUid().toLowerCase() + " as subax WHERE "
@@ -438,7 +430,7 @@ class EnrollmentAnalyticsManagerTest
             + "from analytics_enrollment_" + programA.getUid()
             + " as ax where ((enrollmentdate >= '2015-01-01' and enrollmentdate < '2017-04-09'))and (ax.\"uidlevel1\" = 'ouabcdefghA' ) limit 101";
 
-        assertSql( sql.getValue(), expected );
+        assertSql( cursorQuery.getValue().getSql(), expected );
     }
 
     @Override
@@ -494,7 +486,7 @@ class EnrollmentAnalyticsManagerTest
 
         subject.getEnrollments( params.build(), new ListGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\",(SELECT avg (" + piSubquery + ") FROM analytics_event_"
             + programB.getUid().toLowerCase() + " as subax WHERE  "
@@ -510,7 +502,7 @@ class EnrollmentAnalyticsManagerTest
             + "\"  " + "from analytics_enrollment_" + programA.getUid()
             + " as ax where ((enrollmentdate >= '2015-01-01' and enrollmentdate < '2017-04-09'))and (ax.\"uidlevel1\" = 'ouabcdefghA' ) limit 101";
 
-        assertSql( sql.getValue(), expected );
+        assertSql( cursorQuery.getValue().getSql(), expected );
     }
 
     @Test
@@ -115,6 +115,9 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
     @Captor
     private ArgumentCaptor<String> sql;
 
+    @Captor
+    private ArgumentCaptor<CursorQuery> cursorQuery;
+
     private final static String TABLE_NAME = "analytics_event";
 
     private final static String DEFAULT_COLUMNS_WITH_REGISTRATION = "psi,ps,executiondate,storedby,"
@@ -146,7 +149,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
 
         subject.getEvents( createRequestParams(), createGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "select psi,ps,executiondate,storedby,"
             + "createdbydisplayname" + "," + "lastupdatedbydisplayname"
@@ -155,7 +158,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
             + getTable( programA.getUid() )
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" in ('ouabcdefghA') limit 101";
 
-        assertThat( sql.getValue(), is( expected ) );
+        assertThat( cursorQuery.getValue().getSql(), is( expected ) );
     }
 
     @Test
@@ -169,7 +172,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
 
         subject.getEvents( createRequestParams( queryItem ), createGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "select psi,ps,executiondate,storedby,"
             + "createdbydisplayname" + "," + "lastupdatedbydisplayname"
@@ -180,7 +183,7 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" in ('ouabcdefghA')"
             + " limit 101";
 
-        assertThat( sql.getValue(), is( expected ) );
+        assertThat( cursorQuery.getValue().getSql(), is( expected ) );
     }
 
     @Test
@@ -193,12 +196,12 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
 
         subject.getEvents( createRequestParams(), grid, unlimited );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\"  from " + getTable( programA.getUid() )
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" in ('ouabcdefghA') ";
 
-        assertSql( expected, sql.getValue() );
+        assertSql( expected, cursorQuery.getValue().getSql() );
         assertTrue( grid.hasLastDataRow() );
     }
 
@@ -210,13 +213,13 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
         subject.getEvents( createRequestParams( programStage ), createGrid(),
             100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\"  from " + getTable( programA.getUid() )
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" in ('ouabcdefghA') and ax.\"ps\" = '"
             + programStage.getUid() + "' limit 101";
 
-        assertSql( expected, sql.getValue() );
+        assertSql( expected, cursorQuery.getValue().getSql() );
     }
 
     @Test
@@ -227,13 +230,13 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
         subject.getEvents( createRequestParams( programStage, ValueType.INTEGER ), createGrid(),
             100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\",ax.\"fWIAEtYVEGk\"  from " + getTable( programA.getUid() )
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" in ('ouabcdefghA') and ax.\"ps\" = '"
             + programStage.getUid() + "' limit 101";
 
-        assertSql( expected, sql.getValue() );
+        assertSql( expected, cursorQuery.getValue().getSql() );
     }
 
     @Test
@@ -244,14 +247,14 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
         subject.getEvents( createRequestParamsWithFilter( programStage, ValueType.INTEGER ), createGrid(),
             100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\",ax.\"fWIAEtYVEGk\"  from " + getTable( programA.getUid() )
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" in ('ouabcdefghA') and ax.\"ps\" = '"
             + programStage.getUid()
             + "' and ax.\"fWIAEtYVEGk\" > '10' limit 101";
 
-        assertSql( expected, sql.getValue() );
+        assertSql( expected, cursorQuery.getValue().getSql() );
     }
 
     @Test
@@ -261,13 +264,13 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
 
         subject.getEvents( createRequestParamsWithStatuses(), createGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\"  from " + getTable( programA.getUid() )
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" in ('ouabcdefghA')" +
             " and pistatus in ('ACTIVE','COMPLETED') and psistatus in ('SCHEDULE') limit 101";
 
-        assertSql( expected, sql.getValue() );
+        assertSql( expected, cursorQuery.getValue().getSql() );
     }
 
     @Test
@@ -277,14 +280,14 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
 
         subject.getEvents( createRequestParamsWithTimeField( "SCHEDULED_DATE" ), createGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ps.\"monthly\",ax.\"ou\"  from " + getTable( programA.getUid() )
             + " as ax left join _dateperiodstructure as ps on cast(ax.\"duedate\" as date) = ps.\"dateperiod\" "
             + "where (ps.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" "
             + "in ('ouabcdefghA') and pistatus in ('ACTIVE','COMPLETED') limit 101";
 
-        assertSql( expected, sql.getValue() );
+        assertSql( expected, cursorQuery.getValue().getSql() );
     }
 
     @Test
@@ -294,13 +297,13 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
 
         subject.getEvents( createRequestParamsWithTimeField( "LAST_UPDATED" ), createGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\"  from " + getTable( programA.getUid() ) + " as ax "
             + "where ((( ax.\"lastupdated\" >= '2000-01-01' and ax.\"lastupdated\" < '2000-04-01') ))and ax.\"uidlevel1\" "
             + "in ('ouabcdefghA') and pistatus in ('ACTIVE','COMPLETED') limit 101";
 
-        assertSql( expected, sql.getValue() );
+        assertSql( expected, cursorQuery.getValue().getSql() );
     }
 
     @Test
@@ -357,9 +360,9 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
             createGrid(),
             100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
-        assertions.forEach( consumer -> consumer.accept( sql.getValue() ) );
+        assertions.forEach( consumer -> consumer.accept( cursorQuery.getValue().getSql() ) );
     }
 
     @Test
@@ -370,13 +373,13 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
         subject.getEvents( createRequestParams( programStage, ValueType.TEXT ), createGrid(),
             100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\",ax.\"fWIAEtYVEGk\"  from " + getTable( programA.getUid() )
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" in ('ouabcdefghA') and ax.\"ps\" = '"
             + programStage.getUid() + "' limit 101";
 
-        assertSql( expected, sql.getValue() );
+        assertSql( expected, cursorQuery.getValue().getSql() );
     }
 
     @Test
@@ -386,14 +389,14 @@ class EventAnalyticsManagerTest extends EventAnalyticsTest
 
         subject.getEvents( createRequestParamsWithFilter( programStage, ValueType.TEXT ), createGrid(), 100 );
 
-        verify( jdbcTemplate ).queryForRowSet( sql.capture() );
+        verify( jdbcTemplate ).execute( cursorQuery.capture() );
 
         String expected = "ax.\"monthly\",ax.\"ou\",ax.\"fWIAEtYVEGk\"  from " + getTable( programA.getUid() )
             + " as ax where (ax.\"monthly\" in ('2000Q1') )and ax.\"uidlevel1\" in ('ouabcdefghA') and ax.\"ps\" = '"
             + programStage.getUid()
             + "' and ax.\"fWIAEtYVEGk\" > '10' limit 101";
 
-        assertSql( expected, sql.getValue() );
+        assertSql( expected, cursorQuery.getValue().getSql() );
     }
 
     @Test
@@ -32,6 +32,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -41,10 +43,13 @@ import java.util.Map;
 
 import org.hisp.dhis.analytics.AnalyticsExportSettings;
 import org.hisp.dhis.analytics.AnalyticsTable;
+import org.hisp.dhis.analytics.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.ColumnDataType;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.IdentifiableObjectManager;
@@ -87,6 +92,9 @@ class JdbcAnalyticsTableManagerTest
     @Mock
     private PeriodDataProvider periodDataProvider;
 
+    @Mock
+    private PartitionManager partitionManager;
+
     private AnalyticsTableManager subject;
 
     @BeforeEach
@@ -96,7 +104,7 @@ class JdbcAnalyticsTableManagerTest
             mock( OrganisationUnitService.class ),
             mock( CategoryService.class ), systemSettingManager, mock( DataApprovalLevelService.class ),
             mock( ResourceTableService.class ), mock( AnalyticsTableHookService.class ), mock( StatementBuilder.class ),
-            mock( PartitionManager.class ), mock( DatabaseInfo.class ), jdbcTemplate, analyticsExportSettings,
+            partitionManager, mock( DatabaseInfo.class ), jdbcTemplate, analyticsExportSettings,
             periodDataProvider );
     }
 
@@ -195,4 +203,58 @@ class JdbcAnalyticsTableManagerTest
             .thenReturn( lastLatestPartitionUpdate );
         assertThrows( IllegalArgumentException.class, () -> subject.getAnalyticsTables( params ) );
     }
+
+    @Test
+    void testGetIncrementalLatestAnalyticsTable()
+    {
+        Date lastFullTableUpdate = new DateTime( 2019, 3, 1, 2, 0 ).toDate();
+        Date lastLatestPartitionUpdate = new DateTime( 2019, 3, 1, 9, 0 ).toDate();
+        Date startTime = new DateTime( 2019, 3, 1, 10, 0 ).toDate();
+
+        AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime( startTime )
+            .withLatestPartition()
+            .withIncrementalUpdate( true )
+            .build();
+
+        List<Map<String, Object>> queryResp = new ArrayList<>();
+        queryResp.add( Map.of( "dataelementid", 1 ) );
+
+        when( systemSettingManager.getDateSetting( SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE ) )
+            .thenReturn( lastFullTableUpdate );
+        when( systemSettingManager.getDateSetting( SettingKey.LAST_SUCCESSFUL_LATEST_ANALYTICS_PARTITION_UPDATE ) )
+            .thenReturn( lastLatestPartitionUpdate );
+        when( jdbcTemplate.queryForList( Mockito.anyString() ) ).thenReturn( queryResp );
+
+        List<AnalyticsTable> tables = subject.getAnalyticsTables( params );
+
+        assertEquals( 1, tables.size() );
+
+        AnalyticsTablePartition partition = tables.get( 0 ).getLatestPartition();
+
+        assertNotNull( partition );
+        assertEquals( lastLatestPartitionUpdate, partition.getStartDate() );
+        assertEquals( startTime, partition.getEndDate() );
+    }
+
+    @Test
+    void testMergeUpdatedData()
+    {
+        AnalyticsTable table = new AnalyticsTable( AnalyticsTableType.DATA_VALUE,
+            List.of( new AnalyticsTableColumn( "\"id\"", ColumnDataType.TEXT, "id" ),
+                new AnalyticsTableColumn( "\"year\"", ColumnDataType.INTEGER, "year" ) ),
+            List.of( new AnalyticsTableColumn( "\"value\"", ColumnDataType.DOUBLE, "value" ) ) );
+        table.addPartitionTable( AnalyticsTablePartition.LATEST_PARTITION, new Date(), new Date() );
+
+        when( jdbcTemplate.queryForList( Mockito.anyString(), ArgumentMatchers.<Class<String>> any() ) )
+            .thenReturn( List.of( "2018", "2019" ) );
+        when( partitionManager.tableExists( "analytics_2018" ) ).thenReturn( false );
+        when( partitionManager.tableExists( "analytics_2019" ) ).thenReturn( true );
+
+        subject.mergeUpdatedData( List.of( table ) );
+
+        verify( jdbcTemplate ).execute( "insert into analytics_2019 (\"id\",\"year\",\"value\") " +
+            "select \"id\",\"year\",\"value\" from analytics_temp_0 where \"year\" = '2019'" );
+        verify( jdbcTemplate, never() ).execute( Mockito.contains( "insert into analytics_2018" ) );
+    }
 }
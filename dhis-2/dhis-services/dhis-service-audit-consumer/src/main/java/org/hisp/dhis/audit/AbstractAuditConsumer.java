@@ -29,6 +29,8 @@ package org.hisp.dhis.audit;
 
 import java.io.IOException;
 
+import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.TextMessage;
 
 import lombok.extern.slf4j.Slf4j;
@@ -36,13 +38,20 @@ import lombok.extern.slf4j.Slf4j;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
+ * Messages are consumed with individual acknowledgement, see
+ * {@link org.hisp.dhis.artemis.config.ArtemisConfig#jmsAuditListenerContainerFactory}.
+ * A message is acknowledged once its audit is written to the database by the
+ * {@link AuditSink}, or right away when the audit is not written to the
+ * database, so that the broker keeps messages of audits which are not written
+ * yet.
+ *
  * @author Morten Olav Hansen <mortenoh@gmail.com>
  */
 @Slf4j
 public abstract class AbstractAuditConsumer
     implements AuditConsumer
 {
-    protected AuditService auditService;
+    protected AuditSink auditSink;
 
     protected ObjectMapper objectMapper;
 
@@ -71,7 +80,11 @@ public abstract class AbstractAuditConsumer
 
             if ( isAuditDatabaseEnabled )
             {
-                auditService.addAudit( audit );
+                auditSink.add( audit, () -> acknowledge( message ) );
+            }
+            else
+            {
+                acknowledge( message );
             }
         }
         catch ( IOException e )
@@ -79,10 +92,23 @@ public abstract class AbstractAuditConsumer
             log.error(
                 "An error occurred de-serializing the message payload. The message can not be de-serialized to an Audit object.",
                 e );
+            acknowledge( message );
         }
         catch ( Exception e )
         {
             log.error( "An error occurred persisting an Audit message of type 'TRACKER'", e );
         }
     }
+
+    private static void acknowledge( Message message )
+    {
+        try
+        {
+            message.acknowledge();
+        }
+        catch ( JMSException e )
+        {
+            log.warn( "Could not acknowledge audit message, it will be redelivered: {}", e.getMessage() );
+        }
+    }
 }
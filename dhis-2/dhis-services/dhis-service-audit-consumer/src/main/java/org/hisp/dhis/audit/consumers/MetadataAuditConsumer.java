@@ -31,7 +31,7 @@ import javax.jms.TextMessage;
 
 import org.hisp.dhis.artemis.Topics;
 import org.hisp.dhis.audit.AbstractAuditConsumer;
-import org.hisp.dhis.audit.AuditService;
+import org.hisp.dhis.audit.AuditSink;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.springframework.jms.annotation.JmsListener;
@@ -49,18 +49,18 @@ public class MetadataAuditConsumer
     extends AbstractAuditConsumer
 {
     public MetadataAuditConsumer(
-        AuditService auditService,
+        AuditSink auditSink,
         ObjectMapper objectMapper,
         DhisConfigurationProvider dhisConfig )
     {
-        this.auditService = auditService;
+        this.auditSink = auditSink;
         this.objectMapper = objectMapper;
 
         this.isAuditLogEnabled = dhisConfig.isEnabled( ConfigurationKey.AUDIT_LOGGER );
         this.isAuditDatabaseEnabled = dhisConfig.isEnabled( ConfigurationKey.AUDIT_DATABASE );
     }
 
-    @JmsListener( destination = Topics.METADATA_TOPIC_NAME )
+    @JmsListener( destination = Topics.METADATA_TOPIC_NAME, containerFactory = "jmsAuditListenerContainerFactory" )
     public void consume( TextMessage message )
     {
         _consume( message );
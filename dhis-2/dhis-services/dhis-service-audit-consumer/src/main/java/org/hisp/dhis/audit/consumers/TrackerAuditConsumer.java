@@ -33,7 +33,7 @@ import javax.jms.TextMessage;
 
 import org.hisp.dhis.artemis.Topics;
 import org.hisp.dhis.audit.AbstractAuditConsumer;
-import org.hisp.dhis.audit.AuditService;
+import org.hisp.dhis.audit.AuditSink;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.springframework.jms.annotation.JmsListener;
@@ -51,11 +51,11 @@ public class TrackerAuditConsumer
     extends AbstractAuditConsumer
 {
     public TrackerAuditConsumer(
-        AuditService auditService,
+        AuditSink auditSink,
         ObjectMapper objectMapper,
         DhisConfigurationProvider dhisConfig )
     {
-        this.auditService = auditService;
+        this.auditSink = auditSink;
         this.objectMapper = objectMapper;
 
         // for legacy reasons we are overriding the default here and using "off"
@@ -65,7 +65,7 @@ public class TrackerAuditConsumer
         this.isAuditDatabaseEnabled = dhisConfig.isEnabled( ConfigurationKey.AUDIT_DATABASE );
     }
 
-    @JmsListener( destination = Topics.TRACKER_TOPIC_NAME )
+    @JmsListener( destination = Topics.TRACKER_TOPIC_NAME, containerFactory = "jmsAuditListenerContainerFactory" )
     public void consume( TextMessage message )
     {
         _consume( message );
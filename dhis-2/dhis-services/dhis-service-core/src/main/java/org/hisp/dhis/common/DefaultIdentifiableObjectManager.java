@@ -1058,18 +1058,18 @@ public class DefaultIdentifiableObjectManager implements IdentifiableObjectManag
                 if ( p.isCollection() )
                 {
                     Collection<?> targetObject = ReflectionUtils.newCollectionInstance( parameterType );
-                    ReflectionUtils.invokeMethod( object, p.getSetterMethod(), targetObject );
+                    ReflectionUtils.invokeSetter( object, p, targetObject );
                 }
                 else
                 {
                     if ( Primitives.isPrimitive( parameterType ) )
                     {
-                        ReflectionUtils.invokeMethod( object, p.getSetterMethod(),
+                        ReflectionUtils.invokeSetter( object, p,
                             Defaults.defaultValue( parameterType ) );
                     }
                     else
                     {
-                        ReflectionUtils.invokeMethod( object, p.getSetterMethod(), (Object) null );
+                        ReflectionUtils.invokeSetter( object, p, null );
                     }
                 }
             } );
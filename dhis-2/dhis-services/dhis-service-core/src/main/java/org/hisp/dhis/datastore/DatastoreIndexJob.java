@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datastore;
+
+import static java.lang.String.format;
+
+import lombok.RequiredArgsConstructor;
+
+import org.hisp.dhis.scheduling.Job;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.scheduling.parameters.DatastoreIndexJobParameters;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds or removes a {@link DatastoreIndex}. Runs as a job as building the
+ * indexes of a large namespace takes long and must happen outside of a
+ * transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatastoreIndexJob implements Job
+{
+    private final DatastoreService service;
+
+    @Override
+    public JobType getJobType()
+    {
+        return JobType.DATASTORE_INDEX;
+    }
+
+    @Override
+    public void execute( JobConfiguration jobConfiguration, JobProgress progress )
+    {
+        DatastoreIndexJobParameters params = (DatastoreIndexJobParameters) jobConfiguration.getJobParameters();
+        DatastoreIndex index = new DatastoreIndex( params.getNamespace(), params.getPath() );
+
+        if ( params.isRemove() )
+        {
+            progress.startingProcess( "Remove datastore index" );
+            progress.startingStage( format( "Removing index of path '%s' in namespace '%s'",
+                index.getPath(), index.getNamespace() ) );
+            progress.endingProcess( progress.runStage( () -> service.removeIndex( index ) ) );
+        }
+        else
+        {
+            progress.startingProcess( "Add datastore index" );
+            progress.startingStage( format( "Indexing path '%s' in namespace '%s'",
+                index.getPath(), index.getNamespace() ) );
+            progress.endingProcess( progress.runStage( () -> service.addIndex( index ) ) );
+        }
+    }
+}
@@ -62,6 +62,11 @@ class DatastoreQueryValidator
                     "the operator `" + f.getOperator() + "` is unary and does not require a value" );
             }
         }
+        if ( query.getAfter() != null && !query.getOrder().isKeyPath() )
+        {
+            throw new IllegalQueryException( new ErrorMessage( ErrorCode.E7654, query.getAfter(),
+                "paging after a key requires the entries to be ordered by key" ) );
+        }
     }
 
     private static IllegalQueryException filterException( Filter f, String msg )
@@ -28,6 +28,7 @@
 package org.hisp.dhis.datastore;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
@@ -45,6 +46,8 @@ import lombok.RequiredArgsConstructor;
 
 import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.datastore.DatastoreNamespaceProtection.ProtectionType;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.hisp.dhis.feedback.ErrorMessage;
 import org.hisp.dhis.render.RenderService;
 import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.user.CurrentUserService;
@@ -52,6 +55,7 @@ import org.hisp.dhis.user.User;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * @author Stian Sandvold (initial)
@@ -72,6 +76,8 @@ public class DefaultDatastoreService
 
     private final RenderService renderService;
 
+    private final TransactionTemplate transactionTemplate;
+
     @Override
     public void addProtection( DatastoreNamespaceProtection protection )
     {
@@ -117,11 +123,14 @@ public class DefaultDatastoreService
     }
 
     @Override
+    @Transactional( readOnly = true )
     public DatastoreQuery plan( DatastoreQuery query )
         throws IllegalQueryException
     {
         DatastoreQueryValidator.validate( query );
-        return query;
+        return query.toBuilder()
+            .indexed( !store.getIndexedPaths( query.getNamespace() ).isEmpty() )
+            .build();
     }
 
     @Override
@@ -196,6 +205,67 @@ public class DefaultDatastoreService
             () -> store.delete( entry ) );
     }
 
+    @Override
+    @Transactional( readOnly = true )
+    public List<String> getIndexedPaths( String namespace )
+    {
+        return readProtectedIn( namespace, emptyList(),
+            () -> store.getIndexedPaths( namespace ) );
+    }
+
+    @Override
+    public DatastoreIndex createIndex( String namespace, String path )
+    {
+        if ( !currentUserHasAuthority( emptySet() ) )
+        {
+            throw new AccessDeniedException( String.format(
+                "Only superusers can manage indexes of namespace '%s'", namespace ) );
+        }
+        String normalised = DatastoreQuery.normalisePath( path );
+        if ( ".".equals( normalised ) || "_".equals( normalised ) )
+        {
+            throw new IllegalQueryException( new ErrorMessage( ErrorCode.E7650, path ) );
+        }
+        return new DatastoreIndex( namespace, normalised );
+    }
+
+    /**
+     * Not transactional as the indexes are built concurrently. The index is
+     * declared only after the indexes exist so that queries do not expect
+     * indexes that are still being built.
+     */
+    @Override
+    public void addIndex( DatastoreIndex index )
+    {
+        if ( isIndexDeclared( index ) )
+        {
+            return;
+        }
+        store.createIndex( index );
+        transactionTemplate.executeWithoutResult( status -> store.saveIndex( index ) );
+    }
+
+    /**
+     * Not transactional as the indexes are dropped concurrently. The
+     * declaration is removed first so that queries no longer expect the
+     * indexes.
+     */
+    @Override
+    public void removeIndex( DatastoreIndex index )
+    {
+        if ( isIndexDeclared( index ) )
+        {
+            transactionTemplate.executeWithoutResult( status -> store.deleteIndex( index ) );
+        }
+        store.dropIndex( index );
+    }
+
+    private boolean isIndexDeclared( DatastoreIndex index )
+    {
+        return Boolean.TRUE.equals( transactionTemplate.execute(
+            status -> store.getIndexedPaths( index.getNamespace() ).contains( index.getPath() ) ) );
+    }
+
     private <T> T readProtectedIn( String namespace, T whenHidden, Supplier<T> read )
     {
         DatastoreNamespaceProtection protection = protectionByNamespace.get( namespace );
@@ -44,6 +44,7 @@ import lombok.AllArgsConstructor;
 
 import org.hisp.dhis.datastore.DatastoreQuery;
 import org.hisp.dhis.datastore.DatastoreQuery.Comparison;
+import org.hisp.dhis.datastore.DatastoreQuery.Direction;
 import org.hisp.dhis.datastore.DatastoreQuery.Filter;
 import org.hisp.dhis.datastore.DatastoreQuery.Order;
 import org.hisp.dhis.system.util.SqlUtils;
@@ -68,12 +69,20 @@ public class DatastoreQueryBuilder
         String filters = createFilterHQL();
 
         return format(
-            "select key %s from DatastoreEntry where namespace = :namespace and (%s) and (%s) order by %s",
-            fields, nonNullFilters, filters, orders );
+            "select key %s from DatastoreEntry where %s and (%s) and (%s)%s order by %s",
+            fields, createNamespaceHQL(), nonNullFilters, filters, createAfterHQL(), orders );
     }
 
     void applyParameterValues( BiConsumer<String, Object> setParameter )
     {
+        if ( !query.isIndexed() )
+        {
+            setParameter.accept( "namespace", query.getNamespace() );
+        }
+        if ( query.getAfter() != null )
+        {
+            setParameter.accept( "after", query.getAfter() );
+        }
         int i = 0;
         for ( Filter f : query.getFilters() )
         {
@@ -85,6 +94,31 @@ public class DatastoreQueryBuilder
         }
     }
 
+    /**
+     * The indexes of a namespace are partial indexes restricted to the
+     * namespace. The planner can only use them when the namespace condition is
+     * known when the query is planned which is why it becomes a literal for
+     * indexed namespaces.
+     */
+    private String createNamespaceHQL()
+    {
+        return query.isIndexed()
+            ? "namespace = " + SqlUtils.singleQuote( query.getNamespace() )
+            : "namespace = :namespace";
+    }
+
+    private String createAfterHQL()
+    {
+        if ( query.getAfter() == null )
+        {
+            return "";
+        }
+        Direction direction = query.getOrder().getDirection();
+        return direction == Direction.DESC || direction == Direction.NDESC
+            ? " and key < :after"
+            : " and key > :after";
+    }
+
     private String createFieldsHQL()
     {
         return query.getFields().isEmpty()
@@ -362,7 +396,7 @@ public class DatastoreQueryBuilder
      * a.b.c => 'a','b','c'
      * </pre>
      */
-    private static String toPathSegments( String path )
+    static String toPathSegments( String path )
     {
         return Arrays.stream( path.split( "\\." ) )
             .map( SqlUtils::singleQuote )
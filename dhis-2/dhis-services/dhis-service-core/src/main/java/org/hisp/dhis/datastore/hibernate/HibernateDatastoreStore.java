@@ -31,8 +31,10 @@ import static java.util.Arrays.asList;
 import static java.util.Arrays.copyOfRange;
 import static java.util.Collections.emptyList;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -43,9 +45,11 @@ import org.hibernate.query.Query;
 import org.hisp.dhis.common.hibernate.HibernateIdentifiableObjectStore;
 import org.hisp.dhis.datastore.DatastoreEntry;
 import org.hisp.dhis.datastore.DatastoreFields;
+import org.hisp.dhis.datastore.DatastoreIndex;
 import org.hisp.dhis.datastore.DatastoreQuery;
 import org.hisp.dhis.datastore.DatastoreStore;
 import org.hisp.dhis.security.acl.AclService;
+import org.hisp.dhis.system.util.SqlUtils;
 import org.hisp.dhis.user.CurrentUserService;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -118,7 +122,6 @@ public class HibernateDatastoreStore
         String hql = builder.createFetchHQL();
 
         Query<?> hQuery = getSession().createQuery( hql, Object[].class )
-            .setParameter( "namespace", query.getNamespace() )
             .setCacheable( false );
 
         builder.applyParameterValues( hQuery::setParameter );
@@ -126,7 +129,7 @@ public class HibernateDatastoreStore
         if ( query.isPaging() )
         {
             int size = Math.min( 1000, Math.max( 1, query.getPageSize() ) );
-            int offset = Math.max( 0, (query.getPage() - 1) * size );
+            int offset = query.getAfter() != null ? 0 : Math.max( 0, (query.getPage() - 1) * size );
             hQuery.setMaxResults( size );
             hQuery.setFirstResult( offset );
         }
@@ -169,4 +172,80 @@ public class HibernateDatastoreStore
         Query<Long> count = getTypedQuery( hql );
         return count.setParameter( "namespace", namespace ).getSingleResult().intValue();
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<String> getIndexedPaths( String namespace )
+    {
+        String hql = "select path from DatastoreIndex where namespace = :namespace order by path";
+        Query<String> query = getSession().createQuery( hql, String.class );
+        return query.setParameter( "namespace", namespace ).list();
+    }
+
+    /**
+     * Two indexes are created as filters compare string values as text and
+     * other values as JSONB. The JSONB index also supports ordering by the
+     * path. A build that fails leaves an invalid index behind, which is
+     * dropped so that the next attempt builds it again.
+     */
+    @Override
+    public void createIndex( DatastoreIndex index )
+    {
+        String name = getIndexName( index );
+        String segments = DatastoreQueryBuilder.toPathSegments( index.getPath() );
+        String where = " where namespace = " + SqlUtils.singleQuote( index.getNamespace() );
+
+        try
+        {
+            jdbcTemplate.execute( "create index concurrently if not exists " + name + "_text on keyjsonvalue "
+                + "(jsonb_extract_path_text(jbvalue, " + segments + "))" + where );
+            jdbcTemplate.execute( "create index concurrently if not exists " + name + "_json on keyjsonvalue "
+                + "(jsonb_extract_path(jbvalue, " + segments + "))" + where );
+        }
+        catch ( RuntimeException ex )
+        {
+            try
+            {
+                dropIndex( index );
+            }
+            catch ( RuntimeException dropEx )
+            {
+                ex.addSuppressed( dropEx );
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void dropIndex( DatastoreIndex index )
+    {
+        String name = getIndexName( index );
+
+        jdbcTemplate.execute( "drop index concurrently if exists " + name + "_text" );
+        jdbcTemplate.execute( "drop index concurrently if exists " + name + "_json" );
+    }
+
+    @Override
+    public void saveIndex( DatastoreIndex index )
+    {
+        getSession().save( index );
+    }
+
+    @Override
+    public void deleteIndex( DatastoreIndex index )
+    {
+        getSession().createQuery( "delete from DatastoreIndex where namespace = :namespace and path = :path" )
+            .setParameter( "namespace", index.getNamespace() )
+            .setParameter( "path", index.getPath() )
+            .executeUpdate();
+    }
+
+    /**
+     * Namespace and path may contain characters not allowed in identifiers so
+     * the index name is derived from a hash of both.
+     */
+    private static String getIndexName( DatastoreIndex index )
+    {
+        byte[] id = (index.getNamespace() + "/" + index.getPath()).getBytes( StandardCharsets.UTF_8 );
+        return "in_keyjsonvalue_" + UUID.nameUUIDFromBytes( id ).toString().replace( "-", "" );
+    }
+}
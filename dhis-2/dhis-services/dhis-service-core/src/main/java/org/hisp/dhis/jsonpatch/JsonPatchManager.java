@@ -109,7 +109,7 @@ public class JsonPatchManager
 
             if ( property.isCollection() )
             {
-                Object data = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+                Object data = ReflectionUtils.invokeGetter( object, property );
 
                 Collection<?> collection = (Collection<?>) data;
 
@@ -105,10 +105,13 @@ public class DefaultOrganisationUnitService
 
     private final UserSettingService userSettingService;
 
+    private final OrganisationUnitHierarchyIndexHolder hierarchyIndexHolder;
+
     public DefaultOrganisationUnitService( OrganisationUnitStore organisationUnitStore,
         IdentifiableObjectManager idObjectManager, OrganisationUnitLevelStore organisationUnitLevelStore,
         CurrentUserService currentUserService, ConfigurationService configurationService,
-        UserSettingService userSettingService, CacheProvider cacheProvider )
+        UserSettingService userSettingService, CacheProvider cacheProvider,
+        OrganisationUnitHierarchyIndexHolder hierarchyIndexHolder )
     {
         checkNotNull( organisationUnitStore );
         checkNotNull( idObjectManager );
@@ -117,6 +120,7 @@ public class DefaultOrganisationUnitService
         checkNotNull( configurationService );
         checkNotNull( userSettingService );
         checkNotNull( cacheProvider );
+        checkNotNull( hierarchyIndexHolder );
 
         this.organisationUnitStore = organisationUnitStore;
         this.idObjectManager = idObjectManager;
@@ -124,6 +128,7 @@ public class DefaultOrganisationUnitService
         this.currentUserService = currentUserService;
         this.configurationService = configurationService;
         this.userSettingService = userSettingService;
+        this.hierarchyIndexHolder = hierarchyIndexHolder;
 
         this.inUserOrgUnitHierarchyCache = cacheProvider.createInUserOrgUnitHierarchyCache();
         this.inUserOrgUnitSearchHierarchyCache = cacheProvider.createInUserSearchOrgUnitHierarchyCache();
@@ -509,6 +514,13 @@ public class DefaultOrganisationUnitService
 
         Set<String> ancestorUids = IdentifiableObjectUtils.getUidsAsSet( ancestors );
 
+        OrganisationUnitHierarchyIndex index = hierarchyIndexHolder.getIndex();
+
+        if ( index != null && index.contains( organisationUnit.getUid() ) )
+        {
+            return index.isDescendant( organisationUnit.getUid(), ancestorUids );
+        }
+
         OrganisationUnit unit = getOrganisationUnit( organisationUnit.getUid() );
 
         if ( unit == null )
@@ -538,6 +550,13 @@ public class DefaultOrganisationUnitService
             return false;
         }
 
+        OrganisationUnitHierarchyIndex index = hierarchyIndexHolder.getIndex();
+
+        if ( index != null && index.contains( organisationUnit.getUid() ) )
+        {
+            return index.isDescendant( organisationUnit.getUid(), ancestor.getUid() );
+        }
+
         OrganisationUnit unit = getOrganisationUnit( organisationUnit.getUid() );
 
         while ( unit != null )
@@ -630,6 +649,14 @@ public class DefaultOrganisationUnitService
     @Transactional( readOnly = true )
     public boolean isInUserHierarchy( String uid, Set<OrganisationUnit> organisationUnits )
     {
+        OrganisationUnitHierarchyIndex index = hierarchyIndexHolder.getIndex();
+
+        if ( index != null && index.contains( uid ) )
+        {
+            return !isEmpty( organisationUnits )
+                && index.isDescendant( uid, IdentifiableObjectUtils.getUidsAsSet( organisationUnits ) );
+        }
+
         OrganisationUnit organisationUnit = organisationUnitStore.getByUid( uid );
 
         return organisationUnit != null && isDescendant( organisationUnit, organisationUnits );
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compact snapshot of the organisation unit hierarchy which
+ * answers ancestry questions without loading organisation units.
+ * <p>
+ * Each organisation unit gets an int id. The hierarchy is numbered by a depth
+ * first traversal which assigns each unit a pre-order number when entering and
+ * a post-order number when leaving it, so that a unit is a descendant of
+ * another unit if and only if its interval is contained by the interval of the
+ * other unit. Units which are not reachable from a root, because of a cyclic
+ * hierarchy, are not numbered and treated as unknown.
+ */
+public final class OrganisationUnitHierarchyIndex
+{
+    private static final int NONE = -1;
+
+    private final Map<String, Integer> ids;
+
+    private final int[] pre;
+
+    private final int[] post;
+
+    private OrganisationUnitHierarchyIndex( Map<String, Integer> ids, int[] pre, int[] post )
+    {
+        this.ids = ids;
+        this.pre = pre;
+        this.post = post;
+    }
+
+    /**
+     * Creates an index from pairs of organisation unit and parent UID.
+     *
+     * @param units the pairs of organisation unit UID and parent UID, with a
+     *        null parent UID for roots.
+     * @return the index.
+     */
+    public static OrganisationUnitHierarchyIndex of( List<String[]> units )
+    {
+        int size = units.size();
+        Map<String, Integer> ids = new HashMap<>( size * 4 / 3 + 1 );
+
+        for ( int id = 0; id < size; id++ )
+        {
+            ids.put( units.get( id )[0], id );
+        }
+
+        int[] parent = new int[size];
+        int[] firstChild = new int[size];
+        int[] nextSibling = new int[size];
+        Arrays.fill( firstChild, NONE );
+
+        for ( int id = size - 1; id >= 0; id-- )
+        {
+            String parentUid = units.get( id )[1];
+            parent[id] = parentUid == null ? NONE : ids.getOrDefault( parentUid, NONE );
+
+            if ( parent[id] != NONE )
+            {
+                nextSibling[id] = firstChild[parent[id]];
+                firstChild[parent[id]] = id;
+            }
+        }
+
+        int[] pre = new int[size];
+        int[] post = new int[size];
+        Arrays.fill( pre, NONE );
+        Arrays.fill( post, NONE );
+
+        int[] stack = new int[size];
+        int[] cursor = firstChild;
+        int clock = 0;
+
+        for ( int root = 0; root < size; root++ )
+        {
+            if ( parent[root] != NONE )
+            {
+                continue;
+            }
+
+            int top = 0;
+            stack[top++] = root;
+            pre[root] = clock++;
+
+            while ( top > 0 )
+            {
+                int id = stack[top - 1];
+                int child = cursor[id];
+
+                if ( child != NONE )
+                {
+                    cursor[id] = nextSibling[child];
+                    pre[child] = clock++;
+                    stack[top++] = child;
+                }
+                else
+                {
+                    post[id] = clock++;
+                    top--;
+                }
+            }
+        }
+
+        return new OrganisationUnitHierarchyIndex( ids, pre, post );
+    }
+
+    /**
+     * @param uid the organisation unit UID.
+     * @return true if the organisation unit is part of the index.
+     */
+    public boolean contains( String uid )
+    {
+        Integer id = ids.get( uid );
+
+        return id != null && pre[id] != NONE;
+    }
+
+    /**
+     * Indicates whether an organisation unit is equal to or a descendant of
+     * another organisation unit.
+     *
+     * @param uid the organisation unit UID.
+     * @param ancestorUid the ancestor organisation unit UID.
+     * @return true if the organisation unit is in the hierarchy of the
+     *         ancestor, false if not or if any of them is not part of the
+     *         index.
+     */
+    public boolean isDescendant( String uid, String ancestorUid )
+    {
+        Integer id = ids.get( uid );
+
+        return id != null && pre[id] != NONE && isDescendant( id, ids.get( ancestorUid ) );
+    }
+
+    /**
+     * Indicates whether an organisation unit is equal to or a descendant of
+     * any of the given organisation units.
+     *
+     * @param uid the organisation unit UID.
+     * @param ancestorUids the ancestor organisation unit UIDs.
+     * @return true if the organisation unit is in the hierarchy of any of the
+     *         ancestors.
+     */
+    public boolean isDescendant( String uid, Collection<String> ancestorUids )
+    {
+        Integer id = ids.get( uid );
+
+        if ( id == null || pre[id] == NONE )
+        {
+            return false;
+        }
+
+        for ( String ancestorUid : ancestorUids )
+        {
+            if ( isDescendant( id, ids.get( ancestorUid ) ) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the number of organisation units in the index.
+     */
+    public int size()
+    {
+        return ids.size();
+    }
+
+    private boolean isDescendant( int id, Integer ancestorId )
+    {
+        return ancestorId != null && pre[ancestorId] != NONE
+            && pre[ancestorId] <= pre[id] && post[id] <= post[ancestorId];
+    }
+}
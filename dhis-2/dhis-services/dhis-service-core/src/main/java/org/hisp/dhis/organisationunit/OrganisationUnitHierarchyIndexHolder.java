@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.hisp.dhis.commons.util.SystemUtils.isTestRun;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link OrganisationUnitHierarchyIndex} shared by all ancestry
+ * checks of the {@link OrganisationUnitService}.
+ * <p>
+ * The index is loaded with a single query on a background thread, outside of
+ * any transaction, so that it only reflects committed changes. It is dropped
+ * and loaded again whenever an organisation unit is created, updated or
+ * deleted on this or another server of the cluster. Callers fall back to
+ * walking the hierarchy while no index is available. The index is disabled in
+ * test runs, like the user hierarchy caches.
+ */
+@Slf4j
+@Component
+public class OrganisationUnitHierarchyIndexHolder
+{
+    private static final String SQL = "select ou.uid, p.uid from organisationunit ou "
+        + "left join organisationunit p on p.organisationunitid = ou.parentid";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+
+    private final ExecutorService executor;
+
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    private long version;
+
+    private volatile OrganisationUnitHierarchyIndex index;
+
+    public OrganisationUnitHierarchyIndexHolder( JdbcTemplate jdbcTemplate, Environment environment )
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = !isTestRun( environment.getActiveProfiles() );
+        this.executor = Executors.newSingleThreadExecutor( runnable -> {
+            Thread thread = new Thread( runnable, "org-unit-hierarchy-index" );
+            thread.setDaemon( true );
+            return thread;
+        } );
+    }
+
+    /**
+     * Returns the current index, and starts loading it when there is none.
+     *
+     * @return the index, or null if it is not available.
+     */
+    public OrganisationUnitHierarchyIndex getIndex()
+    {
+        OrganisationUnitHierarchyIndex current = index;
+
+        if ( current == null )
+        {
+            load();
+        }
+
+        return current;
+    }
+
+    @EventListener
+    public void handleMetadataChanged( MetadataChangedEvent event )
+    {
+        if ( OrganisationUnit.class.isAssignableFrom( event.getObjectClass() ) )
+        {
+            invalidate();
+        }
+    }
+
+    @EventListener
+    public void handleApplicationCachesCleared( ApplicationCacheClearedEvent event )
+    {
+        invalidate();
+    }
+
+    @PreDestroy
+    public void close()
+    {
+        executor.shutdownNow();
+    }
+
+    private void invalidate()
+    {
+        synchronized ( this )
+        {
+            version++;
+            index = null;
+        }
+
+        load();
+    }
+
+    private void load()
+    {
+        if ( enabled && loading.compareAndSet( false, true ) )
+        {
+            executor.execute( this::loadIndex );
+        }
+    }
+
+    private void loadIndex()
+    {
+        try
+        {
+            long loadedVersion;
+            OrganisationUnitHierarchyIndex loaded;
+
+            do
+            {
+                synchronized ( this )
+                {
+                    loadedVersion = version;
+                }
+
+                List<String[]> units = jdbcTemplate.query( SQL,
+                    ( rs, rowNum ) -> new String[] { rs.getString( 1 ), rs.getString( 2 ) } );
+
+                loaded = OrganisationUnitHierarchyIndex.of( units );
+            }
+            while ( !publish( loadedVersion, loaded ) );
+
+            log.debug( "Loaded organisation unit hierarchy index with {} units", loaded.size() );
+        }
+        catch ( RuntimeException ex )
+        {
+            log.warn( "Could not load organisation unit hierarchy index: {}", ex.getMessage() );
+        }
+        finally
+        {
+            loading.set( false );
+        }
+    }
+
+    private synchronized boolean publish( long loadedVersion, OrganisationUnitHierarchyIndex loaded )
+    {
+        if ( version != loadedVersion )
+        {
+            return false;
+        }
+
+        index = loaded;
+        return true;
+    }
+}
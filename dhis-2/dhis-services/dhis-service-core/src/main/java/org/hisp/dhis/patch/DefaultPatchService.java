@@ -143,8 +143,8 @@ public class DefaultPatchService implements PatchService
     @SuppressWarnings( "unchecked" )
     private List<Mutation> calculateMutation( String path, Property property, Object source, Object target )
     {
-        Object sourceValue = ReflectionUtils.invokeMethod( source, property.getGetterMethod() );
-        Object targetValue = ReflectionUtils.invokeMethod( target, property.getGetterMethod() );
+        Object sourceValue = ReflectionUtils.invokeGetter( source, property );
+        Object targetValue = ReflectionUtils.invokeGetter( target, property );
         List<Mutation> mutations = new ArrayList<>();
 
         if ( sourceValue == null && targetValue == null )
@@ -340,7 +340,7 @@ public class DefaultPatchService implements PatchService
 
             if ( i < (paths.length - 1) )
             {
-                currentTarget = ReflectionUtils.invokeMethod( currentTarget, currentProperty.getGetterMethod() );
+                currentTarget = ReflectionUtils.invokeGetter( currentTarget, currentProperty );
             }
         }
 
@@ -358,7 +358,7 @@ public class DefaultPatchService implements PatchService
 
         if ( property.isCollection() )
         {
-            Collection<Object> collection = ReflectionUtils.invokeMethod( target, property.getGetterMethod() );
+            Collection<Object> collection = ReflectionUtils.invokeGetter( target, property );
             Collection<Object> sourceCollection = Collection.class.isInstance( value ) ? (Collection<Object>) value
                 : Lists.newArrayList( value );
 
@@ -420,7 +420,7 @@ public class DefaultPatchService implements PatchService
                 }
             }
 
-            ReflectionUtils.invokeMethod( target, property.getSetterMethod(), collection );
+            ReflectionUtils.invokeSetter( target, property, collection );
         }
         else if ( property.isIdentifiableObject() && !property.isEmbeddedObject() )
         {
@@ -449,7 +449,7 @@ public class DefaultPatchService implements PatchService
                 return;
             }
 
-            ReflectionUtils.invokeMethod( target, property.getSetterMethod(), value );
+            ReflectionUtils.invokeSetter( target, property, value );
         }
         else
         {
@@ -461,7 +461,7 @@ public class DefaultPatchService implements PatchService
                 return;
             }
 
-            ReflectionUtils.invokeMethod( target, property.getSetterMethod(), value );
+            ReflectionUtils.invokeSetter( target, property, value );
         }
     }
 
@@ -505,7 +505,7 @@ public class DefaultPreheatService implements PreheatService
                         if ( !codeMap.containsKey( itemKlass ) )
                             codeMap.put( itemKlass, new HashSet<>() );
 
-                        Object reference = ReflectionUtils.invokeMethod( object, p.getGetterMethod() );
+                        Object reference = ReflectionUtils.invokeGetter( object, p );
 
                         if ( reference != null )
                         {
@@ -515,8 +515,7 @@ public class DefaultPreheatService implements PreheatService
                     }
                     else
                     {
-                        Collection<IdentifiableObject> reference = ReflectionUtils.invokeMethod( object,
-                            p.getGetterMethod() );
+                        Collection<IdentifiableObject> reference = ReflectionUtils.invokeGetter( object, p );
 
                         if ( reference != null )
                         {
@@ -692,7 +691,7 @@ public class DefaultPreheatService implements PreheatService
                 properties.forEach( p -> {
                     if ( !p.isCollection() )
                     {
-                        IdentifiableObject reference = ReflectionUtils.invokeMethod( object, p.getGetterMethod() );
+                        IdentifiableObject reference = ReflectionUtils.invokeGetter( object, p );
 
                         if ( reference != null )
                         {
@@ -711,8 +710,7 @@ public class DefaultPreheatService implements PreheatService
                     {
                         Collection<IdentifiableObject> refObjects = ReflectionUtils
                             .newCollectionInstance( p.getKlass() );
-                        Collection<IdentifiableObject> references = ReflectionUtils.invokeMethod( object,
-                            p.getGetterMethod() );
+                        Collection<IdentifiableObject> references = ReflectionUtils.invokeGetter( object, p );
 
                         if ( references != null )
                         {
@@ -772,7 +770,7 @@ public class DefaultPreheatService implements PreheatService
                     }
 
                     objects
-                        .forEach( o -> list.addAll( ReflectionUtils.invokeMethod( o, property.getGetterMethod() ) ) );
+                        .forEach( o -> list.addAll( ReflectionUtils.invokeGetter( o, property ) ) );
                     targets.put( property.getItemKlass(), list );
                 }
                 else
@@ -784,7 +782,7 @@ public class DefaultPreheatService implements PreheatService
                         list.addAll( targets.get( property.getKlass() ) );
                     }
 
-                    objects.forEach( o -> list.add( ReflectionUtils.invokeMethod( o, property.getGetterMethod() ) ) );
+                    objects.forEach( o -> list.add( ReflectionUtils.invokeGetter( o, property ) ) );
                     targets.put( property.getKlass(), list );
                 }
             }
@@ -838,25 +836,24 @@ public class DefaultPreheatService implements PreheatService
 
             if ( !property.isCollection() )
             {
-                IdentifiableObject refObject = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+                IdentifiableObject refObject = ReflectionUtils.invokeGetter( object, property );
                 IdentifiableObject ref = getPersistedObject( preheat, identifier, refObject );
 
                 ref = connectDefaults( preheat, property, object, refObject, ref );
 
                 if ( ref != null && ref.getId() == 0 )
                 {
-                    ReflectionUtils.invokeMethod( object, property.getSetterMethod(), (Object) null );
+                    ReflectionUtils.invokeSetter( object, property, null );
                 }
                 else
                 {
-                    ReflectionUtils.invokeMethod( object, property.getSetterMethod(), ref );
+                    ReflectionUtils.invokeSetter( object, property, ref );
                 }
             }
             else
             {
                 Collection<IdentifiableObject> objects = ReflectionUtils.newCollectionInstance( property.getKlass() );
-                Collection<IdentifiableObject> refObjects = ReflectionUtils.invokeMethod( object,
-                    property.getGetterMethod() );
+                Collection<IdentifiableObject> refObjects = ReflectionUtils.invokeGetter( object, property );
 
                 for ( IdentifiableObject refObject : refObjects )
                 {
@@ -865,7 +862,7 @@ public class DefaultPreheatService implements PreheatService
                         objects.add( ref );
                 }
 
-                ReflectionUtils.invokeMethod( object, property.getSetterMethod(), objects );
+                ReflectionUtils.invokeSetter( object, property, objects );
             }
         }
     }
@@ -953,7 +950,7 @@ public class DefaultPreheatService implements PreheatService
             uniqueProperties.forEach( property -> {
                 if ( !map.containsKey( property.getName() ) )
                     map.put( property.getName(), new HashMap<>() );
-                Object value = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+                Object value = ReflectionUtils.invokeGetter( object, property );
                 if ( value != null )
                     map.get( property.getName() ).put( value, identifier.getIdentifier( object ) );
             } );
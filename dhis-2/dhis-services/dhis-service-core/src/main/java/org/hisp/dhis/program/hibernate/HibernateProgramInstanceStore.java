@@ -34,6 +34,7 @@ import static org.hisp.dhis.util.DateUtils.getLongGmtDateString;
 import static org.hisp.dhis.util.DateUtils.getMediumDateString;
 import static org.hisp.dhis.util.DateUtils.nowMinusDuration;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -108,6 +109,7 @@ public class HibernateProgramInstanceStore
         String hql = buildCountProgramInstanceHql( params );
 
         Query<Long> query = getTypedQuery( hql );
+        setCursorParameters( query, params );
 
         return query.getSingleResult().intValue();
     }
@@ -124,6 +126,14 @@ public class HibernateProgramInstanceStore
         String hql = buildProgramInstanceHql( params ).getFullQuery();
 
         Query<ProgramInstance> query = getQuery( hql );
+        setCursorParameters( query, params );
+
+        if ( params.isCursorPaging() )
+        {
+            // Keyset paging, the cursor condition replaces the offset
+            query.setMaxResults( params.getPageSizeWithDefault() + 1 );
+            return query.list();
+        }
 
         if ( !params.isSkipPaging() )
         {
@@ -223,11 +233,23 @@ public class HibernateProgramInstanceStore
             hql += hlp.whereAnd() + " pi.deleted is false ";
         }
 
+        if ( hasCursor( params ) )
+        {
+            hql += hlp.whereAnd() + "(pi.lastUpdated < :cursorLastUpdated "
+                + "or (pi.lastUpdated = :cursorLastUpdated and pi.id < :cursorId))";
+        }
+
         QueryWithOrderBy query = QueryWithOrderBy.builder()
             .query( hql )
             .build();
 
-        if ( params.isSorting() )
+        if ( params.isCursorPaging() )
+        {
+            query = query.toBuilder()
+                .orderBy( " order by pi.lastUpdated desc, pi.id desc" )
+                .build();
+        }
+        else if ( params.isSorting() )
         {
             query = query.toBuilder()
                 .orderBy(
@@ -241,6 +263,20 @@ public class HibernateProgramInstanceStore
         return query;
     }
 
+    private boolean hasCursor( ProgramInstanceQueryParams params )
+    {
+        return params.isCursorPaging() && params.getCursor() != null;
+    }
+
+    private void setCursorParameters( Query<?> query, ProgramInstanceQueryParams params )
+    {
+        if ( hasCursor( params ) )
+        {
+            query.setParameter( "cursorLastUpdated", Timestamp.from( params.getCursor().getLastUpdated() ) );
+            query.setParameter( "cursorId", params.getCursor().getId() );
+        }
+    }
+
     @Getter
     @Builder( toBuilder = true )
     static class QueryWithOrderBy
@@ -32,13 +32,18 @@ import static java.util.stream.Collectors.toList;
 import static org.hisp.dhis.program.notification.NotificationTrigger.PROGRAM_RULE;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM_OUTLIER;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -71,6 +76,7 @@ import org.hisp.dhis.program.message.ProgramMessage;
 import org.hisp.dhis.program.message.ProgramMessageRecipients;
 import org.hisp.dhis.program.message.ProgramMessageService;
 import org.hisp.dhis.program.notification.template.snapshot.NotificationTemplateMapper;
+import org.hisp.dhis.program.notification.template.snapshot.ProgramNotificationTemplateSnapshot;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.trackedentity.TrackedEntityInstance;
 import org.hisp.dhis.trackedentityattributevalue.TrackedEntityAttributeValue;
@@ -79,6 +85,7 @@ import org.hisp.dhis.user.UserGroup;
 import org.hisp.dhis.util.DateUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -98,6 +105,8 @@ public class DefaultProgramNotificationService
             iwt.getProgramNotificationInstance().getScheduledAt() != null &&
             DateUtils.isToday( iwt.getProgramNotificationInstance().getScheduledAt() );
 
+    private static final int SCHEDULED_INSTANCE_PAGE_SIZE = 1000;
+
     // -------------------------------------------------------------------------
     // Dependencies
     // -------------------------------------------------------------------------
@@ -129,6 +138,12 @@ public class DefaultProgramNotificationService
     @Nonnull
     private final NotificationTemplateMapper notificationTemplateMapper;
 
+    @Nonnull
+    private final ProgramNotificationInstanceStore programNotificationInstanceStore;
+
+    @Nonnull
+    private final TransactionTemplate transactionTemplate;
+
     // -------------------------------------------------------------------------
     // ProgramStageNotificationService implementation
     // -------------------------------------------------------------------------
@@ -154,49 +169,87 @@ public class DefaultProgramNotificationService
             ( success, failed ) -> format( "Created and sent %d messages", totalMessageCount.get() ) );
     }
 
+    /**
+     * Each page of unsent instances is read, sent and marked as sent in its
+     * own transaction, so that a failure only rolls back the marks of the
+     * failed page and no transaction is kept open for the whole job.
+     */
     @Override
-    @Transactional
     public void sendScheduledNotifications( JobProgress progress )
     {
-        progress.startingStage( "Fetching and filtering ProgramStageNotification messages scheduled by program rules" );
-        List<NotificationInstanceWithTemplate> instancesWithTemplates = progress.runStage( List.of(),
-            () -> identifiableObjectManager.getAll( ProgramNotificationInstance.class ).stream()
-                .map( this::withTemplate )
-                .filter( this::hasTemplate )
-                .filter( IS_SCHEDULED_BY_PROGRAM_RULE )
-                .collect( toList() ) );
+        Date today = DateUtils.removeTimeStamp( new Date() );
+        Date tomorrow = DateUtils.plusOneDay( today );
 
         progress.startingStage( "Processing ProgramStageNotification messages scheduled by program rules",
-            instancesWithTemplates.size(), SKIP_ITEM_OUTLIER );
-        if ( instancesWithTemplates.isEmpty() )
+            SKIP_ITEM_OUTLIER );
+        AtomicInteger totalMessageCount = new AtomicInteger();
+        // ID after which the next page starts, null when there is no next page
+        AtomicReference<Long> nextPage = new AtomicReference<>();
+        progress.runStage( Stream.iterate( 0L, Objects::nonNull, afterId -> nextPage.getAndSet( null ) ),
+            afterId -> format( "Processing page of scheduled notification instances after ID %d", afterId ),
+            afterId -> totalMessageCount.addAndGet( transactionTemplate.execute( status -> {
+                List<ProgramNotificationInstance> page = getUnsentScheduledInstances( today, tomorrow, afterId );
+                if ( page.size() == SCHEDULED_INSTANCE_PAGE_SIZE )
+                {
+                    nextPage.set( page.get( page.size() - 1 ).getId() );
+                }
+                return sendScheduledNotifications( page );
+            } ) ),
+            ( success, failed ) -> format( "Created and sent %d messages", totalMessageCount.get() ) );
+    }
+
+    private List<ProgramNotificationInstance> getUnsentScheduledInstances( Date from, Date to, long afterId )
+    {
+        return programNotificationInstanceStore.getUnsentScheduledInstances( from, to, afterId,
+            SCHEDULED_INSTANCE_PAGE_SIZE );
+    }
+
+    /**
+     * Sends the messages for one page of scheduled instances and marks them as
+     * sent. Templates are resolved once per page and the session is cleared
+     * afterwards so that memory use is bounded by the page size.
+     *
+     * @return the number of messages sent
+     */
+    private int sendScheduledNotifications( List<ProgramNotificationInstance> instances )
+    {
+        Map<ProgramNotificationTemplateSnapshot, ProgramNotificationTemplate> snapshotTemplates = new HashMap<>();
+        Map<Long, Optional<ProgramNotificationTemplate>> databaseTemplates = new HashMap<>();
+
+        List<NotificationInstanceWithTemplate> instancesWithTemplates = instances.stream()
+            .map( instance -> withTemplate( instance, snapshotTemplates, databaseTemplates ) )
+            .filter( this::hasTemplate )
+            .filter( IS_SCHEDULED_BY_PROGRAM_RULE )
+            .collect( toList() );
+
+        List<MessageBatch> batches = new ArrayList<>();
+
+        for ( NotificationInstanceWithTemplate iwt : instancesWithTemplates )
         {
-            progress.completedStage( "No instances with templates found." );
-            return;
+            ProgramNotificationInstance instance = iwt.getProgramNotificationInstance();
+
+            if ( hasProgramInstance( iwt ) )
+            {
+                batches.add( createProgramInstanceMessageBatch( iwt.getProgramNotificationTemplate(),
+                    List.of( instance.getProgramInstance() ) ) );
+            }
+
+            if ( hasProgramStageInstance( iwt ) )
+            {
+                batches.add( createProgramStageInstanceMessageBatch( iwt.getProgramNotificationTemplate(),
+                    List.of( instance.getProgramStageInstance() ) ) );
+            }
         }
 
-        List<MessageBatch> batches = progress.runStage( List.of(), () -> {
-            Stream<MessageBatch> programInstanceBatches = instancesWithTemplates.stream()
-                .filter( this::hasProgramInstance )
-                .map( iwt -> createProgramInstanceMessageBatch(
-                    iwt.getProgramNotificationTemplate(),
-                    List.of( iwt.getProgramNotificationInstance().getProgramInstance() ) ) );
+        sendAll( batches );
 
-            Stream<MessageBatch> programStageInstanceBatches = instancesWithTemplates.stream()
-                .filter( this::hasProgramStageInstance )
-                .map( iwt -> createProgramStageInstanceMessageBatch(
-                    iwt.getProgramNotificationTemplate(),
-                    List.of( iwt.getProgramNotificationInstance().getProgramStageInstance() ) ) );
+        Date sentAt = new Date();
+        instancesWithTemplates.forEach( iwt -> iwt.getProgramNotificationInstance().setSentAt( sentAt ) );
 
-            return Stream.concat( programInstanceBatches, programStageInstanceBatches ).collect( toList() );
-        } );
+        identifiableObjectManager.flush();
+        identifiableObjectManager.clear();
 
-        progress.startingStage( "Sending message batches", batches.size(), SKIP_ITEM_OUTLIER );
-        progress.runStage( batches.stream(),
-            batch -> format( "Sending batch with %d DHIS messages and %d program messages",
-                batch.dhisMessages.size(), batch.programMessages.size() ),
-            this::sendAll,
-            ( success, failed ) -> format( "Created and sent %d messages",
-                batches.stream().mapToInt( MessageBatch::messageCount ).sum() ) );
+        return batches.stream().mapToInt( MessageBatch::messageCount ).sum();
     }
 
     private boolean hasProgramStageInstance( NotificationInstanceWithTemplate notificationInstanceWithTemplate )
@@ -227,23 +280,33 @@ public class DefaultProgramNotificationService
         return true;
     }
 
-    private NotificationInstanceWithTemplate withTemplate(
-        ProgramNotificationInstance programNotificationInstance )
+    private NotificationInstanceWithTemplate withTemplate( ProgramNotificationInstance programNotificationInstance,
+        Map<ProgramNotificationTemplateSnapshot, ProgramNotificationTemplate> snapshotTemplates,
+        Map<Long, Optional<ProgramNotificationTemplate>> databaseTemplates )
     {
+        ProgramNotificationTemplateSnapshot snapshot = programNotificationInstance
+            .getProgramNotificationTemplateSnapshot();
+
+        ProgramNotificationTemplate template = snapshot != null
+            ? snapshotTemplates.computeIfAbsent( snapshot, notificationTemplateMapper::toProgramNotificationTemplate )
+            : null;
+
+        if ( template == null )
+        {
+            Long templateId = programNotificationInstance.getProgramNotificationTemplateId();
+
+            template = templateId == null
+                ? getDatabaseTemplate( programNotificationInstance )
+                : databaseTemplates.computeIfAbsent( templateId,
+                    id -> Optional.ofNullable( getDatabaseTemplate( programNotificationInstance ) ) ).orElse( null );
+        }
+
         return NotificationInstanceWithTemplate.builder()
             .programNotificationInstance( programNotificationInstance )
-            .programNotificationTemplate( getApplicableTemplate( programNotificationInstance ) )
+            .programNotificationTemplate( template )
             .build();
     }
 
-    private ProgramNotificationTemplate getApplicableTemplate( ProgramNotificationInstance programNotificationInstance )
-    {
-        return Optional.of( programNotificationInstance )
-            .map( ProgramNotificationInstance::getProgramNotificationTemplateSnapshot )
-            .map( notificationTemplateMapper::toProgramNotificationTemplate )
-            .orElseGet( () -> this.getDatabaseTemplate( programNotificationInstance ) );
-    }
-
     private ProgramNotificationTemplate getDatabaseTemplate( ProgramNotificationInstance programNotificationInstance )
     {
         log.warn( "Couldn't use template from jsonb column, using the one from database if possible" );
@@ -634,7 +697,7 @@ public class DefaultProgramNotificationService
                     .build() ) );
     }
 
-    private void sendProgramMessages( Set<ProgramMessage> messages )
+    private void sendProgramMessages( Collection<ProgramMessage> messages )
     {
         if ( messages.isEmpty() )
         {
@@ -654,6 +717,14 @@ public class DefaultProgramNotificationService
         sendProgramMessages( messageBatch.programMessages );
     }
 
+    private void sendAll( List<MessageBatch> messageBatches )
+    {
+        messageBatches.forEach( batch -> sendDhisMessages( batch.dhisMessages ) );
+        sendProgramMessages( messageBatches.stream()
+            .flatMap( batch -> batch.programMessages.stream() )
+            .collect( toList() ) );
+    }
+
     // -------------------------------------------------------------------------
     // Internal classes
     // -------------------------------------------------------------------------
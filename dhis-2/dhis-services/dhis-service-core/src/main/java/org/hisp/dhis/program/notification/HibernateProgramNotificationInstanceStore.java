@@ -28,6 +28,7 @@
 package org.hisp.dhis.program.notification;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
 
@@ -93,6 +94,24 @@ public class HibernateProgramNotificationInstanceStore
         return getCount( builder, jpaParameters );
     }
 
+    @Override
+    public List<ProgramNotificationInstance> getUnsentScheduledInstances( Date from, Date to, long afterId, int max )
+    {
+        String hql = "from ProgramNotificationInstance pni " +
+            "left join fetch pni.programInstance " +
+            "left join fetch pni.programStageInstance " +
+            "where pni.scheduledAt >= :from and pni.scheduledAt < :to " +
+            "and pni.sentAt is null and pni.id > :afterId " +
+            "order by pni.id";
+
+        return getSession().createQuery( hql, ProgramNotificationInstance.class )
+            .setParameter( "from", from )
+            .setParameter( "to", to )
+            .setParameter( "afterId", afterId )
+            .setMaxResults( max )
+            .getResultList();
+    }
+
     private List<Function<Root<ProgramNotificationInstance>, Predicate>> getPredicates(
         ProgramNotificationInstanceParam params, CriteriaBuilder builder )
     {
@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.query;
 
+import java.util.Collection;
 import java.util.List;
 
 import lombok.RequiredArgsConstructor;
@@ -92,6 +93,12 @@ public class DefaultQueryService
         return countObjects( cloned );
     }
 
+    @Override
+    public void fetch( Class<?> klass, List<?> objects, Collection<String> paths )
+    {
+        criteriaQueryEngine.fetch( klass, objects, paths );
+    }
+
     @Override
     public Query getQueryFromUrl( Class<?> klass, List<String> filters, List<Order> orders, Pagination pagination )
         throws QueryParserException
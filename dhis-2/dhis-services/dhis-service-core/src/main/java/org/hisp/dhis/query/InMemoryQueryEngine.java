@@ -330,6 +330,6 @@ public class InMemoryQueryEngine<T extends IdentifiableObject>
             return items;
         }
 
-        return ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+        return ReflectionUtils.invokeGetter( object, property );
     }
 }
@@ -29,10 +29,16 @@ package org.hisp.dhis.query;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.persistence.TypedQuery;
@@ -41,17 +47,26 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
 import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.hibernate.InternalHibernateGenericStore;
 import org.hisp.dhis.query.planner.QueryPlan;
 import org.hisp.dhis.query.planner.QueryPlanner;
+import org.hisp.dhis.schema.Property;
 import org.hisp.dhis.schema.Schema;
+import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.system.util.ReflectionUtils;
 import org.hisp.dhis.user.CurrentUserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.Lists;
+
 /**
  * @author Viet Nguyen <viet@dhis2.org>
  */
@@ -59,6 +74,11 @@ import org.springframework.stereotype.Component;
 public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
     implements QueryEngine<T>
 {
+    /**
+     * Max number of identifiers bound to a single fetch query.
+     */
+    private static final int FETCH_BATCH_SIZE = 1000;
+
     private final CurrentUserService currentUserService;
 
     private final QueryPlanner queryPlanner;
@@ -69,23 +89,27 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
 
     private final QueryCacheManager queryCacheManager;
 
+    private final SchemaService schemaService;
+
     private Map<Class<?>, InternalHibernateGenericStore<T>> stores = new HashMap<>();
 
     @Autowired
     public JpaCriteriaQueryEngine( CurrentUserService currentUserService, QueryPlanner queryPlanner,
         List<InternalHibernateGenericStore<T>> hibernateGenericStores, SessionFactory sessionFactory,
-        QueryCacheManager queryCacheManager )
+        QueryCacheManager queryCacheManager, SchemaService schemaService )
     {
         checkNotNull( currentUserService );
         checkNotNull( queryPlanner );
         checkNotNull( hibernateGenericStores );
         checkNotNull( sessionFactory );
+        checkNotNull( schemaService );
 
         this.currentUserService = currentUserService;
         this.queryPlanner = queryPlanner;
         this.hibernateGenericStores = hibernateGenericStores;
         this.sessionFactory = sessionFactory;
         this.queryCacheManager = queryCacheManager;
+        this.schemaService = schemaService;
     }
 
     @Override
@@ -220,6 +244,180 @@ public class JpaCriteriaQueryEngine<T extends IdentifiableObject>
         return typedQuery.getSingleResult();
     }
 
+    /**
+     * Initializes the associations reachable through the given property paths
+     * for all given objects, issuing one query per association and level
+     * instead of one lazy load per object and association. References are
+     * loaded by identifier in batches, collections are initialized by fetch
+     * joining them for all owners of the same type at once.
+     * <p>
+     * Paths are dot separated property names relative to the given class, for
+     * example <code>categoryCombo.categories.categoryOptions</code>. Paths not
+     * resolving to a persisted association, objects not attached to the
+     * current session and associations already initialized are skipped.
+     *
+     * @param klass class of the given objects
+     * @param objects the objects to initialize associations for
+     * @param paths the property paths to initialize
+     */
+    public void fetch( Class<?> klass, List<?> objects, Collection<String> paths )
+    {
+        Schema schema = schemaService.getDynamicSchema( klass );
+
+        if ( schema == null || objects.isEmpty() || paths.isEmpty() )
+        {
+            return;
+        }
+
+        Session session = sessionFactory.getCurrentSession();
+        Map<String, List<Object>> fetched = new HashMap<>();
+        fetched.put( "", new ArrayList<>( objects ) );
+
+        for ( String path : paths )
+        {
+            fetch( session, schema, path, fetched );
+        }
+    }
+
+    private List<Object> fetch( Session session, Schema schema, String path, Map<String, List<Object>> fetched )
+    {
+        List<Object> values = fetched.get( path );
+
+        if ( values != null )
+        {
+            return values;
+        }
+
+        int split = path.lastIndexOf( '.' );
+        List<Object> owners = fetch( session, schema, split < 0 ? "" : path.substring( 0, split ), fetched );
+        Property property = getProperty( schema, path );
+
+        values = owners.isEmpty() || property == null ? List.of() : fetch( session, property, owners );
+        fetched.put( path, values );
+
+        return values;
+    }
+
+    private Property getProperty( Schema schema, String path )
+    {
+        Property property = null;
+
+        for ( String name : path.split( "\\." ) )
+        {
+            if ( property != null )
+            {
+                schema = schemaService.getDynamicSchema(
+                    property.isCollection() ? property.getItemKlass() : property.getKlass() );
+            }
+
+            property = schema == null ? null : schema.getProperty( name );
+
+            if ( property == null )
+            {
+                return null;
+            }
+        }
+
+        return property;
+    }
+
+    private List<Object> fetch( Session session, Property property, List<Object> owners )
+    {
+        if ( !property.isPersisted() || property.getFieldName() == null )
+        {
+            return List.of();
+        }
+
+        if ( property.isCollection() && (property.isManyToMany() || property.isOneToMany()) )
+        {
+            return fetchCollections( session, property, owners );
+        }
+
+        if ( !property.isCollection() && (property.isManyToOne() || property.isOneToOne()) )
+        {
+            return fetchReferences( session, property, owners );
+        }
+
+        return List.of();
+    }
+
+    private List<Object> fetchReferences( Session session, Property property, List<Object> owners )
+    {
+        Set<Object> references = Collections.newSetFromMap( new IdentityHashMap<>() );
+        Map<String, Set<Serializable>> idsByEntityName = new HashMap<>();
+
+        for ( Object owner : owners )
+        {
+            Object reference = ReflectionUtils.invokeGetter( owner, property );
+
+            if ( reference == null )
+            {
+                continue;
+            }
+
+            references.add( reference );
+
+            if ( reference instanceof HibernateProxy )
+            {
+                LazyInitializer initializer = ((HibernateProxy) reference).getHibernateLazyInitializer();
+
+                if ( initializer.isUninitialized() )
+                {
+                    idsByEntityName.computeIfAbsent( initializer.getEntityName(), key -> new LinkedHashSet<>() )
+                        .add( initializer.getIdentifier() );
+                }
+            }
+        }
+
+        // loaded entities end up in the persistence context, from where the
+        // proxies get initialized without hitting the database again
+        idsByEntityName.forEach( ( entityName, ids ) -> Lists.partition( new ArrayList<>( ids ), FETCH_BATCH_SIZE )
+            .forEach( batch -> session.byMultipleIds( entityName ).multiLoad( batch ) ) );
+
+        return new ArrayList<>( references );
+    }
+
+    private List<Object> fetchCollections( Session session, Property property, List<Object> owners )
+    {
+        Map<String, Set<Serializable>> idsByEntityName = new HashMap<>();
+
+        for ( Object owner : owners )
+        {
+            Object collection = ReflectionUtils.invokeGetter( owner, property );
+
+            if ( collection instanceof PersistentCollection && !((PersistentCollection) collection).wasInitialized()
+                && session.contains( owner ) )
+            {
+                idsByEntityName.computeIfAbsent( session.getEntityName( owner ), key -> new LinkedHashSet<>() )
+                    .add( session.getIdentifier( owner ) );
+            }
+        }
+
+        // fetch joining the collection initializes the (still uninitialized)
+        // collection instances of the owners already in the persistence context
+        idsByEntityName.forEach( ( entityName, ids ) -> {
+            String hql = "from " + entityName + " o left join fetch o." + property.getFieldName()
+                + " where o.id in (:ids)";
+
+            Lists.partition( new ArrayList<>( ids ), FETCH_BATCH_SIZE )
+                .forEach( batch -> session.createQuery( hql ).setParameterList( "ids", batch ).list() );
+        } );
+
+        Set<Object> items = Collections.newSetFromMap( new IdentityHashMap<>() );
+
+        for ( Object owner : owners )
+        {
+            Object collection = ReflectionUtils.invokeGetter( owner, property );
+
+            if ( collection instanceof Collection )
+            {
+                items.addAll( (Collection<?>) collection );
+            }
+        }
+
+        return new ArrayList<>( items );
+    }
+
     private void initStoreMap()
     {
         if ( !stores.isEmpty() )
@@ -87,8 +87,8 @@ public class Order
 
     public int compare( Object lside, Object rside )
     {
-        Object o1 = ReflectionUtils.invokeMethod( lside, property.getGetterMethod() );
-        Object o2 = ReflectionUtils.invokeMethod( rside, property.getGetterMethod() );
+        Object o1 = ReflectionUtils.invokeGetter( lside, property );
+        Object o2 = ReflectionUtils.invokeGetter( rside, property );
 
         if ( o1 == o2 )
         {
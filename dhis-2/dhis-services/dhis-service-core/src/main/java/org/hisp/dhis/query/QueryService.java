@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.query;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.hisp.dhis.common.IdentifiableObject;
@@ -64,6 +65,18 @@ public interface QueryService
      */
     long count( Query query );
 
+    /**
+     * Initializes the associations reachable through the given property paths
+     * for all given objects in bulk, so that walking them afterwards (for
+     * example when rendering) does not lazy load them one by one.
+     *
+     * @param klass Type of the given objects
+     * @param objects Objects as returned by {@link #query(Query)}
+     * @param paths Dot separated property paths, e.g.
+     *        <code>categoryCombo.categories</code>
+     */
+    void fetch( Class<?> klass, List<?> objects, Collection<String> paths );
+
     /**
      * Create a query instance from a given set of filters
      * (property:operator:value), and a list of orders.
@@ -27,25 +27,84 @@
  */
 package org.hisp.dhis.sms;
 
+import static org.hisp.dhis.external.conf.ConfigurationKey.SMS_INCOMING_CONSUMERS;
+import static org.hisp.dhis.external.conf.ConfigurationKey.SMS_INCOMING_QUEUE_SIZE;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.sms.incoming.IncomingSms;
 import org.hisp.dhis.sms.incoming.IncomingSmsService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-@RequiredArgsConstructor
+/**
+ * {@link MessageQueue} keeping a bounded queue per partition in memory.
+ * Messages are assigned to partitions by originator. Once a message does not
+ * fit, all further messages are left in the database until {@link #recover()}
+ * queues them again in the order received. Messages put while recovering are
+ * left in the database as well, so that they cannot overtake earlier messages
+ * of the same originator.
+ */
+@Slf4j
 @Component( "org.hisp.dhis.sms.MessageQueue" )
 public class DatabaseSupportedInternalMemoryMessageQueue
     implements MessageQueue
 {
-    private List<IncomingSms> queue = new ArrayList<>();
-
     private final IncomingSmsService incomingSmsService;
 
+    private final List<BlockingQueue<IncomingSms>> partitions;
+
+    private final int capacity;
+
+    /**
+     * IDs of the messages queued or being processed.
+     */
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Guarded by {@code this}.
+     */
+    private boolean overflowed = false;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    @Autowired
+    public DatabaseSupportedInternalMemoryMessageQueue( IncomingSmsService incomingSmsService,
+        DhisConfigurationProvider config )
+    {
+        this( incomingSmsService, Integer.parseInt( config.getProperty( SMS_INCOMING_CONSUMERS ) ),
+            Integer.parseInt( config.getProperty( SMS_INCOMING_QUEUE_SIZE ) ) );
+    }
+
+    DatabaseSupportedInternalMemoryMessageQueue( IncomingSmsService incomingSmsService, int partitionCount,
+        int capacity )
+    {
+        this.incomingSmsService = incomingSmsService;
+        this.capacity = Math.max( 1, capacity );
+
+        int count = Math.max( 1, partitionCount );
+        int partitionCapacity = Math.max( 1, this.capacity / count );
+
+        this.partitions = new ArrayList<>( count );
+
+        for ( int i = 0; i < count; i++ )
+        {
+            partitions.add( new LinkedBlockingQueue<>( partitionCapacity ) );
+        }
+    }
+
     // -------------------------------------------------------------------------
     // Implementation
     // -------------------------------------------------------------------------
@@ -53,34 +112,147 @@ public class DatabaseSupportedInternalMemoryMessageQueue
     @Override
     public void put( IncomingSms message )
     {
-        queue.add( message );
-    }
+        if ( message == null || !queued.add( message.getId() ) )
+        {
+            return;
+        }
 
-    @Override
-    public IncomingSms get()
-    {
-        if ( queue != null && queue.size() > 0 )
+        synchronized ( this )
         {
-            return queue.get( 0 );
+            if ( overflowed )
+            {
+                reject( message );
+            }
+            else if ( offer( message ) )
+            {
+                return;
+            }
+
+            overflowed = true;
         }
 
-        return null;
+        log.debug( "SMS queue is full, message left for recovery: " + message.getUid() );
+    }
+
+    @Override
+    public IncomingSms get( int partition, long timeout, TimeUnit unit )
+        throws InterruptedException
+    {
+        return partitions.get( partition ).poll( timeout, unit );
     }
 
     @Override
     public void remove( IncomingSms message )
     {
-        queue.remove( message );
+        queued.remove( message.getId() );
+    }
+
+    @Override
+    public int getPartitionCount()
+    {
+        return partitions.size();
+    }
+
+    @Override
+    public int size()
+    {
+        return partitions.stream().mapToInt( BlockingQueue::size ).sum();
     }
 
     @Override
     public void initialize()
     {
-        Collection<IncomingSms> messages = incomingSmsService.getAllUnparsedMessages();
+        putAll( incomingSmsService.getAllUnparsedMessages() );
+    }
+
+    @Override
+    public void recover()
+    {
+        synchronized ( this )
+        {
+            if ( !overflowed )
+            {
+                return;
+            }
+        }
+
+        long rejected = rejectedCount.get();
+
+        // messages already queued are part of the result and skipped
+        int limit = capacity + queued.size();
+        List<IncomingSms> messages = incomingSmsService.getUnprocessedMessages( limit );
+
+        synchronized ( this )
+        {
+            boolean full = false;
+
+            for ( IncomingSms message : messages )
+            {
+                if ( message == null || !queued.add( message.getId() ) )
+                {
+                    continue;
+                }
+
+                if ( full )
+                {
+                    reject( message );
+                }
+                else
+                {
+                    full = !offer( message );
+                }
+            }
+
+            // puts are rejected until here, the next recovery continues with
+            // messages which did not fit or were put meanwhile
+            overflowed = full || messages.size() >= limit || rejectedCount.get() != rejected;
+        }
+
+        log.info( "Recovered SMS queue, messages waiting: " + size() );
+    }
+
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
 
+    private void putAll( Collection<IncomingSms> messages )
+    {
         if ( messages != null )
         {
-            queue.addAll( messages );
+            messages.forEach( this::put );
+        }
+    }
+
+    /**
+     * Offers the given message, which must be in {@link #queued}, to its
+     * partition.
+     *
+     * @return true if the message was queued.
+     */
+    private boolean offer( IncomingSms message )
+    {
+        if ( getPartition( message ).offer( message ) )
+        {
+            return true;
         }
+
+        reject( message );
+        return false;
+    }
+
+    private void reject( IncomingSms message )
+    {
+        queued.remove( message.getId() );
+        rejectedCount.incrementAndGet();
+    }
+
+    private BlockingQueue<IncomingSms> getPartition( IncomingSms message )
+    {
+        return partitions.get( Math.floorMod( Objects.hashCode( message.getOriginator() ), partitions.size() ) );
     }
 }
@@ -27,11 +27,17 @@
  */
 package org.hisp.dhis.sms;
 
+import static org.hisp.dhis.external.conf.ConfigurationKey.SMS_INCOMING_BATCH_SIZE;
+
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.message.MessageSender;
 import org.hisp.dhis.sms.incoming.IncomingSms;
 import org.hisp.dhis.sms.incoming.IncomingSmsListener;
@@ -41,69 +47,200 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+/**
+ * Runs one consumer thread per {@link MessageQueue} partition. Each consumer
+ * passes its messages through the {@link IncomingSmsListener}s and writes the
+ * resulting status of processed messages in batches.
+ */
 @Slf4j
-@RequiredArgsConstructor
 @Component( "org.hisp.dhis.sms.SmsConsumerThread" )
 public class SmsConsumerThread
 {
+    private static final long IDLE_WAIT_MILLIS = 1000;
+
     private List<IncomingSmsListener> listeners;
 
     private final MessageQueue messageQueue;
 
-    @Qualifier( "smsMessageSender" )
     private final MessageSender smsSender;
 
     private final IncomingSmsService incomingSmsService;
 
-    public void spawnSmsConsumer()
+    private final int batchSize;
+
+    private final List<Thread> consumers = new ArrayList<>();
+
+    private final AtomicLong processedCount = new AtomicLong();
+
+    private final AtomicLong unhandledCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final AtomicLong totalLagMillis = new AtomicLong();
+
+    @Autowired
+    public SmsConsumerThread( MessageQueue messageQueue, @Qualifier( "smsMessageSender" ) MessageSender smsSender,
+        IncomingSmsService incomingSmsService, DhisConfigurationProvider config )
     {
-        IncomingSms message = messageQueue.get();
+        this.messageQueue = messageQueue;
+        this.smsSender = smsSender;
+        this.incomingSmsService = incomingSmsService;
+        this.batchSize = Math.max( 1, Integer.parseInt( config.getProperty( SMS_INCOMING_BATCH_SIZE ) ) );
+    }
 
-        while ( message != null )
+    public synchronized void start()
+    {
+        if ( !consumers.isEmpty() )
         {
-            log.info( "Received SMS: " + message.getText() );
+            return;
+        }
+
+        for ( int i = 0; i < messageQueue.getPartitionCount(); i++ )
+        {
+            int partition = i;
+            Thread consumer = new Thread( () -> consume( partition ), "sms-consumer-" + i );
+            consumer.setDaemon( true );
+            consumer.start();
+            consumers.add( consumer );
+        }
+    }
+
+    public synchronized void stop()
+    {
+        consumers.forEach( Thread::interrupt );
+        consumers.clear();
+    }
+
+    public long getProcessedCount()
+    {
+        return processedCount.get();
+    }
+
+    public long getUnhandledCount()
+    {
+        return unhandledCount.get();
+    }
+
+    public long getFailedCount()
+    {
+        return failedCount.get();
+    }
+
+    public long getTotalLagMillis()
+    {
+        return totalLagMillis.get();
+    }
+
+    @Autowired
+    public void setListeners( List<IncomingSmsListener> listeners )
+    {
+        this.listeners = listeners;
+
+        log.info( "Following listeners are registered: " + listeners );
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
 
-            try
+    private void consume( int partition )
+    {
+        List<IncomingSms> processed = new ArrayList<>( batchSize );
+
+        try
+        {
+            while ( !Thread.currentThread().isInterrupted() )
             {
-                for ( IncomingSmsListener listener : listeners )
+                // once the partition is drained pending status updates are
+                // written instead of waiting for a full batch
+                IncomingSms message = messageQueue.get( partition, processed.isEmpty() ? IDLE_WAIT_MILLIS : 0,
+                    TimeUnit.MILLISECONDS );
+
+                if ( message == null )
                 {
-                    if ( listener.accept( message ) )
-                    {
-                        listener.receive( message );
-                        messageQueue.remove( message );
-                        return;
-                    }
+                    flush( processed );
+                    continue;
                 }
 
-                log.warn( "No SMS command found in received data" );
-
-                message.setStatus( SmsMessageStatus.UNHANDLED );
+                process( message );
+                processed.add( message );
 
-                smsSender.sendMessage( null, "No command found", message.getOriginator() );
+                if ( processed.size() >= batchSize )
+                {
+                    flush( processed );
+                }
             }
-            catch ( Exception e )
-            {
-                e.printStackTrace();
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            flush( processed );
+        }
+    }
 
-                message.setStatus( SmsMessageStatus.FAILED );
-                message.setParsed( false );
-            }
-            finally
+    void process( IncomingSms message )
+    {
+        log.info( "Received SMS: " + message.getText() );
+
+        try
+        {
+            for ( IncomingSmsListener listener : listeners )
             {
-                messageQueue.remove( message );
+                if ( listener.accept( message ) )
+                {
+                    listener.receive( message );
+                    return;
+                }
+            }
 
-                incomingSmsService.update( message );
+            log.warn( "No SMS command found in received data" );
 
-                message = messageQueue.get();
+            message.setStatus( SmsMessageStatus.UNHANDLED );
+            unhandledCount.incrementAndGet();
+
+            smsSender.sendMessage( null, "No command found", message.getOriginator() );
+        }
+        catch ( Exception e )
+        {
+            log.error( "Failed to process SMS: " + message.getUid(), e );
+
+            message.setStatus( SmsMessageStatus.FAILED );
+            message.setParsed( false );
+            failedCount.incrementAndGet();
+        }
+        finally
+        {
+            processedCount.incrementAndGet();
+
+            if ( message.getReceivedDate() != null )
+            {
+                totalLagMillis.addAndGet( new Date().getTime() - message.getReceivedDate().getTime() );
             }
         }
     }
 
-    @Autowired
-    public void setListeners( List<IncomingSmsListener> listeners )
+    private void flush( List<IncomingSms> processed )
     {
-        this.listeners = listeners;
+        if ( processed.isEmpty() )
+        {
+            return;
+        }
 
-        log.info( "Following listeners are registered: " + listeners );
+        try
+        {
+            incomingSmsService.updateAll( processed );
+        }
+        catch ( RuntimeException ex )
+        {
+            log.error( "Failed to update status of processed SMS", ex );
+        }
+        finally
+        {
+            processed.forEach( messageQueue::remove );
+            processed.clear();
+        }
     }
 }
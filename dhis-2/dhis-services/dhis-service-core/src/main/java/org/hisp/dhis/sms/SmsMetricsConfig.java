@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.sms;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_SMS_ENABLED;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exports the backlog and throughput of incoming SMS processing.
+ */
+@Configuration
+@Conditional( SmsMetricsConfig.SmsMetricsEnabledCondition.class )
+public class SmsMetricsConfig
+{
+    @Autowired
+    public void bindToRegistry( MeterRegistry registry, DatabaseSupportedInternalMemoryMessageQueue messageQueue,
+        SmsConsumerThread smsConsumer )
+    {
+        Gauge.builder( "sms.incoming.queue.size", messageQueue, MessageQueue::size )
+            .description( "Number of incoming SMS waiting to be processed" )
+            .register( registry );
+
+        FunctionCounter.builder( "sms.incoming.rejected", messageQueue,
+            DatabaseSupportedInternalMemoryMessageQueue::getRejectedCount )
+            .description( "Number of incoming SMS left in the database because the queue was full" )
+            .register( registry );
+
+        FunctionCounter.builder( "sms.incoming.unhandled", smsConsumer, SmsConsumerThread::getUnhandledCount )
+            .description( "Number of incoming SMS no listener accepted" )
+            .register( registry );
+
+        FunctionCounter.builder( "sms.incoming.failed", smsConsumer, SmsConsumerThread::getFailedCount )
+            .description( "Number of incoming SMS which failed to process" )
+            .register( registry );
+
+        FunctionTimer.builder( "sms.incoming.processed", smsConsumer, SmsConsumerThread::getProcessedCount,
+            SmsConsumerThread::getTotalLagMillis, TimeUnit.MILLISECONDS )
+            .description( "Time between receiving and processing an incoming SMS" )
+            .register( registry );
+    }
+
+    static class SmsMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_SMS_ENABLED;
+        }
+    }
+}
@@ -50,11 +50,15 @@ public class SmsPublisher
     {
         messageQueue.initialize();
 
-        future = taskScheduler.scheduleWithFixedDelay( smsConsumer::spawnSmsConsumer, 5000 );
+        smsConsumer.start();
+
+        future = taskScheduler.scheduleWithFixedDelay( messageQueue::recover, 5000 );
     }
 
     public void stop()
     {
         future.cancel( true );
+
+        smsConsumer.stop();
     }
 }
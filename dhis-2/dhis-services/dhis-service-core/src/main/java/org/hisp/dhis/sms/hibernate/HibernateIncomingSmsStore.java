@@ -113,6 +113,18 @@ public class HibernateIncomingSmsStore extends HibernateIdentifiableObjectStore<
             .addPredicate( root -> builder.equal( root.get( "parsed" ), false ) ) );
     }
 
+    @Override
+    public List<IncomingSms> getUnprocessedMessages( int max )
+    {
+        CriteriaBuilder builder = getCriteriaBuilder();
+
+        return getList( builder, newJpaParameters()
+            .addPredicate( root -> builder.equal( root.get( "status" ), SmsMessageStatus.INCOMING ) )
+            .addPredicate( root -> builder.equal( root.get( "parsed" ), false ) )
+            .addOrder( root -> builder.asc( root.get( "id" ) ) )
+            .setMaxResults( max ) );
+    }
+
     @Override
     public List<IncomingSms> getSmsByStatus( SmsMessageStatus status, String keyword, Integer min, Integer max,
         boolean hasPagination )
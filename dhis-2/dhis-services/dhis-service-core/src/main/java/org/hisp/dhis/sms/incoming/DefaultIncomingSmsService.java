@@ -29,6 +29,7 @@ package org.hisp.dhis.sms.incoming;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -38,6 +39,8 @@ import org.hisp.dhis.user.User;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service( "org.hisp.dhis.sms.incoming.IncomingSmsService" )
 public class DefaultIncomingSmsService
@@ -97,7 +100,7 @@ public class DefaultIncomingSmsService
         sms.setGatewayId( StringUtils.defaultIfBlank( sms.getGatewayId(), DEFAULT_GATEWAY ) );
 
         incomingSmsStore.save( sms );
-        incomingSmsQueue.put( sms );
+        queueAfterCommit( sms );
         return sms.getId();
     }
 
@@ -170,6 +173,13 @@ public class DefaultIncomingSmsService
         incomingSmsStore.update( incomingSms );
     }
 
+    @Override
+    @Transactional
+    public void updateAll( Collection<IncomingSms> messages )
+    {
+        messages.forEach( incomingSmsStore::update );
+    }
+
     @Override
     @Transactional( readOnly = true )
     public List<IncomingSms> getSmsByStatus( SmsMessageStatus status, String originator )
@@ -191,4 +201,33 @@ public class DefaultIncomingSmsService
     {
         return incomingSmsStore.getAllUnparsedMessages();
     }
+
+    @Override
+    @Transactional( readOnly = true )
+    public List<IncomingSms> getUnprocessedMessages( int max )
+    {
+        return incomingSmsStore.getUnprocessedMessages( max );
+    }
+
+    /**
+     * Consumers process messages concurrently to the request saving them, so a
+     * message is only queued once it is committed and visible to them.
+     */
+    private void queueAfterCommit( IncomingSms sms )
+    {
+        if ( !TransactionSynchronizationManager.isSynchronizationActive() )
+        {
+            incomingSmsQueue.put( sms );
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization()
+        {
+            @Override
+            public void afterCommit()
+            {
+                incomingSmsQueue.put( sms );
+            }
+        } );
+    }
 }
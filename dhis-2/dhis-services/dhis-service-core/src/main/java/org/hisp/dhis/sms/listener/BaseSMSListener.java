@@ -101,12 +101,15 @@ public abstract class BaseSMSListener implements IncomingSmsListener
         LOGGER.getOrDefault( WARNING, log::info ).accept( NO_SMS_CONFIG );
     }
 
+    /**
+     * Sets the outcome of processing the given message. The message is written
+     * by the {@link org.hisp.dhis.sms.SmsConsumerThread} with the other
+     * messages of its batch.
+     */
     protected void update( IncomingSms sms, SmsMessageStatus status, boolean parsed )
     {
         sms.setStatus( status );
         sms.setParsed( parsed );
-
-        incomingSmsService.update( sms );
     }
 
 }
\ No newline at end of file
@@ -30,6 +30,13 @@ package org.hisp.dhis.sqlview.hibernate;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.lang.String.format;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.hibernate.SessionFactory;
@@ -46,6 +53,7 @@ import org.hisp.dhis.user.CurrentUserService;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Repository;
@@ -59,6 +67,8 @@ public class HibernateSqlViewStore
     extends HibernateIdentifiableObjectStore<SqlView>
     implements SqlViewStore
 {
+    private static final int FETCH_SIZE = 1000;
+
     private final StatementBuilder statementBuilder;
 
     private final JdbcTemplate readOnlyJdbcTemplate;
@@ -140,6 +150,74 @@ public class HibernateSqlViewStore
         grid.addRows( rs, maxLimit );
     }
 
+    @Override
+    public void populateSqlViewGrid( Grid grid, String sql, Consumer<List<Object>> rowConsumer )
+    {
+        int maxLimit = systemSettingManager.getIntSetting( SettingKey.SQL_VIEW_MAX_LIMIT );
+
+        log.debug( "Stream view SQL: " + sql + ", max limit: " + maxLimit );
+
+        // the fetch size lets the driver read the rows in chunks instead of
+        // materializing the full result set up front, which PgJDBC only does
+        // outside of autocommit; the read replica data source is not bound to
+        // the surrounding transaction so its connection may be in autocommit
+        readOnlyJdbcTemplate.execute( (ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+
+            if ( autoCommit )
+            {
+                connection.setAutoCommit( false );
+            }
+
+            try ( PreparedStatement statement = connection.prepareStatement( sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY ) )
+            {
+                statement.setFetchSize( FETCH_SIZE );
+
+                try ( ResultSet rs = statement.executeQuery() )
+                {
+                    addRows( grid, rs, maxLimit, rowConsumer );
+                }
+            }
+            finally
+            {
+                if ( autoCommit )
+                {
+                    connection.setAutoCommit( true );
+                }
+            }
+
+            return null;
+        } );
+    }
+
+    private static void addRows( Grid grid, ResultSet rs, int maxLimit, Consumer<List<Object>> rowConsumer )
+        throws SQLException
+    {
+        grid.addHeaders( rs );
+
+        int cols = rs.getMetaData().getColumnCount();
+        int rows = 0;
+
+        while ( rs.next() )
+        {
+            if ( maxLimit > 0 && ++rows > maxLimit )
+            {
+                throw new IllegalStateException(
+                    "Number of rows produced by query is larger than the max limit: " + maxLimit );
+            }
+
+            List<Object> row = new ArrayList<>( cols );
+
+            for ( int i = 1; i <= cols; i++ )
+            {
+                row.add( rs.getObject( i ) );
+            }
+
+            rowConsumer.accept( row );
+        }
+    }
+
     @Override
     public void dropViewTable( SqlView sqlView )
     {
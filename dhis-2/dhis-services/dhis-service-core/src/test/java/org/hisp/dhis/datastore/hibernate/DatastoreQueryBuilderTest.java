@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.datastore.hibernate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hisp.dhis.datastore.DatastoreQuery;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the HQL created by the {@link DatastoreQueryBuilder}.
+ */
+class DatastoreQueryBuilderTest
+{
+    @Test
+    void testCreateFetchHQL_Indexed()
+    {
+        DatastoreQueryBuilder builder = createBuilder( true );
+
+        String hql = builder.createFetchHQL();
+        assertTrue( hql.contains( "namespace = 'pets'" ), hql );
+        assertFalse( hql.contains( ":namespace" ), hql );
+        assertFalse( getParameterValues( builder ).containsKey( "namespace" ) );
+    }
+
+    @Test
+    void testCreateFetchHQL_NotIndexed()
+    {
+        DatastoreQueryBuilder builder = createBuilder( false );
+
+        String hql = builder.createFetchHQL();
+        assertTrue( hql.contains( "namespace = :namespace" ), hql );
+        assertEquals( "pets", getParameterValues( builder ).get( "namespace" ) );
+    }
+
+    @Test
+    void testCreateFetchHQL_IndexedQuotesNamespace()
+    {
+        DatastoreQuery query = DatastoreQuery.builder().namespace( "pet's" ).indexed( true ).build();
+
+        String hql = new DatastoreQueryBuilder( query ).createFetchHQL();
+        assertTrue( hql.contains( "namespace = 'pet''s'" ), hql );
+    }
+
+    private static DatastoreQueryBuilder createBuilder( boolean indexed )
+    {
+        return new DatastoreQueryBuilder( DatastoreQuery.builder()
+            .namespace( "pets" )
+            .filters( DatastoreQuery.parseFilters( List.of( "name:eq:Miao" ) ) )
+            .indexed( indexed )
+            .build() );
+    }
+
+    private static Map<String, Object> getParameterValues( DatastoreQueryBuilder builder )
+    {
+        Map<String, Object> values = new HashMap<>();
+        builder.applyParameterValues( values::put );
+        return values;
+    }
+}
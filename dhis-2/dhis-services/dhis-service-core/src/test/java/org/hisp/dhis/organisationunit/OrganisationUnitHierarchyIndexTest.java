@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class OrganisationUnitHierarchyIndexTest
+{
+    // A
+    // +- B
+    // |  +- D
+    // |  +- E
+    // +- C
+    //    +- F
+    // G
+    // X <-> Y (cyclic)
+    private final OrganisationUnitHierarchyIndex index = OrganisationUnitHierarchyIndex.of( List.of(
+        new String[] { "E", "B" },
+        new String[] { "A", null },
+        new String[] { "F", "C" },
+        new String[] { "B", "A" },
+        new String[] { "D", "B" },
+        new String[] { "C", "A" },
+        new String[] { "G", null },
+        new String[] { "X", "Y" },
+        new String[] { "Y", "X" } ) );
+
+    @Test
+    void testIsDescendant()
+    {
+        assertTrue( index.isDescendant( "E", "A" ) );
+        assertTrue( index.isDescendant( "E", "B" ) );
+        assertTrue( index.isDescendant( "E", "E" ) );
+        assertTrue( index.isDescendant( "F", "A" ) );
+        assertFalse( index.isDescendant( "E", "C" ) );
+        assertFalse( index.isDescendant( "A", "E" ) );
+        assertFalse( index.isDescendant( "G", "A" ) );
+        assertFalse( index.isDescendant( "D", "E" ) );
+    }
+
+    @Test
+    void testIsDescendantOfAny()
+    {
+        assertTrue( index.isDescendant( "D", Set.of( "C", "B" ) ) );
+        assertTrue( index.isDescendant( "F", Set.of( "G", "A" ) ) );
+        assertFalse( index.isDescendant( "F", Set.of( "G", "B", "unknown" ) ) );
+        assertFalse( index.isDescendant( "F", Set.of() ) );
+    }
+
+    @Test
+    void testUnknownAndCyclicUnits()
+    {
+        assertTrue( index.contains( "A" ) );
+        assertFalse( index.contains( "unknown" ) );
+        assertFalse( index.contains( "X" ) );
+        assertFalse( index.isDescendant( "X", "Y" ) );
+        assertFalse( index.isDescendant( "unknown", "A" ) );
+    }
+}
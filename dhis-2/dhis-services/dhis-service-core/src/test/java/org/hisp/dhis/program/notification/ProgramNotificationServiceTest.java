@@ -29,11 +29,14 @@ package org.hisp.dhis.program.notification;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -78,6 +81,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.common.collect.Sets;
 
@@ -131,6 +136,12 @@ class ProgramNotificationServiceTest extends DhisConvenienceTest
     @Mock
     private ProgramNotificationTemplateService notificationTemplateService;
 
+    @Mock
+    private ProgramNotificationInstanceStore programNotificationInstanceStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private NotificationTemplateMapper notificationTemplateMapper = new NotificationTemplateMapper();
 
     private DefaultProgramNotificationService programNotificationService;
@@ -205,7 +216,8 @@ class ProgramNotificationServiceTest extends DhisConvenienceTest
         programNotificationService = new DefaultProgramNotificationService( this.programMessageService,
             this.messageService, this.programInstanceStore, this.programStageInstanceStore, this.manager,
             this.programNotificationRenderer, this.programStageNotificationRenderer, notificationTemplateService,
-            notificationTemplateMapper );
+            notificationTemplateMapper, programNotificationInstanceStore,
+            new TransactionTemplate( transactionManager ) );
 
         setUpInstances();
 
@@ -605,7 +617,7 @@ class ProgramNotificationServiceTest extends DhisConvenienceTest
             return new BatchResponseStatus( Collections.emptyList() );
         } );
 
-        when( manager.getAll( ProgramNotificationInstance.class ) )
+        when( programNotificationInstanceStore.getUnsentScheduledInstances( any(), any(), anyLong(), anyInt() ) )
             .thenReturn( Collections.singletonList( programNotificationInstaceForToday ) );
 
         when( programNotificationRenderer.render( any( ProgramInstance.class ),
@@ -614,6 +626,27 @@ class ProgramNotificationServiceTest extends DhisConvenienceTest
         programNotificationService.sendScheduledNotifications( NoopJobProgress.INSTANCE );
 
         assertEquals( 1, sentProgramMessages.size() );
+        assertNotNull( programNotificationInstaceForToday.getSentAt() );
+    }
+
+    @Test
+    void testScheduledNotificationsCommitEachPage()
+    {
+        when( programMessageService.sendMessages( anyList() ) )
+            .thenReturn( new BatchResponseStatus( Collections.emptyList() ) );
+
+        when( programNotificationInstanceStore.getUnsentScheduledInstances( any(), any(), anyLong(), anyInt() ) )
+            .thenReturn( Collections.nCopies( 1000, programNotificationInstaceForToday ) )
+            .thenReturn( Collections.singletonList( programNotificationInstaceForToday ) );
+
+        when( programNotificationRenderer.render( any( ProgramInstance.class ),
+            any( NotificationTemplate.class ) ) ).thenReturn( notificationMessage );
+
+        programNotificationService.sendScheduledNotifications( NoopJobProgress.INSTANCE );
+
+        verify( programNotificationInstanceStore, times( 2 ) )
+            .getUnsentScheduledInstances( any(), any(), anyLong(), anyInt() );
+        verify( transactionManager, times( 2 ) ).commit( any() );
     }
 
     @Test
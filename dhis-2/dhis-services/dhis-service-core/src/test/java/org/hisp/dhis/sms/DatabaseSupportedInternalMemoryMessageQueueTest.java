@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.sms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.sms.incoming.IncomingSms;
+import org.hisp.dhis.sms.incoming.IncomingSmsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class DatabaseSupportedInternalMemoryMessageQueueTest
+{
+    @Mock
+    private IncomingSmsService incomingSmsService;
+
+    @Test
+    void testMessagesOfSameOriginatorShareOnePartitionInOrder()
+        throws InterruptedException
+    {
+        DatabaseSupportedInternalMemoryMessageQueue queue = new DatabaseSupportedInternalMemoryMessageQueue(
+            incomingSmsService, 4, 100 );
+
+        IncomingSms first = createSms( 1, "+4712345678" );
+        IncomingSms second = createSms( 2, "+4712345678" );
+        queue.put( first );
+        queue.put( second );
+
+        List<List<IncomingSms>> partitions = new ArrayList<>();
+
+        for ( int partition = 0; partition < queue.getPartitionCount(); partition++ )
+        {
+            List<IncomingSms> messages = drain( queue, partition );
+
+            if ( !messages.isEmpty() )
+            {
+                partitions.add( messages );
+            }
+        }
+
+        assertEquals( List.of( List.of( first, second ) ), partitions );
+    }
+
+    @Test
+    void testQueuedMessageIsNotAddedTwice()
+    {
+        DatabaseSupportedInternalMemoryMessageQueue queue = new DatabaseSupportedInternalMemoryMessageQueue(
+            incomingSmsService, 2, 100 );
+
+        IncomingSms sms = createSms( 1, "+4712345678" );
+        queue.put( sms );
+        queue.put( sms );
+
+        assertEquals( 1, queue.size() );
+    }
+
+    @Test
+    void testProcessedMessageCanBeQueuedAgain()
+        throws InterruptedException
+    {
+        DatabaseSupportedInternalMemoryMessageQueue queue = new DatabaseSupportedInternalMemoryMessageQueue(
+            incomingSmsService, 1, 100 );
+
+        IncomingSms sms = createSms( 1, "+4712345678" );
+        queue.put( sms );
+        queue.get( 0, 0, TimeUnit.MILLISECONDS );
+        queue.remove( sms );
+        queue.put( sms );
+
+        assertEquals( 1, queue.size() );
+    }
+
+    @Test
+    void testOverflowIsRecoveredFromDatabase()
+        throws InterruptedException
+    {
+        DatabaseSupportedInternalMemoryMessageQueue queue = new DatabaseSupportedInternalMemoryMessageQueue(
+            incomingSmsService, 1, 1 );
+
+        IncomingSms first = createSms( 1, "+4712345678" );
+        IncomingSms second = createSms( 2, "+4787654321" );
+        queue.put( first );
+        queue.put( second );
+
+        assertEquals( 1, queue.size() );
+        assertEquals( 1, queue.getRejectedCount() );
+
+        assertSame( first, queue.get( 0, 0, TimeUnit.MILLISECONDS ) );
+        queue.remove( first );
+
+        when( incomingSmsService.getUnprocessedMessages( 1 ) ).thenReturn( List.of( second ) );
+        queue.recover();
+
+        assertSame( second, queue.get( 0, 0, TimeUnit.MILLISECONDS ) );
+        assertNull( queue.get( 0, 0, TimeUnit.MILLISECONDS ) );
+    }
+
+    @Test
+    void testMessagePutWhileRecoveringIsLeftForNextRecovery()
+        throws InterruptedException
+    {
+        DatabaseSupportedInternalMemoryMessageQueue queue = new DatabaseSupportedInternalMemoryMessageQueue(
+            incomingSmsService, 1, 1 );
+
+        IncomingSms first = createSms( 1, "+4712345678" );
+        IncomingSms second = createSms( 2, "+4712345678" );
+        IncomingSms third = createSms( 3, "+4712345678" );
+        queue.put( first );
+        queue.put( second );
+
+        assertSame( first, queue.get( 0, 0, TimeUnit.MILLISECONDS ) );
+        queue.remove( first );
+
+        when( incomingSmsService.getUnprocessedMessages( 1 ) ).thenAnswer( invocation -> {
+            queue.put( third );
+            return List.of( second );
+        } );
+        queue.recover();
+
+        assertSame( second, queue.get( 0, 0, TimeUnit.MILLISECONDS ) );
+        assertNull( queue.get( 0, 0, TimeUnit.MILLISECONDS ) );
+        assertEquals( 2, queue.getRejectedCount() );
+
+        queue.remove( second );
+
+        when( incomingSmsService.getUnprocessedMessages( 1 ) ).thenReturn( List.of( third ) );
+        queue.recover();
+
+        assertSame( third, queue.get( 0, 0, TimeUnit.MILLISECONDS ) );
+    }
+
+    @Test
+    void testRecoverWithoutOverflowDoesNotQueryDatabase()
+    {
+        DatabaseSupportedInternalMemoryMessageQueue queue = new DatabaseSupportedInternalMemoryMessageQueue(
+            incomingSmsService, 1, 10 );
+
+        queue.recover();
+
+        verify( incomingSmsService, never() ).getUnprocessedMessages( 10 );
+    }
+
+    private static List<IncomingSms> drain( MessageQueue queue, int partition )
+        throws InterruptedException
+    {
+        List<IncomingSms> messages = new ArrayList<>();
+        IncomingSms message = queue.get( partition, 0, TimeUnit.MILLISECONDS );
+
+        while ( message != null )
+        {
+            messages.add( message );
+            message = queue.get( partition, 0, TimeUnit.MILLISECONDS );
+        }
+
+        return messages;
+    }
+
+    private static IncomingSms createSms( long id, String originator )
+    {
+        IncomingSms sms = new IncomingSms();
+        sms.setId( id );
+        sms.setOriginator( originator );
+        return sms;
+    }
+}
@@ -28,12 +28,10 @@
 package org.hisp.dhis.sms.listener;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -133,8 +131,6 @@ class AggregateDataSetSMSListenerTest
 
     private OutboundMessageResponse response = new OutboundMessageResponse();
 
-    private IncomingSms updatedIncomingSms;
-
     private String message = "";
 
     // Needed for this test
@@ -176,11 +172,6 @@ class AggregateDataSetSMSListenerTest
         when( dataValueService.addDataValue( any() ) ).thenReturn( true );
         when( categoryService.getCategoryOptionCombo( anyString() ) ).thenReturn( categoryOptionCombo );
         when( dataElementService.getDataElement( anyString() ) ).thenReturn( dataElement );
-
-        doAnswer( invocation -> {
-            updatedIncomingSms = (IncomingSms) invocation.getArguments()[0];
-            return updatedIncomingSms;
-        } ).when( incomingSmsService ).update( any() );
     }
 
     @Test
@@ -188,11 +179,10 @@ class AggregateDataSetSMSListenerTest
     {
         subject.receive( incomingSmsAggregate );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsAggregate.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -201,11 +191,10 @@ class AggregateDataSetSMSListenerTest
         subject.receive( incomingSmsAggregate );
         subject.receive( incomingSmsAggregate );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsAggregate.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 2 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -213,11 +202,10 @@ class AggregateDataSetSMSListenerTest
     {
         subject.receive( incomingSmsAggregateNoValues );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsAggregateNoValues.isParsed() );
         assertEquals( NOVALUES_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     private void setUpInstances()
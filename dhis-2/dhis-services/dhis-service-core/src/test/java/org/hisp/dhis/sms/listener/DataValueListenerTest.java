@@ -29,8 +29,6 @@ package org.hisp.dhis.sms.listener;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
@@ -79,7 +77,6 @@ import org.hisp.dhis.user.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -204,8 +201,6 @@ class DataValueListenerTest extends DhisConvenienceTest
 
     private IncomingSms incomingSmsForCompulsoryCode;
 
-    private IncomingSms updatedIncomingSms;
-
     private OutboundMessageResponse response;
 
     private boolean smsConfigured = true;
@@ -270,12 +265,6 @@ class DataValueListenerTest extends DhisConvenienceTest
         // Mock for dataSetService
         when( dataSetService.getLockStatus( any( DataSet.class ), any(), any(), any() ) )
             .thenReturn( LockStatus.OPEN );
-
-        // Mock for incomingSmsService
-        doAnswer( invocation -> {
-            updatedIncomingSms = (IncomingSms) invocation.getArguments()[0];
-            return updatedIncomingSms;
-        } ).when( incomingSmsService ).update( any() );
     }
 
     @Test
@@ -302,16 +291,13 @@ class DataValueListenerTest extends DhisConvenienceTest
         incomingSms.setCreatedBy( user );
         subject.receive( incomingSms );
 
-        assertNotNull( updatedIncomingSms );
-        assertEquals( SmsMessageStatus.PROCESSED, updatedIncomingSms.getStatus() );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertEquals( SmsMessageStatus.PROCESSED, incomingSms.getStatus() );
+        assertTrue( incomingSms.isParsed() );
     }
 
     @Test
     void testIfDataSetIsLocked()
     {
-        ArgumentCaptor<IncomingSms> incomingSmsCaptor = ArgumentCaptor.forClass( IncomingSms.class );
-
         mockSmsSender();
 
         // Mock for userService
@@ -329,10 +315,9 @@ class DataValueListenerTest extends DhisConvenienceTest
         subject.receive( incomingSms );
 
         verify( smsCommandService, times( 1 ) ).getSMSCommand( anyString(), any() );
-        verify( incomingSmsService, times( 1 ) ).update( incomingSmsCaptor.capture() );
+        verify( incomingSmsService, never() ).update( any() );
 
-        assertEquals( incomingSmsCaptor.getValue().getText(), incomingSms.getText() );
-        assertFalse( incomingSmsCaptor.getValue().isParsed() );
+        assertFalse( incomingSms.isParsed() );
     }
 
     @Test
@@ -352,7 +337,7 @@ class DataValueListenerTest extends DhisConvenienceTest
         subject.receive( incomingSms );
 
         assertEquals( SMSCommand.NO_USER_MESSAGE, message );
-        assertNull( updatedIncomingSms );
+        assertEquals( SmsMessageStatus.INCOMING, incomingSms.getStatus() );
         verify( dataSetService, never() ).getLockStatus( any( DataSet.class ), any(), any(), any() );
     }
 
@@ -376,7 +361,7 @@ class DataValueListenerTest extends DhisConvenienceTest
         subject.receive( incomingSms );
 
         assertEquals( SMSCommand.MORE_THAN_ONE_ORGUNIT_MESSAGE, message );
-        assertNull( updatedIncomingSms );
+        assertEquals( SmsMessageStatus.INCOMING, incomingSms.getStatus() );
         verify( dataSetService, never() ).getLockStatus( any( DataSet.class ), any(), any(), any() );
 
         keyValueCommand.setMoreThanOneOrgUnitMessage( MORE_THAN_ONE_OU );
@@ -421,7 +406,7 @@ class DataValueListenerTest extends DhisConvenienceTest
         subject.receive( incomingSmsForCustomSeparator );
 
         assertEquals( message, SMSCommand.WRONG_FORMAT_MESSAGE );
-        assertNull( updatedIncomingSms );
+        assertEquals( SmsMessageStatus.INCOMING, incomingSmsForCustomSeparator.getStatus() );
         verify( dataSetService, never() ).getLockStatus( any( DataSet.class ), any(), any(), any() );
 
         keyValueCommand.setWrongFormatMessage( WRONG_FORMAT );
@@ -463,10 +448,6 @@ class DataValueListenerTest extends DhisConvenienceTest
     {
         when( userService.getUser( anyString() ) ).thenReturn( user );
         when( smsCommandService.getSMSCommand( anyString(), any() ) ).thenReturn( keyValueCommand );
-        doAnswer( invocation -> {
-            updatedIncomingSms = (IncomingSms) invocation.getArguments()[0];
-            return updatedIncomingSms;
-        } ).when( incomingSmsService ).update( any() );
 
         keyValueCommand.setSeparator( null );
         keyValueCommand.setCodeValueSeparator( null );
@@ -474,9 +455,8 @@ class DataValueListenerTest extends DhisConvenienceTest
 
         subject.receive( incomingSms );
 
-        assertNotNull( updatedIncomingSms );
-        assertEquals( SmsMessageStatus.FAILED, updatedIncomingSms.getStatus() );
-        assertFalse( updatedIncomingSms.isParsed() );
+        assertEquals( SmsMessageStatus.FAILED, incomingSms.getStatus() );
+        assertFalse( incomingSms.isParsed() );
         verify( dataSetService, times( 0 ) ).getLockStatus( any( DataSet.class ),
             any( Period.class ), any( OrganisationUnit.class ), any( CategoryOptionCombo.class ) );
     }
@@ -491,9 +471,8 @@ class DataValueListenerTest extends DhisConvenienceTest
         // = is default separator
         subject.receive( incomingSms );
 
-        assertNotNull( updatedIncomingSms );
-        assertEquals( SmsMessageStatus.PROCESSED, updatedIncomingSms.getStatus() );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertEquals( SmsMessageStatus.PROCESSED, incomingSms.getStatus() );
+        assertTrue( incomingSms.isParsed() );
     }
 
     @Test
@@ -507,9 +486,8 @@ class DataValueListenerTest extends DhisConvenienceTest
 
         subject.receive( incomingSmsForCustomSeparator );
 
-        assertNotNull( updatedIncomingSms );
-        assertEquals( SmsMessageStatus.PROCESSED, updatedIncomingSms.getStatus() );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertEquals( SmsMessageStatus.PROCESSED, incomingSmsForCustomSeparator.getStatus() );
+        assertTrue( incomingSmsForCustomSeparator.isParsed() );
 
         // when custom separator is empty space
         keyValueCommand.setSeparator( " " );
@@ -28,12 +28,10 @@
 package org.hisp.dhis.sms.listener;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -103,8 +101,6 @@ class DeleteEventSMSListenerTest
 
     private OutboundMessageResponse response = new OutboundMessageResponse();
 
-    private IncomingSms updatedIncomingSms;
-
     private String message = "";
 
     // Needed for this test
@@ -132,11 +128,6 @@ class DeleteEventSMSListenerTest
             return response;
         } );
         when( programStageInstanceService.getProgramStageInstance( anyString() ) ).thenReturn( programStageInstance );
-
-        doAnswer( invocation -> {
-            updatedIncomingSms = (IncomingSms) invocation.getArguments()[0];
-            return updatedIncomingSms;
-        } ).when( incomingSmsService ).update( any() );
     }
 
     @Test
@@ -144,11 +135,10 @@ class DeleteEventSMSListenerTest
     {
         subject.receive( incomingSmsDelete );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsDelete.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     private void setUpInstances()
@@ -28,12 +28,10 @@
 package org.hisp.dhis.sms.listener;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -149,8 +147,6 @@ class EnrollmentSMSListenerTest
 
     private OutboundMessageResponse response = new OutboundMessageResponse();
 
-    private IncomingSms updatedIncomingSms;
-
     private String message = "";
 
     // Needed for this test
@@ -213,11 +209,6 @@ class EnrollmentSMSListenerTest
         when( programInstanceService.enrollTrackedEntityInstance( any(), any(), any(), any(), any(), any() ) )
             .thenReturn( programInstance );
         when( programService.hasOrgUnit( any( Program.class ), any( OrganisationUnit.class ) ) ).thenReturn( true );
-
-        doAnswer( invocation -> {
-            updatedIncomingSms = (IncomingSms) invocation.getArguments()[0];
-            return updatedIncomingSms;
-        } ).when( incomingSmsService ).update( any() );
     }
 
     @Test
@@ -228,11 +219,10 @@ class EnrollmentSMSListenerTest
 
         subject.receive( incomingSmsEnrollmentNoEvents );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsEnrollmentNoEvents.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -246,11 +236,10 @@ class EnrollmentSMSListenerTest
 
         subject.receive( incomingSmsEnrollmentWithEvents );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsEnrollmentWithEvents.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -265,11 +254,10 @@ class EnrollmentSMSListenerTest
         subject.receive( incomingSmsEnrollmentWithEvents );
         subject.receive( incomingSmsEnrollmentWithEvents );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsEnrollmentWithEvents.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 2 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -280,11 +268,10 @@ class EnrollmentSMSListenerTest
 
         subject.receive( incomingSmsEnrollmentWithNulls );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsEnrollmentWithNulls.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -292,11 +279,10 @@ class EnrollmentSMSListenerTest
     {
         subject.receive( incomingSmsEnrollmentNoAttribs );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsEnrollmentNoAttribs.isParsed() );
         assertEquals( NOATTRIBS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -310,11 +296,10 @@ class EnrollmentSMSListenerTest
 
         subject.receive( incomingSmsEnrollmentEventWithNulls );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsEnrollmentEventWithNulls.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     // For now there's no warning if an event within the event
@@ -329,11 +314,10 @@ class EnrollmentSMSListenerTest
 
         subject.receive( incomingSmsEnrollmentEventNoValues );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsEnrollmentEventNoValues.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     private void setUpInstances()
@@ -28,15 +28,12 @@
 package org.hisp.dhis.sms.listener;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
-import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -148,8 +145,6 @@ class TrackedEntityRegistrationListenerTest extends DhisConvenienceTest
 
     private IncomingSms incomingSms;
 
-    private IncomingSms updatedIncomingSms;
-
     private OutboundMessageResponse response = new OutboundMessageResponse();
 
     private String message = "";
@@ -190,19 +185,12 @@ class TrackedEntityRegistrationListenerTest extends DhisConvenienceTest
         when( trackedEntityInstanceService.getTrackedEntityInstance( anyLong() ) ).thenReturn( trackedEntityInstance );
         when( programService.hasOrgUnit( program, organisationUnit ) ).thenReturn( true );
 
-        // Mock for incomingSmsService
-        doAnswer( invocation -> {
-            updatedIncomingSms = (IncomingSms) invocation.getArguments()[0];
-            return updatedIncomingSms;
-        } ).when( incomingSmsService ).update( any() );
-
         subject.receive( incomingSms );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSms.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
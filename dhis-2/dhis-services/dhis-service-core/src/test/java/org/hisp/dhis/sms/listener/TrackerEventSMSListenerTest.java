@@ -28,12 +28,10 @@
 package org.hisp.dhis.sms.listener;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -123,8 +121,6 @@ class TrackerEventSMSListenerTest
 
     private OutboundMessageResponse response = new OutboundMessageResponse();
 
-    private IncomingSms updatedIncomingSms;
-
     private String message = "";
 
     // Needed for this test
@@ -179,11 +175,6 @@ class TrackerEventSMSListenerTest
         when( programInstanceService.getProgramInstance( anyString() ) ).thenReturn( programInstance );
         when( dataElementService.getDataElement( anyString() ) ).thenReturn( dataElement );
         when( categoryService.getCategoryOptionCombo( anyString() ) ).thenReturn( categoryOptionCombo );
-
-        doAnswer( invocation -> {
-            updatedIncomingSms = (IncomingSms) invocation.getArguments()[0];
-            return updatedIncomingSms;
-        } ).when( incomingSmsService ).update( any() );
     }
 
     @Test
@@ -191,11 +182,10 @@ class TrackerEventSMSListenerTest
     {
         subject.receive( incomingSmsTrackerEvent );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsTrackerEvent.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -204,11 +194,10 @@ class TrackerEventSMSListenerTest
         subject.receive( incomingSmsTrackerEvent );
         subject.receive( incomingSmsTrackerEvent );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsTrackerEvent.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 2 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -216,11 +205,10 @@ class TrackerEventSMSListenerTest
     {
         subject.receive( incomingSmsTrackerEventWithNulls );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsTrackerEventWithNulls.isParsed() );
         assertEquals( SUCCESS_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     @Test
@@ -228,11 +216,10 @@ class TrackerEventSMSListenerTest
     {
         subject.receive( incomingSmsTrackerEventNoValues );
 
-        assertNotNull( updatedIncomingSms );
-        assertTrue( updatedIncomingSms.isParsed() );
+        assertTrue( incomingSmsTrackerEventNoValues.isParsed() );
         assertEquals( NOVALUES_MESSAGE, message );
 
-        verify( incomingSmsService, times( 1 ) ).update( any() );
+        verify( incomingSmsService, never() ).update( any() );
     }
 
     private void setUpInstances()
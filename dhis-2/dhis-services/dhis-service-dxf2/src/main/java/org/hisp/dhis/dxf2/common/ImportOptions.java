@@ -166,6 +166,14 @@ public class ImportOptions
     @JsonProperty( namespace = DxfNamespaces.DXF_2_0 )
     private boolean skipCache = false;
 
+    /**
+     * If true, new data values are written using the PostgreSQL COPY protocol
+     * into a staging table which is then merged into the data value table.
+     * Intended for large first-time loads where most values are new.
+     */
+    @JsonProperty( namespace = DxfNamespaces.DXF_2_0 )
+    private boolean copyDataValues;
+
     /**
      * Optional field to set the data set ID of the imported values using
      * request parameters
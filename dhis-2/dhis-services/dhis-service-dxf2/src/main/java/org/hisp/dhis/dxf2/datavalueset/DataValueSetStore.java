@@ -29,10 +29,13 @@ package org.hisp.dhis.dxf2.datavalueset;
 
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.datavalue.DataValue;
 
 /**
  * @author Lars Helge Overland
@@ -67,4 +70,15 @@ public interface DataValueSetStore
      */
     void exportDataValueSetJson( Date lastUpdated, OutputStream outputStream, IdSchemes idSchemes, int pageSize,
         int page );
+
+    /**
+     * Finds the persisted {@link DataValue}s, including soft deleted values,
+     * matching the keys of the given values using a single query.
+     *
+     * @param keys values providing the data element, period, org unit,
+     *        category option combo and attribute option combo to look for
+     * @return the persisted values found, which refer to the same key objects
+     *         as the matching value in the given keys
+     */
+    List<DataValue> getDataValues( Collection<DataValue> keys );
 }
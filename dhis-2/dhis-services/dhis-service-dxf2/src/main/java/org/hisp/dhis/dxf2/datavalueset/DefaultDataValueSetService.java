@@ -27,6 +27,8 @@
  */
 package org.hisp.dhis.dxf2.datavalueset;
 
+import static java.util.Collections.emptyIterator;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.trimToNull;
 import static org.hisp.dhis.commons.collection.CollectionUtils.isEmpty;
 import static org.hisp.dhis.commons.util.StreamUtils.wrapAndCheckCompressionFormat;
@@ -41,13 +43,22 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
 
+import javax.sql.DataSource;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -88,6 +99,7 @@ import org.hisp.dhis.i18n.I18nManager;
 import org.hisp.dhis.importexport.ImportStrategy;
 import org.hisp.dhis.jdbc.batchhandler.DataValueAuditBatchHandler;
 import org.hisp.dhis.jdbc.batchhandler.DataValueBatchHandler;
+import org.hisp.dhis.jdbc.batchhandler.DataValueCopyWriter;
 import org.hisp.dhis.node.types.CollectionNode;
 import org.hisp.dhis.node.types.ComplexNode;
 import org.hisp.dhis.node.types.RootNode;
@@ -138,6 +150,8 @@ public class DefaultDataValueSetService
 
     private static final int CACHE_MISS_THRESHOLD = 250;
 
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+
     private final IdentifiableObjectManager identifiableObjectManager;
 
     private final CategoryService categoryService;
@@ -178,6 +192,8 @@ public class DefaultDataValueSetService
 
     private final DataValueSetImportValidator importValidator;
 
+    private final DataSource dataSource;
+
     private final SchemaService schemaService;
 
     // -------------------------------------------------------------------------
@@ -662,6 +678,23 @@ public class DefaultDataValueSetService
     {
         DataValueSet dataValueSet = reader.readHeader();
         final ImportContext context = createDataValueSetImportContext( options, dataValueSet );
+
+        try
+        {
+            return importDataValueSet( id, dataValueSet, reader, context );
+        }
+        finally
+        {
+            if ( context.getDataValueCopyWriter() != null )
+            {
+                context.getDataValueCopyWriter().close();
+            }
+        }
+    }
+
+    private ImportSummary importDataValueSet( JobConfiguration id, DataValueSet dataValueSet,
+        DataValueSetReader reader, ImportContext context )
+    {
         logDataValueSetImportContextInfo( context );
 
         Clock clock = new Clock( log ).startClock()
@@ -717,19 +750,30 @@ public class DefaultDataValueSetService
         notifier.notify( id, notificationLevel, "Importing data values" );
 
         List<? extends DataValueEntry> values = dataValueSet.getDataValues();
+        Iterator<? extends DataValueEntry> headerValues = values != null ? values.iterator() : emptyIterator();
+        List<PreparedDataValue> chunk = new ArrayList<>( IMPORT_CHUNK_SIZE );
         int index = 0;
-        if ( values != null && !values.isEmpty() )
+        DataValueEntry dataValue = headerValues.hasNext() ? headerValues.next() : reader.readNext();
+        while ( dataValue != null )
         {
-            for ( DataValueEntry dataValue : values )
+            PreparedDataValue prepared = prepareDataValue( context, dataSetContext, importCount, now, index++,
+                dataValue );
+            if ( prepared != null )
             {
-                importDataValue( context, dataSetContext, importCount, now, index++, dataValue );
+                chunk.add( prepared );
             }
+            if ( chunk.size() >= IMPORT_CHUNK_SIZE )
+            {
+                importDataValues( context, importCount, chunk );
+                chunk.clear();
+            }
+            dataValue = headerValues.hasNext() ? headerValues.next() : reader.readNext();
         }
-        DataValueEntry dataValue = reader.readNext();
-        while ( dataValue != null )
+        importDataValues( context, importCount, chunk );
+
+        if ( context.getDataValueCopyWriter() != null )
         {
-            importDataValue( context, dataSetContext, importCount, now, index++, dataValue );
-            dataValue = reader.readNext();
+            context.getDataValueCopyWriter().flush();
         }
 
         context.getDataValueBatchHandler().flush();
@@ -754,8 +798,13 @@ public class DefaultDataValueSetService
         return context.getSummary();
     }
 
-    private void importDataValue( ImportContext context, DataSetContext dataSetContext, ImportCount importCount,
-        Date now, int index, DataValueEntry dataValue )
+    /**
+     * Validates the given entry and creates the internal value from it.
+     *
+     * @return the value ready for import or null if it was skipped
+     */
+    private PreparedDataValue prepareDataValue( ImportContext context, DataSetContext dataSetContext,
+        ImportCount importCount, Date now, int index, DataValueEntry dataValue )
     {
         ImportContext.DataValueContext valueContext = createDataValueContext( index, dataValue, context,
             dataSetContext );
@@ -772,7 +821,7 @@ public class DefaultDataValueSetService
         if ( importValidator.skipDataValue( dataValue, context, dataSetContext, valueContext ) )
         {
             importCount.incrementIgnored();
-            return;
+            return null;
         }
 
         // -----------------------------------------------------------------
@@ -781,23 +830,74 @@ public class DefaultDataValueSetService
         DataValue internalValue = createDataValue( dataValue, context, valueContext, now );
 
         // -----------------------------------------------------------------
-        // Save, update or delete data value
+        // Entries of streaming readers are only valid until the next read
         // -----------------------------------------------------------------
-        DataValue existingValue = !context.isSkipExistingCheck()
-            ? context.getDataValueBatchHandler().findObject( internalValue )
-            : null;
+        return new PreparedDataValue( valueContext, internalValue, dataValue.getValue(),
+            context.getStoredBy( dataValue ), dataValue.hasCreated() );
+    }
+
+    /**
+     * Imports a chunk of validated values. The existing values are resolved
+     * for the whole chunk using a single query. Values occurring more than
+     * once within the chunk fall back to looking up the existing value
+     * individually so that they observe the writes of the preceding values.
+     */
+    private void importDataValues( ImportContext context, ImportCount importCount, List<PreparedDataValue> chunk )
+    {
+        if ( chunk.isEmpty() )
+        {
+            return;
+        }
+
+        Map<List<Object>, DataValue> existingValues = new HashMap<>();
+
+        if ( !context.isSkipExistingCheck() )
+        {
+            List<DataValue> keys = chunk.stream().map( PreparedDataValue::getInternalValue ).collect( toList() );
+            dataValueSetStore.getDataValues( keys ).forEach( dv -> existingValues.put( getKey( dv ), dv ) );
+        }
+
+        Set<List<Object>> importedKeys = new HashSet<>();
+
+        for ( PreparedDataValue value : chunk )
+        {
+            DataValue existingValue = null;
+
+            if ( !context.isSkipExistingCheck() )
+            {
+                List<Object> key = getKey( value.getInternalValue() );
+                existingValue = importedKeys.add( key )
+                    ? existingValues.get( key )
+                    : context.getDataValueBatchHandler().findObject( value.getInternalValue() );
+            }
+
+            importDataValue( context, importCount, value, existingValue );
+        }
+    }
+
+    private static List<Object> getKey( DataValue value )
+    {
+        return Arrays.asList( value.getDataElement(), value.getPeriod(), value.getSource(),
+            value.getCategoryOptionCombo(), value.getAttributeOptionCombo() );
+    }
+
+    private void importDataValue( ImportContext context, ImportCount importCount, PreparedDataValue value,
+        DataValue existingValue )
+    {
+        ImportContext.DataValueContext valueContext = value.getValueContext();
+        DataValue internalValue = value.getInternalValue();
 
         // -----------------------------------------------------------------
         // Preserve any existing created date unless overwritten by import
         // -----------------------------------------------------------------
-        if ( existingValue != null && !dataValue.hasCreated() )
+        if ( existingValue != null && !value.isHasCreated() )
         {
             internalValue.setCreated( existingValue.getCreated() );
         }
 
         final ImportStrategy strategy = context.getStrategy();
         boolean zeroAndInsignificant = ValidationUtils.dataValueIsZeroAndInsignificant(
-            dataValue.getValue(), valueContext.getDataElement() );
+            value.getValue(), valueContext.getDataElement() );
         if ( zeroAndInsignificant && (existingValue == null || strategy.isCreate()) )
         {
             // Ignore value
@@ -812,11 +912,11 @@ public class DefaultDataValueSetService
         {
             if ( strategy.isCreateAndUpdate() || strategy.isUpdate() )
             {
-                saveDataValueUpdate( context, importCount, dataValue, valueContext, internalValue, existingValue );
+                saveDataValueUpdate( context, importCount, value, valueContext, internalValue, existingValue );
             }
             else if ( strategy.isDelete() )
             {
-                saveDataValueDelete( context, importCount, dataValue, valueContext, internalValue, existingValue );
+                saveDataValueDelete( context, importCount, value, valueContext, internalValue, existingValue );
             }
             else
             {
@@ -867,7 +967,9 @@ public class DefaultDataValueSetService
 
         if ( !context.isDryRun() )
         {
-            added = context.getDataValueBatchHandler().addObject( internalValue );
+            added = context.getDataValueCopyWriter() != null
+                ? context.getDataValueCopyWriter().addObject( internalValue )
+                : context.getDataValueBatchHandler().addObject( internalValue );
 
             if ( added && valueContext.getDataElement().isFileType() )
             {
@@ -886,7 +988,7 @@ public class DefaultDataValueSetService
     }
 
     private void saveDataValueDelete( ImportContext context, ImportCount importCount,
-        DataValueEntry dataValue, ImportContext.DataValueContext valueContext,
+        PreparedDataValue value, ImportContext.DataValueContext valueContext,
         DataValue internalValue, DataValue existingValue )
     {
         internalValue.setDeleted( true );
@@ -910,7 +1012,7 @@ public class DefaultDataValueSetService
             if ( !context.isSkipAudit() )
             {
                 DataValueAudit auditValue = new DataValueAudit( internalValue, existingValue.getValue(),
-                    context.getStoredBy( dataValue ), AuditType.DELETE );
+                    value.getStoredBy(), AuditType.DELETE );
 
                 context.getAuditBatchHandler().addObject( auditValue );
             }
@@ -918,12 +1020,12 @@ public class DefaultDataValueSetService
     }
 
     private void saveDataValueUpdate( ImportContext context, ImportCount importCount,
-        DataValueEntry dataValue, ImportContext.DataValueContext valueContext,
+        PreparedDataValue value, ImportContext.DataValueContext valueContext,
         DataValue internalValue, DataValue existingValue )
     {
         AuditType auditType = AuditType.UPDATE;
         if ( internalValue.isNullValue() || internalValue.isDeleted()
-            || dataValueIsZeroAndInsignificant( dataValue.getValue(), valueContext.getDataElement() ) )
+            || dataValueIsZeroAndInsignificant( value.getValue(), valueContext.getDataElement() ) )
         {
             internalValue.setDeleted( true );
 
@@ -949,7 +1051,7 @@ public class DefaultDataValueSetService
             if ( !context.isSkipAudit() && !Objects.equals( existingValue.getValue(), internalValue.getValue() ) )
             {
                 DataValueAudit auditValue = new DataValueAudit( internalValue, existingValue.getValue(),
-                    context.getStoredBy( dataValue ), auditType );
+                    value.getStoredBy(), auditType );
 
                 context.getAuditBatchHandler().addObject( auditValue );
             }
@@ -1050,6 +1152,7 @@ public class DefaultDataValueSetService
             IdSchemes::getCategoryOptionComboIdScheme );
         IdScheme dataSetIdScheme = createIdScheme( data.getDataSetIdSchemeProperty(), options,
             IdSchemes::getDataSetIdScheme );
+        boolean dryRun = data.getDryRun() != null ? data.getDryRun() : options.isDryRun();
         return ImportContext.builder()
             .importOptions( options )
             .summary( new ImportSummary().setImportOptions( options ) )
@@ -1068,7 +1171,7 @@ public class DefaultDataValueSetService
             .strategy( data.getStrategy() != null
                 ? ImportStrategy.valueOf( data.getStrategy() )
                 : options.getImportStrategy() )
-            .dryRun( data.getDryRun() != null ? data.getDryRun() : options.isDryRun() )
+            .dryRun( dryRun )
             .skipExistingCheck( options.isSkipExistingCheck() )
             .strictPeriods( options.isStrictPeriods()
                 || settings.getBoolSetting( SettingKey.DATA_IMPORT_STRICT_PERIODS ) )
@@ -1110,6 +1213,9 @@ public class DefaultDataValueSetService
                 .createBatchHandler( DataValueBatchHandler.class ).init() )
             .auditBatchHandler( skipAudit ? null
                 : batchHandlerFactory.createBatchHandler( DataValueAuditBatchHandler.class ).init() )
+            .dataValueCopyWriter( options.isCopyDataValues() && !dryRun
+                ? new DataValueCopyWriter( dataSource ).init()
+                : null )
             .singularNameForType( klass -> schemaService.getDynamicSchema( klass ).getSingular() )
             .build();
     }
@@ -1257,4 +1363,23 @@ public class DefaultDataValueSetService
         summary.setDataSetComplete( DateUtils.getMediumDateString( completeDate ) );
     }
 
+
+    /**
+     * A validated value of the import waiting for the existing value lookup of
+     * its chunk.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class PreparedDataValue
+    {
+        private final ImportContext.DataValueContext valueContext;
+
+        private final DataValue internalValue;
+
+        private final String value;
+
+        private final String storedBy;
+
+        private final boolean hasCreated;
+    }
 }
@@ -57,6 +57,7 @@ import org.hisp.dhis.dxf2.importsummary.ImportStatus;
 import org.hisp.dhis.dxf2.importsummary.ImportSummary;
 import org.hisp.dhis.i18n.I18n;
 import org.hisp.dhis.importexport.ImportStrategy;
+import org.hisp.dhis.jdbc.batchhandler.DataValueCopyWriter;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodType;
@@ -199,6 +200,11 @@ public final class ImportContext
 
     private final BatchHandler<DataValueAudit> auditBatchHandler;
 
+    /**
+     * Writer for new values, null unless {@link ImportOptions#isCopyDataValues()}
+     */
+    private final DataValueCopyWriter dataValueCopyWriter;
+
     private final Function<Class<? extends IdentifiableObject>, String> singularNameForType;
 
     public String getCurrentUserName()
@@ -30,29 +30,93 @@ package org.hisp.dhis.dxf2.datavalueset;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.List;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
+import org.hisp.dhis.dxf2.datavalue.DataValue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.FileBackedOutputStream;
 
 /**
  * Reads {@link DataValueSet} from JSON input.
  *
+ * The input is processed using a streaming {@link JsonParser}. As JSON object
+ * properties are unordered, header properties may follow the
+ * {@code dataValues} array. To read all header properties before the first
+ * value the array is therefore copied as is to a buffer, which is kept in
+ * memory up to {@link #BUFFER_MEMORY_THRESHOLD} bytes and in a temporary file
+ * beyond. The values are then read one by one from the buffer on each call to
+ * {@link #readNext()}.
+ *
  * @author Jan Bernitt
  */
-@AllArgsConstructor
+@RequiredArgsConstructor
 final class JsonDataValueSetReader implements DataValueSetReader
 {
-    final InputStream in;
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>()
+    {
+    };
+
+    /**
+     * Size of the {@code dataValues} array up to which it is buffered in
+     * memory.
+     */
+    private static final int BUFFER_MEMORY_THRESHOLD = 8 * 1024 * 1024;
+
+    private final InputStream in;
+
+    private final ObjectMapper jsonMapper;
+
+    private JsonParser parser;
+
+    /**
+     * The buffered {@code dataValues} array
+     */
+    private FileBackedOutputStream dataValues;
 
-    final ObjectMapper jsonMapper;
+    /**
+     * True while the parser is positioned within the {@code dataValues} array
+     */
+    private boolean inDataValues;
 
     @Override
     public DataValueSet readHeader()
     {
         try
         {
-            return jsonMapper.readValue( in, DataValueSet.class );
+            parser = jsonMapper.getFactory().createParser( in );
+            if ( parser.nextToken() != JsonToken.START_OBJECT )
+            {
+                throw new JsonParseException( parser, "Expected data value set object" );
+            }
+            DataValueSet header = new DataValueSet();
+            while ( parser.nextToken() == JsonToken.FIELD_NAME )
+            {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ( "dataValues".equals( name ) && value == JsonToken.START_ARRAY )
+                {
+                    bufferDataValues();
+                }
+                else
+                {
+                    readHeaderProperty( header, name, value );
+                }
+            }
+            if ( dataValues != null )
+            {
+                parser.close();
+                parser = jsonMapper.getFactory().createParser( dataValues.asByteSource().openBufferedStream() );
+                inDataValues = parser.nextToken() == JsonToken.START_ARRAY;
+            }
+            return header;
         }
         catch ( IOException ex )
         {
@@ -60,10 +124,109 @@ final class JsonDataValueSetReader implements DataValueSetReader
         }
     }
 
+    /**
+     * Copies the {@code dataValues} array the parser is positioned at to the
+     * buffer, replacing a previously buffered array like a repeated property
+     * replaces the previous value.
+     */
+    private void bufferDataValues()
+        throws IOException
+    {
+        if ( dataValues != null )
+        {
+            dataValues.reset();
+        }
+        dataValues = new FileBackedOutputStream( BUFFER_MEMORY_THRESHOLD );
+        try ( JsonGenerator generator = jsonMapper.getFactory().createGenerator( dataValues ) )
+        {
+            generator.copyCurrentStructure( parser );
+        }
+    }
+
+    private void readHeaderProperty( DataValueSet header, String name, JsonToken value )
+        throws IOException
+    {
+        switch ( name )
+        {
+        case "idScheme":
+            header.setIdScheme( getString() );
+            break;
+        case "dataElementIdScheme":
+            header.setDataElementIdScheme( getString() );
+            break;
+        case "orgUnitIdScheme":
+            header.setOrgUnitIdScheme( getString() );
+            break;
+        case "categoryOptionComboIdScheme":
+            header.setCategoryOptionComboIdScheme( getString() );
+            break;
+        case "dataSetIdScheme":
+            header.setDataSetIdScheme( getString() );
+            break;
+        case "dryRun":
+            header.setDryRun( value == JsonToken.VALUE_NULL ? null : parser.getValueAsBoolean() );
+            break;
+        case "strategy":
+            header.setStrategy( getString() );
+            break;
+        case "dataSet":
+            header.setDataSet( getString() );
+            break;
+        case "completeDate":
+            header.setCompleteDate( getString() );
+            break;
+        case "period":
+            header.setPeriod( getString() );
+            break;
+        case "orgUnit":
+            header.setOrgUnit( getString() );
+            break;
+        case "attributeOptionCombo":
+            header.setAttributeOptionCombo( getString() );
+            break;
+        case "attributeCategoryOptions":
+            header.setAttributeCategoryOptions( jsonMapper.readValue( parser, STRING_LIST ) );
+            break;
+        default:
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Mirrors the mapper's behaviour of reading empty strings as {@code null}.
+     */
+    private String getString()
+        throws IOException
+    {
+        String value = parser.getValueAsString();
+        return value == null || value.isEmpty() ? null : value;
+    }
+
     @Override
     public DataValueEntry readNext()
     {
-        return null; // header contains the values
+        if ( !inDataValues )
+        {
+            return null;
+        }
+        try
+        {
+            JsonToken token = parser.nextToken();
+            while ( token == JsonToken.VALUE_NULL )
+            {
+                token = parser.nextToken();
+            }
+            if ( token == JsonToken.START_OBJECT )
+            {
+                return jsonMapper.readValue( parser, DataValue.class );
+            }
+            inDataValues = false;
+            return null;
+        }
+        catch ( IOException ex )
+        {
+            throw new UncheckedIOException( ex );
+        }
     }
 
     @Override
@@ -71,6 +234,14 @@ final class JsonDataValueSetReader implements DataValueSetReader
     {
         try
         {
+            if ( parser != null )
+            {
+                parser.close();
+            }
+            if ( dataValues != null )
+            {
+                dataValues.reset();
+            }
             in.close();
         }
         catch ( IOException ex )
@@ -38,7 +38,12 @@ import java.io.Writer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +53,7 @@ import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.query.JpaQueryUtils;
@@ -139,6 +145,67 @@ public class SpringDataValueSetStore
         }
     }
 
+    @Override
+    public List<DataValue> getDataValues( Collection<DataValue> keys )
+    {
+        if ( keys.isEmpty() )
+        {
+            return List.of();
+        }
+
+        Map<String, DataValue> keysById = new HashMap<>();
+        StringBuilder keyRows = new StringBuilder();
+
+        for ( DataValue key : keys )
+        {
+            String id = getIdKey( key.getDataElement().getId(), key.getPeriod().getId(), key.getSource().getId(),
+                key.getCategoryOptionCombo().getId(), key.getAttributeOptionCombo().getId() );
+
+            if ( keysById.putIfAbsent( id, key ) == null )
+            {
+                keyRows.append( "(" ).append( id.replace( '-', ',' ) ).append( ")," );
+            }
+        }
+
+        final String sql = "select dv.dataelementid, dv.periodid, dv.sourceid, dv.categoryoptioncomboid, " +
+            "dv.attributeoptioncomboid, dv.value, dv.storedby, dv.created, dv.comment, dv.followup, dv.deleted " +
+            "from datavalue dv " +
+            "inner join (values " + TextUtils.removeLastComma( keyRows.toString() ) + ") " +
+            "as k (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid) " +
+            "on dv.dataelementid=k.dataelementid and dv.periodid=k.periodid and dv.sourceid=k.sourceid " +
+            "and dv.categoryoptioncomboid=k.categoryoptioncomboid " +
+            "and dv.attributeoptioncomboid=k.attributeoptioncomboid";
+
+        List<DataValue> dataValues = new ArrayList<>();
+
+        jdbcTemplate.query( sql, ( ResultSet rs ) -> {
+            DataValue key = keysById.get( getIdKey( rs.getLong( "dataelementid" ), rs.getLong( "periodid" ),
+                rs.getLong( "sourceid" ), rs.getLong( "categoryoptioncomboid" ),
+                rs.getLong( "attributeoptioncomboid" ) ) );
+
+            DataValue dv = new DataValue( key.getDataElement(), key.getPeriod(), key.getSource(),
+                key.getCategoryOptionCombo(), key.getAttributeOptionCombo() );
+
+            dv.setValue( rs.getString( "value" ) );
+            dv.setStoredBy( rs.getString( "storedby" ) );
+            dv.setCreated( rs.getTimestamp( "created" ) );
+            dv.setComment( rs.getString( "comment" ) );
+            dv.setFollowup( rs.getBoolean( "followup" ) );
+            dv.setDeleted( rs.getBoolean( "deleted" ) );
+
+            dataValues.add( dv );
+        } );
+
+        return dataValues;
+    }
+
+    private static String getIdKey( long dataElementId, long periodId, long sourceId, long categoryOptionComboId,
+        long attributeOptionComboId )
+    {
+        return dataElementId + "-" + periodId + "-" + sourceId + "-" + categoryOptionComboId + "-"
+            + attributeOptionComboId;
+    }
+
     private String buildDataValueSql( Date lastUpdated, IdSchemes idSchemes )
     {
         String deScheme = idSchemes.getDataElementIdScheme().getIdentifiableString().toLowerCase();
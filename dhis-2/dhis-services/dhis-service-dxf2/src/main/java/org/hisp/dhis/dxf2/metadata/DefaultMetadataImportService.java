@@ -57,7 +57,9 @@ import org.hisp.dhis.importexport.ImportStrategy;
 import org.hisp.dhis.preheat.PreheatIdentifier;
 import org.hisp.dhis.preheat.PreheatMode;
 import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.scheduling.NoopJobProgress;
 import org.hisp.dhis.security.acl.AclService;
 import org.hisp.dhis.system.notification.NotificationLevel;
 import org.hisp.dhis.system.notification.Notifier;
@@ -91,6 +93,13 @@ public class DefaultMetadataImportService implements MetadataImportService
     @Override
     @Transactional
     public ImportReport importMetadata( MetadataImportParams params )
+    {
+        return importMetadata( params, NoopJobProgress.INSTANCE );
+    }
+
+    @Override
+    @Transactional
+    public ImportReport importMetadata( MetadataImportParams params, JobProgress progress )
     {
         Timer timer = new SystemTimer().start();
 
@@ -116,6 +125,8 @@ public class DefaultMetadataImportService implements MetadataImportService
             notifier.notify( params.getId(), message );
         }
 
+        progress.startingStage( "Preheating metadata" );
+
         preCreateBundle( params );
 
         ObjectBundleParams bundleParams = params.toObjectBundleParams();
@@ -124,16 +135,25 @@ public class DefaultMetadataImportService implements MetadataImportService
 
         postCreateBundle( bundle, bundleParams );
 
+        progress.completedStage( bundle.getObjectsCount() + " objects preheated" );
+        progress.startingStage( "Validating metadata" );
+
         ObjectBundleValidationReport validationReport = objectBundleValidationService.validate( bundle );
         importReport.addTypeReports( validationReport );
 
+        progress.completedStage( validationReport.getErrorReportsCount() + " errors found" );
+
         if ( !validationReport.hasErrorReports() || AtomicMode.NONE == bundle.getAtomicMode() )
         {
             Timer commitTimer = new SystemTimer().start();
 
+            progress.startingStage( "Committing metadata" );
+
             ObjectBundleCommitReport commitReport = objectBundleService.commit( bundle );
             importReport.addTypeReports( commitReport );
 
+            progress.completedStage( "Commit took " + commitTimer );
+
             if ( importReport.hasErrorReports() )
             {
                 importReport.setStatus( Status.WARNING );
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.hisp.dhis.dxf2.metadata.feedback.ImportReport;
+import org.hisp.dhis.scheduling.JobProgress;
 
 /**
  * @author Morten Olav Hansen <mortenoh@gmail.com>
@@ -47,6 +48,16 @@ public interface MetadataImportService
      */
     ImportReport importMetadata( MetadataImportParams params );
 
+    /**
+     * Import object using provided params, reporting the preheat, validation
+     * and commit phases as stages of the given {@link JobProgress}.
+     *
+     * @param params Parameters for import, including objects
+     * @param progress to track the phases of the import
+     * @return Report giving status of import (and any errors)
+     */
+    ImportReport importMetadata( MetadataImportParams params, JobProgress progress );
+
     /**
      * Parses, and creates a MetadataImportParams instance based on given map of
      * parameters.
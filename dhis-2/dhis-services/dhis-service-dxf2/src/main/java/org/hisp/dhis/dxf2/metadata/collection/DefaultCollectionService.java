@@ -53,6 +53,7 @@ import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.schema.validation.SchemaValidator;
 import org.hisp.dhis.security.acl.AclService;
+import org.hisp.dhis.system.util.ReflectionUtils;
 import org.hisp.dhis.user.CurrentUserService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -309,17 +310,9 @@ public class DefaultCollectionService implements CollectionService
         return manager.getByUid( ((Class<? extends IdentifiableObject>) property.getItemKlass()), itemCodes );
     }
 
-    @SuppressWarnings( "unchecked" )
     private Collection<IdentifiableObject> getCollection( IdentifiableObject object, Property property )
     {
-        try
-        {
-            return (Collection<IdentifiableObject>) property.getGetterMethod().invoke( object );
-        }
-        catch ( Exception ex )
-        {
-            throw new RuntimeException( ex );
-        }
+        return ReflectionUtils.invokeGetter( object, property );
     }
 
     @FunctionalInterface
@@ -50,6 +50,8 @@ import org.hisp.dhis.dxf2.metadata.FlushMode;
 import org.hisp.dhis.dxf2.metadata.objectbundle.feedback.ObjectBundleCommitReport;
 import org.hisp.dhis.eventhook.EventHookPublisher;
 import org.hisp.dhis.eventhook.EventUtils;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.ObjectReport;
 import org.hisp.dhis.feedback.TypeReport;
 import org.hisp.dhis.preheat.Preheat;
@@ -94,6 +96,8 @@ public class DefaultObjectBundleService implements ObjectBundleService
 
     private final EventHookPublisher eventHookPublisher;
 
+    private final DhisConfigurationProvider config;
+
     @Override
     @Transactional( readOnly = true )
     public ObjectBundle create( ObjectBundleParams params )
@@ -132,17 +136,29 @@ public class DefaultObjectBundleService implements ObjectBundleService
         List<Class<? extends IdentifiableObject>> klasses = getSortedClasses( bundle );
         Session session = sessionFactory.getCurrentSession();
 
-        List<ObjectBundleHook<?>> commitHooks = objectBundleHooks.getCommitHooks( klasses );
-        commitHooks.forEach( hook -> hook.preCommit( bundle ) );
+        // Pending inserts and updates are sent in JDBC batches when the
+        // session is flushed, instead of one statement per object
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize( getJdbcBatchSize() );
 
-        for ( Class<? extends IdentifiableObject> klass : klasses )
+        try
         {
-            commitObjectType( bundle, typeReports, session, klass );
-        }
+            List<ObjectBundleHook<?>> commitHooks = objectBundleHooks.getCommitHooks( klasses );
+            commitHooks.forEach( hook -> hook.preCommit( bundle ) );
+
+            for ( Class<? extends IdentifiableObject> klass : klasses )
+            {
+                commitObjectType( bundle, typeReports, session, klass );
+            }
 
-        if ( !bundle.getImportMode().isDelete() )
+            if ( !bundle.getImportMode().isDelete() )
+            {
+                commitHooks.forEach( hook -> hook.postCommit( bundle ) );
+            }
+        }
+        finally
         {
-            commitHooks.forEach( hook -> hook.postCommit( bundle ) );
+            session.setJdbcBatchSize( jdbcBatchSize );
         }
 
         dbmsManager.clearSession();
@@ -195,6 +211,12 @@ public class DefaultObjectBundleService implements ObjectBundleService
     // Utility Methods
     // -----------------------------------------------------------------------------------
 
+    private int getJdbcBatchSize()
+    {
+        return Math.max( 0,
+            Integer.parseInt( config.getProperty( ConfigurationKey.METADATA_IMPORT_JDBC_BATCH_SIZE ).trim() ) );
+    }
+
     private <T extends IdentifiableObject> TypeReport handleCreates( Session session, Class<T> klass,
         List<T> objects, ObjectBundle bundle )
     {
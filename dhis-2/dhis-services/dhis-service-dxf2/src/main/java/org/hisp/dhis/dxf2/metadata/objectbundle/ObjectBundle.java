@@ -380,6 +380,12 @@ public class ObjectBundle implements ObjectIndexProvider
         return persistedObjects.containsKey( klass ) || nonPersistedObjects.containsKey( klass );
     }
 
+    public int getObjectsCount()
+    {
+        return persistedObjects.values().stream().mapToInt( List::size ).sum()
+            + nonPersistedObjects.values().stream().mapToInt( List::size ).sum();
+    }
+
     public int getObjectsCount( Class<? extends IdentifiableObject> klass )
     {
         List<IdentifiableObject> none = emptyList();
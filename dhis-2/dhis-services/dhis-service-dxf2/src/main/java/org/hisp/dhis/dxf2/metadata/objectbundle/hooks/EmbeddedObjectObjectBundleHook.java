@@ -70,7 +70,7 @@ public class EmbeddedObjectObjectBundleHook
             .stream()
             .forEach( propertyName -> {
                 Property property = schema.getEmbeddedObjectProperties().get( propertyName );
-                Object propertyObject = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+                Object propertyObject = ReflectionUtils.invokeGetter( object, property );
 
                 if ( property.getPropertyType().equals( PropertyType.COMPLEX ) )
                 {
@@ -140,11 +140,11 @@ public class EmbeddedObjectObjectBundleHook
                     continue;
                 }
 
-                ((Collection<?>) ReflectionUtils.invokeMethod( object, property.getGetterMethod() )).clear();
+                ((Collection<?>) ReflectionUtils.invokeGetter( object, property )).clear();
             }
             else
             {
-                ReflectionUtils.invokeMethod( object, property.getSetterMethod(), (Object) null );
+                ReflectionUtils.invokeSetter( object, property, null );
             }
         }
     }
@@ -154,7 +154,7 @@ public class EmbeddedObjectObjectBundleHook
     {
         for ( Property property : properties )
         {
-            Object propertyObject = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+            Object propertyObject = ReflectionUtils.invokeGetter( object, property );
 
             if ( property.isCollection() )
             {
@@ -190,12 +190,12 @@ public class EmbeddedObjectObjectBundleHook
         {
             if ( PeriodType.class.isAssignableFrom( embeddedProperty.getKlass() ) )
             {
-                PeriodType periodType = ReflectionUtils.invokeMethod( object, embeddedProperty.getGetterMethod() );
+                PeriodType periodType = ReflectionUtils.invokeGetter( object, embeddedProperty );
 
                 if ( periodType != null )
                 {
                     periodType = bundle.getPreheat().getPeriodTypeMap().get( periodType.getName() );
-                    ReflectionUtils.invokeMethod( object, embeddedProperty.getSetterMethod(), periodType );
+                    ReflectionUtils.invokeSetter( object, embeddedProperty, periodType );
                 }
             }
         }
@@ -28,19 +28,26 @@
 package org.hisp.dhis.dxf2.metadata.objectbundle.hooks;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundle;
 import org.hisp.dhis.eventhook.EventHook;
+import org.hisp.dhis.eventhook.EventHookOutboxStore;
 import org.hisp.dhis.eventhook.EventHookSecretManager;
 import org.hisp.dhis.eventhook.ReloadEventHookListeners;
+import org.hisp.dhis.eventhook.Target;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
 /**
  * @author Morten Olav Hansen
  */
+@Slf4j
 @Component
 @AllArgsConstructor
 public class EventHookObjectBundleHook
@@ -50,16 +57,61 @@ public class EventHookObjectBundleHook
 
     private final EventHookSecretManager secretManager;
 
+    private final EventHookOutboxStore outboxStore;
+
     @Override
     public void preCreate( EventHook eventHook, ObjectBundle bundle )
     {
+        assignTargetIds( eventHook );
         secretManager.encrypt( eventHook );
     }
 
     @Override
     public void preUpdate( EventHook eventHook, EventHook persistedObject, ObjectBundle bundle )
     {
+        assignTargetIds( eventHook );
         secretManager.encrypt( eventHook );
+
+        // undelivered events of removed targets can no longer be delivered
+        purgeOutbox( eventHook.getUid(),
+            eventHook.getTargets().stream().map( Target::getId ).collect( Collectors.toList() ) );
+    }
+
+    @Override
+    public void preDelete( EventHook eventHook, ObjectBundle bundle )
+    {
+        purgeOutbox( eventHook.getUid(), List.of() );
+    }
+
+    /**
+     * Stale outbox entries are never delivered, so failing to remove them
+     * should not fail the import.
+     */
+    private void purgeOutbox( String eventHookUid, List<String> targetIds )
+    {
+        try
+        {
+            outboxStore.deleteOtherTargets( eventHookUid, targetIds );
+        }
+        catch ( DataAccessException ex )
+        {
+            log.warn( "Could not remove stored events of event hook '{}': {}", eventHookUid, ex.getMessage() );
+        }
+    }
+
+    /**
+     * Targets keep their ID when they are updated, so that events stored in
+     * the outbox are delivered to the same target.
+     */
+    private static void assignTargetIds( EventHook eventHook )
+    {
+        for ( Target target : eventHook.getTargets() )
+        {
+            if ( target.getId() == null )
+            {
+                target.setId( CodeGenerator.generateUid() );
+            }
+        }
     }
 
     @Override
@@ -57,13 +57,13 @@ public class PeriodTypeObjectBundleHook extends AbstractObjectBundleHook<Identif
         {
             if ( PeriodType.class.isAssignableFrom( property.getKlass() ) )
             {
-                PeriodType periodType = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+                PeriodType periodType = ReflectionUtils.invokeGetter( object, property );
 
                 if ( periodType != null )
                 {
                     periodType = bundle.getPreheat().getPeriodTypeMap().get( periodType.getName() );
                     periodType = periodService.reloadPeriodType( periodType );
-                    ReflectionUtils.invokeMethod( object, property.getSetterMethod(), periodType );
+                    ReflectionUtils.invokeSetter( object, property, periodType );
                 }
             }
         }
@@ -78,12 +78,12 @@ public class PeriodTypeObjectBundleHook extends AbstractObjectBundleHook<Identif
         {
             if ( PeriodType.class.isAssignableFrom( property.getKlass() ) )
             {
-                PeriodType periodType = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+                PeriodType periodType = ReflectionUtils.invokeGetter( object, property );
 
                 if ( periodType != null )
                 {
                     periodType = bundle.getPreheat().getPeriodTypeMap().get( periodType.getName() );
-                    ReflectionUtils.invokeMethod( object, property.getSetterMethod(), periodType );
+                    ReflectionUtils.invokeSetter( object, property, periodType );
                 }
             }
         }
@@ -130,7 +130,7 @@ public class NotOwnerReferencesCheck implements ValidationCheck
             return;
         }
 
-        IdentifiableObject refObject = ReflectionUtils.invokeMethod( object, p.getGetterMethod() );
+        IdentifiableObject refObject = ReflectionUtils.invokeGetter( object, p );
 
         if ( refObject != null )
         {
@@ -143,8 +143,7 @@ public class NotOwnerReferencesCheck implements ValidationCheck
     private void checkCollection( IdentifiableObject object, PreheatIdentifier identifier,
         List<PreheatErrorReport> preheatErrorReports, Property p )
     {
-        Collection<IdentifiableObject> refObjects = ReflectionUtils.invokeMethod( object,
-            p.getGetterMethod() );
+        Collection<IdentifiableObject> refObjects = ReflectionUtils.invokeGetter( object, p );
 
         if ( refObjects == null )
         {
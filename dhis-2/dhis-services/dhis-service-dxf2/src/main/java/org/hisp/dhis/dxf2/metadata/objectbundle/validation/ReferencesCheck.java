@@ -142,7 +142,7 @@ public class ReferencesCheck implements ValidationCheck
     private void checkReference( IdentifiableObject object, Preheat preheat, PreheatIdentifier identifier,
         boolean skipSharing, List<PreheatErrorReport> preheatErrorReports, Property property )
     {
-        IdentifiableObject refObject = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+        IdentifiableObject refObject = ReflectionUtils.invokeGetter( object, property );
         IdentifiableObject ref = preheat.get( identifier, refObject );
 
         if ( ref == null && refObject != null && !preheat.isDefault( refObject ) )
@@ -168,8 +168,7 @@ public class ReferencesCheck implements ValidationCheck
         List<PreheatErrorReport> preheatErrorReports, Property property )
     {
         Collection<IdentifiableObject> objects = ReflectionUtils.newCollectionInstance( property.getKlass() );
-        Collection<IdentifiableObject> refObjects = ReflectionUtils.invokeMethod( object,
-            property.getGetterMethod() );
+        Collection<IdentifiableObject> refObjects = ReflectionUtils.invokeGetter( object, property );
 
         if ( refObjects != null )
         {
@@ -198,7 +197,7 @@ public class ReferencesCheck implements ValidationCheck
                     identifier.getIdentifiersWithName( object ), property.getName() ) ) );
         }
 
-        ReflectionUtils.invokeMethod( object, property.getSetterMethod(), objects );
+        ReflectionUtils.invokeSetter( object, property, objects );
     }
 
     private void checkAttributeValues( IdentifiableObject object, Preheat preheat, PreheatIdentifier identifier,
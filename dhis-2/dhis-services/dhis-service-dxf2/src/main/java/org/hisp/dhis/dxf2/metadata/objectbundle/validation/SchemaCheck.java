@@ -27,24 +27,51 @@
  */
 package org.hisp.dhis.dxf2.metadata.objectbundle.validation;
 
+import static java.util.stream.Collectors.toList;
 import static org.hisp.dhis.dxf2.metadata.objectbundle.validation.ValidationUtils.createObjectReport;
+import static org.hisp.dhis.external.conf.ConfigurationKey.METADATA_IMPORT_VALIDATION_PARALLELISM;
 
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
+import lombok.RequiredArgsConstructor;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundle;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.feedback.ErrorReport;
 import org.hisp.dhis.feedback.ObjectReport;
 import org.hisp.dhis.importexport.ImportStrategy;
+import org.hisp.dhis.schema.validation.SchemaValidator;
 import org.springframework.stereotype.Component;
 
 /**
+ * Validates the properties of the imported objects against their schema.
+ * <p>
+ * A large number of objects is validated in parallel, as long as none of them
+ * is attached to the Hibernate session. Validating reads the properties of the
+ * objects only, while reading a lazy property of an attached object from
+ * another thread would use the session concurrently.
+ *
  * @author Luciano Fiandesio
  */
 @Component
+@RequiredArgsConstructor
 public class SchemaCheck implements ObjectValidationCheck
 {
+    /**
+     * Minimum number of objects for which validating in parallel pays off.
+     */
+    private static final int PARALLEL_THRESHOLD = 1000;
+
+    private final SessionFactory sessionFactory;
+
+    private final DhisConfigurationProvider config;
+
     @Override
     public <T extends IdentifiableObject> void check( ObjectBundle bundle, Class<T> klass,
         List<T> persistedObjects, List<T> nonPersistedObjects,
@@ -57,15 +84,71 @@ public class SchemaCheck implements ObjectValidationCheck
             return;
         }
 
-        for ( T object : objects )
+        List<List<ErrorReport>> errorReports = validate( objects, context.getSchemaValidator() );
+
+        for ( int i = 0; i < objects.size(); i++ )
         {
-            List<ErrorReport> validationErrorReports = context.getSchemaValidator().validate( object );
+            List<ErrorReport> validationErrorReports = errorReports.get( i );
 
             if ( !validationErrorReports.isEmpty() )
             {
+                T object = objects.get( i );
                 addReports.accept( createObjectReport( validationErrorReports, object, bundle ) );
                 context.markForRemoval( object );
             }
         }
     }
+
+    private List<List<ErrorReport>> validate( List<? extends IdentifiableObject> objects,
+        SchemaValidator schemaValidator )
+    {
+        int parallelism = Integer.parseInt( config.getProperty( METADATA_IMPORT_VALIDATION_PARALLELISM ) );
+
+        if ( parallelism <= 1 || objects.size() < PARALLEL_THRESHOLD || isAnyAttached( objects ) )
+        {
+            return objects.stream().map( schemaValidator::validate ).collect( toList() );
+        }
+
+        ForkJoinPool pool = new ForkJoinPool( parallelism );
+
+        try
+        {
+            return pool.submit( () -> objects.parallelStream()
+                .map( schemaValidator::validate )
+                .collect( toList() ) ).get();
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted while validating objects", ex );
+        }
+        catch ( ExecutionException ex )
+        {
+            if ( ex.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw new IllegalStateException( ex.getCause() );
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private boolean isAnyAttached( List<? extends IdentifiableObject> objects )
+    {
+        try
+        {
+            Session session = sessionFactory.getCurrentSession();
+
+            return objects.stream().anyMatch( session::contains );
+        }
+        catch ( RuntimeException ex )
+        {
+            // not an entity or no session, stay on the safe side
+            return true;
+        }
+    }
 }
@@ -113,7 +113,7 @@ public class UniquenessCheck implements ObjectValidationCheck
     {
         List<ErrorReport> errorReports = new ArrayList<>();
         uniqueProperties.forEach( property -> {
-            Object value = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+            Object value = ReflectionUtils.invokeGetter( object, property );
 
             if ( value != null )
             {
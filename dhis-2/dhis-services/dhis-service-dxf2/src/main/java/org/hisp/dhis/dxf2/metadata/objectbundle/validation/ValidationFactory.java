@@ -27,7 +27,9 @@
  */
 package org.hisp.dhis.dxf2.metadata.objectbundle.validation;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import lombok.AllArgsConstructor;
 
@@ -119,11 +121,19 @@ public class ValidationFactory
     private <T extends IdentifiableObject> void removeFromBundle( Class<T> klass, ValidationContext ctx,
         ObjectBundle bundle )
     {
+        if ( ctx.getMarkedForRemoval().isEmpty() )
+        {
+            return;
+        }
+
+        // a set keeps removing many invalid objects from large lists linear
+        Set<IdentifiableObject> markedForRemoval = new HashSet<>( ctx.getMarkedForRemoval() );
+
         List<T> persisted = bundle.getObjects( klass, true );
-        persisted.removeAll( ctx.getMarkedForRemoval() );
+        persisted.removeAll( markedForRemoval );
 
         List<T> nonPersisted = bundle.getObjects( klass, false );
-        nonPersisted.removeAll( ctx.getMarkedForRemoval() );
+        nonPersisted.removeAll( markedForRemoval );
     }
 
     private ValidationContext getContext()
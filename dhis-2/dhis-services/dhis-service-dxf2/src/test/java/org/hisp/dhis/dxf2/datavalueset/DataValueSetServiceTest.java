@@ -40,6 +40,8 @@ import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 
 import org.hisp.dhis.DhisConvenienceTest;
 import org.hisp.dhis.calendar.Calendar;
@@ -51,6 +53,7 @@ import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataset.CompleteDataSetRegistrationService;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dataset.LockExceptionStore;
+import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueService;
 import org.hisp.dhis.dxf2.common.ImportOptions;
 import org.hisp.dhis.dxf2.importsummary.ImportConflicts;
@@ -173,7 +176,10 @@ class DataValueSetServiceTest extends DhisConvenienceTest
             .thenReturn( dataElement );
 
         // simulate that the imported DataValue already exists and is identical
-        // (no changes)
+        // (no changes), values with the same key in one chunk are looked up
+        // individually
+        when( dataValueSetStore.getDataValues( any() ) )
+            .then( invocation -> new ArrayList<>( invocation.<Collection<DataValue>> getArgument( 0 ) ) );
         when( batchHandler.findObject( any() ) ).then( AdditionalAnswers.returnsFirstArg() );
 
         ImportSummary summary = dataValueSetService
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.datavalueset;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.hisp.dhis.commons.jackson.config.JacksonObjectMapperConfig;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the streaming {@link JsonDataValueSetReader}.
+ */
+class JsonDataValueSetReaderTest
+{
+    @Test
+    void testReadHeaderAndValues()
+    {
+        String json = "{'dataSet':'pBOMPrpg1QX','period':'201201','orgUnit':'DiszpKrYNg8','dryRun':true,"
+            + "'attributeCategoryOptions':['xYerKDKCefk'],'unknown':{'a':[1,2]},"
+            + "'dataValues':["
+            + "{'dataElement':'f7n9E0hX8qk','period':'201201','orgUnit':'DiszpKrYNg8','value':'10'},"
+            + "{'dataElement':'Ix2HsbDMLea','value':'20','followup':true}"
+            + "]}";
+        try ( DataValueSetReader reader = createReader( json ) )
+        {
+            DataValueSet header = reader.readHeader();
+            assertEquals( "pBOMPrpg1QX", header.getDataSet() );
+            assertEquals( "201201", header.getPeriod() );
+            assertEquals( "DiszpKrYNg8", header.getOrgUnit() );
+            assertTrue( header.getDryRun() );
+            assertEquals( List.of( "xYerKDKCefk" ), header.getAttributeCategoryOptions() );
+            assertTrue( header.getDataValues().isEmpty() );
+
+            DataValueEntry first = reader.readNext();
+            assertNotNull( first );
+            assertEquals( "f7n9E0hX8qk", first.getDataElement() );
+            assertEquals( "10", first.getValue() );
+
+            DataValueEntry second = reader.readNext();
+            assertNotNull( second );
+            assertEquals( "Ix2HsbDMLea", second.getDataElement() );
+            assertEquals( "20", second.getValue() );
+            assertTrue( second.getFollowup() );
+
+            assertNull( reader.readNext() );
+            assertNull( reader.readNext() );
+        }
+    }
+
+    @Test
+    void testReadHeaderFollowingValues()
+    {
+        String json = "{'dataValues':["
+            + "{'dataElement':'f7n9E0hX8qk','period':'201201','orgUnit':'DiszpKrYNg8','value':'10'}"
+            + "],'idScheme':'CODE','strategy':'DELETE','dryRun':true,'dataSet':'pBOMPrpg1QX'}";
+        try ( DataValueSetReader reader = createReader( json ) )
+        {
+            DataValueSet header = reader.readHeader();
+            assertEquals( "CODE", header.getIdScheme() );
+            assertEquals( "DELETE", header.getStrategy() );
+            assertTrue( header.getDryRun() );
+            assertEquals( "pBOMPrpg1QX", header.getDataSet() );
+
+            DataValueEntry first = reader.readNext();
+            assertNotNull( first );
+            assertEquals( "f7n9E0hX8qk", first.getDataElement() );
+            assertEquals( "10", first.getValue() );
+
+            assertNull( reader.readNext() );
+        }
+    }
+
+    @Test
+    void testReadHeaderWithoutValues()
+    {
+        try ( DataValueSetReader reader = createReader( "{'dataSet':'pBOMPrpg1QX','orgUnit':''}" ) )
+        {
+            DataValueSet header = reader.readHeader();
+            assertEquals( "pBOMPrpg1QX", header.getDataSet() );
+            assertNull( header.getOrgUnit() );
+            assertNull( reader.readNext() );
+        }
+    }
+
+    @Test
+    void testReadEmptyValues()
+    {
+        try ( DataValueSetReader reader = createReader( "{'dataValues':[]}" ) )
+        {
+            assertNotNull( reader.readHeader() );
+            assertNull( reader.readNext() );
+        }
+    }
+
+    @Test
+    void testReadHeaderNotAnObject()
+    {
+        try ( DataValueSetReader reader = createReader( "[]" ) )
+        {
+            assertThrows( UncheckedIOException.class, reader::readHeader );
+        }
+    }
+
+    private static DataValueSetReader createReader( String json )
+    {
+        return new JsonDataValueSetReader( new ByteArrayInputStream( json.replace( '\'', '"' ).getBytes( UTF_8 ) ),
+            JacksonObjectMapperConfig.staticJsonMapper() );
+    }
+}
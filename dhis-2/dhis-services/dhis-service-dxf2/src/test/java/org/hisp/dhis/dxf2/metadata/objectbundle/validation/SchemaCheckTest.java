@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.dxf2.metadata.objectbundle.validation;
+
+import static org.hisp.dhis.importexport.ImportStrategy.CREATE_AND_UPDATE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hisp.dhis.attribute.Attribute;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundle;
+import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundleHooks;
+import org.hisp.dhis.dxf2.metadata.objectbundle.ObjectBundleParams;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.hisp.dhis.feedback.ErrorReport;
+import org.hisp.dhis.feedback.TypeReport;
+import org.hisp.dhis.preheat.Preheat;
+import org.hisp.dhis.schema.validation.SchemaValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class SchemaCheckTest
+{
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private DhisConfigurationProvider config;
+
+    @Mock
+    private SchemaValidator schemaValidator;
+
+    private final Set<String> validatingThreads = ConcurrentHashMap.newKeySet();
+
+    private SchemaCheck schemaCheck;
+
+    private ValidationContext context;
+
+    @BeforeEach
+    void setUp()
+    {
+        schemaCheck = new SchemaCheck( sessionFactory, config );
+        context = new ValidationContext( new ObjectBundleHooks( Collections.emptyList() ), schemaValidator,
+            null, null, null );
+
+        when( config.getProperty( ConfigurationKey.METADATA_IMPORT_VALIDATION_PARALLELISM ) ).thenReturn( "4" );
+        when( sessionFactory.getCurrentSession() ).thenReturn( session );
+        when( schemaValidator.validate( any() ) ).thenAnswer( invocation -> {
+            validatingThreads.add( Thread.currentThread().getName() );
+            Attribute attribute = invocation.getArgument( 0 );
+            return attribute.getUid().endsWith( "7" )
+                ? List.of( new ErrorReport( Attribute.class, ErrorCode.E4000, "name" ) )
+                : List.of();
+        } );
+    }
+
+    @Test
+    void testValidatesManyDetachedObjects()
+    {
+        List<Attribute> attributes = createAttributes( 2000 );
+
+        TypeReport report = check( attributes );
+
+        assertEquals( 200, report.getObjectReportsCount() );
+        assertEquals( expectedInvalidUids( attributes ), getMarkedUids() );
+    }
+
+    @Test
+    void testValidatesAttachedObjectsOnCallingThread()
+    {
+        List<Attribute> attributes = createAttributes( 2000 );
+        when( session.contains( any() ) ).thenReturn( true );
+
+        TypeReport report = check( attributes );
+
+        assertEquals( 200, report.getObjectReportsCount() );
+        assertEquals( expectedInvalidUids( attributes ), getMarkedUids() );
+        assertEquals( Set.of( Thread.currentThread().getName() ), validatingThreads );
+    }
+
+    private TypeReport check( List<Attribute> attributes )
+    {
+        Map<Class<? extends IdentifiableObject>, List<IdentifiableObject>> objectMap = new HashMap<>();
+        objectMap.put( Attribute.class, new ArrayList<>( attributes ) );
+        ObjectBundle bundle = new ObjectBundle( new ObjectBundleParams(), new Preheat(), objectMap );
+
+        return schemaCheck.check( bundle, Attribute.class, List.of(), attributes, CREATE_AND_UPDATE, context );
+    }
+
+    private List<String> getMarkedUids()
+    {
+        return context.getMarkedForRemoval().stream().map( IdentifiableObject::getUid ).collect( Collectors.toList() );
+    }
+
+    private static List<String> expectedInvalidUids( List<Attribute> attributes )
+    {
+        return attributes.stream().map( Attribute::getUid ).filter( uid -> uid.endsWith( "7" ) )
+            .collect( Collectors.toList() );
+    }
+
+    private static List<Attribute> createAttributes( int count )
+    {
+        List<Attribute> attributes = new ArrayList<>();
+
+        for ( int i = 0; i < count; i++ )
+        {
+            Attribute attribute = new Attribute();
+            attribute.setUid( "uid" + i );
+            attributes.add( attribute );
+        }
+
+        return attributes;
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers the events of one event hook target on a dedicated thread.
+ * <p>
+ * Published events are put on a bounded queue, a publisher waits for a short
+ * time when the queue is full before storing its event in the outbox instead.
+ * The delivery thread takes events off the queue in batches of up to
+ * {@link DeliverySettings#getBatchSize()} events, waiting at most
+ * {@link DeliverySettings#getLingerMillis()} for a batch to fill up. Failed
+ * batches are retried with exponential backoff and stored in the outbox once
+ * all attempts failed. While the queue is idle, events stored in the outbox
+ * are claimed and delivered again, and deleted from the outbox once they were
+ * delivered.
+ * <p>
+ * Delivery is at least once: events are only removed from the outbox after the
+ * target acknowledged them, and events replayed from the outbox arrive after
+ * newer events. When a handler reports which events of a batch were not
+ * delivered only these are retried.
+ */
+@Slf4j
+public class DeliveryPipeline implements AutoCloseable
+{
+    private static final long IDLE_POLL_MILLIS = 1000;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * How long events taken from the outbox are claimed. Events not delivered
+     * or released within this time can be claimed again, also by another
+     * server.
+     */
+    private static final int OUTBOX_CLAIM_SECONDS = 600;
+
+    private final EventHook eventHook;
+
+    private final String targetId;
+
+    private final Handler handler;
+
+    private final EventHookOutboxStore outboxStore;
+
+    private final DeliverySettings settings;
+
+    private final DeliveryStatistics statistics;
+
+    private final BlockingQueue<Delivery> queue;
+
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    private long nextOutboxCheck = System.nanoTime();
+
+    private boolean outboxPending = false;
+
+    public DeliveryPipeline( EventHook eventHook, String targetId, Handler handler, EventHookOutboxStore outboxStore,
+        DeliverySettings settings, DeliveryStatistics statistics )
+    {
+        this.eventHook = eventHook;
+        this.targetId = targetId;
+        this.handler = handler;
+        this.outboxStore = outboxStore;
+        this.settings = settings;
+        this.statistics = statistics;
+        this.queue = new ArrayBlockingQueue<>( Math.max( settings.getQueueSize(), 1 ) );
+        this.worker = new Thread( this::deliverLoop, "EventHook-" + eventHook.getUid() + "-" + targetId );
+        this.worker.setDaemon( true );
+    }
+
+    public void start()
+    {
+        worker.start();
+    }
+
+    /**
+     * Queues a serialized event for delivery. Blocks for up to
+     * {@link DeliverySettings#getOfferTimeoutMillis()} when the queue is
+     * full, then stores the event in the outbox.
+     *
+     * @param payload the serialized event.
+     */
+    public void enqueue( String payload )
+    {
+        try
+        {
+            if ( running && queue.offer( new Delivery( payload, System.nanoTime(), null ),
+                settings.getOfferTimeoutMillis(), MILLISECONDS ) )
+            {
+                return;
+            }
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        saveToOutbox( List.of( payload ) );
+    }
+
+    /**
+     * @return the number of events waiting for delivery.
+     */
+    public int getQueuedCount()
+    {
+        return queue.size();
+    }
+
+    /**
+     * Stops the delivery thread and closes the handler. Events which are still
+     * queued are stored in the outbox.
+     */
+    @Override
+    public void close()
+    {
+        running = false;
+        worker.interrupt();
+
+        try
+        {
+            worker.join( CLOSE_TIMEOUT_MILLIS );
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        handler.close();
+        saveRemaining();
+    }
+
+    private void deliverLoop()
+    {
+        try
+        {
+            while ( running )
+            {
+                List<Delivery> batch = nextBatch();
+
+                if ( batch.isEmpty() )
+                {
+                    replayOutbox();
+                }
+                else
+                {
+                    deliver( batch );
+                }
+            }
+        }
+        catch ( RuntimeException ex )
+        {
+            log.error( "Event hook delivery thread for '{}' stopped", eventHook.getUid(), ex );
+        }
+        finally
+        {
+            saveRemaining();
+        }
+    }
+
+    private List<Delivery> nextBatch()
+    {
+        List<Delivery> batch = new ArrayList<>();
+
+        try
+        {
+            Delivery first = queue.poll( outboxPending ? 0 : IDLE_POLL_MILLIS, MILLISECONDS );
+
+            if ( first == null )
+            {
+                return batch;
+            }
+
+            batch.add( first );
+
+            long deadline = System.nanoTime() + MILLISECONDS.toNanos( settings.getLingerMillis() );
+
+            while ( batch.size() < settings.getBatchSize() )
+            {
+                if ( queue.drainTo( batch, settings.getBatchSize() - batch.size() ) > 0 )
+                {
+                    continue;
+                }
+
+                long remaining = deadline - System.nanoTime();
+
+                Delivery next = remaining > 0 ? queue.poll( remaining, TimeUnit.NANOSECONDS ) : null;
+
+                if ( next == null )
+                {
+                    break;
+                }
+
+                batch.add( next );
+            }
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        return batch;
+    }
+
+    private void replayOutbox()
+    {
+        if ( !outboxPending && System.nanoTime() - nextOutboxCheck < 0 )
+        {
+            return;
+        }
+
+        nextOutboxCheck = System.nanoTime() + MILLISECONDS.toNanos( settings.getOutboxIntervalMillis() );
+        outboxPending = false;
+
+        List<EventHookOutboxStore.Entry> entries;
+
+        try
+        {
+            entries = outboxStore.claim( eventHook.getUid(), targetId, settings.getBatchSize(),
+                OUTBOX_CLAIM_SECONDS );
+        }
+        catch ( RuntimeException ex )
+        {
+            log.warn( "Could not read outbox of event hook '{}': {}", eventHook.getUid(), ex.getMessage() );
+            return;
+        }
+
+        if ( entries.isEmpty() )
+        {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        boolean delivered = deliver( entries.stream()
+            .map( entry -> new Delivery( entry.getPayload(), now, entry.getId() ) )
+            .collect( Collectors.toList() ) );
+
+        outboxPending = delivered && entries.size() == settings.getBatchSize();
+    }
+
+    private boolean deliver( List<Delivery> batch )
+    {
+        List<Delivery> pending = batch;
+
+        long backoff = settings.getBackoffMillis();
+
+        for ( int attempt = 1;; attempt++ )
+        {
+            try
+            {
+                handler.run( eventHook, getPayloads( pending ) );
+
+                delivered( pending );
+
+                return true;
+            }
+            catch ( Exception ex )
+            {
+                statistics.failedAttempt();
+
+                if ( ex instanceof EventHookException && ((EventHookException) ex).getUndelivered() != null )
+                {
+                    Set<String> undelivered = Collections.newSetFromMap( new IdentityHashMap<>() );
+                    undelivered.addAll( ((EventHookException) ex).getUndelivered() );
+
+                    delivered( pending.stream().filter( d -> !undelivered.contains( d.getPayload() ) )
+                        .collect( Collectors.toList() ) );
+                    pending = pending.stream().filter( d -> undelivered.contains( d.getPayload() ) )
+                        .collect( Collectors.toList() );
+                }
+
+                if ( attempt >= settings.getMaxAttempts() || !running || !sleep( backoff ) )
+                {
+                    log.warn( "Could not deliver {} events of event hook '{}' after {} attempts, " +
+                        "keeping them in the outbox: {}", pending.size(), eventHook.getUid(), attempt,
+                        ex.getMessage() );
+
+                    undelivered( pending );
+
+                    // the target is unavailable, do not replay the outbox
+                    // before the next regular check
+                    nextOutboxCheck = System.nanoTime()
+                        + MILLISECONDS.toNanos( settings.getOutboxIntervalMillis() );
+
+                    return false;
+                }
+
+                log.debug( "Delivery attempt {} of event hook '{}' failed: {}", attempt, eventHook.getUid(),
+                    ex.getMessage() );
+
+                backoff = Math.min( backoff * 2, settings.getMaxBackoffMillis() );
+            }
+        }
+    }
+
+    /**
+     * Records delivered events and removes those replayed from the outbox.
+     * Should the removal fail, the events are delivered again once their
+     * claim expired.
+     */
+    private void delivered( List<Delivery> deliveries )
+    {
+        if ( deliveries.isEmpty() )
+        {
+            return;
+        }
+
+        long now = System.nanoTime();
+        statistics.delivered( deliveries.size(),
+            deliveries.stream().mapToLong( d -> now - d.getQueuedAt() ).sum() );
+
+        try
+        {
+            outboxStore.delete( getOutboxIds( deliveries ) );
+        }
+        catch ( RuntimeException ex )
+        {
+            log.warn( "Could not remove delivered events of event hook '{}' from the outbox: {}",
+                eventHook.getUid(), ex.getMessage() );
+        }
+    }
+
+    /**
+     * Stores new events in the outbox and releases the claim of events
+     * replayed from the outbox.
+     */
+    private void undelivered( List<Delivery> deliveries )
+    {
+        saveToOutbox( deliveries.stream()
+            .filter( d -> d.getOutboxId() == null )
+            .map( Delivery::getPayload )
+            .collect( Collectors.toList() ) );
+
+        try
+        {
+            outboxStore.release( getOutboxIds( deliveries ) );
+        }
+        catch ( RuntimeException ex )
+        {
+            log.warn( "Could not release events of event hook '{}' in the outbox: {}",
+                eventHook.getUid(), ex.getMessage() );
+        }
+    }
+
+    private static List<String> getPayloads( List<Delivery> deliveries )
+    {
+        return deliveries.stream().map( Delivery::getPayload ).collect( Collectors.toList() );
+    }
+
+    private static List<Long> getOutboxIds( List<Delivery> deliveries )
+    {
+        return deliveries.stream().map( Delivery::getOutboxId ).filter( Objects::nonNull )
+            .collect( Collectors.toList() );
+    }
+
+    private boolean sleep( long millis )
+    {
+        try
+        {
+            Thread.sleep( millis );
+            return true;
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void saveRemaining()
+    {
+        List<Delivery> remaining = new ArrayList<>();
+        queue.drainTo( remaining );
+
+        if ( !remaining.isEmpty() )
+        {
+            saveToOutbox( remaining.stream().map( Delivery::getPayload ).collect( Collectors.toList() ) );
+        }
+    }
+
+    private void saveToOutbox( List<String> payloads )
+    {
+        if ( payloads.isEmpty() )
+        {
+            return;
+        }
+
+        try
+        {
+            outboxStore.save( eventHook.getUid(), targetId, payloads );
+            statistics.outboxed( payloads.size() );
+        }
+        catch ( RuntimeException ex )
+        {
+            log.error( "Dropped {} events of event hook '{}', could not store them in the outbox: {}",
+                payloads.size(), eventHook.getUid(), ex.getMessage() );
+        }
+    }
+
+    @Value
+    private static class Delivery
+    {
+        String payload;
+
+        long queuedAt;
+
+        /**
+         * The ID of the event in the outbox, or null for events which were
+         * not stored in the outbox.
+         */
+        Long outboxId;
+    }
+}
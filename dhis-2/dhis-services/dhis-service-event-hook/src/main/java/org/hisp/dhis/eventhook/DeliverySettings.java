@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_BATCH_LINGER;
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_BATCH_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_QUEUE_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_RETRY_BACKOFF;
+import static org.hisp.dhis.external.conf.ConfigurationKey.EVENT_HOOKS_RETRY_MAX_ATTEMPTS;
+
+import lombok.Builder;
+import lombok.Value;
+
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+
+/**
+ * Queueing, batching and retry settings of a {@link DeliveryPipeline}.
+ */
+@Value
+@Builder
+public class DeliverySettings
+{
+    /**
+     * Maximum number of events waiting for delivery.
+     */
+    @Builder.Default
+    int queueSize = 1000;
+
+    /**
+     * Maximum number of events delivered at once.
+     */
+    @Builder.Default
+    int batchSize = 50;
+
+    /**
+     * Milliseconds to wait for more events before delivering an incomplete
+     * batch.
+     */
+    @Builder.Default
+    long lingerMillis = 200;
+
+    /**
+     * Number of delivery attempts before events are stored in the outbox.
+     */
+    @Builder.Default
+    int maxAttempts = 5;
+
+    /**
+     * Milliseconds to wait before the first retry, doubled for every retry.
+     */
+    @Builder.Default
+    long backoffMillis = 1000;
+
+    /**
+     * Maximum milliseconds to wait between two retries.
+     */
+    @Builder.Default
+    long maxBackoffMillis = 60_000;
+
+    /**
+     * Milliseconds a publisher waits for space in a full queue before its
+     * event is stored in the outbox.
+     */
+    @Builder.Default
+    long offerTimeoutMillis = 1000;
+
+    /**
+     * Milliseconds between two checks of the outbox while the queue is idle.
+     */
+    @Builder.Default
+    long outboxIntervalMillis = 30_000;
+
+    public static DeliverySettings of( DhisConfigurationProvider config )
+    {
+        return DeliverySettings.builder()
+            .queueSize( Integer.parseInt( config.getProperty( EVENT_HOOKS_QUEUE_SIZE ) ) )
+            .batchSize( Integer.parseInt( config.getProperty( EVENT_HOOKS_BATCH_SIZE ) ) )
+            .lingerMillis( Long.parseLong( config.getProperty( EVENT_HOOKS_BATCH_LINGER ) ) )
+            .maxAttempts( Integer.parseInt( config.getProperty( EVENT_HOOKS_RETRY_MAX_ATTEMPTS ) ) )
+            .backoffMillis( Long.parseLong( config.getProperty( EVENT_HOOKS_RETRY_BACKOFF ) ) )
+            .build();
+    }
+}
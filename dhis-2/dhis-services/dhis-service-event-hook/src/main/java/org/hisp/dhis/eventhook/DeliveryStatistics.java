@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Cumulative delivery counters of all event hook targets, kept across reloads
+ * of the event hooks.
+ */
+@Component
+public class DeliveryStatistics
+{
+    private final LongAdder delivered = new LongAdder();
+
+    private final LongAdder failedAttempts = new LongAdder();
+
+    private final LongAdder outboxed = new LongAdder();
+
+    private final LongAdder totalLagNanos = new LongAdder();
+
+    void delivered( int count, long lagNanos )
+    {
+        delivered.add( count );
+        totalLagNanos.add( lagNanos );
+    }
+
+    void failedAttempt()
+    {
+        failedAttempts.increment();
+    }
+
+    void outboxed( int count )
+    {
+        outboxed.add( count );
+    }
+
+    /**
+     * @return the number of events delivered to their target.
+     */
+    public long getDeliveredCount()
+    {
+        return delivered.sum();
+    }
+
+    /**
+     * @return the number of delivery attempts which failed.
+     */
+    public long getFailedAttemptCount()
+    {
+        return failedAttempts.sum();
+    }
+
+    /**
+     * @return the number of events stored in the outbox.
+     */
+    public long getOutboxedCount()
+    {
+        return outboxed.sum();
+    }
+
+    /**
+     * @return the sum of the time between publishing and delivering each
+     *         delivered event.
+     */
+    public long getTotalLagNanos()
+    {
+        return totalLagNanos.sum();
+    }
+}
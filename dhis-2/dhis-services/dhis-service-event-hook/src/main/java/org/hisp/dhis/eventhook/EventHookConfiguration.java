@@ -28,6 +28,7 @@
 package org.hisp.dhis.eventhook;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,6 +50,8 @@ public class EventHookConfiguration
         executor.setMaxPoolSize( 500 );
         executor.setQueueCapacity( 5000 );
         executor.setThreadNamePrefix( "EventHook-" );
+        // slow down the publishers instead of dropping events when the queue is full
+        executor.setRejectedExecutionHandler( new ThreadPoolExecutor.CallerRunsPolicy() );
         executor.initialize();
 
         return executor;
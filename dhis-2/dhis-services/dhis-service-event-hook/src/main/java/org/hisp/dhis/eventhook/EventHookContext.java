@@ -43,24 +43,32 @@ import lombok.Data;
 public class EventHookContext
 {
     @Builder.Default
-    Map<String, List<Handler>> targets = new HashMap<>();
+    Map<String, List<DeliveryPipeline>> targets = new HashMap<>();
 
     @Builder.Default
     List<EventHook> eventHooks = new ArrayList<>();
 
     public boolean hasTarget( String uid )
     {
-        return targets.containsKey( uid ) || targets.get( uid ).isEmpty();
+        return targets.containsKey( uid ) && !targets.get( uid ).isEmpty();
     }
 
-    public List<Handler> getTarget( String uid )
+    public List<DeliveryPipeline> getTarget( String uid )
     {
         return targets.get( uid );
     }
 
+    public int getQueuedCount()
+    {
+        return targets.values().stream()
+            .flatMap( List::stream )
+            .mapToInt( DeliveryPipeline::getQueuedCount )
+            .sum();
+    }
+
     public void closeTargets()
     {
         targets.values()
-            .forEach( handlers -> handlers.forEach( Handler::close ) );
+            .forEach( pipelines -> pipelines.forEach( DeliveryPipeline::close ) );
     }
 }
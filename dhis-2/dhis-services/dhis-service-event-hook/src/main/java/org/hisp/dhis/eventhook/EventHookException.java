@@ -27,13 +27,37 @@
  */
 package org.hisp.dhis.eventhook;
 
+import java.util.List;
+
 /**
  * @author Morten Olav Hansen
  */
 public class EventHookException extends Exception
 {
+    /**
+     * The payloads of a batch which were not delivered, or null when none of
+     * the payloads were delivered.
+     */
+    private final transient List<String> undelivered;
+
     public EventHookException( String message )
     {
-        super( message );
+        this( message, null, null );
+    }
+
+    public EventHookException( String message, Throwable cause )
+    {
+        this( message, cause, null );
+    }
+
+    public EventHookException( String message, Throwable cause, List<String> undelivered )
+    {
+        super( message, cause );
+        this.undelivered = undelivered;
+    }
+
+    public List<String> getUndelivered()
+    {
+        return undelivered;
     }
 }
@@ -34,8 +34,10 @@ import java.util.List;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.hisp.dhis.eventhook.handlers.ConsoleHandler;
 import org.hisp.dhis.eventhook.handlers.JmsHandler;
@@ -45,6 +47,8 @@ import org.hisp.dhis.eventhook.targets.ConsoleTarget;
 import org.hisp.dhis.eventhook.targets.JmsTarget;
 import org.hisp.dhis.eventhook.targets.KafkaTarget;
 import org.hisp.dhis.eventhook.targets.WebhookTarget;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.fieldfiltering.FieldFilterService;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
@@ -59,6 +63,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 /**
  * @author Morten Olav Hansen
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class EventHookListener
@@ -67,24 +72,35 @@ public class EventHookListener
 
     private final FieldFilterService fieldFilterService;
 
-    private EventHookContext eventHookContext = EventHookContext.builder().build();
+    private volatile EventHookContext eventHookContext = EventHookContext.builder().build();
 
     private final EventHookService eventHookService;
 
+    private final EventHookOutboxStore outboxStore;
+
+    private final DeliveryStatistics deliveryStatistics;
+
+    private final DhisConfigurationProvider config;
+
     @Async( "eventHookTaskExecutor" )
     @TransactionalEventListener( classes = Event.class, phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true )
     public void eventListener( Event event )
         throws JsonProcessingException
     {
-        for ( EventHook eventHook : eventHookContext.getEventHooks() )
+        // the context is replaced on reload, use the same one for all hooks
+        EventHookContext context = eventHookContext;
+
+        for ( EventHook eventHook : context.getEventHooks() )
         {
             if ( event.getPath().startsWith( eventHook.getSource().getPath() ) )
             {
-                if ( !eventHookContext.hasTarget( eventHook.getUid() ) )
+                if ( !context.hasTarget( eventHook.getUid() ) )
                 {
                     continue;
                 }
 
+                Event hookEvent;
+
                 if ( event.getObject() instanceof Collection )
                 {
                     List<ObjectNode> objects = new ArrayList<>();
@@ -94,27 +110,33 @@ public class EventHookListener
                         objects.add( fieldFilterService.toObjectNode( object, eventHook.getSource().getFields() ) );
                     }
 
-                    event = event.withObject( objects );
+                    hookEvent = event.withObject( objects );
                 }
                 else
                 {
                     ObjectNode objectNode = fieldFilterService.toObjectNode( event.getObject(),
                         eventHook.getSource().getFields() );
-                    event = event.withObject( objectNode );
+                    hookEvent = event.withObject( objectNode );
                 }
 
-                String payload = objectMapper.writeValueAsString( event );
-
-                List<Handler> handlers = eventHookContext.getTarget( eventHook.getUid() );
+                String payload = objectMapper.writeValueAsString( hookEvent );
 
-                for ( Handler handler : handlers )
+                for ( DeliveryPipeline pipeline : context.getTarget( eventHook.getUid() ) )
                 {
-                    handler.run( eventHook, event, payload );
+                    pipeline.enqueue( payload );
                 }
             }
         }
     }
 
+    /**
+     * @return the number of events waiting for delivery to all targets.
+     */
+    public int getQueuedCount()
+    {
+        return eventHookContext.getQueuedCount();
+    }
+
     @PostConstruct
     @EventListener( ReloadEventHookListeners.class )
     public void reload()
@@ -122,11 +144,14 @@ public class EventHookListener
         eventHookContext.closeTargets();
 
         List<EventHook> eventHooks = eventHookService.getAll();
-        Map<String, List<Handler>> targets = new HashMap<>();
+        Map<String, List<DeliveryPipeline>> targets = new HashMap<>();
+        DeliverySettings settings = DeliverySettings.of( config );
 
         for ( EventHook eh : eventHooks )
         {
-            if ( eh.isDisabled() )
+            // events are only published when event hooks are enabled, do not
+            // start delivery threads which would only poll the outbox
+            if ( eh.isDisabled() || config.isDisabled( ConfigurationKey.EVENT_HOOKS_ENABLED ) )
             {
                 continue;
             }
@@ -135,21 +160,20 @@ public class EventHookListener
 
             for ( Target target : eh.getTargets() )
             {
-                if ( WebhookTarget.TYPE.equals( target.getType() ) )
-                {
-                    targets.get( eh.getUid() ).add( new WebhookHandler( (WebhookTarget) target ) );
-                }
-                else if ( ConsoleTarget.TYPE.equals( target.getType() ) )
-                {
-                    targets.get( eh.getUid() ).add( new ConsoleHandler( (ConsoleTarget) target ) );
-                }
-                else if ( JmsTarget.TYPE.equals( target.getType() ) )
+                if ( target.getId() == null )
                 {
-                    targets.get( eh.getUid() ).add( new JmsHandler( (JmsTarget) target ) );
+                    log.warn( "Ignoring target of event hook '{}' without ID", eh.getUid() );
+                    continue;
                 }
-                else if ( KafkaTarget.TYPE.equals( target.getType() ) )
+
+                Handler handler = createHandler( target );
+
+                if ( handler != null )
                 {
-                    targets.get( eh.getUid() ).add( new KafkaHandler( (KafkaTarget) target ) );
+                    DeliveryPipeline pipeline = new DeliveryPipeline( eh, target.getId(), handler, outboxStore,
+                        settings, deliveryStatistics );
+                    pipeline.start();
+                    targets.get( eh.getUid() ).add( pipeline );
                 }
             }
         }
@@ -159,4 +183,32 @@ public class EventHookListener
             .targets( targets )
             .build();
     }
+
+    @PreDestroy
+    public void close()
+    {
+        eventHookContext.closeTargets();
+    }
+
+    private Handler createHandler( Target target )
+    {
+        if ( WebhookTarget.TYPE.equals( target.getType() ) )
+        {
+            return new WebhookHandler( (WebhookTarget) target );
+        }
+        else if ( ConsoleTarget.TYPE.equals( target.getType() ) )
+        {
+            return new ConsoleHandler( (ConsoleTarget) target );
+        }
+        else if ( JmsTarget.TYPE.equals( target.getType() ) )
+        {
+            return new JmsHandler( (JmsTarget) target );
+        }
+        else if ( KafkaTarget.TYPE.equals( target.getType() ) )
+        {
+            return new KafkaHandler( (KafkaTarget) target );
+        }
+
+        return null;
+    }
 }
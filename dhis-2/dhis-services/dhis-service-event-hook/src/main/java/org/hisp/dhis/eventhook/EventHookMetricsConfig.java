@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_EVENT_HOOKS_ENABLED;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exports the queue depth, throughput, failures and lag of event hook
+ * deliveries.
+ */
+@Configuration
+@Conditional( EventHookMetricsConfig.EventHookMetricsEnabledCondition.class )
+public class EventHookMetricsConfig
+{
+    @Autowired
+    public void bindToRegistry( MeterRegistry registry, EventHookListener eventHookListener,
+        DeliveryStatistics statistics )
+    {
+        Gauge.builder( "eventhook.queue.size", eventHookListener, EventHookListener::getQueuedCount )
+            .description( "Number of events waiting for delivery" )
+            .register( registry );
+
+        FunctionCounter.builder( "eventhook.delivered", statistics, DeliveryStatistics::getDeliveredCount )
+            .description( "Number of events delivered to their target" )
+            .register( registry );
+
+        FunctionCounter.builder( "eventhook.attempts.failed", statistics, DeliveryStatistics::getFailedAttemptCount )
+            .description( "Number of failed delivery attempts" )
+            .register( registry );
+
+        FunctionCounter.builder( "eventhook.outboxed", statistics, DeliveryStatistics::getOutboxedCount )
+            .description( "Number of events stored in the outbox for a later delivery" )
+            .register( registry );
+
+        FunctionTimer.builder( "eventhook.lag", statistics, DeliveryStatistics::getDeliveredCount,
+            DeliveryStatistics::getTotalLagNanos, TimeUnit.NANOSECONDS )
+            .description( "Time between publishing and delivering an event" )
+            .register( registry );
+    }
+
+    static class EventHookMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_EVENT_HOOKS_ENABLED;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Durable storage for event hook payloads which could not be delivered to
+ * their target, so that delivery can be retried later.
+ * <p>
+ * Stored payloads are first claimed for a limited time, and only deleted once
+ * they were delivered. Payloads of a server which stops before it delivered
+ * or released them can be claimed again once the claim expired.
+ */
+public interface EventHookOutboxStore
+{
+    /**
+     * Stores undelivered payloads.
+     *
+     * @param eventHookUid the UID of the event hook.
+     * @param targetId the ID of the target in the event hook.
+     * @param payloads the payloads to store.
+     */
+    void save( String eventHookUid, String targetId, List<String> payloads );
+
+    /**
+     * Claims the oldest stored payloads of a target which are not claimed yet.
+     * Payloads claimed by one server are not returned to other servers until
+     * the claim expired.
+     *
+     * @param eventHookUid the UID of the event hook.
+     * @param targetId the ID of the target in the event hook.
+     * @param limit the maximum number of payloads to return.
+     * @param claimSeconds the number of seconds the payloads are claimed for.
+     * @return the claimed payloads, oldest first.
+     */
+    List<Entry> claim( String eventHookUid, String targetId, int limit, int claimSeconds );
+
+    /**
+     * Deletes delivered payloads.
+     *
+     * @param ids the IDs of the delivered entries.
+     */
+    void delete( List<Long> ids );
+
+    /**
+     * Releases the claim of payloads which could not be delivered so that they
+     * can be claimed again.
+     *
+     * @param ids the IDs of the claimed entries.
+     */
+    void release( List<Long> ids );
+
+    /**
+     * Deletes the stored payloads of all targets of an event hook except the
+     * given ones.
+     *
+     * @param eventHookUid the UID of the event hook.
+     * @param targetIds the IDs of the targets to keep payloads for.
+     */
+    void deleteOtherTargets( String eventHookUid, List<String> targetIds );
+
+    @Value
+    class Entry
+    {
+        long id;
+
+        String payload;
+    }
+}
@@ -27,13 +27,26 @@
  */
 package org.hisp.dhis.eventhook;
 
+import java.util.List;
+
 /**
  * @author Morten Olav Hansen
  */
 @FunctionalInterface
 public interface Handler extends AutoCloseable
 {
-    void run( EventHook eventHook, Event event, String payload );
+    /**
+     * Delivers a batch of payloads to the target.
+     *
+     * @param eventHook the event hook the payloads belong to.
+     * @param payloads the serialized events, oldest first.
+     * @throws EventHookException if the batch could not be delivered and
+     *         should be retried. When some of the payloads were delivered,
+     *         the exception lists the undelivered ones so that only these
+     *         are retried.
+     */
+    void run( EventHook eventHook, List<String> payloads )
+        throws EventHookException;
 
     @Override
     default void close()
@@ -27,9 +27,10 @@
  */
 package org.hisp.dhis.eventhook.handlers;
 
+import java.util.List;
+
 import lombok.extern.slf4j.Slf4j;
 
-import org.hisp.dhis.eventhook.Event;
 import org.hisp.dhis.eventhook.EventHook;
 import org.hisp.dhis.eventhook.Handler;
 import org.hisp.dhis.eventhook.targets.ConsoleTarget;
@@ -46,8 +47,8 @@ public class ConsoleHandler implements Handler
     }
 
     @Override
-    public void run( EventHook eventHook, Event event, String payload )
+    public void run( EventHook eventHook, List<String> payloads )
     {
-        log.info( payload );
+        payloads.forEach( log::info );
     }
 }
@@ -27,6 +27,10 @@
  */
 package org.hisp.dhis.eventhook.handlers;
 
+import java.util.List;
+
+import javax.jms.MessageProducer;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.activemq.artemis.api.jms.ActiveMQJMSClient;
@@ -34,8 +38,8 @@ import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
 import org.apache.activemq.artemis.jms.client.ActiveMQDestination;
 import org.apache.activemq.artemis.jms.client.ActiveMQQueue;
 import org.apache.activemq.artemis.jms.client.ActiveMQTopic;
-import org.hisp.dhis.eventhook.Event;
 import org.hisp.dhis.eventhook.EventHook;
+import org.hisp.dhis.eventhook.EventHookException;
 import org.hisp.dhis.eventhook.Handler;
 import org.hisp.dhis.eventhook.targets.JmsTarget;
 import org.springframework.jms.JmsException;
@@ -95,35 +99,53 @@ public class JmsHandler implements Handler
     }
 
     @Override
-    public void run( EventHook eventHook, Event event, String payload )
+    public void run( EventHook eventHook, List<String> payloads )
+        throws EventHookException
     {
         if ( jmsTemplate == null )
         {
-            log.error( "Jms is not properly configured. Please check Event Hook '" + eventHook.getName()
-                + "' with ID '" + eventHook.getUid() + "'" );
-            return;
+            throw new EventHookException( "Jms is not properly configured. Please check Event Hook '"
+                + eventHook.getName() + "' with ID '" + eventHook.getUid() + "'" );
         }
 
-        if ( target.isUseQueue() )
-        {
-            sendTo( new ActiveMQQueue( target.getAddress() ), payload );
-        }
-        else
-        {
-            sendTo( new ActiveMQTopic( target.getAddress() ), payload );
-        }
+        ActiveMQDestination destination = target.isUseQueue()
+            ? new ActiveMQQueue( target.getAddress() )
+            : new ActiveMQTopic( target.getAddress() );
+
+        sendTo( destination, payloads );
     }
 
-    private void sendTo( ActiveMQDestination destination, String payload )
+    /**
+     * Sends all payloads of a batch through a single session instead of
+     * opening a connection per message.
+     */
+    private void sendTo( ActiveMQDestination destination, List<String> payloads )
+        throws EventHookException
     {
         try
         {
-            jmsTemplate.send( destination, session -> session.createTextMessage( payload ) );
+            jmsTemplate.execute( session -> {
+                MessageProducer producer = session.createProducer( destination );
+
+                try
+                {
+                    for ( String payload : payloads )
+                    {
+                        producer.send( session.createTextMessage( payload ) );
+                    }
+                }
+                finally
+                {
+                    producer.close();
+                }
+
+                return null;
+            }, true );
         }
         catch ( JmsException ex )
         {
-            log.warn( "Could not send message to JMS target: " + target.getBrokerUrl()
-                + ", check and validate that your broker is up and running on the correct address" );
+            throw new EventHookException( "Could not send message to JMS target: " + target.getBrokerUrl()
+                + ", check and validate that your broker is up and running on the correct address", ex );
         }
     }
 
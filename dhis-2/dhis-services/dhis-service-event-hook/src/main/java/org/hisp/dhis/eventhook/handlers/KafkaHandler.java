@@ -27,15 +27,20 @@
  */
 package org.hisp.dhis.eventhook.handlers;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.serialization.StringSerializer;
-import org.hisp.dhis.eventhook.Event;
 import org.hisp.dhis.eventhook.EventHook;
+import org.hisp.dhis.eventhook.EventHookException;
 import org.hisp.dhis.eventhook.Handler;
 import org.hisp.dhis.eventhook.targets.KafkaTarget;
 
@@ -79,16 +84,41 @@ public class KafkaHandler implements Handler
     }
 
     @Override
-    public void run( EventHook eventHook, Event event, String payload )
+    public void run( EventHook eventHook, List<String> payloads )
+        throws EventHookException
     {
         if ( producer == null )
         {
-            log.error( "Kafka is not properly configured. Please check Event Hook '" + eventHook.getName()
-                + "' with ID '" + eventHook.getUid() + "'" );
-            return;
+            throw new EventHookException( "Kafka is not properly configured. Please check Event Hook '"
+                + eventHook.getName() + "' with ID '" + eventHook.getUid() + "'" );
         }
 
-        producer.send( new ProducerRecord<>( target.getTopic(), null, payload ) );
+        List<Future<RecordMetadata>> results = new ArrayList<>( payloads.size() );
+
+        for ( String payload : payloads )
+        {
+            results.add( producer.send( new ProducerRecord<>( target.getTopic(), null, payload ) ) );
+        }
+
+        producer.flush();
+
+        for ( Future<RecordMetadata> result : results )
+        {
+            try
+            {
+                result.get();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new EventHookException( "Interrupted while sending to Kafka topic: " + target.getTopic(), e );
+            }
+            catch ( ExecutionException e )
+            {
+                throw new EventHookException( "Could not send message to Kafka topic: " + target.getTopic(),
+                    e.getCause() );
+            }
+        }
     }
 
     @Override
@@ -27,21 +27,33 @@
  */
 package org.hisp.dhis.eventhook.handlers;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 import lombok.extern.slf4j.Slf4j;
 
-import org.hisp.dhis.eventhook.Event;
 import org.hisp.dhis.eventhook.EventHook;
+import org.hisp.dhis.eventhook.EventHookException;
 import org.hisp.dhis.eventhook.Handler;
 import org.hisp.dhis.eventhook.targets.WebhookTarget;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
 /**
+ * Posts events to a webhook using a non-blocking HTTP client which keeps
+ * connections to the target open between requests. The events of a batch are
+ * sent concurrently, or as a single JSON array when the target asks for
+ * batches.
+ *
  * @author Morten Olav Hansen
  */
 @Slf4j
@@ -49,52 +61,141 @@ public class WebhookHandler implements Handler
 {
     private final WebhookTarget webhookTarget;
 
-    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+
+    private final List<Map.Entry<String, String>> headers;
 
     public WebhookHandler( WebhookTarget target )
     {
         this.webhookTarget = target;
-        this.restTemplate = new RestTemplate();
-        configure( this.restTemplate );
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout( Duration.ofSeconds( 5 ) )
+            .build();
+        this.headers = getHeaders( target );
     }
 
     @Override
-    public void run( EventHook eventHook, Event event, String payload )
+    public void run( EventHook eventHook, List<String> payloads )
+        throws EventHookException
     {
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setContentType( MediaType.parseMediaType( webhookTarget.getContentType() ) );
-        httpHeaders.setAll( webhookTarget.getHeaders() );
+        if ( webhookTarget.isBatch() )
+        {
+            handleResponse( eventHook, await( post( "[" + String.join( ",", payloads ) + "]" ) ) );
+            return;
+        }
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        payloads.forEach( payload -> responses.add( post( payload ) ) );
 
-        if ( webhookTarget.getAuth() != null )
+        List<String> undelivered = new ArrayList<>();
+        EventHookException failure = null;
+
+        for ( int i = 0; i < responses.size(); i++ )
         {
-            webhookTarget.getAuth().apply( httpHeaders );
+            try
+            {
+                handleResponse( eventHook, await( responses.get( i ) ) );
+            }
+            catch ( EventHookException ex )
+            {
+                undelivered.add( payloads.get( i ) );
+                failure = failure == null ? ex : failure;
+            }
         }
 
-        HttpEntity<String> httpEntity = new HttpEntity<>( payload, httpHeaders );
+        if ( failure != null )
+        {
+            throw new EventHookException( failure.getMessage(), failure.getCause(), undelivered );
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> post( String payload )
+    {
+        HttpRequest.Builder request = HttpRequest.newBuilder( URI.create( webhookTarget.getUrl() ) )
+            .timeout( Duration.ofSeconds( 10 ) )
+            .POST( HttpRequest.BodyPublishers.ofString( payload ) );
 
+        headers.forEach( header -> request.header( header.getKey(), header.getValue() ) );
+
+        return httpClient.sendAsync( request.build(), HttpResponse.BodyHandlers.ofString() );
+    }
+
+    private HttpResponse<String> await( CompletableFuture<HttpResponse<String>> response )
+        throws EventHookException
+    {
         try
         {
-            ResponseEntity<String> response = restTemplate.postForEntity(
-                webhookTarget.getUrl(), httpEntity, String.class );
+            return response.get();
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+            throw new EventHookException( "Interrupted while posting to webhook: " + webhookTarget.getUrl(), ex );
+        }
+        catch ( ExecutionException ex )
+        {
+            throw new EventHookException( "Could not post to webhook: " + webhookTarget.getUrl(), ex.getCause() );
+        }
+    }
+
+    /**
+     * Server errors, timeouts and rate limiting are retried. Other client
+     * errors will not go away by sending the same event again, so they are
+     * only logged.
+     */
+    private void handleResponse( EventHook eventHook, HttpResponse<String> response )
+        throws EventHookException
+    {
+        HttpStatus status = HttpStatus.resolve( response.statusCode() );
 
-            log.info( "EventHook '{}' response status '{}' and body: {}",
-                eventHook.getUid(), response.getStatusCode().name(), response.getBody() );
+        log.info( "EventHook '{}' response status '{}' and body: {}",
+            eventHook.getUid(), response.statusCode(), response.body() );
+
+        if ( status == null || status.is5xxServerError() || status == HttpStatus.REQUEST_TIMEOUT
+            || status == HttpStatus.TOO_MANY_REQUESTS )
+        {
+            throw new EventHookException( "Webhook " + webhookTarget.getUrl() + " responded with status "
+                + response.statusCode() );
         }
-        catch ( RestClientException ex )
+
+        if ( status.is4xxClientError() )
         {
-            log.error( ex.getMessage() );
+            log.error( "EventHook '{}' rejected by webhook with status '{}'", eventHook.getUid(),
+                response.statusCode() );
         }
     }
 
-    private void configure( RestTemplate template )
+    /**
+     * Resolves the configured headers and authentication once. Headers which
+     * are managed by the HTTP client, like Host or Content-Length, are
+     * ignored.
+     */
+    private static List<Map.Entry<String, String>> getHeaders( WebhookTarget target )
     {
-        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory();
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType( MediaType.parseMediaType( target.getContentType() ) );
+        httpHeaders.setAll( target.getHeaders() );
+
+        if ( target.getAuth() != null )
+        {
+            target.getAuth().apply( httpHeaders );
+        }
+
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        HttpRequest.Builder validator = HttpRequest.newBuilder();
 
-        requestFactory.setConnectionRequestTimeout( 1_000 );
-        requestFactory.setConnectTimeout( 5_000 );
-        requestFactory.setReadTimeout( 10_000 );
-        requestFactory.setBufferRequestBody( true );
+        httpHeaders.forEach( ( name, values ) -> values.forEach( value -> {
+            try
+            {
+                validator.header( name, value );
+                headers.add( Map.entry( name, value ) );
+            }
+            catch ( IllegalArgumentException ex )
+            {
+                log.warn( "Ignoring header '{}' of webhook target: {}", name, ex.getMessage() );
+            }
+        } ) );
 
-        template.setRequestFactory( requestFactory );
+        return headers;
     }
 }
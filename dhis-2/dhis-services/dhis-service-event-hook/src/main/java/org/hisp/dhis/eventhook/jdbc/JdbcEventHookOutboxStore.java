@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook.jdbc;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+
+import org.hisp.dhis.eventhook.EventHookOutboxStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository( "org.hisp.dhis.eventhook.EventHookOutboxStore" )
+public class JdbcEventHookOutboxStore implements EventHookOutboxStore
+{
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save( String eventHookUid, String targetId, List<String> payloads )
+    {
+        String sql = "insert into eventhookoutbox (eventhookuid, targetid, payload) values (?, ?, ?)";
+
+        jdbcTemplate.batchUpdate( sql, payloads, payloads.size(), ( ps, payload ) -> {
+            ps.setString( 1, eventHookUid );
+            ps.setString( 2, targetId );
+            ps.setString( 3, payload );
+        } );
+    }
+
+    @Override
+    public List<Entry> claim( String eventHookUid, String targetId, int limit, int claimSeconds )
+    {
+        String sql = "with claimed as (" +
+            "update eventhookoutbox set claimeduntil = now() + make_interval(secs => ?) " +
+            "where eventhookoutboxid in (" +
+            "select eventhookoutboxid from eventhookoutbox where eventhookuid = ? and targetid = ? " +
+            "and (claimeduntil is null or claimeduntil < now()) " +
+            "order by eventhookoutboxid limit ? for update skip locked) " +
+            "returning eventhookoutboxid, payload) " +
+            "select eventhookoutboxid, payload from claimed order by eventhookoutboxid";
+
+        return jdbcTemplate.query( sql,
+            ( rs, rowNum ) -> new Entry( rs.getLong( "eventhookoutboxid" ), rs.getString( "payload" ) ),
+            claimSeconds, eventHookUid, targetId, limit );
+    }
+
+    @Override
+    public void delete( List<Long> ids )
+    {
+        if ( !ids.isEmpty() )
+        {
+            new NamedParameterJdbcTemplate( jdbcTemplate ).update(
+                "delete from eventhookoutbox where eventhookoutboxid in (:ids)",
+                new MapSqlParameterSource( "ids", ids ) );
+        }
+    }
+
+    @Override
+    public void release( List<Long> ids )
+    {
+        if ( !ids.isEmpty() )
+        {
+            new NamedParameterJdbcTemplate( jdbcTemplate ).update(
+                "update eventhookoutbox set claimeduntil = null where eventhookoutboxid in (:ids)",
+                new MapSqlParameterSource( "ids", ids ) );
+        }
+    }
+
+    @Override
+    public void deleteOtherTargets( String eventHookUid, List<String> targetIds )
+    {
+        if ( targetIds.isEmpty() )
+        {
+            jdbcTemplate.update( "delete from eventhookoutbox where eventhookuid = ?", eventHookUid );
+            return;
+        }
+
+        new NamedParameterJdbcTemplate( jdbcTemplate ).update(
+            "delete from eventhookoutbox where eventhookuid = :uid and targetid not in (:targetIds)",
+            new MapSqlParameterSource( "uid", eventHookUid ).addValue( "targetIds", targetIds ) );
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.eventhook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DeliveryPipelineTest
+{
+    private final EventHook eventHook = new EventHook();
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    private final InMemoryOutboxStore outboxStore = new InMemoryOutboxStore();
+
+    private final DeliveryStatistics statistics = new DeliveryStatistics();
+
+    private DeliveryPipeline pipeline;
+
+    @BeforeEach
+    void setUp()
+    {
+        eventHook.setUid( "EventHookId" );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        if ( pipeline != null )
+        {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void shouldDeliverQueuedEventsInBatches()
+    {
+        pipeline = start( ( eh, payloads ) -> batches.add( payloads ),
+            DeliverySettings.builder().batchSize( 2 ).lingerMillis( 500 ).build() );
+
+        pipeline.enqueue( "A" );
+        pipeline.enqueue( "B" );
+        pipeline.enqueue( "C" );
+
+        awaitUntil( () -> statistics.getDeliveredCount() == 3 );
+        assertEquals( List.of( List.of( "A", "B" ), List.of( "C" ) ), batches );
+    }
+
+    @Test
+    void shouldStoreEventsInOutboxAfterLastAttempt()
+    {
+        pipeline = start( ( eh, payloads ) -> {
+            throw new EventHookException( "unavailable" );
+        }, DeliverySettings.builder().maxAttempts( 3 ).backoffMillis( 1 ).lingerMillis( 0 ).build() );
+
+        pipeline.enqueue( "A" );
+
+        awaitUntil( () -> statistics.getOutboxedCount() == 1 );
+        assertEquals( 3, statistics.getFailedAttemptCount() );
+        assertEquals( List.of( "A" ), outboxStore.payloads() );
+    }
+
+    @Test
+    void shouldDeliverEventsFromOutbox()
+    {
+        outboxStore.save( "EventHookId", "TargetId", List.of( "A", "B" ) );
+
+        pipeline = start( ( eh, payloads ) -> batches.add( payloads ), DeliverySettings.builder().build() );
+
+        awaitUntil( () -> statistics.getDeliveredCount() == 2 );
+        assertEquals( List.of( List.of( "A", "B" ) ), batches );
+        awaitUntil( () -> outboxStore.entries.isEmpty() );
+    }
+
+    @Test
+    void shouldKeepEventsInOutboxUntilDelivered()
+    {
+        outboxStore.save( "EventHookId", "TargetId", List.of( "A" ) );
+
+        pipeline = start( ( eh, payloads ) -> {
+            throw new EventHookException( "unavailable" );
+        }, DeliverySettings.builder().maxAttempts( 2 ).backoffMillis( 1 ).build() );
+
+        awaitUntil( () -> statistics.getFailedAttemptCount() >= 2 && outboxStore.released.get() >= 1 );
+        pipeline.close();
+
+        assertEquals( List.of( "A" ), outboxStore.payloads() );
+        assertEquals( 0, statistics.getOutboxedCount() );
+    }
+
+    @Test
+    void shouldRetryOnlyUndeliveredEvents()
+    {
+        pipeline = start( ( eh, payloads ) -> {
+            batches.add( payloads );
+            if ( payloads.size() > 1 )
+            {
+                throw new EventHookException( "partially failed", null, List.of( payloads.get( 1 ) ) );
+            }
+        }, DeliverySettings.builder().batchSize( 2 ).lingerMillis( 500 ).backoffMillis( 1 ).build() );
+
+        pipeline.enqueue( "A" );
+        pipeline.enqueue( "B" );
+
+        awaitUntil( () -> statistics.getDeliveredCount() == 2 );
+        assertEquals( List.of( List.of( "A", "B" ), List.of( "B" ) ), batches );
+        assertTrue( outboxStore.entries.isEmpty() );
+    }
+
+    @Test
+    void shouldStoreQueuedEventsInOutboxOnClose()
+    {
+        pipeline = new DeliveryPipeline( eventHook, "TargetId", ( eh, payloads ) -> batches.add( payloads ), outboxStore,
+            DeliverySettings.builder().build(), statistics );
+
+        pipeline.enqueue( "A" );
+        pipeline.close();
+
+        assertEquals( List.of( "A" ), outboxStore.payloads() );
+        assertTrue( batches.isEmpty() );
+    }
+
+    private DeliveryPipeline start( Handler handler, DeliverySettings settings )
+    {
+        DeliveryPipeline started = new DeliveryPipeline( eventHook, "TargetId", handler, outboxStore, settings, statistics );
+        started.start();
+        return started;
+    }
+
+    private static void awaitUntil( BooleanSupplier condition )
+    {
+        long deadline = System.currentTimeMillis() + 10_000;
+
+        while ( !condition.getAsBoolean() )
+        {
+            assertTrue( System.currentTimeMillis() < deadline, "Timed out waiting for delivery" );
+            Thread.yield();
+        }
+    }
+
+    private static class InMemoryOutboxStore implements EventHookOutboxStore
+    {
+        private final Map<Long, String> entries = new ConcurrentSkipListMap<>();
+
+        private final Set<Long> claimed = ConcurrentHashMap.newKeySet();
+
+        private final AtomicLong nextId = new AtomicLong();
+
+        private final AtomicInteger released = new AtomicInteger();
+
+        List<String> payloads()
+        {
+            return new ArrayList<>( entries.values() );
+        }
+
+        @Override
+        public void save( String eventHookUid, String targetId, List<String> payloads )
+        {
+            payloads.forEach( payload -> entries.put( nextId.incrementAndGet(), payload ) );
+        }
+
+        @Override
+        public synchronized List<Entry> claim( String eventHookUid, String targetId, int limit, int claimSeconds )
+        {
+            return entries.entrySet().stream()
+                .filter( e -> !claimed.contains( e.getKey() ) )
+                .limit( limit )
+                .peek( e -> claimed.add( e.getKey() ) )
+                .map( e -> new Entry( e.getKey(), e.getValue() ) )
+                .collect( Collectors.toList() );
+        }
+
+        @Override
+        public void delete( List<Long> ids )
+        {
+            ids.forEach( entries::remove );
+        }
+
+        @Override
+        public void release( List<Long> ids )
+        {
+            claimed.removeAll( ids );
+            released.addAndGet( ids.size() );
+        }
+
+        @Override
+        public void deleteOtherTargets( String eventHookUid, List<String> targetIds )
+        {
+            entries.clear();
+        }
+    }
+}
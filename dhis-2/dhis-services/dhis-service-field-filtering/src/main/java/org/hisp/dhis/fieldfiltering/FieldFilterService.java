@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.hisp.dhis.attribute.Attribute;
 import org.hisp.dhis.attribute.AttributeService;
@@ -49,6 +50,8 @@ import org.hisp.dhis.fieldfiltering.transformers.PluckFieldTransformer;
 import org.hisp.dhis.fieldfiltering.transformers.RenameFieldTransformer;
 import org.hisp.dhis.fieldfiltering.transformers.SizeFieldTransformer;
 import org.hisp.dhis.hibernate.HibernateProxyUtils;
+import org.hisp.dhis.schema.Property;
+import org.hisp.dhis.schema.PropertyType;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
 import org.hisp.dhis.security.acl.AclService;
@@ -65,6 +68,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.cfg.MapperConfig;
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
@@ -159,6 +164,34 @@ public class FieldFilterService
             .anyMatch( f -> f.toFullPath().equals( path ) );
     }
 
+    /**
+     * Returns the paths of all persisted references and collections of
+     * references that will be included when applying the given filters on
+     * objects of the given class. These are the associations which are walked
+     * when rendering the objects and which are worth fetching up front.
+     *
+     * @param rootClass class the filter will be applied on
+     * @param filters field filters, as given in the request
+     * @return dot separated paths (i.e. path.to.field)
+     */
+    public List<String> getFetchPaths( Class<?> rootClass, List<String> filters )
+    {
+        List<FieldPath> fieldPaths = FieldFilterParser.parse( String.join( ",", filters ) );
+
+        return fieldPathHelper.apply( fieldPaths, rootClass ).stream()
+            .filter( path -> isAssociation( path.getProperty() ) )
+            .map( FieldPath::toFullPath )
+            .distinct()
+            .collect( Collectors.toList() );
+    }
+
+    private static boolean isAssociation( Property property )
+    {
+        return property != null && property.isPersisted()
+            && (property.getPropertyType() == PropertyType.REFERENCE
+                || property.isCollection() && property.getItemPropertyType() == PropertyType.REFERENCE);
+    }
+
     private static class IgnoreJsonSerializerRefinementAnnotationInspector extends JacksonAnnotationIntrospector
     {
         /**
@@ -222,48 +255,76 @@ public class FieldFilterService
             return objectNodes;
         }
 
-        toObjectNodes( objects, fieldPaths, user, isSkipSharing, objectNodes::add );
+        toObjectNodes( objects, getFieldPaths( objects, fieldPaths ), user, isSkipSharing, objectNodes::add );
 
         return objectNodes;
     }
 
-    private <T> void toObjectNodes( List<T> objects, List<FieldPath> filter, User user,
+    private <T> void toObjectNodes( List<T> objects, List<FieldPath> paths, User user,
         boolean isSkipSharing, Consumer<ObjectNode> consumer )
+    {
+        ObjectMapper objectMapper = getObjectMapper( paths, isSkipSharing );
+        Map<String, List<FieldTransformer>> fieldTransformers = getTransformers( paths );
+
+        applyFieldFilter( objects, paths, user, isSkipSharing, object -> {
+            ObjectNode objectNode = objectMapper.valueToTree( object );
+            applyAttributeValueFields( object, objectNode, paths );
+            applyTransformers( objectNode, null, "", fieldTransformers );
+
+            consumer.accept( objectNode );
+        } );
+    }
+
+    private <T> void applyFieldFilter( List<T> objects, List<FieldPath> paths, User user,
+        boolean isSkipSharing, Consumer<Object> consumer )
     {
         if ( user == null )
         {
             user = currentUserService.getCurrentUser();
         }
 
+        for ( Object object : objects )
+        {
+            applyAccess( object, paths, isSkipSharing, user );
+            applySharingDisplayNames( object, paths, isSkipSharing );
+            applyAttributeValuesAttribute( object, paths, isSkipSharing );
+
+            consumer.accept( object );
+        }
+    }
+
+    private <T> List<FieldPath> getFieldPaths( List<T> objects, List<FieldPath> filter )
+    {
         // In case we get a proxied object in we can't just use o.getClass(), we
         // need to figure out the real class name by using HibernateProxyUtils.
         Object firstObject = objects.iterator().next();
-        List<FieldPath> paths = fieldPathHelper.apply( filter, HibernateProxyUtils.getRealClass( firstObject ) );
+        return fieldPathHelper.apply( filter, HibernateProxyUtils.getRealClass( firstObject ) );
+    }
 
+    private ObjectMapper getObjectMapper( List<FieldPath> paths, boolean isSkipSharing )
+    {
         SimpleFilterProvider filterProvider = getSimpleFilterProvider( paths, isSkipSharing );
 
         // only set filter provider on a local copy so that we don't affect
         // other object mappers (running across other threads)
-        ObjectMapper objectMapper = jsonMapper.copy().setFilterProvider( filterProvider );
-
-        Map<String, List<FieldTransformer>> fieldTransformers = getTransformers( paths );
-
-        for ( Object object : objects )
-        {
-            applyAccess( object, paths, isSkipSharing, user );
-            applySharingDisplayNames( object, paths, isSkipSharing );
-            applyAttributeValuesAttribute( object, paths, isSkipSharing );
-
-            ObjectNode objectNode = objectMapper.valueToTree( object );
-            applyAttributeValueFields( object, objectNode, paths );
-            applyTransformers( objectNode, null, "", fieldTransformers );
+        return jsonMapper.copy().setFilterProvider( filterProvider );
+    }
 
-            consumer.accept( objectNode );
-        }
+    /**
+     * Attribute value fields and transformers are applied on the rendered
+     * ObjectNode, without them objects can be written to the output directly.
+     */
+    private boolean isObjectNodeRequired( List<FieldPath> paths )
+    {
+        return paths.stream().anyMatch( path -> path.isTransformer()
+            || path.getProperty() == null && CodeGenerator.isValidUid( path.getFullPath() ) );
     }
 
     /**
-     * Streams filtered object nodes using given JsonGenerator.
+     * Streams filtered object nodes using given JsonGenerator. Unless the
+     * filters require post-processing of the rendered object (transformers or
+     * attribute value fields) the objects are serialized straight to the
+     * generator without building an intermediate ObjectNode.
      *
      * @param params Filter params to apply
      * @param generator Pre-created json generator
@@ -278,19 +339,24 @@ public class FieldFilterService
             return;
         }
         List<FieldPath> fieldPaths = FieldFilterParser.parse( params.getFilters() );
+        List<FieldPath> paths = getFieldPaths( params.getObjects(), fieldPaths );
 
         try
         {
-            toObjectNodes( params.getObjects(), fieldPaths, params.getUser(), params.isSkipSharing(), n -> {
-                try
-                {
-                    generator.writeObject( n );
-                }
-                catch ( IOException e )
-                {
-                    throw new UncheckedIOException( e );
-                }
-            } );
+            if ( isObjectNodeRequired( paths ) )
+            {
+                toObjectNodes( params.getObjects(), paths, params.getUser(), params.isSkipSharing(),
+                    n -> writeObject( generator, n ) );
+                return;
+            }
+
+            // flushing is left to the caller, flushing after each object would
+            // turn each of them into a separate write to the response
+            ObjectWriter writer = getObjectMapper( paths, params.isSkipSharing() ).writer()
+                .without( SerializationFeature.FLUSH_AFTER_WRITE_VALUE );
+
+            applyFieldFilter( params.getObjects(), paths, params.getUser(), params.isSkipSharing(),
+                object -> writeObject( generator, writer, object ) );
         }
         catch ( UncheckedIOException e )
         {
@@ -298,6 +364,30 @@ public class FieldFilterService
         }
     }
 
+    private static void writeObject( JsonGenerator generator, ObjectNode objectNode )
+    {
+        try
+        {
+            generator.writeObject( objectNode );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private static void writeObject( JsonGenerator generator, ObjectWriter writer, Object object )
+    {
+        try
+        {
+            writer.writeValue( generator, object );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     private void applyAttributeValueFields( Object object, ObjectNode objectNode, List<FieldPath> fieldPaths )
     {
         if ( !(object instanceof BaseIdentifiableObject) )
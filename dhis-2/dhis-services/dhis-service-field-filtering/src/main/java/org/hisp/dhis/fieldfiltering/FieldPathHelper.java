@@ -287,7 +287,7 @@ public class FieldPathHelper
 
         if ( property.isCollection() )
         {
-            Collection<?> currentObjects = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+            Collection<?> currentObjects = ReflectionUtils.invokeGetter( object, property );
 
             for ( Object o : currentObjects )
             {
@@ -296,7 +296,7 @@ public class FieldPathHelper
         }
         else
         {
-            Object currentObject = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+            Object currentObject = ReflectionUtils.invokeGetter( object, property );
             visitFieldPath( currentObject, new ArrayList<>( paths ), objectConsumer );
         }
     }
@@ -76,6 +76,9 @@ public class ProgramRuleEngine
     @Nonnull
     private final SupplementaryDataProvider supplementaryDataProvider;
 
+    @Nonnull
+    private final RuleEngineContextCache ruleEngineContextCache;
+
     public List<RuleEffect> evaluate( ProgramInstance enrollment, Set<ProgramStageInstance> events,
         List<ProgramRule> rules )
     {
@@ -157,11 +160,10 @@ public class ProgramRuleEngine
     {
         RuleEnrollment ruleEnrollment = getRuleEnrollment( enrollment, trackedEntityAttributeValues );
 
-        RuleEngine.Builder builder = getRuleEngineContext( program,
-            programRules )
-                .toEngineBuilder()
-                .triggerEnvironment( TriggerEnvironment.SERVER )
-                .events( ruleEvents );
+        RuleEngine.Builder builder = ruleEngineContextCache.getRuleEngineContext( program, programRules )
+            .toEngineBuilder()
+            .triggerEnvironment( TriggerEnvironment.SERVER )
+            .events( ruleEvents );
 
         if ( ruleEnrollment != null )
         {
@@ -236,25 +238,6 @@ public class ProgramRuleEngine
             RuleEngineIntent.DESCRIPTION ).build();
     }
 
-    private RuleEngineContext getRuleEngineContext( Program program, List<ProgramRule> programRules )
-    {
-        List<ProgramRuleVariable> programRuleVariables = programRuleVariableService
-            .getProgramRuleVariable( program );
-
-        Map<String, String> constantMap = constantService.getConstantMap().entrySet()
-            .stream()
-            .collect( Collectors.toMap( Map.Entry::getKey, v -> Double.toString( v.getValue().getValue() ) ) );
-
-        Map<String, List<String>> supplementaryData = supplementaryDataProvider.getSupplementaryData( programRules );
-
-        return RuleEngineContext.builder()
-            .supplementaryData( supplementaryData )
-            .rules( programRuleEntityMapperService.toMappedProgramRules( programRules ) )
-            .ruleVariables( programRuleEntityMapperService.toMappedProgramRuleVariables( programRuleVariables ) )
-            .constantsValue( constantMap )
-            .build();
-    }
-
     private RuleEngine.Builder ruleEngineBuilder( List<ProgramRule> programRules,
         List<ProgramRuleVariable> programRuleVariables, RuleEngineIntent intent )
     {
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.programrule.engine;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.Value;
+
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
+import org.hisp.dhis.constant.Constant;
+import org.hisp.dhis.constant.ConstantService;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.option.Option;
+import org.hisp.dhis.option.OptionSet;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitGroup;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramStage;
+import org.hisp.dhis.programrule.ProgramRule;
+import org.hisp.dhis.programrule.ProgramRuleAction;
+import org.hisp.dhis.programrule.ProgramRuleVariable;
+import org.hisp.dhis.programrule.ProgramRuleVariableService;
+import org.hisp.dhis.rules.RuleEngineContext;
+import org.hisp.dhis.rules.models.Rule;
+import org.hisp.dhis.rules.models.RuleVariable;
+import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the parts of a {@link RuleEngineContext} which only depend on
+ * metadata: the mapped rules, the mapped rule variables, the constants and the
+ * members of the org unit groups referenced by the rule conditions.
+ * <p>
+ * Entries are keyed by program and by the set of program rules to evaluate, so
+ * all the enrollments and events of a tracker import evaluated against the
+ * same rules share one mapped context. The user roles are added to the
+ * supplementary data on every call as they depend on the current user. The
+ * cache is cleared whenever metadata used by the rules is changed.
+ */
+@Component
+public class RuleEngineContextCache
+{
+    private static final Set<Class<?>> RULE_METADATA = Set.of( Program.class, ProgramStage.class,
+        ProgramRule.class, ProgramRuleAction.class, ProgramRuleVariable.class, DataElement.class,
+        TrackedEntityAttribute.class, OptionSet.class, Option.class, Constant.class, OrganisationUnitGroup.class,
+        OrganisationUnit.class );
+
+    private final Cache<MappedRuleContext> contextCache;
+
+    private final ProgramRuleEntityMapperService programRuleEntityMapperService;
+
+    private final ProgramRuleVariableService programRuleVariableService;
+
+    private final ConstantService constantService;
+
+    private final SupplementaryDataProvider supplementaryDataProvider;
+
+    public RuleEngineContextCache( CacheProvider cacheProvider,
+        ProgramRuleEntityMapperService programRuleEntityMapperService,
+        ProgramRuleVariableService programRuleVariableService, ConstantService constantService,
+        SupplementaryDataProvider supplementaryDataProvider )
+    {
+        this.contextCache = cacheProvider.createProgramRuleEngineContextCache();
+        this.programRuleEntityMapperService = programRuleEntityMapperService;
+        this.programRuleVariableService = programRuleVariableService;
+        this.constantService = constantService;
+        this.supplementaryDataProvider = supplementaryDataProvider;
+    }
+
+    /**
+     * Gets a rule engine context for the given program and program rules. The
+     * mapped metadata is taken from the cache when available.
+     *
+     * @param program the {@link Program} the rules belong to.
+     * @param programRules the program rules to evaluate.
+     * @return a {@link RuleEngineContext}.
+     */
+    public RuleEngineContext getRuleEngineContext( Program program, List<ProgramRule> programRules )
+    {
+        MappedRuleContext context = contextCache.get( getKey( program, programRules ),
+            key -> mapRuleContext( program, programRules ) );
+
+        Map<String, List<String>> supplementaryData = new HashMap<>( context.getOrgUnitGroupData() );
+
+        supplementaryDataProvider.addUserRoles( supplementaryData );
+
+        return RuleEngineContext.builder()
+            .supplementaryData( supplementaryData )
+            .rules( context.getRules() )
+            .ruleVariables( context.getRuleVariables() )
+            .constantsValue( context.getConstants() )
+            .build();
+    }
+
+    @EventListener
+    public void handleMetadataChanged( MetadataChangedEvent event )
+    {
+        if ( RULE_METADATA.stream().anyMatch( type -> type.isAssignableFrom( event.getObjectClass() ) ) )
+        {
+            contextCache.invalidateAll();
+        }
+    }
+
+    private MappedRuleContext mapRuleContext( Program program, List<ProgramRule> programRules )
+    {
+        List<ProgramRuleVariable> programRuleVariables = programRuleVariableService
+            .getProgramRuleVariable( program );
+
+        Map<String, String> constantMap = constantService.getConstantMap().entrySet()
+            .stream()
+            .collect( Collectors.toMap( Map.Entry::getKey, v -> Double.toString( v.getValue().getValue() ) ) );
+
+        return new MappedRuleContext( programRuleEntityMapperService.toMappedProgramRules( programRules ),
+            programRuleEntityMapperService.toMappedProgramRuleVariables( programRuleVariables ), constantMap,
+            supplementaryDataProvider.getOrgUnitGroupData( programRules ) );
+    }
+
+    private static String getKey( Program program, List<ProgramRule> programRules )
+    {
+        return program.getUid() + ":" + programRules.stream()
+            .map( ProgramRule::getUid )
+            .sorted()
+            .collect( Collectors.joining( "," ) );
+    }
+
+    @Value
+    private static class MappedRuleContext
+    {
+        List<Rule> rules;
+
+        List<RuleVariable> ruleVariables;
+
+        Map<String, String> constants;
+
+        Map<String, List<String>> orgUnitGroupData;
+    }
+}
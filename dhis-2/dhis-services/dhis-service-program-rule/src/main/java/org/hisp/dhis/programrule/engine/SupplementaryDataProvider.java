@@ -66,6 +66,23 @@ public class SupplementaryDataProvider
     private final CurrentUserService currentUserService;
 
     public Map<String, List<String>> getSupplementaryData( List<ProgramRule> programRules )
+    {
+        Map<String, List<String>> supplementaryData = getOrgUnitGroupData( programRules );
+
+        addUserRoles( supplementaryData );
+
+        return supplementaryData;
+    }
+
+    /**
+     * Gets the members of the org unit groups referenced by
+     * d2:inOrgUnitGroup in the conditions of the given program rules. Unlike
+     * the user roles this only depends on metadata.
+     *
+     * @param programRules the program rules to evaluate.
+     * @return a mutable map of org unit group uid to member uids.
+     */
+    public Map<String, List<String>> getOrgUnitGroupData( List<ProgramRule> programRules )
     {
         List<String> orgUnitGroups = new ArrayList<>();
 
@@ -83,18 +100,26 @@ public class SupplementaryDataProvider
 
         if ( !orgUnitGroups.isEmpty() )
         {
-            supplementaryData = orgUnitGroups.stream().collect(
+            supplementaryData = orgUnitGroups.stream().distinct().collect(
                 Collectors.toMap( g -> g, g -> organisationUnitGroupService.getOrganisationUnitGroup( g ).getMembers()
                     .stream().map( OrganisationUnit::getUid ).collect( Collectors.toList() ) ) );
         }
 
+        return supplementaryData;
+    }
+
+    /**
+     * Adds the user roles of the current user to the given supplementary data.
+     *
+     * @param supplementaryData the supplementary data to add the roles to.
+     */
+    public void addUserRoles( Map<String, List<String>> supplementaryData )
+    {
         if ( currentUserService.getCurrentUser() != null )
         {
             supplementaryData.put( USER, currentUserService.getCurrentUser()
                 .getUserRoles().stream().map( UserRole::getUid ).collect( Collectors.toList() ) );
         }
-
-        return supplementaryData;
     }
 
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.programrule.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hisp.dhis.DhisConvenienceTest;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
+import org.hisp.dhis.constant.ConstantService;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.programrule.ProgramRule;
+import org.hisp.dhis.programrule.ProgramRuleVariableService;
+import org.hisp.dhis.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class RuleEngineContextCacheTest extends DhisConvenienceTest
+{
+    @Mock
+    private CacheProvider cacheProvider;
+
+    @Mock
+    private ProgramRuleEntityMapperService programRuleEntityMapperService;
+
+    @Mock
+    private ProgramRuleVariableService programRuleVariableService;
+
+    @Mock
+    private ConstantService constantService;
+
+    @Mock
+    private SupplementaryDataProvider supplementaryDataProvider;
+
+    @Captor
+    private ArgumentCaptor<Map<String, List<String>>> supplementaryData;
+
+    private RuleEngineContextCache contextCache;
+
+    private Program program;
+
+    private List<ProgramRule> programRules;
+
+    @BeforeEach
+    void setUp()
+    {
+        when( cacheProvider.createProgramRuleEngineContextCache() )
+            .thenReturn( new LocalCache<>( new SimpleCacheBuilder<>() ) );
+        when( programRuleEntityMapperService.toMappedProgramRules( any() ) ).thenReturn( List.of() );
+        when( programRuleEntityMapperService.toMappedProgramRuleVariables( any() ) ).thenReturn( List.of() );
+        when( constantService.getConstantMap() ).thenReturn( Map.of() );
+        when( supplementaryDataProvider.getOrgUnitGroupData( any() ) )
+            .thenReturn( new HashMap<>( Map.of( "OrgUnitGroupId", List.of( "OrgUnitId" ) ) ) );
+
+        contextCache = new RuleEngineContextCache( cacheProvider, programRuleEntityMapperService,
+            programRuleVariableService, constantService, supplementaryDataProvider );
+
+        program = createProgram( 'A' );
+        programRules = List.of( createProgramRule( 'A', program ), createProgramRule( 'B', program ) );
+    }
+
+    @Test
+    void shouldMapRulesOnceForSameProgramRules()
+    {
+        contextCache.getRuleEngineContext( program, programRules );
+        contextCache.getRuleEngineContext( program, List.of( programRules.get( 1 ), programRules.get( 0 ) ) );
+
+        verify( programRuleEntityMapperService, times( 1 ) ).toMappedProgramRules( any() );
+        verify( programRuleVariableService, times( 1 ) ).getProgramRuleVariable( program );
+        verify( supplementaryDataProvider, times( 2 ) ).addUserRoles( supplementaryData.capture() );
+        assertEquals( List.of( "OrgUnitId" ), supplementaryData.getValue().get( "OrgUnitGroupId" ) );
+    }
+
+    @Test
+    void shouldMapRulesAgainAfterProgramRuleChange()
+    {
+        contextCache.getRuleEngineContext( program, programRules );
+        contextCache.handleMetadataChanged( new MetadataChangedEvent( ProgramRule.class ) );
+        contextCache.getRuleEngineContext( program, programRules );
+
+        verify( programRuleEntityMapperService, times( 2 ) ).toMappedProgramRules( any() );
+    }
+
+    @Test
+    void shouldKeepMappedRulesAfterUnrelatedChange()
+    {
+        contextCache.getRuleEngineContext( program, programRules );
+        contextCache.handleMetadataChanged( new MetadataChangedEvent( User.class ) );
+        contextCache.getRuleEngineContext( program, programRules );
+
+        verify( programRuleEntityMapperService, times( 1 ) ).toMappedProgramRules( any() );
+    }
+}
@@ -29,7 +29,6 @@ package org.hisp.dhis.validation;
 
 import static org.hisp.dhis.antlr.AntlrParserUtils.castDouble;
 import static org.hisp.dhis.expression.MissingValueStrategy.NEVER_SKIP;
-import static org.hisp.dhis.expression.ParseType.SIMPLE_TEST;
 import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
 import static org.hisp.dhis.system.util.MathUtils.addDoubleObjects;
 import static org.hisp.dhis.system.util.MathUtils.roundSignificant;
@@ -50,7 +49,6 @@ import javax.persistence.PersistenceException;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -73,7 +71,6 @@ import org.hisp.dhis.datavalue.DataExportParams;
 import org.hisp.dhis.datavalue.DataValueService;
 import org.hisp.dhis.datavalue.DeflatedDataValue;
 import org.hisp.dhis.expression.Expression;
-import org.hisp.dhis.expression.ExpressionParams;
 import org.hisp.dhis.expression.ExpressionService;
 import org.hisp.dhis.expression.Operator;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -172,7 +169,6 @@ public class DataValidationRunner
     }
 
     @Getter
-    @RequiredArgsConstructor
     private final class DataValidationRun
     {
         private final ValidationRunContext context;
@@ -183,11 +179,22 @@ public class DataValidationRunner
         // Current period.
         private final Period period;
 
+        // Day in the current period, computed once for all rules evaluated.
+        private final int dayInPeriod;
+
         // Data for current period and all rules being evaluated:
         private final MapMapMap<Long, String, DimensionalItemObject, Object> dataMap = new MapMapMap<>();
 
         private final MapMapMap<Long, String, DimensionalItemObject, Object> slidingWindowDataMap = new MapMapMap<>();
 
+        private DataValidationRun( ValidationRunContext context, PeriodTypeExtended periodTypeX, Period period )
+        {
+            this.context = context;
+            this.periodTypeX = periodTypeX;
+            this.period = period;
+            this.dayInPeriod = periodService.getDayInPeriod( period, new Date() );
+        }
+
         /**
          * Validates one rule / period by seeing which attribute option combos
          * exist for that data, and then iterating through those attribute
@@ -271,8 +278,7 @@ public class DataValidationRunner
             Double leftSide, Double rightSide, Consumer<ValidationResult> addResult )
         {
             // Skipping any results we already know
-            if ( context.skipValidationOfTuple( orgUnit, rule, period, optionCombo,
-                periodService.getDayInPeriod( period, new Date() ) ) )
+            if ( context.skipValidationOfTuple( orgUnit, rule, period, optionCombo, dayInPeriod ) )
             {
                 return;
             }
@@ -286,7 +292,7 @@ public class DataValidationRunner
                     getAttributeOptionCombo( optionCombo ),
                     roundSignificant( zeroIfNull( leftSide ) ),
                     roundSignificant( zeroIfNull( rightSide ) ),
-                    periodService.getDayInPeriod( period, new Date() ) ) );
+                    dayInPeriod ) );
             }
         }
 
@@ -334,11 +340,38 @@ public class DataValidationRunner
                 }
             }
 
-            String test = leftSide
-                + operator.getMathematicalOperator()
-                + rightSide;
-            return !(Boolean) expressionService.getExpressionValue( ExpressionParams.builder()
-                .expression( test ).parseType( SIMPLE_TEST ).build() );
+            return !isTrue( operator, Double.compare( leftSide, rightSide ) );
+        }
+
+        /**
+         * Evaluates a comparison operator for the result of comparing the left
+         * side to the right side. This is equivalent to evaluating the
+         * expression "left operator right" as a simple test, without building
+         * and parsing that expression for every evaluated value.
+         *
+         * @param operator the comparison operator.
+         * @param comparison the result of {@link Double#compare(double, double)}.
+         * @return true if the comparison satisfies the operator.
+         */
+        private boolean isTrue( Operator operator, int comparison )
+        {
+            switch ( operator )
+            {
+            case equal_to:
+                return comparison == 0;
+            case not_equal_to:
+                return comparison != 0;
+            case greater_than:
+                return comparison > 0;
+            case greater_than_or_equal_to:
+                return comparison >= 0;
+            case less_than:
+                return comparison < 0;
+            case less_than_or_equal_to:
+                return comparison <= 0;
+            default:
+                throw new IllegalArgumentException( "Not a comparison operator: " + operator );
+            }
         }
 
         /**
@@ -39,6 +39,9 @@ import static org.hisp.dhis.DhisConvenienceTest.createValidationRule;
 import static org.hisp.dhis.expression.ParseType.SIMPLE_TEST;
 import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -179,15 +182,58 @@ class DataValidationRunnerTest
         mockExpressionService( leftExpression, vals, 8.4 );
         mockExpressionService( rightExpression, vals, -10.0 );
 
-        when( expressionService.getExpressionValue( ExpressionParams.builder()
-            .expression( "8.4!=-10.0" ).parseType( SIMPLE_TEST ).build() ) )
-                .thenReturn( true );
-
         subject.run( organisationUnits, ctx );
 
         assertThat( ctx.getValidationResults().size(), is( 0 ) );
     }
 
+    /**
+     * Verify that a rule is violated for each period with data, without
+     * evaluating the comparison as a parsed expression
+     */
+    @Test
+    void verifySimpleValidation_oneRule_violations()
+    {
+        Expression leftExpression = createExpression2( 'A', "#{FUrCpcvMAmC.OrDRjJL9bTS}" );
+        Expression rightExpression = createExpression2( 'B', "10" );
+
+        ValidationRuleExtended vre = createValidationRuleExtended( leftExpression, rightExpression,
+            Operator.greater_than );
+
+        List<PeriodTypeExtended> periodTypes = new ArrayList<>();
+        PeriodTypeExtended periodType = createPeriodTypeExtended( vre );
+        periodType.addDataElement( deA );
+        periodTypes.add( periodType );
+
+        CategoryOptionCombo categoryOptionCombo = createCategoryOptionCombo( 'A', 'B' );
+
+        ValidationRunContext ctx = ValidationRunContext.newBuilder()
+            .withOrgUnits( organisationUnits )
+            .withItemMap( new HashMap<>() )
+            .withBaseExParams( ExpressionParams.builder().build() )
+            .withDefaultAttributeCombo( categoryOptionCombo )
+            .withPeriodTypeXs( periodTypes )
+            .withMaxResults( 500 )
+            .build();
+
+        DataValue dv = createDataValue( deA, createPeriod( "201901" ), ouA, "12.4",
+            createCategoryOptionCombo( 'B', 'C' ) );
+
+        when( dataValueService.getDeflatedDataValues( any( DataExportParams.class ) ) )
+            .thenReturn( List.of( new DeflatedDataValue( dv ) ) );
+
+        Map<DimensionalItemObject, Object> vals = new HashMap<>();
+        vals.put( deA, 12.4 );
+
+        mockExpressionService( leftExpression, vals, 8.4 );
+        mockExpressionService( rightExpression, vals, 10.0 );
+
+        subject.run( organisationUnits, ctx );
+
+        assertThat( ctx.getValidationResults().size(), is( 3 ) );
+        verify( expressionService, never() ).getExpressionValue( argThat( p -> p.getParseType() == SIMPLE_TEST ) );
+    }
+
     @Test
     void verifyValidationSkippedOnNoData()
     {
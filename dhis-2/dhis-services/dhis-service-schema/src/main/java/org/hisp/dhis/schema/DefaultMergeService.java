@@ -80,8 +80,8 @@ public class DefaultMergeService implements MergeService
 
             if ( property.isCollection() )
             {
-                Collection<T> sourceObject = ReflectionUtils.invokeMethod( source, property.getGetterMethod() );
-                Collection<T> targetObject = ReflectionUtils.invokeMethod( target, property.getGetterMethod() );
+                Collection<T> sourceObject = ReflectionUtils.invokeGetter( source, property );
+                Collection<T> targetObject = ReflectionUtils.invokeGetter( target, property );
 
                 if ( sourceObject == null )
                 {
@@ -109,16 +109,16 @@ public class DefaultMergeService implements MergeService
                     targetObject.addAll( sourceObject );
                 }
 
-                ReflectionUtils.invokeMethod( target, property.getSetterMethod(), targetObject );
+                ReflectionUtils.invokeSetter( target, property, targetObject );
             }
             else
             {
-                Object sourceObject = ReflectionUtils.invokeMethod( source, property.getGetterMethod() );
+                Object sourceObject = ReflectionUtils.invokeGetter( source, property );
 
                 if ( mergeParams.getMergeMode().isReplace()
                     || (mergeParams.getMergeMode().isMerge() && sourceObject != null) )
                 {
-                    ReflectionUtils.invokeMethod( target, property.getSetterMethod(), sourceObject );
+                    ReflectionUtils.invokeSetter( target, property, sourceObject );
                 }
             }
         }
@@ -37,6 +37,7 @@ import lombok.RequiredArgsConstructor;
 
 import org.hibernate.SessionFactory;
 import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.schema.introspection.AccessorPropertyIntrospector;
 import org.hisp.dhis.schema.introspection.GistPropertyIntrospector;
 import org.hisp.dhis.schema.introspection.HibernatePropertyIntrospector;
 import org.hisp.dhis.schema.introspection.JacksonPropertyIntrospector;
@@ -67,7 +68,8 @@ public class DefaultPropertyIntrospectorService implements PropertyIntrospectorS
             .then( new JacksonPropertyIntrospector() )
             .then( new TranslatablePropertyIntrospector() )
             .then( new PropertyPropertyIntrospector() )
-            .then( new GistPropertyIntrospector() ) );
+            .then( new GistPropertyIntrospector() )
+            .then( new AccessorPropertyIntrospector() ) );
     }
 
     @Override
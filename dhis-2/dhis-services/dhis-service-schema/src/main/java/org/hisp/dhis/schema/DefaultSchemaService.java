@@ -223,7 +223,11 @@ public class DefaultSchemaService
 
     private final Map<String, Schema> pluralSchemaMap = new HashMap<>();
 
-    private final Map<Class<?>, Schema> dynamicClassSchemaMap = new HashMap<>();
+    /**
+     * Dynamic schemas are created on demand, possibly by several threads at
+     * once, for example when objects are validated in parallel.
+     */
+    private final Map<Class<?>, Schema> dynamicClassSchemaMap = new ConcurrentHashMap<>();
 
     private final PropertyIntrospectorService propertyIntrospectorService;
 
@@ -345,18 +349,19 @@ public class DefaultSchemaService
 
         // Lookup the implementation class of core interfaces, if the input
         // klass is a core interface
-        klass = getConcreteClass( klass );
+        return dynamicClassSchemaMap.computeIfAbsent( getConcreteClass( klass ), this::createDynamicSchema );
+    }
 
+    private Schema createDynamicSchema( Class<?> klass )
+    {
         String name = getName( klass );
 
-        schema = new Schema( klass, name, name + "s" );
+        Schema schema = new Schema( klass, name, name + "s" );
         schema.setDisplayName( beautify( schema ) );
         schema.setPropertyMap( new HashMap<>( propertyIntrospectorService.getPropertiesMap( schema.getKlass() ) ) );
 
         updateSelf( schema );
 
-        dynamicClassSchemaMap.put( klass, schema );
-
         return schema;
     }
 
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.schema.introspection;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.schema.Property;
+
+import com.google.common.primitives.Primitives;
+
+/**
+ * A {@link PropertyIntrospector} that generates the
+ * {@link Property#getGetterAccessor()} and {@link Property#getSetterAccessor()}
+ * for the getter and setter methods found by the previous introspectors.
+ *
+ * The accessors are created once per property using {@link LambdaMetafactory}
+ * so that reading and writing property values does not go through
+ * {@link Method#invoke(Object, Object...)}. Methods which are not public or
+ * declared by a non-public type are left without accessor, callers then fall
+ * back to reflection.
+ */
+@Slf4j
+public class AccessorPropertyIntrospector implements PropertyIntrospector
+{
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    @Override
+    public void introspect( Class<?> klass, Map<String, Property> properties )
+    {
+        for ( Property property : properties.values() )
+        {
+            property.setGetterAccessor( createGetter( property.getGetterMethod() ) );
+            property.setSetterAccessor( createSetter( property.getSetterMethod() ) );
+        }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    static Function<Object, Object> createGetter( Method method )
+    {
+        if ( !isAccessible( method ) || method.getParameterCount() != 0 || method.getReturnType() == void.class )
+        {
+            return null;
+        }
+
+        try
+        {
+            MethodHandle getter = LOOKUP.unreflect( method );
+            CallSite site = LambdaMetafactory.metafactory( LOOKUP, "apply",
+                MethodType.methodType( Function.class ),
+                MethodType.methodType( Object.class, Object.class ),
+                getter,
+                MethodType.methodType( Primitives.wrap( method.getReturnType() ), method.getDeclaringClass() ) );
+
+            return (Function<Object, Object>) site.getTarget().invoke();
+        }
+        catch ( Throwable ex )
+        {
+            log.debug( "Failed to generate getter accessor for method: " + method, ex );
+            return null;
+        }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    static BiConsumer<Object, Object> createSetter( Method method )
+    {
+        if ( !isAccessible( method ) || method.getParameterCount() != 1 )
+        {
+            return null;
+        }
+
+        Class<?> valueType = method.getParameterTypes()[0];
+
+        try
+        {
+            MethodHandle setter = LOOKUP.unreflect( method );
+            CallSite site = LambdaMetafactory.metafactory( LOOKUP, "accept",
+                MethodType.methodType( BiConsumer.class ),
+                MethodType.methodType( void.class, Object.class, Object.class ),
+                setter,
+                MethodType.methodType( void.class, method.getDeclaringClass(), Primitives.wrap( valueType ) ) );
+
+            BiConsumer<Object, Object> accessor = (BiConsumer<Object, Object>) site.getTarget().invoke();
+
+            if ( !valueType.isPrimitive() )
+            {
+                return accessor;
+            }
+
+            // same as Method#invoke, null cannot be unboxed to a primitive
+            return ( target, value ) -> {
+                if ( value == null )
+                {
+                    throw new IllegalArgumentException( "Null value for primitive setter: " + method );
+                }
+
+                accessor.accept( target, value );
+            };
+        }
+        catch ( Throwable ex )
+        {
+            log.debug( "Failed to generate setter accessor for method: " + method, ex );
+            return null;
+        }
+    }
+
+    private static boolean isAccessible( Method method )
+    {
+        return method != null
+            && Modifier.isPublic( method.getModifiers() )
+            && !Modifier.isStatic( method.getModifiers() )
+            && Modifier.isPublic( method.getDeclaringClass().getModifiers() );
+    }
+}
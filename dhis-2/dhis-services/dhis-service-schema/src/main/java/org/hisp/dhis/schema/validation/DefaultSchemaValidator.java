@@ -126,7 +126,7 @@ public class DefaultSchemaValidator implements SchemaValidator
     private void validateProperty( Property property, Object object, Class<?> mainErrorClass,
         List<ErrorReport> errors )
     {
-        Object value = ReflectionUtils.invokeMethod( object, property.getGetterMethod() );
+        Object value = ReflectionUtils.invokeGetter( object, property );
 
         if ( value == null )
         {
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.schema.introspection.AccessorPropertyIntrospector;
+import org.hisp.dhis.system.util.ReflectionUtils;
+import org.junit.jupiter.api.Test;
+
+class AccessorPropertyIntrospectorTest
+{
+    private final AccessorPropertyIntrospector introspector = new AccessorPropertyIntrospector();
+
+    @Test
+    void testObjectProperty()
+        throws Exception
+    {
+        Property property = introspect( "name", DataElement.class.getMethod( "getName" ),
+            DataElement.class.getMethod( "setName", String.class ) );
+        assertNotNull( property.getGetterAccessor() );
+        assertNotNull( property.getSetterAccessor() );
+
+        DataElement dataElement = new DataElement( "ANC" );
+        assertEquals( "ANC", ReflectionUtils.invokeGetter( dataElement, property ) );
+        ReflectionUtils.invokeSetter( dataElement, property, "ANC 1st visit" );
+        assertEquals( "ANC 1st visit", dataElement.getName() );
+        ReflectionUtils.invokeSetter( dataElement, property, null );
+        assertNull( dataElement.getName() );
+    }
+
+    @Test
+    void testPrimitiveProperty()
+        throws Exception
+    {
+        Property property = introspect( "zeroIsSignificant", DataElement.class.getMethod( "isZeroIsSignificant" ),
+            DataElement.class.getMethod( "setZeroIsSignificant", boolean.class ) );
+
+        DataElement dataElement = new DataElement();
+        ReflectionUtils.invokeSetter( dataElement, property, true );
+        assertTrue( dataElement.isZeroIsSignificant() );
+        assertEquals( Boolean.TRUE, ReflectionUtils.invokeGetter( dataElement, property ) );
+        assertThrows( IllegalArgumentException.class,
+            () -> property.getSetterAccessor().accept( dataElement, null ) );
+    }
+
+    @Test
+    void testSetterTypeMismatch()
+        throws Exception
+    {
+        Property property = introspect( "name", DataElement.class.getMethod( "getName" ),
+            DataElement.class.getMethod( "setName", String.class ) );
+        assertNotNull( property.getSetterAccessor() );
+
+        DataElement dataElement = new DataElement( "ANC" );
+        assertThrows( IllegalArgumentException.class,
+            () -> ReflectionUtils.invokeSetter( dataElement, property, 42 ) );
+        assertEquals( "ANC", dataElement.getName() );
+    }
+
+    @Test
+    void testPrimitiveSetterNullValue()
+        throws Exception
+    {
+        Property property = introspect( "zeroIsSignificant", DataElement.class.getMethod( "isZeroIsSignificant" ),
+            DataElement.class.getMethod( "setZeroIsSignificant", boolean.class ) );
+
+        DataElement dataElement = new DataElement();
+        assertThrows( IllegalArgumentException.class,
+            () -> ReflectionUtils.invokeSetter( dataElement, property, null ) );
+    }
+
+    @Test
+    void testAccessorExceptionIsWrapped()
+        throws Exception
+    {
+        Property property = introspect( "value", Failing.class.getMethod( "getValue" ),
+            Failing.class.getMethod( "setValue", String.class ) );
+        assertNotNull( property.getGetterAccessor() );
+        assertNotNull( property.getSetterAccessor() );
+
+        Failing failing = new Failing();
+        assertWrapsCause( "get",
+            assertThrows( RuntimeException.class, () -> ReflectionUtils.invokeGetter( failing, property ) ) );
+        assertWrapsCause( "set",
+            assertThrows( RuntimeException.class, () -> ReflectionUtils.invokeSetter( failing, property, "x" ) ) );
+    }
+
+    @Test
+    void testAccessorExceptionIsWrappedLikeReflection()
+        throws Exception
+    {
+        Method getter = Failing.class.getMethod( "getValue" );
+
+        assertWrapsCause( "get",
+            assertThrows( RuntimeException.class, () -> ReflectionUtils.invokeMethod( new Failing(), getter ) ) );
+    }
+
+    @Test
+    void testNullTarget()
+        throws Exception
+    {
+        Property property = introspect( "name", DataElement.class.getMethod( "getName" ), null );
+        assertNull( property.getSetterAccessor() );
+        assertNull( ReflectionUtils.invokeGetter( null, property ) );
+    }
+
+    @Test
+    void testNonPublicMethod()
+        throws Exception
+    {
+        Property property = introspect( "hidden", Hidden.class.getDeclaredMethod( "getHidden" ), null );
+        assertNull( property.getGetterAccessor() );
+    }
+
+    private static void assertWrapsCause( String expectedMessage, RuntimeException ex )
+    {
+        InvocationTargetException cause = assertInstanceOf( InvocationTargetException.class, ex.getCause() );
+        assertInstanceOf( IllegalStateException.class, cause.getTargetException() );
+        assertEquals( expectedMessage, cause.getTargetException().getMessage() );
+    }
+
+    private Property introspect( String name, Method getter, Method setter )
+    {
+        Property property = new Property( getter.getDeclaringClass(), getter, setter );
+        property.setName( name );
+        Map<String, Property> properties = new HashMap<>();
+        properties.put( name, property );
+        introspector.introspect( getter.getDeclaringClass(), properties );
+        return property;
+    }
+
+    private static class Hidden
+    {
+        String getHidden()
+        {
+            return "hidden";
+        }
+    }
+
+    public static class Failing
+    {
+        public String getValue()
+        {
+            throw new IllegalStateException( "get" );
+        }
+
+        public void setValue( String value )
+        {
+            throw new IllegalStateException( "set" );
+        }
+    }
+}
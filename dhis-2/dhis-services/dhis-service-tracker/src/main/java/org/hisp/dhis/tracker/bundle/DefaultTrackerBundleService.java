@@ -37,6 +37,8 @@ import lombok.RequiredArgsConstructor;
 
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.trackedentity.TrackedEntityInstanceService;
 import org.hisp.dhis.tracker.ParamsConverter;
 import org.hisp.dhis.tracker.TrackerImportParams;
@@ -74,6 +76,8 @@ public class DefaultTrackerBundleService
 
     private final TrackedEntityInstanceService trackedEntityInstanceService;
 
+    private final DhisConfigurationProvider config;
+
     private List<SideEffectHandlerService> sideEffectHandlers = new ArrayList<>();
 
     @Autowired( required = false )
@@ -110,17 +114,38 @@ public class DefaultTrackerBundleService
         }
 
         Session session = sessionFactory.getCurrentSession();
-        Map<TrackerType, TrackerTypeReport> reportMap = Map.of(
-            TrackerType.TRACKED_ENTITY,
-            commitService.getTrackerPersister().persist( session, bundle ),
-            TrackerType.ENROLLMENT,
-            commitService.getEnrollmentPersister().persist( session, bundle ),
-            TrackerType.EVENT,
-            commitService.getEventPersister().persist( session, bundle ),
-            TrackerType.RELATIONSHIP,
-            commitService.getRelationshipPersister().persist( session, bundle ) );
 
-        return new PersistenceReport( reportMap );
+        // Pending inserts and updates are sent in JDBC batches when the
+        // session is flushed, instead of one statement per entity
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize( getJdbcBatchSize() );
+
+        try
+        {
+            Map<TrackerType, TrackerTypeReport> reportMap = Map.of(
+                TrackerType.TRACKED_ENTITY,
+                commitService.getTrackerPersister().persist( session, bundle ),
+                TrackerType.ENROLLMENT,
+                commitService.getEnrollmentPersister().persist( session, bundle ),
+                TrackerType.EVENT,
+                commitService.getEventPersister().persist( session, bundle ),
+                TrackerType.RELATIONSHIP,
+                commitService.getRelationshipPersister().persist( session, bundle ) );
+
+            session.flush();
+
+            return new PersistenceReport( reportMap );
+        }
+        finally
+        {
+            session.setJdbcBatchSize( jdbcBatchSize );
+        }
+    }
+
+    private int getJdbcBatchSize()
+    {
+        return Math.max( 0,
+            Integer.parseInt( config.getProperty( ConfigurationKey.TRACKER_IMPORT_JDBC_BATCH_SIZE ).trim() ) );
     }
 
     @Override
@@ -40,7 +40,9 @@ import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.hisp.dhis.common.CursorPager;
 import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.common.PageCursor;
 import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.common.SlimPager;
 import org.hisp.dhis.program.ProgramInstance;
@@ -180,7 +182,12 @@ public class DefaultEnrollmentService implements EnrollmentService
 
         programInstances.addAll( programInstanceService.getProgramInstances( params ) );
 
-        if ( !params.isSkipPaging() )
+        if ( params.isCursorPaging() )
+        {
+            enrollments.setPager( new CursorPager( params.getPageSizeWithDefault(),
+                handleCursorPaging( params, programInstances ) ) );
+        }
+        else if ( !params.isSkipPaging() )
         {
             Pager pager;
 
@@ -202,6 +209,33 @@ public class DefaultEnrollmentService implements EnrollmentService
         return enrollments;
     }
 
+    /**
+     * Removes the additional enrollment fetched by keyset paging from the list
+     * and returns the cursor to fetch the next page with. This is done before
+     * enrollments are filtered by ownership, so that filtered enrollments do
+     * not appear on the next page again.
+     *
+     * @param params the request params
+     * @param programInstances the reference to the list of ProgramInstance
+     * @return the cursor of the next page, or null if this is the last page
+     */
+    private PageCursor handleCursorPaging( ProgramInstanceQueryParams params,
+        List<ProgramInstance> programInstances )
+    {
+        int pageSize = params.getPageSizeWithDefault();
+
+        if ( pageSize == 0 || programInstances.size() <= pageSize )
+        {
+            return null;
+        }
+
+        programInstances.subList( pageSize, programInstances.size() ).clear();
+
+        ProgramInstance lastProgramInstance = programInstances.get( pageSize - 1 );
+
+        return PageCursor.of( lastProgramInstance.getLastUpdated(), lastProgramInstance.getId() );
+    }
+
     /**
      * This method will apply the logic related to the parameter
      * 'totalPages=false'. This works in conjunction with the method:
@@ -39,13 +39,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.hisp.dhis.common.CursorPager;
 import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
+import org.hisp.dhis.common.PageCursor;
 import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.common.SlimPager;
 import org.hisp.dhis.dataelement.DataElementService;
@@ -93,6 +96,15 @@ public class DefaultEventService implements EventService
         Events events = new Events();
         List<ProgramStageInstance> eventList = new ArrayList<>();
 
+        if ( params.isCursorPaging() )
+        {
+            eventList.addAll( eventStore.getEvents( params, emptyMap() ) );
+            events.setPager( new CursorPager( params.getPageSizeWithDefault(),
+                handleCursorPaging( params, eventList ) ) );
+            events.setEvents( eventList );
+            return events;
+        }
+
         if ( params.isSkipPaging() )
         {
             events.setEvents( eventStore.getEvents( params, emptyMap() ) );
@@ -118,6 +130,49 @@ public class DefaultEventService implements EventService
         return events;
     }
 
+    @Transactional( readOnly = true )
+    @Override
+    public void streamEvents( EventSearchParams params, int batchSize,
+        Consumer<List<ProgramStageInstance>> consumer )
+    {
+        validate( params, currentUserService.getCurrentUser() );
+
+        params.setSkipPaging( false ).setCursorPaging( true ).setCursor( null )
+            .setPage( null ).setPageSize( batchSize );
+
+        do
+        {
+            List<ProgramStageInstance> batch = new ArrayList<>( eventStore.getEvents( params, emptyMap() ) );
+            params.setCursor( handleCursorPaging( params, batch ) );
+            consumer.accept( batch );
+        }
+        while ( params.getCursor() != null );
+    }
+
+    /**
+     * Removes the additional event fetched by keyset paging from the list and
+     * returns the cursor to fetch the next page with.
+     *
+     * @param params the request params
+     * @param eventList the reference to the list of events
+     * @return the cursor of the next page, or null if this is the last page
+     */
+    private PageCursor handleCursorPaging( EventSearchParams params, List<ProgramStageInstance> eventList )
+    {
+        int pageSize = params.getPageSizeWithDefault();
+
+        if ( pageSize == 0 || eventList.size() <= pageSize )
+        {
+            return null;
+        }
+
+        eventList.subList( pageSize, eventList.size() ).clear();
+
+        ProgramStageInstance lastEvent = eventList.get( pageSize - 1 );
+
+        return PageCursor.of( lastEvent.getLastUpdated(), lastEvent.getId() );
+    }
+
     /**
      * This method will apply the logic related to the parameter
      * 'totalPages=false'. This works in conjunction with the method:
@@ -41,6 +41,7 @@ import org.hisp.dhis.common.AssignedUserQueryParam;
 import org.hisp.dhis.common.AssignedUserSelectionMode;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
+import org.hisp.dhis.common.PageCursor;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.event.EventStatus;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -160,6 +161,18 @@ public class EventSearchParams
 
     private boolean skipPaging;
 
+    /**
+     * Indicates whether to use keyset paging on last updated date and id
+     * instead of page numbers.
+     */
+    private boolean cursorPaging;
+
+    /**
+     * Position after which the page starts when using keyset paging, null for
+     * the first page.
+     */
+    private PageCursor cursor;
+
     private boolean includeRelationships;
 
     private final List<OrderParam> orders = new ArrayList<>();
@@ -621,6 +634,28 @@ public class EventSearchParams
         return this;
     }
 
+    public boolean isCursorPaging()
+    {
+        return cursorPaging;
+    }
+
+    public EventSearchParams setCursorPaging( boolean cursorPaging )
+    {
+        this.cursorPaging = cursorPaging;
+        return this;
+    }
+
+    public PageCursor getCursor()
+    {
+        return cursor;
+    }
+
+    public EventSearchParams setCursor( PageCursor cursor )
+    {
+        this.cursor = cursor;
+        return this;
+    }
+
     public boolean isIncludeAttributes()
     {
         return includeAttributes;
@@ -27,6 +27,9 @@
  */
 package org.hisp.dhis.tracker.event;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.hisp.dhis.program.ProgramStageInstance;
 import org.hisp.dhis.user.User;
 
@@ -37,6 +40,19 @@ public interface EventService
 {
     Events getEvents( EventSearchParams params );
 
+    /**
+     * Passes all events matching the given params to the consumer in batches
+     * of the given size. Batches are fetched with keyset paging, so only one
+     * batch is held in memory at a time and fetching a batch does not get
+     * slower the further the export has progressed. Paging and ordering
+     * properties of the params are ignored.
+     *
+     * @param params the event search params.
+     * @param batchSize the number of events per batch.
+     * @param consumer the consumer of each batch.
+     */
+    void streamEvents( EventSearchParams params, int batchSize, Consumer<List<ProgramStageInstance>> consumer );
+
     ProgramStageInstance getEvent( ProgramStageInstance programStageInstance, EventParams eventParams );
 
     ProgramStageInstance getEvent( ProgramStageInstance programStageInstance, boolean isSynchronizationQuery,
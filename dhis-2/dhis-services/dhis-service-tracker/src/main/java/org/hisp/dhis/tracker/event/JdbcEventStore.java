@@ -66,6 +66,7 @@ import static org.hisp.dhis.util.DateUtils.addDays;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -358,7 +359,10 @@ public class JdbcEventStore implements EventStore
                 event.setCreated( resultSet.getDate( "psi_created" ) );
                 event.setCreatedByUserInfo(
                     jsonToUserInfo( resultSet.getString( "psi_createdbyuserinfo" ), jsonMapper ) );
-                event.setLastUpdated( resultSet.getDate( "psi_lastupdated" ) );
+                event.setId( resultSet.getLong( "psi_id" ) );
+
+                // The full timestamp is needed to create the next page cursor
+                event.setLastUpdated( resultSet.getTimestamp( "psi_lastupdated" ) );
                 event.setLastUpdatedByUserInfo(
                     jsonToUserInfo( resultSet.getString( "psi_lastupdatedbyuserinfo" ), jsonMapper ) );
 
@@ -1098,6 +1102,16 @@ public class JdbcEventStore implements EventStore
                 .append( " (pi.uid in (:programinstance_uid)) " );
         }
 
+        if ( params.isCursorPaging() && params.getCursor() != null )
+        {
+            mapSqlParameterSource.addValue( "cursor_lastupdated",
+                Timestamp.from( params.getCursor().getLastUpdated() ) );
+            mapSqlParameterSource.addValue( "cursor_id", params.getCursor().getId() );
+
+            fromBuilder.append( hlp.whereAnd() )
+                .append( " (psi.lastupdated, psi.programstageinstanceid) < (:cursor_lastupdated, :cursor_id) " );
+        }
+
         return fromBuilder;
     }
 
@@ -1562,7 +1576,14 @@ public class JdbcEventStore implements EventStore
             pageSize++;
         }
 
-        if ( !params.isSkipPaging() )
+        if ( params.isCursorPaging() )
+        {
+            // Keyset paging, the cursor condition replaces the offset
+            sqlBuilder.append( "limit " )
+                .append( params.getPageSizeWithDefault() + 1 )
+                .append( " " );
+        }
+        else if ( !params.isSkipPaging() )
         {
             sqlBuilder.append( "limit " )
                 .append( pageSize )
@@ -1614,6 +1635,11 @@ public class JdbcEventStore implements EventStore
 
     private String getOrderQuery( EventSearchParams params )
     {
+        if ( params.isCursorPaging() )
+        {
+            return "order by psi_lastupdated desc, psi_id desc ";
+        }
+
         ArrayList<String> orderFields = new ArrayList<>();
 
         for ( OrderParam order : params.getOrders() )
@@ -27,26 +27,66 @@
  */
 package org.hisp.dhis.tracker.preheat.cache;
 
+import static org.hisp.dhis.commons.util.SystemUtils.isTestRun;
+
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiFunction;
 
 import lombok.RequiredArgsConstructor;
 
 import org.cache2k.Cache;
 import org.cache2k.Cache2kBuilder;
+import org.hisp.dhis.attribute.Attribute;
+import org.hisp.dhis.category.Category;
+import org.hisp.dhis.category.CategoryCombo;
+import org.hisp.dhis.category.CategoryOption;
+import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.option.Option;
+import org.hisp.dhis.option.OptionSet;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.program.ProgramSection;
+import org.hisp.dhis.program.ProgramStage;
+import org.hisp.dhis.program.ProgramStageDataElement;
+import org.hisp.dhis.program.ProgramStageSection;
+import org.hisp.dhis.program.ProgramTrackedEntityAttribute;
+import org.hisp.dhis.relationship.RelationshipType;
+import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.hisp.dhis.trackedentity.TrackedEntityType;
+import org.hisp.dhis.trackedentity.TrackedEntityTypeAttribute;
 import org.hisp.dhis.tracker.TrackerIdScheme;
+import org.hisp.dhis.user.UserGroup;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 /**
  * Pre-heat cache implementation for metadata objects.
+ * <p>
+ * The cache is a read-only snapshot of metadata shared by all imports. Every
+ * invalidation increments the version of the snapshot, objects loaded under an
+ * older version are not added to the cache so that an import running
+ * concurrently with a metadata change cannot cache stale objects.
+ * <p>
+ * The schema strategies only put and receive copies of the metadata they
+ * cache, so imports can not modify the shared snapshot. Defaults and periods
+ * are cached as they are. The cache is off by default and enabled
+ * through {@link ConfigurationKey#TRACKER_IMPORT_PREHEAT_CACHE_ENABLED}.
  *
  * @author Luciano Fiandesio
  */
@@ -54,6 +94,22 @@ import org.springframework.stereotype.Service;
 @Service
 public class DefaultPreheatCacheService implements PreheatCacheService
 {
+    /**
+     * Metadata types of the objects held by the cache and of the associations
+     * copied along with them by the preheat mappers. Changes to other metadata
+     * types, which are frequent on busy instances, leave the cache untouched.
+     */
+    private static final Set<Class<?>> CACHED_TYPES = Set.of( Program.class, ProgramStage.class,
+        ProgramStageDataElement.class, ProgramStageSection.class, ProgramSection.class,
+        ProgramTrackedEntityAttribute.class, DataElement.class, TrackedEntityAttribute.class,
+        TrackedEntityType.class, TrackedEntityTypeAttribute.class, RelationshipType.class,
+        OrganisationUnit.class, CategoryOptionCombo.class, CategoryOption.class, CategoryCombo.class,
+        Category.class, OptionSet.class, Option.class, Attribute.class, UserGroup.class );
+
+    private final DhisConfigurationProvider config;
+
+    private final Environment environment;
+
     /**
      * Data structure to hold the metadata cache:
      *
@@ -66,7 +122,14 @@ public class DefaultPreheatCacheService implements PreheatCacheService
      * objects, if different {@link TrackerIdScheme} are used during different
      * imports.
      */
-    private static final Map<String, Cache<String, IdentifiableObject>> cache = new HashMap<>();
+    private final Map<String, Cache<String, IdentifiableObject>> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Guards the version check of a put against a concurrent invalidation.
+     */
+    private final ReadWriteLock versionLock = new ReentrantReadWriteLock();
 
     @Override
     public Optional<IdentifiableObject> get( final String cacheKey, final String id )
@@ -94,10 +157,12 @@ public class DefaultPreheatCacheService implements PreheatCacheService
             return value;
         }
 
+        long loadedVersion = getVersion();
+
         value = mappingFunction.apply( cacheKey, id );
         if ( value.isPresent() )
         {
-            put( cacheKey, id, value.get(), cacheTTL, capacity );
+            put( cacheKey, id, value.get(), cacheTTL, capacity, loadedVersion );
         }
 
         return value;
@@ -106,7 +171,8 @@ public class DefaultPreheatCacheService implements PreheatCacheService
     @Override
     public boolean hasKey( String cacheKey )
     {
-        return cache.containsKey( cacheKey );
+        // caches are emptied but kept on invalidation
+        return cache.containsKey( cacheKey ) && cache.get( cacheKey ).keys().iterator().hasNext();
     }
 
     public List<IdentifiableObject> getAll( String cacheKey )
@@ -125,38 +191,43 @@ public class DefaultPreheatCacheService implements PreheatCacheService
     @Override
     public void put( final String cacheKey, final String id, IdentifiableObject object,
         final int cacheTTL, final long capacity )
+    {
+        put( cacheKey, id, object, cacheTTL, capacity, getVersion() );
+    }
+
+    @Override
+    public void put( final String cacheKey, final String id, IdentifiableObject object,
+        final int cacheTTL, final long capacity, final long loadedVersion )
     {
         if ( cacheKey == null || id == null || object == null )
             return;
 
         if ( isCacheEnabled() )
         {
-            if ( cache.containsKey( cacheKey ) )
-            {
-                cache.get( cacheKey ).put( id, object );
-            }
-            else
+            versionLock.readLock().lock();
+
+            try
             {
-                Cache<String, IdentifiableObject> c = new Cache2kBuilder<String, IdentifiableObject>()
+                if ( loadedVersion != version.get() )
                 {
+                    return;
                 }
-                    .expireAfterWrite( cacheTTL, TimeUnit.MINUTES )
-                    .name( cacheKey )
-                    .permitNullValues( false )
-                    .entryCapacity( capacity == -1 ? Long.MAX_VALUE : capacity )
-                    .resilienceDuration( 30, TimeUnit.SECONDS ) // cope with at
-                    // most 30
-                    // seconds
-                    // outage before propagating exceptions
-                    .build();
-
-                c.put( id, object );
-
-                cache.put( cacheKey, c );
+
+                cache.computeIfAbsent( cacheKey, key -> createCache( cacheTTL, capacity ) ).put( id, object );
+            }
+            finally
+            {
+                versionLock.readLock().unlock();
             }
         }
     }
 
+    @Override
+    public long getVersion()
+    {
+        return version.get();
+    }
+
     @EventListener
     @Override
     public void handleApplicationCachesCleared( ApplicationCacheClearedEvent event )
@@ -164,21 +235,53 @@ public class DefaultPreheatCacheService implements PreheatCacheService
         invalidateCache();
     }
 
+    @EventListener
+    @Override
+    public void handleMetadataChanged( MetadataChangedEvent event )
+    {
+        if ( !isCacheEnabled() || CACHED_TYPES.stream()
+            .noneMatch( type -> type.isAssignableFrom( event.getObjectClass() ) ) )
+        {
+            return;
+        }
+
+        invalidateCache();
+    }
+
     @Override
     public void invalidateCache()
     {
-        cache.values().forEach( Cache::removeAll );
+        versionLock.writeLock().lock();
+
+        try
+        {
+            version.incrementAndGet();
+            cache.values().forEach( Cache::removeAll );
+        }
+        finally
+        {
+            versionLock.writeLock().unlock();
+        }
+    }
+
+    private Cache<String, IdentifiableObject> createCache( int cacheTTL, long capacity )
+    {
+        return new Cache2kBuilder<String, IdentifiableObject>()
+        {
+        }
+            .expireAfterWrite( cacheTTL, TimeUnit.MINUTES )
+            .permitNullValues( false )
+            .entryCapacity( capacity == -1 ? Long.MAX_VALUE : capacity )
+            .resilienceDuration( 30, TimeUnit.SECONDS ) // cope with at
+            // most 30
+            // seconds
+            // outage before propagating exceptions
+            .build();
     }
 
     private boolean isCacheEnabled()
     {
-        return false;
-
-        // Due to concerns and issues with the current cache implementation, we
-        // decided to
-        // deactivate the cache in the preheat completely for now.
-        // return !isTestRun( this.environment.getActiveProfiles() )
-        // && config.isEnabled(
-        // ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED );
+        return !isTestRun( environment.getActiveProfiles() )
+            && config.isEnabled( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED );
     }
 }
@@ -33,6 +33,7 @@ import java.util.function.BiFunction;
 
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
 
 /**
  * A DHIS2 metadata cache implementation to reduce db lookups during pre-heat
@@ -95,6 +96,26 @@ public interface PreheatCacheService
      */
     void put( String cacheKey, String id, IdentifiableObject object, int cacheTTL, long capacity );
 
+    /**
+     * Adds an object to the pre-heat cache, unless the cache has been
+     * invalidated since the object was loaded.
+     *
+     * @param cacheKey the full class name of the object being cached
+     * @param id the identifier of the object being cached, used as cache key
+     * @param object The object being cached
+     * @param cacheTTL The amount of **minutes**
+     * @param capacity The maximum number of entries hold by the cache.
+     * @param version the {@link #getVersion() version} of the cache before the
+     *        object was loaded from the database
+     */
+    void put( String cacheKey, String id, IdentifiableObject object, int cacheTTL, long capacity, long version );
+
+    /**
+     * Returns the version of the cached metadata, which changes every time the
+     * cache is invalidated.
+     */
+    long getVersion();
+
     /**
      * Invalidates all caches.
      */
@@ -106,4 +127,12 @@ public interface PreheatCacheService
      * @param event the {@link ApplicationCacheClearedEvent}.
      */
     void handleApplicationCachesCleared( ApplicationCacheClearedEvent event );
+
+    /**
+     * Event handler for {@link MetadataChangedEvent}. Invalidates all caches,
+     * as cached objects embed copies of other metadata.
+     *
+     * @param event the {@link MetadataChangedEvent}.
+     */
+    void handleMetadataChanged( MetadataChangedEvent event );
 }
@@ -133,14 +133,20 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
         List<IdentifiableObject> objects;
         final String cacheKey = buildCacheKey( schema );
 
-        if ( isCacheable() ) // check if this strategy requires caching
+        // cached objects are shared between imports, hence only copies of
+        // them are handed out. A CopyMapper does not copy, so objects of
+        // such strategies are never cached
+        if ( isCacheable() && !mapper.isAssignableFrom( CopyMapper.class ) )
         {
+            // objects loaded after a concurrent invalidation are not cached
+            long cacheVersion = cache.getVersion();
+
             Map<String, IdentifiableObject> foundInCache = new HashMap<>();
             for ( String id : ids )
             {
                 // is the object reference by the given id in cache?
                 cache.get( cacheKey, id )
-                    .ifPresent( identifiableObject -> foundInCache.put( id, identifiableObject ) );
+                    .ifPresent( identifiableObject -> foundInCache.put( id, copy( identifiableObject, mapper ) ) );
             }
 
             // is there any object which was not found in cache?
@@ -158,8 +164,8 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
                 // put objects in query based on given scheme. If the key
                 // can't get resolved, send null to the
                 // cacheService, which will ignore the entry
-                objects.forEach( o -> cache.put( cacheKey, idSchemeParam.getIdentifier( o ), o, getCacheTTL(),
-                    getCapacity() ) );
+                objects.forEach( o -> cache.put( cacheKey, idSchemeParam.getIdentifier( o ), copy( o, mapper ),
+                    getCacheTTL(), getCapacity(), cacheVersion ) );
 
                 // add back the cached objects to the final list
                 objects.addAll( foundInCache.values() );
@@ -193,6 +199,18 @@ public abstract class AbstractSchemaStrategy implements ClassBasedSupplierStrate
         }
     }
 
+    /**
+     * Copies an object already mapped by the given mapper. Mapping a mapped
+     * object again creates new instances of the object and of the associations
+     * kept by the mapper, so that an import can not modify the copy held by the
+     * cache.
+     */
+    @SuppressWarnings( { "rawtypes", "unchecked" } )
+    private IdentifiableObject copy( IdentifiableObject object, Class<? extends PreheatMapper> mapper )
+    {
+        return (IdentifiableObject) Mappers.getMapper( mapper ).map( object );
+    }
+
     private Query buildQuery( Schema schema, User user, TrackerIdScheme idScheme, List<String> ids )
     {
         Query query = Query.from( schema );
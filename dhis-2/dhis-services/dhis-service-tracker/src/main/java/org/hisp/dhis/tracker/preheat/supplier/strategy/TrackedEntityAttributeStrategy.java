@@ -39,7 +39,7 @@ import org.springframework.stereotype.Component;
  * @author Luciano Fiandesio
  */
 @Component
-@StrategyFor( value = TrackedEntityAttribute.class, mapper = TrackedEntityAttributeMapper.class )
+@StrategyFor( value = TrackedEntityAttribute.class, mapper = TrackedEntityAttributeMapper.class, cache = true, ttl = 20, capacity = 500 )
 public class TrackedEntityAttributeStrategy extends AbstractSchemaStrategy
 {
     public TrackedEntityAttributeStrategy( SchemaService schemaService, QueryService queryService,
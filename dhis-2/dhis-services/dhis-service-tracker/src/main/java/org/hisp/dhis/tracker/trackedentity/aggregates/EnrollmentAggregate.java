@@ -28,7 +28,6 @@
 package org.hisp.dhis.tracker.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
-import static org.hisp.dhis.tracker.trackedentity.aggregates.ThreadPoolManager.getPool;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -67,6 +66,10 @@ public class EnrollmentAggregate
     @Nonnull
     private final EventAggregate eventAggregate;
 
+    @Qualifier( "org.hisp.dhis.tracker.trackedentity.aggregates.ThreadPoolManager" )
+    @Nonnull
+    private final ThreadPoolManager threadPoolManager;
+
     /**
      * Key: tei uid , value Enrollment
      *
@@ -90,18 +93,18 @@ public class EnrollmentAggregate
 
         final CompletableFuture<Multimap<String, ProgramStageInstance>> eventAsync = conditionalAsyncFetch(
             ctx.getParams().getEnrollmentParams().isIncludeEvents(),
-            () -> eventAggregate.findByEnrollmentIds( enrollmentIds, ctx ), getPool() );
+            () -> eventAggregate.findByEnrollmentIds( enrollmentIds, ctx ), threadPoolManager.getPool() );
 
         final CompletableFuture<Multimap<String, RelationshipItem>> relationshipAsync = conditionalAsyncFetch(
             ctx.getParams().getEnrollmentParams().isIncludeRelationships(),
-            () -> enrollmentStore.getRelationships( enrollmentIds, ctx ), getPool() );
+            () -> enrollmentStore.getRelationships( enrollmentIds, ctx ), threadPoolManager.getPool() );
 
         final CompletableFuture<Multimap<String, TrackedEntityComment>> notesAsync = asyncFetch(
-            () -> enrollmentStore.getNotes( enrollmentIds ), getPool() );
+            () -> enrollmentStore.getNotes( enrollmentIds ), threadPoolManager.getPool() );
 
         final CompletableFuture<Multimap<String, TrackedEntityAttributeValue>> attributesAsync = conditionalAsyncFetch(
             ctx.getParams().getTeiEnrollmentParams().isIncludeAttributes(),
-            () -> enrollmentStore.getAttributes( enrollmentIds, ctx ), getPool() );
+            () -> enrollmentStore.getAttributes( enrollmentIds, ctx ), threadPoolManager.getPool() );
 
         return allOf( eventAsync, notesAsync, relationshipAsync, attributesAsync ).thenApplyAsync( fn -> {
 
@@ -131,6 +134,6 @@ public class EnrollmentAggregate
 
             return enrollments;
 
-        }, getPool() ).join();
+        }, threadPoolManager.getPool() ).join();
     }
 }
@@ -29,7 +29,6 @@ package org.hisp.dhis.tracker.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
-import static org.hisp.dhis.tracker.trackedentity.aggregates.ThreadPoolManager.getPool;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -64,6 +63,10 @@ public class EventAggregate
     @Nonnull
     private final EventStore eventStore;
 
+    @Qualifier( "org.hisp.dhis.tracker.trackedentity.aggregates.ThreadPoolManager" )
+    @Nonnull
+    private final ThreadPoolManager threadPoolManager;
+
     /**
      * Key: enrollment uid -> Value: Event
      *
@@ -92,19 +95,19 @@ public class EventAggregate
          */
         final CompletableFuture<Multimap<String, RelationshipItem>> relationshipAsync = conditionalAsyncFetch(
             ctx.getParams().getEventParams().isIncludeRelationships(),
-            () -> eventStore.getRelationships( eventIds, ctx ), getPool() );
+            () -> eventStore.getRelationships( eventIds, ctx ), threadPoolManager.getPool() );
 
         /*
          * Async fetch Notes for the given Event ids
          */
         final CompletableFuture<Multimap<String, TrackedEntityComment>> notesAsync = asyncFetch(
-            () -> eventStore.getNotes( eventIds ), getPool() );
+            () -> eventStore.getNotes( eventIds ), threadPoolManager.getPool() );
 
         /*
          * Async fetch DataValues for the given Event ids
          */
         final CompletableFuture<Map<String, List<EventDataValue>>> dataValuesAsync = supplyAsync(
-            () -> eventStore.getDataValues( eventIds ), getPool() );
+            () -> eventStore.getDataValues( eventIds ), threadPoolManager.getPool() );
 
         return allOf( dataValuesAsync, notesAsync, relationshipAsync ).thenApplyAsync( fn -> {
 
@@ -129,6 +132,6 @@ public class EventAggregate
 
             return events;
 
-        }, getPool() ).join();
+        }, threadPoolManager.getPool() ).join();
     }
 }
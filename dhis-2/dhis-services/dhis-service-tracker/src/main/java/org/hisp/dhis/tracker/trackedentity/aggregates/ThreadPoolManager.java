@@ -27,39 +27,234 @@
  */
 package org.hisp.dhis.tracker.trackedentity.aggregates;
 
+import static org.hisp.dhis.external.conf.ConfigurationKey.CONNECTION_POOL_MAX_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_AGGREGATE_POOL_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_AGGREGATE_QUEUE_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.TRACKER_AGGREGATE_VIRTUAL_THREADS;
+
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.StringUtils;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.stereotype.Component;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
- * Exposes a static method to fetch an Executor for the Aggregates operations
+ * Provides the {@link Executor} for the Aggregates operations.
+ * <p>
+ * The number of concurrently running fetches is bounded by
+ * {@link org.hisp.dhis.external.conf.ConfigurationKey#TRACKER_AGGREGATE_POOL_SIZE},
+ * which defaults to half of the database connection pool, so that concurrent
+ * exports cannot exhaust the connection pool. Fetches are either run on a fixed
+ * pool of platform threads or, when enabled and supported by the JVM, on
+ * virtual threads gated by a semaphore.
+ * <p>
+ * Aggregates wait for the fetches they submitted from within a fetch (tracked
+ * entity to enrollments to events). Tasks submitted from a thread that is
+ * already running a fetch are therefore run by that thread, otherwise a
+ * saturated pool could wait on tasks queued behind itself.
  *
  * @author Luciano Fiandesio
  */
+@Slf4j
+@Component( "org.hisp.dhis.tracker.trackedentity.aggregates.ThreadPoolManager" )
 public class ThreadPoolManager
 {
+    private static final ThreadLocal<Boolean> RUNNING_FETCH = ThreadLocal.withInitial( () -> false );
+
     // Thread factory that sets a user-defined thread name (useful for debugging
     // purposes)
-    private ThreadPoolManager()
-    {
-        throw new IllegalStateException( "only used for its static fields" );
-    }
-
     private static final ThreadFactory threadFactory = new ThreadFactoryBuilder()
         .setNameFormat( "TRACKER-TEI-FETCH-%d" )
         .setDaemon( true )
         .build();
 
+    private final int poolSize;
+
+    private final ExecutorService executorService;
+
+    /**
+     * Bounds the number of running fetches in virtual thread mode, null when
+     * running on platform threads.
+     */
+    private final Semaphore permits;
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final LongAdder startedTasks = new LongAdder();
+
+    private final LongAdder waitTimeNanos = new LongAdder();
+
+    private final Executor executor = this::execute;
+
+    public ThreadPoolManager( DhisConfigurationProvider config )
+    {
+        this.poolSize = getPoolSize( config );
+
+        ExecutorService virtualThreadExecutor = config.isEnabled( TRACKER_AGGREGATE_VIRTUAL_THREADS )
+            ? createVirtualThreadExecutor()
+            : null;
+
+        if ( virtualThreadExecutor != null )
+        {
+            this.executorService = virtualThreadExecutor;
+            this.permits = new Semaphore( poolSize, true );
+        }
+        else
+        {
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor( poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>( getQueueSize( config ) ), threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy() );
+            threadPoolExecutor.allowCoreThreadTimeOut( true );
+
+            this.executorService = threadPoolExecutor;
+            this.permits = null;
+        }
+
+        log.info( "Tracker aggregate fetches are bounded to {} concurrent {} threads", poolSize,
+            permits != null ? "virtual" : "platform" );
+    }
+
+    Executor getPool()
+    {
+        return executor;
+    }
+
+    /**
+     * @return the maximum number of concurrently running fetches.
+     */
+    public int getPoolSize()
+    {
+        return poolSize;
+    }
+
+    /**
+     * @return the number of fetches currently running.
+     */
+    public int getRunningTaskCount()
+    {
+        return running.get();
+    }
+
+    /**
+     * @return the number of fetches waiting for a free thread.
+     */
+    public int getQueuedTaskCount()
+    {
+        return permits != null
+            ? permits.getQueueLength()
+            : ((ThreadPoolExecutor) executorService).getQueue().size();
+    }
+
+    /**
+     * @return the number of fetches which have started running.
+     */
+    public long getStartedTaskCount()
+    {
+        return startedTasks.sum();
+    }
+
     /**
-     * Cached thread pool: not bound to a size, but can reuse existing threads.
+     * @return the total time in nanoseconds fetches spent waiting for a free
+     *         thread.
      */
-    private static final Executor AGGREGATE_THREAD_POOL = Executors.newCachedThreadPool( threadFactory );
+    public double getTotalWaitTimeNanos()
+    {
+        return waitTimeNanos.sum();
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        executorService.shutdownNow();
+    }
+
+    private void execute( Runnable task )
+    {
+        if ( RUNNING_FETCH.get() )
+        {
+            task.run();
+            return;
+        }
 
-    static Executor getPool()
+        long submitted = System.nanoTime();
+
+        executorService.execute( () -> run( task, submitted ) );
+    }
+
+    private void run( Runnable task, long submitted )
+    {
+        if ( permits != null )
+        {
+            permits.acquireUninterruptibly();
+        }
+
+        waitTimeNanos.add( System.nanoTime() - submitted );
+        startedTasks.increment();
+        running.incrementAndGet();
+        RUNNING_FETCH.set( true );
+
+        try
+        {
+            task.run();
+        }
+        finally
+        {
+            RUNNING_FETCH.remove();
+            running.decrementAndGet();
+
+            if ( permits != null )
+            {
+                permits.release();
+            }
+        }
+    }
+
+    private static int getPoolSize( DhisConfigurationProvider config )
     {
-        return AGGREGATE_THREAD_POOL;
+        String poolSize = config.getProperty( TRACKER_AGGREGATE_POOL_SIZE );
+
+        if ( StringUtils.isNotBlank( poolSize ) )
+        {
+            return Math.max( 1, Integer.parseInt( poolSize.trim() ) );
+        }
+
+        return Math.max( 2, Integer.parseInt( config.getProperty( CONNECTION_POOL_MAX_SIZE ).trim() ) / 2 );
+    }
+
+    private static int getQueueSize( DhisConfigurationProvider config )
+    {
+        return Math.max( 1, Integer.parseInt( config.getProperty( TRACKER_AGGREGATE_QUEUE_SIZE ).trim() ) );
     }
 
+    /**
+     * Virtual threads are only available from JDK 21, while the code base is
+     * compiled for an older release, hence the reflective lookup.
+     */
+    private static ExecutorService createVirtualThreadExecutor()
+    {
+        try
+        {
+            return (ExecutorService) Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" ).invoke( null );
+        }
+        catch ( ReflectiveOperationException ex )
+        {
+            log.warn( "Virtual threads are not supported by this JVM, using platform threads for tracker aggregates" );
+            return null;
+        }
+    }
 }
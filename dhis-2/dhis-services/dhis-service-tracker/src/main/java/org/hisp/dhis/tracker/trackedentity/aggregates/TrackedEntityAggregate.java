@@ -29,7 +29,6 @@ package org.hisp.dhis.tracker.trackedentity.aggregates;
 
 import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
-import static org.hisp.dhis.tracker.trackedentity.aggregates.ThreadPoolManager.getPool;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -98,6 +97,10 @@ public class TrackedEntityAggregate
     @Nonnull
     private final CacheProvider cacheProvider;
 
+    @Qualifier( "org.hisp.dhis.tracker.trackedentity.aggregates.ThreadPoolManager" )
+    @Nonnull
+    private final ThreadPoolManager threadPoolManager;
+
     private Cache<Set<TrackedEntityAttribute>> teiAttributesCache;
 
     private Cache<Map<Program, Set<TrackedEntityAttribute>>> programTeiAttributesCache;
@@ -168,7 +171,7 @@ public class TrackedEntityAggregate
          */
         final CompletableFuture<Multimap<String, RelationshipItem>> relationshipsAsync = conditionalAsyncFetch(
             ctx.getParams().isIncludeRelationships(), () -> trackedEntityStore.getRelationships( ids, ctx ),
-            getPool() );
+            threadPoolManager.getPool() );
 
         /*
          * Async fetch Enrollments for the given TrackedEntityInstance id (only
@@ -176,27 +179,27 @@ public class TrackedEntityAggregate
          */
         final CompletableFuture<Multimap<String, ProgramInstance>> enrollmentsAsync = conditionalAsyncFetch(
             ctx.getParams().isIncludeEnrollments(),
-            () -> enrollmentAggregate.findByTrackedEntityInstanceIds( ids, ctx ), getPool() );
+            () -> enrollmentAggregate.findByTrackedEntityInstanceIds( ids, ctx ), threadPoolManager.getPool() );
 
         /*
          * Async fetch all ProgramOwner for the given TrackedEntityInstance id
          */
         final CompletableFuture<Multimap<String, TrackedEntityProgramOwner>> programOwnersAsync = conditionalAsyncFetch(
             ctx.getParams().isIncludeProgramOwners(), () -> trackedEntityStore.getProgramOwners( ids ),
-            getPool() );
+            threadPoolManager.getPool() );
 
         /*
          * Async Fetch TrackedEntityInstances by id
          */
         final CompletableFuture<Map<String, TrackedEntityInstance>> teisAsync = supplyAsync(
-            () -> trackedEntityStore.getTrackedEntityInstances( ids, ctx ), getPool() );
+            () -> trackedEntityStore.getTrackedEntityInstances( ids, ctx ), threadPoolManager.getPool() );
 
         /*
          * Async fetch TrackedEntityInstance Attributes by TrackedEntityInstance
          * id
          */
         final CompletableFuture<Multimap<String, TrackedEntityAttributeValue>> attributesAsync = supplyAsync(
-            () -> trackedEntityStore.getAttributes( ids ), getPool() );
+            () -> trackedEntityStore.getAttributes( ids ), threadPoolManager.getPool() );
 
         /*
          * Async fetch Owned Tei mapped to the provided program attributes by
@@ -204,7 +207,7 @@ public class TrackedEntityAggregate
          */
         final CompletableFuture<Multimap<String, String>> ownedTeiAsync = conditionalAsyncFetch(
             user.isPresent(),
-            () -> trackedEntityStore.getOwnedTeis( ids, ctx ), getPool() );
+            () -> trackedEntityStore.getOwnedTeis( ids, ctx ), threadPoolManager.getPool() );
 
         /*
          * Execute all queries and merge the results
@@ -244,7 +247,7 @@ public class TrackedEntityAggregate
                     return tei;
 
                 } ).collect( Collectors.toList() );
-            }, getPool() ).join();
+            }, threadPoolManager.getPool() ).join();
 
     }
 
@@ -331,17 +334,18 @@ public class TrackedEntityAggregate
     private Context getSecurityContext( String userUID, List<String> userGroupUIDs )
     {
         final CompletableFuture<List<Long>> getTeiTypes = supplyAsync(
-            () -> aclStore.getAccessibleTrackedEntityInstanceTypes( userUID, userGroupUIDs ), getPool() );
+            () -> aclStore.getAccessibleTrackedEntityInstanceTypes( userUID, userGroupUIDs ),
+            threadPoolManager.getPool() );
 
         final CompletableFuture<List<Long>> getPrograms = supplyAsync(
             () -> aclStore.getAccessiblePrograms( userUID, userGroupUIDs ),
-            getPool() );
+            threadPoolManager.getPool() );
 
         final CompletableFuture<List<Long>> getProgramStages = supplyAsync(
-            () -> aclStore.getAccessibleProgramStages( userUID, userGroupUIDs ), getPool() );
+            () -> aclStore.getAccessibleProgramStages( userUID, userGroupUIDs ), threadPoolManager.getPool() );
 
         final CompletableFuture<List<Long>> getRelationshipTypes = supplyAsync(
-            () -> aclStore.getAccessibleRelationshipTypes( userUID, userGroupUIDs ), getPool() );
+            () -> aclStore.getAccessibleRelationshipTypes( userUID, userGroupUIDs ), threadPoolManager.getPool() );
 
         return allOf( getTeiTypes, getPrograms, getProgramStages, getRelationshipTypes ).thenApplyAsync(
             fn -> Context.builder()
@@ -350,7 +354,7 @@ public class TrackedEntityAggregate
                 .programStages( getProgramStages.join() )
                 .relationshipTypes( getRelationshipTypes.join() )
                 .build(),
-            getPool() )
+            threadPoolManager.getPool() )
             .join();
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.bundle;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.trackedentity.TrackedEntityInstanceService;
+import org.hisp.dhis.tracker.TrackerType;
+import org.hisp.dhis.tracker.bundle.persister.CommitService;
+import org.hisp.dhis.tracker.bundle.persister.EnrollmentPersister;
+import org.hisp.dhis.tracker.bundle.persister.EventPersister;
+import org.hisp.dhis.tracker.bundle.persister.RelationshipPersister;
+import org.hisp.dhis.tracker.bundle.persister.TrackedEntityPersister;
+import org.hisp.dhis.tracker.bundle.persister.TrackerObjectDeletionService;
+import org.hisp.dhis.tracker.preheat.TrackerPreheatService;
+import org.hisp.dhis.tracker.programrule.ProgramRuleService;
+import org.hisp.dhis.tracker.report.TrackerTypeReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests the JDBC batch size used by
+ * {@link DefaultTrackerBundleService#commit(TrackerBundle)}.
+ */
+@ExtendWith( MockitoExtension.class )
+class DefaultTrackerBundleServiceTest
+{
+    @Mock
+    private TrackerPreheatService trackerPreheatService;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private CommitService commitService;
+
+    @Mock
+    private TrackedEntityPersister trackedEntityPersister;
+
+    @Mock
+    private EnrollmentPersister enrollmentPersister;
+
+    @Mock
+    private EventPersister eventPersister;
+
+    @Mock
+    private RelationshipPersister relationshipPersister;
+
+    @Mock
+    private ProgramRuleService programRuleService;
+
+    @Mock
+    private TrackerObjectDeletionService deletionService;
+
+    @Mock
+    private TrackedEntityInstanceService trackedEntityInstanceService;
+
+    @Mock
+    private DhisConfigurationProvider config;
+
+    private DefaultTrackerBundleService bundleService;
+
+    private final TrackerBundle bundle = TrackerBundle.builder().build();
+
+    @BeforeEach
+    void setUp()
+    {
+        bundleService = new DefaultTrackerBundleService( trackerPreheatService, sessionFactory, commitService,
+            programRuleService, deletionService, trackedEntityInstanceService, config );
+
+        when( sessionFactory.getCurrentSession() ).thenReturn( session );
+        when( session.getJdbcBatchSize() ).thenReturn( 10 );
+        when( config.getProperty( ConfigurationKey.TRACKER_IMPORT_JDBC_BATCH_SIZE ) ).thenReturn( "50" );
+        when( commitService.getTrackerPersister() ).thenReturn( trackedEntityPersister );
+    }
+
+    @Test
+    void shouldFlushBeforeRestoringJdbcBatchSize()
+    {
+        when( commitService.getEnrollmentPersister() ).thenReturn( enrollmentPersister );
+        when( commitService.getEventPersister() ).thenReturn( eventPersister );
+        when( commitService.getRelationshipPersister() ).thenReturn( relationshipPersister );
+        when( trackedEntityPersister.persist( session, bundle ) )
+            .thenReturn( new TrackerTypeReport( TrackerType.TRACKED_ENTITY ) );
+        when( enrollmentPersister.persist( session, bundle ) )
+            .thenReturn( new TrackerTypeReport( TrackerType.ENROLLMENT ) );
+        when( eventPersister.persist( session, bundle ) )
+            .thenReturn( new TrackerTypeReport( TrackerType.EVENT ) );
+        when( relationshipPersister.persist( session, bundle ) )
+            .thenReturn( new TrackerTypeReport( TrackerType.RELATIONSHIP ) );
+
+        bundleService.commit( bundle );
+
+        InOrder order = inOrder( session, trackedEntityPersister );
+        order.verify( session ).setJdbcBatchSize( 50 );
+        order.verify( trackedEntityPersister ).persist( session, bundle );
+        order.verify( session ).flush();
+        order.verify( session ).setJdbcBatchSize( 10 );
+    }
+
+    @Test
+    void shouldRestoreJdbcBatchSizeWhenPersistingFails()
+    {
+        when( trackedEntityPersister.persist( session, bundle ) ).thenThrow( new IllegalStateException( "failed" ) );
+
+        assertThrows( IllegalStateException.class, () -> bundleService.commit( bundle ) );
+
+        InOrder order = inOrder( session );
+        order.verify( session ).setJdbcBatchSize( 50 );
+        order.verify( session ).setJdbcBatchSize( 10 );
+        verify( session, never() ).flush();
+    }
+}
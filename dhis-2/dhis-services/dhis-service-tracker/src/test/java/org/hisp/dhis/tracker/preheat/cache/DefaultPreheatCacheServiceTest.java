@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.preheat.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.indicator.Indicator;
+import org.hisp.dhis.option.OptionSet;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+
+@ExtendWith( MockitoExtension.class )
+class DefaultPreheatCacheServiceTest
+{
+    private static final String CACHE_KEY = Program.class.getSimpleName();
+
+    @Mock
+    private DhisConfigurationProvider config;
+
+    @Mock
+    private Environment environment;
+
+    private DefaultPreheatCacheService cacheService;
+
+    private Program program;
+
+    @BeforeEach
+    void setUp()
+    {
+        when( environment.getActiveProfiles() ).thenReturn( new String[] {} );
+        when( config.isEnabled( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED ) ).thenReturn( true );
+
+        cacheService = new DefaultPreheatCacheService( config, environment );
+
+        program = new Program();
+        program.setUid( CodeGenerator.generateUid() );
+    }
+
+    @Test
+    void shouldReturnCachedObject()
+    {
+        cacheService.put( CACHE_KEY, program.getUid(), program, 10, 10 );
+
+        assertEquals( program, cacheService.get( CACHE_KEY, program.getUid() ).orElse( null ) );
+    }
+
+    @Test
+    void shouldInvalidateOnMetadataChange()
+    {
+        cacheService.put( CACHE_KEY, program.getUid(), program, 10, 10 );
+        long version = cacheService.getVersion();
+
+        cacheService.handleMetadataChanged( new MetadataChangedEvent( Program.class ) );
+
+        assertFalse( cacheService.get( CACHE_KEY, program.getUid() ).isPresent() );
+        assertTrue( cacheService.getVersion() > version );
+    }
+
+    @Test
+    void shouldNotInvalidateOnUserChange()
+    {
+        cacheService.put( CACHE_KEY, program.getUid(), program, 10, 10 );
+
+        cacheService.handleMetadataChanged( new MetadataChangedEvent( User.class ) );
+
+        assertTrue( cacheService.get( CACHE_KEY, program.getUid() ).isPresent() );
+    }
+
+    @Test
+    void shouldNotInvalidateOnChangeOfUncachedMetadata()
+    {
+        cacheService.put( CACHE_KEY, program.getUid(), program, 10, 10 );
+        long version = cacheService.getVersion();
+
+        cacheService.handleMetadataChanged( new MetadataChangedEvent( Indicator.class ) );
+
+        assertTrue( cacheService.get( CACHE_KEY, program.getUid() ).isPresent() );
+        assertEquals( version, cacheService.getVersion() );
+    }
+
+    @Test
+    void shouldInvalidateOnChangeOfMetadataEmbeddedInCachedObjects()
+    {
+        cacheService.put( CACHE_KEY, program.getUid(), program, 10, 10 );
+
+        cacheService.handleMetadataChanged( new MetadataChangedEvent( OptionSet.class ) );
+
+        assertFalse( cacheService.get( CACHE_KEY, program.getUid() ).isPresent() );
+    }
+
+    @Test
+    void shouldNotCacheObjectLoadedBeforeInvalidation()
+    {
+        long version = cacheService.getVersion();
+
+        cacheService.invalidateCache();
+        cacheService.put( CACHE_KEY, program.getUid(), program, 10, 10, version );
+
+        assertFalse( cacheService.get( CACHE_KEY, program.getUid() ).isPresent() );
+    }
+}
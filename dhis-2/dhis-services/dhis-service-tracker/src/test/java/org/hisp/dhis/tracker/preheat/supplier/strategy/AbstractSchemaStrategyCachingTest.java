@@ -30,17 +30,20 @@ package org.hisp.dhis.tracker.preheat.supplier.strategy;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
 
 import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.program.Program;
 import org.hisp.dhis.query.Query;
@@ -57,6 +60,7 @@ import org.hisp.dhis.tracker.preheat.mappers.ProgramMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -105,10 +109,11 @@ class AbstractSchemaStrategyCachingTest
 
         // When
         strategy.queryForIdentifiableObjects( preheat, schema, TrackerIdSchemeParam.UID,
-            singletonList( singletonList( UID ) ), ProgramMapper.INSTANCE.getClass() );
+            singletonList( singletonList( UID ) ), ProgramMapper.class );
 
         // Then
         assertThat( preheat.getAll( Program.class ), hasSize( 1 ) );
+        assertNotSame( program, preheat.getAll( Program.class ).get( 0 ) );
     }
 
     @Test
@@ -123,6 +128,33 @@ class AbstractSchemaStrategyCachingTest
 
         when( cache.get( Program.class.getSimpleName(), UID ) ).thenReturn( Optional.empty() );
 
+        doReturn( singletonList( program ) ).when( queryService ).query( any( Query.class ) );
+        ProgramStrategy strategy = new ProgramStrategy( schemaService, queryService,
+            manager, cache );
+
+        // When
+        strategy.queryForIdentifiableObjects( preheat, schema, TrackerIdSchemeParam.UID,
+            singletonList( singletonList( UID ) ), ProgramMapper.class );
+
+        // Then
+        assertThat( preheat.getAll( Program.class ), hasSize( 1 ) );
+
+        ArgumentCaptor<IdentifiableObject> cached = ArgumentCaptor.forClass( IdentifiableObject.class );
+        verify( cache, times( 1 ) ).put( eq( "Program" ), anyString(), cached.capture(), eq( 20 ), eq( 10L ),
+            eq( 0L ) );
+        assertNotSame( preheat.getAll( Program.class ).get( 0 ), cached.getValue() );
+    }
+
+    @Test
+    void verifyObjectsOfCopyMapperAreNotCached()
+    {
+        // Given
+        final Schema schema = new ProgramSchemaDescriptor().getSchema();
+
+        String UID = CodeGenerator.generateUid();
+
+        Program program = rnd.nextObject( Program.class );
+
         doReturn( singletonList( program ) ).when( queryService ).query( any( Query.class ) );
         ProgramStrategy strategy = new ProgramStrategy( schemaService, queryService,
             manager, cache );
@@ -134,7 +166,7 @@ class AbstractSchemaStrategyCachingTest
         // Then
         assertThat( preheat.getAll( Program.class ), hasSize( 1 ) );
 
-        verify( cache, times( 1 ) ).put( eq( "Program" ), anyString(), any(), eq( 20 ), eq( 10L ) );
+        verifyNoInteractions( cache );
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.trackedentity.aggregates;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class ThreadPoolManagerTest
+{
+    @Mock
+    private DhisConfigurationProvider config;
+
+    private ThreadPoolManager threadPoolManager;
+
+    @AfterEach
+    void tearDown()
+    {
+        threadPoolManager.shutdown();
+    }
+
+    @Test
+    void shouldDerivePoolSizeFromConnectionPool()
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_AGGREGATE_POOL_SIZE ) ).thenReturn( "" );
+        when( config.getProperty( ConfigurationKey.CONNECTION_POOL_MAX_SIZE ) ).thenReturn( "80" );
+        when( config.getProperty( ConfigurationKey.TRACKER_AGGREGATE_QUEUE_SIZE ) ).thenReturn( "1000" );
+
+        threadPoolManager = new ThreadPoolManager( config );
+
+        assertEquals( 40, threadPoolManager.getPoolSize() );
+    }
+
+    @Test
+    void shouldNotRunMoreFetchesThanPoolSize()
+        throws InterruptedException
+    {
+        threadPoolManager = createThreadPoolManager( "2" );
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch poolBusy = new CountDownLatch( 2 );
+        CountDownLatch release = new CountDownLatch( 1 );
+
+        List<CompletableFuture<Void>> futures = IntStream.range( 0, 10 )
+            .mapToObj( i -> CompletableFuture.runAsync( () -> {
+                maxRunning.accumulateAndGet( threadPoolManager.getRunningTaskCount(), Math::max );
+                poolBusy.countDown();
+                await( release );
+            }, threadPoolManager.getPool() ) )
+            .collect( Collectors.toList() );
+
+        assertTrue( poolBusy.await( 5, TimeUnit.SECONDS ) );
+        assertTrue( threadPoolManager.getRunningTaskCount() <= 2 );
+
+        release.countDown();
+        CompletableFuture.allOf( futures.toArray( new CompletableFuture[0] ) ).join();
+
+        assertTrue( maxRunning.get() <= 2, "max running: " + maxRunning.get() );
+        assertEquals( 10, threadPoolManager.getStartedTaskCount() );
+    }
+
+    @Test
+    void shouldRunNestedFetchesWithoutExhaustingPool()
+    {
+        threadPoolManager = createThreadPoolManager( "1" );
+
+        Integer result = assertTimeoutPreemptively( Duration.ofSeconds( 5 ),
+            () -> supplyAsync( () -> supplyAsync( () -> 42, threadPoolManager.getPool() ).join(),
+                threadPoolManager.getPool() ).join() );
+
+        assertEquals( 42, result );
+    }
+
+    private ThreadPoolManager createThreadPoolManager( String poolSize )
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_AGGREGATE_POOL_SIZE ) ).thenReturn( poolSize );
+        when( config.getProperty( ConfigurationKey.TRACKER_AGGREGATE_QUEUE_SIZE ) ).thenReturn( "1000" );
+
+        return new ThreadPoolManager( config );
+    }
+
+    private static void await( CountDownLatch latch )
+    {
+        try
+        {
+            latch.await( 5, TimeUnit.SECONDS );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -38,6 +38,7 @@ import javax.jms.JMSException;
 
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.jms.ActiveMQJMSConstants;
 import org.apache.activemq.artemis.core.config.CoreAddressConfiguration;
 import org.apache.activemq.artemis.core.config.CoreQueueConfiguration;
 import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
@@ -147,6 +148,25 @@ public class ArtemisConfig
         return factory;
     }
 
+    /**
+     * Configured for the audit topics. Messages are acknowledged one by one by
+     * the audit consumers once their audit is written to the database, rather
+     * than by the container when the listener returns.
+     */
+    @Bean
+    public DefaultJmsListenerContainerFactory jmsAuditListenerContainerFactory( ConnectionFactory connectionFactory,
+        NameDestinationResolver nameDestinationResolver )
+    {
+        DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        factory.setConnectionFactory( connectionFactory );
+        factory.setDestinationResolver( nameDestinationResolver );
+        factory.setPubSubDomain( true );
+        factory.setConcurrency( "1" );
+        factory.setSessionAcknowledgeMode( ActiveMQJMSConstants.INDIVIDUAL_ACKNOWLEDGE );
+
+        return factory;
+    }
+
     @Bean // configured for queues
     public DefaultJmsListenerContainerFactory jmsQueueListenerContainerFactory( ConnectionFactory connectionFactory,
         NameDestinationResolver nameDestinationResolver )
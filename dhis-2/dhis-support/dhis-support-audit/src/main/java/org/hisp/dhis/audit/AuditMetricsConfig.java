@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_AUDIT_ENABLED;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exports the queue depth, throughput, failures and lag of the audit writer.
+ */
+@Configuration
+@Conditional( AuditMetricsConfig.AuditMetricsEnabledCondition.class )
+public class AuditMetricsConfig
+{
+    @Autowired
+    public void bindToRegistry( MeterRegistry registry, AuditSink auditSink )
+    {
+        Gauge.builder( "audit.queue.size", auditSink, AuditSink::getQueuedCount )
+            .description( "Number of audits waiting to be written" )
+            .register( registry );
+
+        FunctionCounter.builder( "audit.written", auditSink, AuditSink::getWrittenCount )
+            .description( "Number of audits written to the database" )
+            .register( registry );
+
+        FunctionCounter.builder( "audit.failed", auditSink, AuditSink::getFailedCount )
+            .description( "Number of audits which could not be written to the database" )
+            .register( registry );
+
+        FunctionTimer.builder( "audit.lag", auditSink, AuditSink::getWrittenCount,
+            AuditSink::getTotalLagMillis, TimeUnit.MILLISECONDS )
+            .description( "Time between creating and writing an audit" )
+            .register( registry );
+    }
+
+    static class AuditMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_AUDIT_ENABLED;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.AUDIT_DATABASE_RETENTION_MONTHS;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the monthly range partitions of the audit table. Creates the
+ * partitions for the coming months ahead of time, so that audits do not end up
+ * in the default partition, and drops the partitions which only hold audits
+ * older than
+ * {@link org.hisp.dhis.external.conf.ConfigurationKey#AUDIT_DATABASE_RETENTION_MONTHS}
+ * months. Dropping a partition is a cheap catalog operation compared to
+ * deleting its rows.
+ * <p>
+ * The partition holding the audits from before the table was partitioned is
+ * dropped as a whole once its last month expired. Audits which ended up in the
+ * default partition are moved to the partition of their month once it is
+ * created.
+ */
+@Slf4j
+@Component
+public class AuditPartitionManager
+{
+    private static final int MONTHS_AHEAD = 2;
+
+    private static final String DEFAULT_PARTITION = "audit_default";
+
+    private static final Pattern UPPER_BOUND = Pattern.compile( "TO \\('(\\d{4}-\\d{2}-\\d{2})" );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int retentionMonths;
+
+    public AuditPartitionManager( JdbcTemplate jdbcTemplate, DhisConfigurationProvider config )
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionMonths = Integer.parseInt( config.getProperty( AUDIT_DATABASE_RETENTION_MONTHS ) );
+    }
+
+    @Scheduled( initialDelay = 60_000, fixedDelay = 21_600_000 )
+    public void maintainPartitions()
+    {
+        if ( !isPartitioned() )
+        {
+            return;
+        }
+
+        List<Partition> partitions = getPartitions();
+        YearMonth current = YearMonth.now();
+
+        boolean hasDefault = partitions.stream().anyMatch( p -> DEFAULT_PARTITION.equals( p.getName() ) );
+
+        for ( YearMonth month : getMonthsToCreate( getLatestUpperBound( partitions ), current, MONTHS_AHEAD ) )
+        {
+            String name = getPartitionName( month );
+
+            if ( hasDefault && hasDefaultPartitionAudits( month ) )
+            {
+                log.info( "Creating audit partition '{}' and moving its audits out of the default partition", name );
+
+                // not caught, this is not expected to fail and must not go unnoticed
+                jdbcTemplate.execute( getCreatePartitionMovingDefaultSql( month ) );
+            }
+            else
+            {
+                log.info( "Creating audit partition '{}'", name );
+
+                execute( getCreatePartitionSql( month ) );
+            }
+        }
+
+        for ( Partition partition : partitions )
+        {
+            if ( isExpired( partition.getUpperBound(), current, retentionMonths ) )
+            {
+                log.info( "Dropping expired audit partition '{}'", partition.getName() );
+
+                execute( "drop table if exists " + partition.getName() );
+            }
+        }
+    }
+
+    private void execute( String sql )
+    {
+        try
+        {
+            jdbcTemplate.execute( sql );
+        }
+        catch ( DataAccessException ex )
+        {
+            // another node may be maintaining the partitions at the same time
+            log.warn( "Could not maintain audit partitions: {}", ex.getMessage() );
+        }
+    }
+
+    private boolean hasDefaultPartitionAudits( YearMonth month )
+    {
+        return Boolean.TRUE.equals( jdbcTemplate.queryForObject( String.format(
+            "select exists (select 1 from %s where createdat >= '%s' and createdat < '%s')",
+            DEFAULT_PARTITION, month.atDay( 1 ), month.plusMonths( 1 ).atDay( 1 ) ), Boolean.class ) );
+    }
+
+    private boolean isPartitioned()
+    {
+        try
+        {
+            return Boolean.TRUE.equals( jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass('audit'))",
+                Boolean.class ) );
+        }
+        catch ( DataAccessException ex )
+        {
+            log.debug( "Audit table is not partitioned: {}", ex.getMessage() );
+            return false;
+        }
+    }
+
+    private List<Partition> getPartitions()
+    {
+        return jdbcTemplate.query(
+            "select c.relname, pg_get_expr(c.relpartbound, c.oid) from pg_inherits i " +
+                "join pg_class c on c.oid = i.inhrelid where i.inhparent = to_regclass('audit')",
+            ( rs, rowNum ) -> new Partition( rs.getString( 1 ), parseUpperBound( rs.getString( 2 ) ) ) );
+    }
+
+    /**
+     * Returns the upper bound of a range partition bound expression, such as
+     * {@code FOR VALUES FROM ('2023-01-01 00:00:00') TO ('2023-02-01 00:00:00')}.
+     *
+     * @param bound the partition bound expression.
+     * @return the upper bound, or null for the default partition.
+     */
+    static LocalDate parseUpperBound( String bound )
+    {
+        Matcher matcher = bound == null ? null : UPPER_BOUND.matcher( bound );
+
+        return matcher != null && matcher.find() ? LocalDate.parse( matcher.group( 1 ) ) : null;
+    }
+
+    static LocalDate getLatestUpperBound( List<Partition> partitions )
+    {
+        return partitions.stream()
+            .map( Partition::getUpperBound )
+            .filter( bound -> bound != null )
+            .max( LocalDate::compareTo )
+            .orElse( null );
+    }
+
+    /**
+     * Returns the months for which a partition must be created so that
+     * partitions exist up to and including the given number of months ahead
+     * of the current month.
+     *
+     * @param latestUpperBound the upper bound of the latest partition, or null
+     *        if there is none.
+     * @param current the current month.
+     * @param monthsAhead the number of months ahead to create partitions for.
+     * @return the months to create partitions for, in order.
+     */
+    static List<YearMonth> getMonthsToCreate( LocalDate latestUpperBound, YearMonth current, int monthsAhead )
+    {
+        List<YearMonth> months = new ArrayList<>();
+        YearMonth last = current.plusMonths( monthsAhead );
+        YearMonth month = latestUpperBound != null ? YearMonth.from( latestUpperBound ) : current;
+
+        for ( ; !month.isAfter( last ); month = month.plusMonths( 1 ) )
+        {
+            months.add( month );
+        }
+
+        return months;
+    }
+
+    /**
+     * Indicates whether a partition only holds audits older than the
+     * retention period. The default partition never expires.
+     *
+     * @param upperBound the exclusive upper bound of the partition.
+     * @param current the current month.
+     * @param retentionMonths the number of months to keep, 0 to keep all.
+     * @return true if the partition can be dropped.
+     */
+    static boolean isExpired( LocalDate upperBound, YearMonth current, int retentionMonths )
+    {
+        return retentionMonths > 0 && upperBound != null
+            && !upperBound.isAfter( current.minusMonths( retentionMonths ).atDay( 1 ) );
+    }
+
+    static String getCreatePartitionSql( YearMonth month )
+    {
+        return String.format( "create table if not exists %s partition of audit for values from ('%s') to ('%s')",
+            getPartitionName( month ), month.atDay( 1 ), month.plusMonths( 1 ).atDay( 1 ) );
+    }
+
+    /**
+     * Returns the statement creating the partition of a month for which the
+     * default partition already holds audits. Such a partition cannot be
+     * created while the default partition is attached. The default partition
+     * is therefore detached, the audits of the month moved to the new
+     * partition and the default partition attached again, all within one
+     * statement so that either all or none of it happens.
+     *
+     * @param month the month to create the partition for.
+     * @return the statement.
+     */
+    static String getCreatePartitionMovingDefaultSql( YearMonth month )
+    {
+        String range = String.format( "createdat >= '%s' and createdat < '%s'",
+            month.atDay( 1 ), month.plusMonths( 1 ).atDay( 1 ) );
+
+        return "do $$ begin " +
+            "alter table audit detach partition " + DEFAULT_PARTITION + "; " +
+            getCreatePartitionSql( month ) + "; " +
+            "insert into " + getPartitionName( month ) + " select * from " + DEFAULT_PARTITION +
+            " where " + range + "; " +
+            "delete from " + DEFAULT_PARTITION + " where " + range + "; " +
+            "alter table audit attach partition " + DEFAULT_PARTITION + " default; " +
+            "end $$";
+    }
+
+    static String getPartitionName( YearMonth month )
+    {
+        return String.format( "audit_y%04dm%02d", month.getYear(), month.getMonthValue() );
+    }
+
+    @Value
+    static class Partition
+    {
+        String name;
+
+        LocalDate upperBound;
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hisp.dhis.external.conf.ConfigurationKey.AUDIT_DATABASE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.AUDIT_DATABASE_BATCH_INTERVAL;
+import static org.hisp.dhis.external.conf.ConfigurationKey.AUDIT_DATABASE_BATCH_SIZE;
+import static org.hisp.dhis.external.conf.ConfigurationKey.AUDIT_DATABASE_QUEUE_SIZE;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes consumed audits to the database in batches on a dedicated thread.
+ * <p>
+ * Audits are put on a bounded queue and written once
+ * {@link org.hisp.dhis.external.conf.ConfigurationKey#AUDIT_DATABASE_BATCH_SIZE}
+ * audits are queued or the oldest queued audit waited
+ * {@link org.hisp.dhis.external.conf.ConfigurationKey#AUDIT_DATABASE_BATCH_INTERVAL}
+ * milliseconds. Consumers block while the queue is full, which stops them
+ * from taking further messages off the broker. Audits of a batch which could
+ * not be written are written one by one, so that a single bad audit does not
+ * lose the whole batch.
+ * <p>
+ * The callback given with an audit runs once the audit is written, so that
+ * consumers can acknowledge the message of the audit only then. Messages of
+ * audits which are queued but not yet written, or which could not be written,
+ * stay unacknowledged and are redelivered by the broker.
+ */
+@Slf4j
+@Component
+public class AuditSink
+{
+    private static final long CLOSE_TIMEOUT_MILLIS = 30_000;
+
+    private final AuditService auditService;
+
+    private final int batchSize;
+
+    private final long intervalMillis;
+
+    private final BlockingQueue<Entry> queue;
+
+    private final Thread writer;
+
+    private final boolean enabled;
+
+    private volatile boolean running = false;
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder totalLagMillis = new LongAdder();
+
+    @Autowired
+    public AuditSink( AuditService auditService, DhisConfigurationProvider config )
+    {
+        this( auditService, Integer.parseInt( config.getProperty( AUDIT_DATABASE_BATCH_SIZE ) ),
+            Long.parseLong( config.getProperty( AUDIT_DATABASE_BATCH_INTERVAL ) ),
+            Integer.parseInt( config.getProperty( AUDIT_DATABASE_QUEUE_SIZE ) ), config.isEnabled( AUDIT_DATABASE ) );
+    }
+
+    AuditSink( AuditService auditService, int batchSize, long intervalMillis, int queueSize, boolean enabled )
+    {
+        this.auditService = auditService;
+        this.batchSize = Math.max( batchSize, 1 );
+        this.intervalMillis = intervalMillis;
+        this.queue = new ArrayBlockingQueue<>( Math.max( queueSize, 1 ) );
+        this.enabled = enabled;
+        this.writer = new Thread( this::writeLoop, "audit-writer" );
+        this.writer.setDaemon( true );
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        if ( enabled )
+        {
+            running = true;
+            writer.start();
+        }
+    }
+
+    /**
+     * Queues an audit to be written to the database, waiting while the queue
+     * is full. Writes the audit directly when the writer is not running.
+     *
+     * @param audit the audit to write.
+     */
+    public void add( Audit audit )
+    {
+        add( audit, () -> {
+        } );
+    }
+
+    /**
+     * Queues an audit to be written to the database, waiting while the queue
+     * is full. Writes the audit directly when the writer is not running.
+     *
+     * @param audit the audit to write.
+     * @param onWritten runs once the audit is written, not when it could not
+     *        be written.
+     */
+    public void add( Audit audit, Runnable onWritten )
+    {
+        Entry entry = new Entry( audit, onWritten );
+
+        if ( running )
+        {
+            try
+            {
+                queue.put( entry );
+                return;
+            }
+            catch ( InterruptedException ex )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        write( List.of( entry ) );
+    }
+
+    /**
+     * Stops the writer and writes the audits which are still queued.
+     */
+    @PreDestroy
+    public void close()
+    {
+        running = false;
+        writer.interrupt();
+
+        try
+        {
+            writer.join( CLOSE_TIMEOUT_MILLIS );
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of audits waiting to be written.
+     */
+    public int getQueuedCount()
+    {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of audits written to the database.
+     */
+    public long getWrittenCount()
+    {
+        return written.sum();
+    }
+
+    /**
+     * @return the number of audits which could not be written.
+     */
+    public long getFailedCount()
+    {
+        return failed.sum();
+    }
+
+    /**
+     * @return the sum of the time between creating and writing each written
+     *         audit.
+     */
+    public long getTotalLagMillis()
+    {
+        return totalLagMillis.sum();
+    }
+
+    private void writeLoop()
+    {
+        List<Entry> batch = new ArrayList<>( batchSize );
+
+        try
+        {
+            while ( running )
+            {
+                Entry first = queue.poll( intervalMillis, MILLISECONDS );
+
+                if ( first == null )
+                {
+                    continue;
+                }
+
+                batch.add( first );
+
+                long deadline = System.nanoTime() + MILLISECONDS.toNanos( intervalMillis );
+
+                while ( batch.size() < batchSize )
+                {
+                    if ( queue.drainTo( batch, batchSize - batch.size() ) > 0 )
+                    {
+                        continue;
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+
+                    Entry next = remaining > 0 ? queue.poll( remaining, NANOSECONDS ) : null;
+
+                    if ( next == null )
+                    {
+                        break;
+                    }
+
+                    batch.add( next );
+                }
+
+                write( batch );
+                batch.clear();
+            }
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            queue.drainTo( batch );
+
+            for ( int i = 0; i < batch.size(); i += batchSize )
+            {
+                write( batch.subList( i, Math.min( i + batchSize, batch.size() ) ) );
+            }
+        }
+    }
+
+    private void write( List<Entry> batch )
+    {
+        try
+        {
+            auditService.addAudits( batch.stream().map( Entry::getAudit ).collect( Collectors.toList() ) );
+            written( batch );
+        }
+        catch ( RuntimeException ex )
+        {
+            log.warn( "Could not write batch of {} audits, writing them one by one: {}", batch.size(),
+                ex.getMessage() );
+
+            for ( Entry entry : batch )
+            {
+                try
+                {
+                    auditService.addAudit( entry.getAudit() );
+                    written( List.of( entry ) );
+                }
+                catch ( RuntimeException e )
+                {
+                    failed.increment();
+                    log.error( "An error occurred persisting an Audit message of type '{}'",
+                        entry.getAudit().getAuditScope(), e );
+                }
+            }
+        }
+    }
+
+    private void written( List<Entry> entries )
+    {
+        LocalDateTime now = LocalDateTime.now();
+
+        written.add( entries.size() );
+
+        for ( Entry entry : entries )
+        {
+            Audit audit = entry.getAudit();
+
+            if ( audit.getCreatedAt() != null )
+            {
+                totalLagMillis.add( Math.max( Duration.between( audit.getCreatedAt(), now ).toMillis(), 0 ) );
+            }
+
+            try
+            {
+                entry.getOnWritten().run();
+            }
+            catch ( RuntimeException ex )
+            {
+                log.warn( "Could not run callback of written audit: {}", ex.getMessage() );
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Entry
+    {
+        private final Audit audit;
+
+        private final Runnable onWritten;
+    }
+}
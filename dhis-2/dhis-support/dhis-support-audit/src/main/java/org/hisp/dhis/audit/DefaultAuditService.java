@@ -48,6 +48,12 @@ public class DefaultAuditService implements AuditService
         return auditRepository.save( audit );
     }
 
+    @Override
+    public void addAudits( List<Audit> audits )
+    {
+        auditRepository.save( audits );
+    }
+
     @Override
     public int countAudits( AuditQuery query )
     {
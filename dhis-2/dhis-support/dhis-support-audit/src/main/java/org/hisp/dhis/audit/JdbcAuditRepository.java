@@ -32,6 +32,8 @@ import static org.hisp.dhis.system.util.SqlUtils.escapeSql;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.sql.Timestamp;
@@ -45,6 +47,8 @@ import java.util.zip.GZIPOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.commons.util.SqlHelper;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -60,6 +64,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Repository
 public class JdbcAuditRepository implements AuditRepository
 {
+    private static final String COPY_SQL = "copy audit (audittype, auditscope, createdat, createdby, klass, uid, " +
+        "code, attributes, data) from stdin with (format csv)";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     private final JdbcTemplate jdbcTemplate;
 
     private final SimpleJdbcInsert auditInsert;
@@ -85,12 +94,43 @@ public class JdbcAuditRepository implements AuditRepository
         return auditInsert.executeAndReturnKey( parameterSource ).longValue();
     }
 
+    /**
+     * Writes the audits with the PostgreSQL COPY protocol, falling back to a
+     * JDBC batch insert when the connection is not a PostgreSQL connection.
+     */
     @Override
     public void save( List<Audit> audits )
     {
-        List<MapSqlParameterSource> parameterSources = new ArrayList<>();
-        audits.forEach( audit -> parameterSources.add( buildParameterSource( audit ) ) );
-        auditInsert.executeBatch( parameterSources.toArray( new MapSqlParameterSource[0] ) );
+        if ( audits.isEmpty() )
+        {
+            return;
+        }
+
+        Boolean copied = jdbcTemplate.execute( (ConnectionCallback<Boolean>) connection -> {
+            if ( !connection.isWrapperFor( PGConnection.class ) )
+            {
+                return false;
+            }
+
+            try
+            {
+                connection.unwrap( PGConnection.class ).getCopyAPI()
+                    .copyIn( COPY_SQL, new StringReader( toCsv( audits ) ) );
+            }
+            catch ( IOException ex )
+            {
+                throw new UncheckedIOException( ex );
+            }
+
+            return true;
+        } );
+
+        if ( !Boolean.TRUE.equals( copied ) )
+        {
+            List<MapSqlParameterSource> parameterSources = new ArrayList<>();
+            audits.forEach( audit -> parameterSources.add( buildParameterSource( audit ) ) );
+            auditInsert.executeBatch( parameterSources.toArray( new MapSqlParameterSource[0] ) );
+        }
     }
 
     @Override
@@ -201,6 +241,67 @@ public class JdbcAuditRepository implements AuditRepository
             .collect( Collectors.joining( ", " ) );
     }
 
+    private String toCsv( List<Audit> audits )
+    {
+        StringBuilder csv = new StringBuilder();
+
+        for ( Audit audit : audits )
+        {
+            appendCsv( csv, audit.getAuditType() ).append( ',' );
+            appendCsv( csv, audit.getAuditScope() ).append( ',' );
+            appendCsv( csv, audit.getCreatedAt() ).append( ',' );
+            appendCsv( csv, audit.getCreatedBy() ).append( ',' );
+            appendCsv( csv, audit.getKlass() ).append( ',' );
+            appendCsv( csv, audit.getUid() ).append( ',' );
+            appendCsv( csv, audit.getCode() ).append( ',' );
+            appendCsv( csv, toJson( audit.getAttributes() ) ).append( ',' );
+            appendCsv( csv, toHex( compress( audit.getData() ) ) ).append( '\n' );
+        }
+
+        return csv.toString();
+    }
+
+    /**
+     * Appends a quoted CSV value, null values are left empty which COPY reads
+     * as NULL.
+     */
+    private static StringBuilder appendCsv( StringBuilder csv, Object value )
+    {
+        if ( value == null )
+        {
+            return csv;
+        }
+
+        return csv.append( '"' ).append( StringUtils.replace( value.toString(), "\"", "\"\"" ) ).append( '"' );
+    }
+
+    private String toJson( AuditAttributes attributes )
+    {
+        try
+        {
+            return jsonMapper.writeValueAsString( attributes );
+        }
+        catch ( JsonProcessingException ignored )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Formats bytes as a bytea literal in hex format.
+     */
+    private static String toHex( byte[] bytes )
+    {
+        StringBuilder hex = new StringBuilder( 2 + bytes.length * 2 ).append( "\\x" );
+
+        for ( byte b : bytes )
+        {
+            hex.append( HEX_DIGITS[(b >> 4) & 0xF] ).append( HEX_DIGITS[b & 0xF] );
+        }
+
+        return hex.toString();
+    }
+
     private MapSqlParameterSource buildParameterSource( Audit audit )
     {
         MapSqlParameterSource parameters = new MapSqlParameterSource();
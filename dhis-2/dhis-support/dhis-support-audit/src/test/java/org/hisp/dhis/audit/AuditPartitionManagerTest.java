@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.hisp.dhis.audit.AuditPartitionManager.Partition;
+import org.junit.jupiter.api.Test;
+
+class AuditPartitionManagerTest
+{
+    @Test
+    void testParseUpperBound()
+    {
+        assertEquals( LocalDate.of( 2023, 2, 1 ), AuditPartitionManager.parseUpperBound(
+            "FOR VALUES FROM ('2023-01-01 00:00:00') TO ('2023-02-01 00:00:00')" ) );
+        assertEquals( LocalDate.of( 2023, 2, 1 ), AuditPartitionManager.parseUpperBound(
+            "FOR VALUES FROM (MINVALUE) TO ('2023-02-01 00:00:00')" ) );
+        assertNull( AuditPartitionManager.parseUpperBound( "DEFAULT" ) );
+    }
+
+    @Test
+    void testGetMonthsToCreate()
+    {
+        YearMonth current = YearMonth.of( 2023, 11 );
+        LocalDate latest = AuditPartitionManager.getLatestUpperBound( List.of(
+            new Partition( "audit_legacy", LocalDate.of( 2023, 11, 1 ) ),
+            new Partition( "audit_default", null ) ) );
+
+        assertEquals( List.of( YearMonth.of( 2023, 11 ), YearMonth.of( 2023, 12 ), YearMonth.of( 2024, 1 ) ),
+            AuditPartitionManager.getMonthsToCreate( latest, current, 2 ) );
+        assertEquals( List.of(),
+            AuditPartitionManager.getMonthsToCreate( LocalDate.of( 2024, 2, 1 ), current, 2 ) );
+        assertEquals( List.of( current ), AuditPartitionManager.getMonthsToCreate( null, current, 0 ) );
+    }
+
+    @Test
+    void testIsExpired()
+    {
+        YearMonth current = YearMonth.of( 2023, 11 );
+
+        assertTrue( AuditPartitionManager.isExpired( LocalDate.of( 2023, 8, 1 ), current, 3 ) );
+        assertFalse( AuditPartitionManager.isExpired( LocalDate.of( 2023, 9, 1 ), current, 3 ) );
+        assertFalse( AuditPartitionManager.isExpired( LocalDate.of( 2020, 1, 1 ), current, 0 ) );
+        assertFalse( AuditPartitionManager.isExpired( null, current, 3 ) );
+    }
+
+    @Test
+    void testGetPartitionName()
+    {
+        assertEquals( "audit_y2023m01", AuditPartitionManager.getPartitionName( YearMonth.of( 2023, 1 ) ) );
+    }
+
+    @Test
+    void testGetCreatePartitionSql()
+    {
+        assertEquals( "create table if not exists audit_y2023m12 partition of audit "
+            + "for values from ('2023-12-01') to ('2024-01-01')",
+            AuditPartitionManager.getCreatePartitionSql( YearMonth.of( 2023, 12 ) ) );
+    }
+
+    @Test
+    void testGetCreatePartitionMovingDefaultSql()
+    {
+        String sql = AuditPartitionManager.getCreatePartitionMovingDefaultSql( YearMonth.of( 2023, 12 ) );
+        String range = "createdat >= '2023-12-01' and createdat < '2024-01-01'";
+
+        assertEquals( "do $$ begin "
+            + "alter table audit detach partition audit_default; "
+            + AuditPartitionManager.getCreatePartitionSql( YearMonth.of( 2023, 12 ) ) + "; "
+            + "insert into audit_y2023m12 select * from audit_default where " + range + "; "
+            + "delete from audit_default where " + range + "; "
+            + "alter table audit attach partition audit_default default; "
+            + "end $$", sql );
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+class AuditSinkTest
+{
+    @Test
+    void testWritesQueuedAuditsInBatches()
+    {
+        RecordingAuditService auditService = new RecordingAuditService( false );
+        AuditSink sink = new AuditSink( auditService, 2, 10_000, 10, true );
+        sink.start();
+
+        for ( int i = 0; i < 5; i++ )
+        {
+            sink.add( audit( "uid" + i ) );
+        }
+
+        sink.close();
+
+        assertEquals( 5, auditService.written.size() );
+        assertEquals( 5, sink.getWrittenCount() );
+        assertEquals( 0, sink.getQueuedCount() );
+        assertEquals( 3, auditService.batches );
+    }
+
+    @Test
+    void testWritesAuditsOneByOneWhenBatchFails()
+    {
+        RecordingAuditService auditService = new RecordingAuditService( true );
+        AuditSink sink = new AuditSink( auditService, 10, 10, 10, true );
+        sink.start();
+
+        sink.add( audit( "uid1" ) );
+        sink.add( audit( "fail" ) );
+        sink.close();
+
+        assertEquals( List.of( "uid1" ), auditService.written );
+        assertEquals( 1, sink.getWrittenCount() );
+        assertEquals( 1, sink.getFailedCount() );
+    }
+
+    @Test
+    void testRunsCallbackOnlyForWrittenAudits()
+    {
+        RecordingAuditService auditService = new RecordingAuditService( true );
+        AuditSink sink = new AuditSink( auditService, 10, 10, 10, true );
+        List<String> acknowledged = new CopyOnWriteArrayList<>();
+        sink.start();
+
+        sink.add( audit( "uid1" ), () -> acknowledged.add( "uid1" ) );
+        sink.add( audit( "fail" ), () -> acknowledged.add( "fail" ) );
+        sink.close();
+
+        assertEquals( List.of( "uid1" ), acknowledged );
+    }
+
+    @Test
+    void testWritesDirectlyWhenDisabled()
+    {
+        RecordingAuditService auditService = new RecordingAuditService( false );
+        AuditSink sink = new AuditSink( auditService, 10, 10, 10, false );
+        sink.start();
+
+        sink.add( audit( "uid1" ) );
+
+        assertEquals( List.of( "uid1" ), auditService.written );
+    }
+
+    private static Audit audit( String uid )
+    {
+        return Audit.builder()
+            .auditType( AuditType.CREATE )
+            .auditScope( AuditScope.METADATA )
+            .createdAt( LocalDateTime.now() )
+            .createdBy( "admin" )
+            .uid( uid )
+            .build();
+    }
+
+    private static class RecordingAuditService
+        implements AuditService
+    {
+        private final boolean failBatches;
+
+        private final List<String> written = new CopyOnWriteArrayList<>();
+
+        private volatile int batches;
+
+        RecordingAuditService( boolean failBatches )
+        {
+            this.failBatches = failBatches;
+        }
+
+        @Override
+        public long addAudit( Audit audit )
+        {
+            if ( "fail".equals( audit.getUid() ) )
+            {
+                throw new IllegalStateException( "Failed to write audit" );
+            }
+
+            written.add( audit.getUid() );
+            return 0;
+        }
+
+        @Override
+        public void addAudits( List<Audit> audits )
+        {
+            if ( failBatches )
+            {
+                throw new IllegalStateException( "Failed to write batch" );
+            }
+
+            audits.forEach( audit -> written.add( audit.getUid() ) );
+            batches++;
+        }
+
+        @Override
+        public int countAudits( AuditQuery query )
+        {
+            return 0;
+        }
+
+        @Override
+        public List<Audit> getAudits( AuditQuery query )
+        {
+            return List.of();
+        }
+    }
+}
@@ -40,11 +40,15 @@ import org.hisp.dhis.cache.PaginationCacheManager;
 import org.hisp.dhis.cache.QueryCacheManager;
 import org.hisp.dhis.cacheinvalidation.debezium.KnownTransactionsService;
 import org.hisp.dhis.cacheinvalidation.debezium.TableNameToEntityMapping;
+import org.hisp.dhis.common.EmbeddedObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
+import org.hisp.dhis.common.MetadataObject;
+import org.hisp.dhis.common.event.MetadataChangedEvent;
 import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.trackedentity.TrackedEntityAttributeService;
 import org.hisp.dhis.trackedentity.TrackedEntityInstanceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 
 @Slf4j
 public class BaseCacheEvictionService
@@ -76,6 +80,9 @@ public class BaseCacheEvictionService
     @Autowired
     protected PeriodService periodService;
 
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+
     protected void tryFetchNewEntity( Serializable entityId, Class<?> entityClass )
     {
         try ( Session session = sessionFactory.openSession() )
@@ -99,6 +106,21 @@ public class BaseCacheEvictionService
         }
     }
 
+    /**
+     * Notifies local caches of metadata copies when a metadata object was
+     * changed by another server.
+     *
+     * @param entityClass The class of the changed entity
+     */
+    protected void publishMetadataChanged( Class<?> entityClass )
+    {
+        if ( MetadataObject.class.isAssignableFrom( entityClass )
+            && !EmbeddedObject.class.isAssignableFrom( entityClass ) )
+        {
+            eventPublisher.publishEvent( new MetadataChangedEvent( entityClass ) );
+        }
+    }
+
     /**
      * It evicts the entity and all its collections from the cache
      *
@@ -316,6 +316,7 @@ public class DbChangeEventHandler extends BaseCacheEvictionService
         if ( operation != Envelope.Operation.MESSAGE )
         {
             evictCollections( entityClasses, entityId );
+            publishMetadataChanged( firstEntityClass );
         }
     }
 }
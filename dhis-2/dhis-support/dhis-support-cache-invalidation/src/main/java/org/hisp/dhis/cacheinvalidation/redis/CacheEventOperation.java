@@ -32,5 +32,7 @@ public enum CacheEventOperation
     INSERT,
     UPDATE,
     DELETE,
-    COLLECTION
+    COLLECTION,
+    APPLICATION_CACHE,
+    APPLICATION_CACHE_ALL
 }
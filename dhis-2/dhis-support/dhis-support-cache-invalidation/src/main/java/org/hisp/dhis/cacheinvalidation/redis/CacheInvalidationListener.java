@@ -32,6 +32,7 @@ import java.util.Objects;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.hisp.dhis.cache.TwoTierCacheRegistry;
 import org.hisp.dhis.cacheinvalidation.BaseCacheEvictionService;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.dataelement.DataElement;
@@ -71,6 +72,9 @@ public class CacheInvalidationListener
     @Qualifier( "cacheInvalidationServerId" )
     protected String serverInstanceId;
 
+    @Autowired
+    protected TwoTierCacheRegistry twoTierCacheRegistry;
+
     @Override
     public void message( String channel, String message )
     {
@@ -114,6 +118,20 @@ public class CacheInvalidationListener
             return;
         }
 
+        if ( CacheEventOperation.APPLICATION_CACHE == operationType )
+        {
+            // Cache keys may contain the separator
+            String[] cacheParts = message.split( ":", 4 );
+            twoTierCacheRegistry.invalidateLocal( cacheParts[2], cacheParts[3] );
+            return;
+        }
+
+        if ( CacheEventOperation.APPLICATION_CACHE_ALL == operationType )
+        {
+            twoTierCacheRegistry.invalidateAllLocal( parts[2] );
+            return;
+        }
+
         Serializable entityId = getEntityId( message );
 
         Class<?> entityClass = Class.forName( parts[2] );
@@ -137,6 +155,8 @@ public class CacheInvalidationListener
             paginationCacheManager.evictCache( entityClass.getName() );
             sessionFactory.getCache().evict( entityClass, entityId );
         }
+
+        publishMetadataChanged( entityClass );
     }
 
     private Serializable getEntityId( String message )
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cacheinvalidation.redis;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.cache.TwoTierCache;
+import org.hisp.dhis.cache.TwoTierCacheInvalidationPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import io.lettuce.core.api.StatefulRedisConnection;
+
+/**
+ * Publishes changes of {@link TwoTierCache} entries to Redis, so that the
+ * {@link CacheInvalidationListener} of the other servers drops their local
+ * copies.
+ */
+@Slf4j
+@Component
+@Profile( { "!test", "!test-h2" } )
+@Conditional( value = RedisCacheInvalidationEnabledCondition.class )
+public class RedisTwoTierCacheInvalidationPublisher
+    implements TwoTierCacheInvalidationPublisher
+{
+    @Autowired
+    @Qualifier( "cacheInvalidationServerId" )
+    private String serverInstanceId;
+
+    @Autowired
+    @Qualifier( "redisConnection" )
+    private StatefulRedisConnection<String, String> redisConnection;
+
+    @Override
+    public void publishInvalidation( String region, String key )
+    {
+        publishMessage( CacheEventOperation.APPLICATION_CACHE, region + ":" + key );
+    }
+
+    @Override
+    public void publishInvalidationAll( String region )
+    {
+        publishMessage( CacheEventOperation.APPLICATION_CACHE_ALL, region );
+    }
+
+    private void publishMessage( CacheEventOperation operation, String payload )
+    {
+        String message = serverInstanceId + ":" + operation.name().toLowerCase() + ":" + payload;
+
+        redisConnection.async().publish( RedisCacheInvalidationConfiguration.CHANNEL_NAME, message );
+
+        log.debug( "Published message: " + message );
+    }
+}
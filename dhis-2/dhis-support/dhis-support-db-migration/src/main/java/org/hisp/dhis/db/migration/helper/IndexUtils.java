@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.db.migration.helper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Builds indexes of large tables without blocking writes to them. Migrations
+ * using it must not execute in a transaction, see
+ * {@link org.flywaydb.core.api.migration.JavaMigration#canExecuteInTransaction()}.
+ */
+public class IndexUtils
+{
+    /**
+     * Runs the given {@code create index concurrently if not exists}
+     * statement. An invalid index left behind by an earlier build that failed
+     * is dropped first, as is the index when this build fails.
+     *
+     * @param context the migration context
+     * @param index the name of the index
+     * @param sql the statement creating the index
+     * @throws SQLException if the index could not be built
+     */
+    public static void createIndexConcurrently( Context context, String index, String sql )
+        throws SQLException
+    {
+        try ( Statement statement = context.getConnection().createStatement() )
+        {
+            if ( isInvalidIndex( statement, index ) )
+            {
+                statement.execute( "drop index concurrently if exists " + index );
+            }
+
+            try
+            {
+                statement.execute( sql );
+            }
+            catch ( SQLException ex )
+            {
+                try
+                {
+                    statement.execute( "drop index concurrently if exists " + index );
+                }
+                catch ( SQLException dropEx )
+                {
+                    ex.addSuppressed( dropEx );
+                }
+                throw ex;
+            }
+        }
+    }
+
+    private static boolean isInvalidIndex( Statement statement, String index )
+        throws SQLException
+    {
+        try ( ResultSet rs = statement.executeQuery(
+            "select not indisvalid from pg_index where indexrelid = to_regclass('" + index + "')" ) )
+        {
+            return rs.next() && rs.getBoolean( 1 );
+        }
+    }
+
+    private IndexUtils()
+    {
+        throw new UnsupportedOperationException( "util" );
+    }
+}
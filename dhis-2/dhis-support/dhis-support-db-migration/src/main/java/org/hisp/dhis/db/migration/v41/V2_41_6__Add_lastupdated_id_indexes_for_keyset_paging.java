@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.db.migration.v41;
+
+import java.sql.SQLException;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.hisp.dhis.db.migration.helper.IndexUtils;
+
+/**
+ * Supports keyset paging on (lastupdated, id) of tracker events and
+ * enrollments. The indexes are built concurrently so that writes to the
+ * programstageinstance and programinstance tables are not blocked while they
+ * are built.
+ */
+public class V2_41_6__Add_lastupdated_id_indexes_for_keyset_paging
+    extends BaseJavaMigration
+{
+    @Override
+    public void migrate( Context context )
+        throws SQLException
+    {
+        IndexUtils.createIndexConcurrently( context, "in_programstageinstance_lastupdated_id",
+            "create index concurrently if not exists in_programstageinstance_lastupdated_id on programstageinstance "
+                + "using btree (lastupdated desc, programstageinstanceid desc)" );
+        IndexUtils.createIndexConcurrently( context, "in_programinstance_lastupdated_id",
+            "create index concurrently if not exists in_programinstance_lastupdated_id on programinstance "
+                + "using btree (lastupdated desc, programinstanceid desc)" );
+    }
+
+    /**
+     * The indexes are built concurrently, which cannot run in a transaction.
+     */
+    @Override
+    public boolean canExecuteInTransaction()
+    {
+        return false;
+    }
+}
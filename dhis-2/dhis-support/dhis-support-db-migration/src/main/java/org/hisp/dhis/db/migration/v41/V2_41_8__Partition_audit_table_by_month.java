@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.db.migration.v41;
+
+import static java.lang.String.format;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.hisp.dhis.db.migration.helper.IndexUtils;
+
+/**
+ * Partitions the audit table by month of createdat. The existing rows are kept
+ * in audit_legacy, which is attached as the partition holding all audits up to
+ * the end of the current month. Later monthly partitions are created, and
+ * expired ones dropped, by the application (audit.database.retention.months).
+ * <p>
+ * The audit table can hold billions of rows. The steps that read all of them,
+ * building the unique index on (auditid, createdat) required by the primary
+ * key of the partitioned table and validating the check constraint which lets
+ * the attach skip its scan, run first outside of a transaction and do not
+ * block writes. The transaction swapping the tables then only changes the
+ * catalog.
+ */
+public class V2_41_8__Partition_audit_table_by_month
+    extends BaseJavaMigration
+{
+    private static final String INDEX = "in_audit_auditid_createdat";
+
+    private static final String CHECK = "audit_legacy_createdat_check";
+
+    @Override
+    public void migrate( Context context )
+        throws SQLException
+    {
+        LocalDate legacyEnd = LocalDate.now().withDayOfMonth( 1 ).plusMonths( 1 );
+
+        IndexUtils.createIndexConcurrently( context, INDEX,
+            "create unique index concurrently if not exists " + INDEX + " on audit (auditid, createdat)" );
+
+        try ( Statement statement = context.getConnection().createStatement() )
+        {
+            // added not valid and validated on its own, which only takes a
+            // share update exclusive lock while scanning
+            statement.execute( "alter table audit drop constraint if exists " + CHECK );
+            statement.execute( format( "alter table audit add constraint %s check (createdat < '%s') not valid",
+                CHECK, legacyEnd ) );
+            statement.execute( "alter table audit validate constraint " + CHECK );
+        }
+
+        Connection connection = context.getConnection();
+        connection.setAutoCommit( false );
+
+        try ( Statement statement = connection.createStatement() )
+        {
+            statement.execute( "alter table audit rename to audit_legacy" );
+
+            // the primary key of a partitioned table must include the
+            // partition key, the partition's key uses the index built above
+            statement.execute( "alter table audit_legacy drop constraint audit_pkey" );
+            statement.execute( "alter table audit_legacy add constraint audit_legacy_pkey primary key using index "
+                + INDEX );
+
+            statement.execute(
+                "create table audit (like audit_legacy including defaults) partition by range (createdat)" );
+            statement.execute( "alter table audit add constraint audit_pkey primary key (auditid, createdat)" );
+
+            // keep the id sequence when audit_legacy is dropped
+            statement.execute( "alter sequence audit_auditid_seq owned by audit.auditid" );
+
+            // neither builds an index nor scans audit_legacy, its primary key
+            // matches the one of audit and the check constraint implies the
+            // partition bound
+            statement.execute( format(
+                "alter table audit attach partition audit_legacy for values from (minvalue) to ('%s')", legacyEnd ) );
+            statement.execute( "alter table audit_legacy drop constraint " + CHECK );
+
+            // holds audits for which no monthly partition exists yet
+            statement.execute( "create table if not exists audit_default partition of audit default" );
+
+            connection.commit();
+        }
+        catch ( SQLException ex )
+        {
+            connection.rollback();
+            throw ex;
+        }
+        finally
+        {
+            connection.setAutoCommit( true );
+        }
+    }
+
+    /**
+     * The index is built concurrently, which cannot run in a transaction.
+     */
+    @Override
+    public boolean canExecuteInTransaction()
+    {
+        return false;
+    }
+}
@@ -0,0 +1,7 @@
+-- Holds the datastore paths for which partial expression indexes exist per namespace
+
+create table if not exists keyjsonvalueindex (
+    namespace varchar(255) not null,
+    path varchar(255) not null,
+    constraint keyjsonvalueindex_pkey primary key (namespace, path)
+);
@@ -0,0 +1,8 @@
+-- Gives each event hook target a stable id which identifies the target of payloads stored in the outbox
+
+update eventhook set targets = (
+    select jsonb_agg(case when e.t -> 'id' is null then e.t || jsonb_build_object('id', generate_uid()) else e.t end
+        order by e.ord)
+    from jsonb_array_elements(targets) with ordinality as e(t, ord))
+where jsonb_typeof(targets) = 'array'
+  and exists (select 1 from jsonb_array_elements(targets) as e(t) where e.t -> 'id' is null);
@@ -0,0 +1,13 @@
+-- Holds event hook payloads which could not be delivered to their target
+
+create table if not exists eventhookoutbox (
+    eventhookoutboxid bigserial not null,
+    eventhookuid varchar(11) not null,
+    targetid varchar(11) not null,
+    payload text not null,
+    created timestamp without time zone not null default now(),
+    claimeduntil timestamp without time zone,
+    constraint eventhookoutbox_pkey primary key (eventhookoutboxid)
+);
+
+create index if not exists in_eventhookoutbox_eventhookuid_targetid on eventhookoutbox using btree (eventhookuid, targetid, eventhookoutboxid);
@@ -0,0 +1,2 @@
+-- Supports keyset paging over notification instances scheduled for a day which were not sent yet
+create index if not exists in_programnotificationinstance_scheduledat_unsent on programnotificationinstance using btree (scheduledat, programnotificationinstanceid) where sentat is null;
@@ -321,6 +321,34 @@ public enum ConfigurationKey
      */
     REDIS_ENABLED( "redis.enabled", Constants.OFF, false ),
 
+    /**
+     * Enable two-tier caching, where a bounded local cache is kept in front of
+     * the shared redis cache. Only has effect when redis is enabled. (default:
+     * false)
+     */
+    CACHE_TWO_TIER_ENABLED( "system.cache.two_tier.enabled", Constants.OFF, false ),
+
+    /**
+     * Comma separated list of cache regions which use two-tier caching,
+     * optionally with the maximum size of the local tier per region, e.g.
+     * {@code userIdCache:2000,teiAttributesCache}. All regions are included
+     * when blank. (default: blank)
+     */
+    CACHE_TWO_TIER_REGIONS( "system.cache.two_tier.regions", "", false ),
+
+    /**
+     * Default maximum number of entries in the local tier of a two-tier cache.
+     * (default: 1000)
+     */
+    CACHE_TWO_TIER_LOCAL_MAX_SIZE( "system.cache.two_tier.local.max_size", "1000", false ),
+
+    /**
+     * Time in seconds after which entries expire from the local tier of a
+     * two-tier cache, bounding staleness when invalidation messages are
+     * missed. (default: 300)
+     */
+    CACHE_TWO_TIER_LOCAL_EXPIRY( "system.cache.two_tier.local.expiry", "300", false ),
+
     /**
      * Allows Flyway migrations to be run "out of order".
      * <p>
@@ -338,6 +366,50 @@ public enum ConfigurationKey
 
     PROGRAM_TEMPORARY_OWNERSHIP_TIMEOUT( "tracker.temporary.ownership.timeout", "3", false ),
 
+    /**
+     * Maximum number of concurrent database fetches used to aggregate tracked
+     * entities, enrollments and events for export. Defaults to half of the
+     * connection pool size when blank. (default: blank)
+     */
+    TRACKER_AGGREGATE_POOL_SIZE( "tracker.aggregate.pool.size", "", false ),
+
+    /**
+     * Maximum number of aggregate fetches waiting for a free thread. Further
+     * fetches are run by the requesting thread. (default: 1000)
+     */
+    TRACKER_AGGREGATE_QUEUE_SIZE( "tracker.aggregate.queue.size", "1000", false ),
+
+    /**
+     * Run aggregate fetches on virtual threads, still bounded by the pool size.
+     * Requires JDK 21 or newer, ignored otherwise. (default: off)
+     */
+    TRACKER_AGGREGATE_VIRTUAL_THREADS( "tracker.aggregate.virtual_threads", Constants.OFF, false ),
+
+    /**
+     * Number of inserts and updates the tracker importer sends to the database
+     * in a single JDBC batch. Batching is disabled when set to 0. (default: 50)
+     */
+    TRACKER_IMPORT_JDBC_BATCH_SIZE( "tracker.import.jdbc_batch_size", "50", false ),
+
+    /**
+     * Share metadata loaded by the tracker import preheat between imports,
+     * invalidated whenever metadata changes. (default: off)
+     */
+    TRACKER_IMPORT_PREHEAT_CACHE_ENABLED( "tracker.import.preheat.cache.enabled", Constants.OFF, false ),
+
+    /**
+     * Number of inserts and updates the metadata importer sends to the
+     * database in a single JDBC batch. Batching is disabled when set to 0.
+     * (default: 50)
+     */
+    METADATA_IMPORT_JDBC_BATCH_SIZE( "metadata.import.jdbc_batch_size", "50", false ),
+
+    /**
+     * Number of threads validating the properties of a large number of
+     * imported metadata objects of the same type. (default: 4)
+     */
+    METADATA_IMPORT_VALIDATION_PARALLELISM( "metadata.import.validation.parallelism", "4", false ),
+
     LEADER_TIME_TO_LIVE( "leader.time.to.live.minutes", "2", false ),
 
     /**
@@ -466,6 +538,31 @@ public enum ConfigurationKey
      */
     MONITORING_CPU_ENABLED( "monitoring.cpu.enabled", Constants.OFF, false ),
 
+    /**
+     * Two-tier application cache monitoring. (default: off)
+     */
+    MONITORING_CACHE_ENABLED( "monitoring.cache.enabled", Constants.OFF, false ),
+
+    /**
+     * Tracker aggregate thread pool monitoring. (default: off)
+     */
+    MONITORING_TRACKER_AGGREGATE_ENABLED( "monitoring.tracker.aggregate.enabled", Constants.OFF, false ),
+
+    /**
+     * Event hook delivery monitoring. (default: off)
+     */
+    MONITORING_EVENT_HOOKS_ENABLED( "monitoring.event_hooks.enabled", Constants.OFF, false ),
+
+    /**
+     * Audit database writer monitoring. (default: off)
+     */
+    MONITORING_AUDIT_ENABLED( "monitoring.audit.enabled", Constants.OFF, false ),
+
+    /**
+     * Incoming SMS queue and consumer monitoring. (default: off)
+     */
+    MONITORING_SMS_ENABLED( "monitoring.sms.enabled", Constants.OFF, false ),
+
     /**
      * AppHub base URL. (default: https://apps.dhis2.org).
      */
@@ -505,6 +602,31 @@ public enum ConfigurationKey
      */
     AUDIT_DATABASE( "audit.database", Constants.OFF, false ),
 
+    /**
+     * Maximum number of audits written to the database at once. (default:
+     * 1000).
+     */
+    AUDIT_DATABASE_BATCH_SIZE( "audit.database.batch.size", "1000", false ),
+
+    /**
+     * Maximum milliseconds an audit waits before being written to the
+     * database. (default: 1000).
+     */
+    AUDIT_DATABASE_BATCH_INTERVAL( "audit.database.batch.interval", "1000", false ),
+
+    /**
+     * Maximum number of consumed audits waiting to be written to the
+     * database. Consumers wait when the queue is full. (default: 10000).
+     */
+    AUDIT_DATABASE_QUEUE_SIZE( "audit.database.queue.size", "10000", false ),
+
+    /**
+     * Number of months to keep audits in the database, older monthly
+     * partitions of the "audit" table are dropped. Audits are kept forever
+     * when 0. (default: 0).
+     */
+    AUDIT_DATABASE_RETENTION_MONTHS( "audit.database.retention.months", "0", false ),
+
     /**
      * Sets the audit matrix for metadata. (default: none).
      */
@@ -729,6 +851,56 @@ public enum ConfigurationKey
      */
     EVENT_HOOKS_ENABLED( "event_hooks.enabled", Constants.OFF, false ),
 
+    /**
+     * Maximum number of events waiting for delivery per event hook target.
+     * Events which do not fit are stored in the outbox table. (default: 1000)
+     */
+    EVENT_HOOKS_QUEUE_SIZE( "event_hooks.queue.size", "1000", false ),
+
+    /**
+     * Maximum number of events delivered to an event hook target at once.
+     * (default: 50)
+     */
+    EVENT_HOOKS_BATCH_SIZE( "event_hooks.batch.size", "50", false ),
+
+    /**
+     * Milliseconds to wait for more events before delivering an incomplete
+     * batch. (default: 200)
+     */
+    EVENT_HOOKS_BATCH_LINGER( "event_hooks.batch.linger", "200", false ),
+
+    /**
+     * Number of delivery attempts before events are stored in the outbox
+     * table. (default: 5)
+     */
+    EVENT_HOOKS_RETRY_MAX_ATTEMPTS( "event_hooks.retry.max_attempts", "5", false ),
+
+    /**
+     * Milliseconds to wait before the first retry, doubled for every further
+     * retry. (default: 1000)
+     */
+    EVENT_HOOKS_RETRY_BACKOFF( "event_hooks.retry.backoff", "1000", false ),
+
+    /**
+     * Number of threads processing incoming SMS. Messages from the same sender
+     * are always processed by the same thread in the order received.
+     * (default: 4)
+     */
+    SMS_INCOMING_CONSUMERS( "sms.incoming.consumers", "4", false ),
+
+    /**
+     * Maximum number of incoming SMS held in memory. Messages which do not fit
+     * stay in the database and are queued once there is room again. (default:
+     * 10000)
+     */
+    SMS_INCOMING_QUEUE_SIZE( "sms.incoming.queue.size", "10000", false ),
+
+    /**
+     * Maximum number of processed incoming SMS whose status is written to the
+     * database at once. (default: 100)
+     */
+    SMS_INCOMING_BATCH_SIZE( "sms.incoming.batch.size", "100", false ),
+
     /**
      * Linked accounts via OpenID mapping. Enable or disable the feature.
      */
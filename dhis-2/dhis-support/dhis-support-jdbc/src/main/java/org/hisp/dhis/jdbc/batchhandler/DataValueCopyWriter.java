@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.jdbc.batchhandler;
+
+import static org.hisp.dhis.util.DateUtils.getLongDateString;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.datavalue.DataValue;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.UncategorizedSQLException;
+
+/**
+ * Writes {@link DataValue}s using the PostgreSQL {@code COPY} protocol. Values
+ * are buffered as COPY text rows, streamed into a temporary staging table and
+ * merged into the {@code datavalue} table using
+ * {@code INSERT ... ON CONFLICT DO UPDATE}.
+ *
+ * This is an alternative to {@link DataValueBatchHandler#addObject} for large
+ * loads where most values are new. Like the batch handler, the writer uses its
+ * own connection. Values are written on {@link #flush()}, the connection is
+ * released by {@link #close()}.
+ */
+@Slf4j
+public class DataValueCopyWriter
+    implements AutoCloseable
+{
+    private static final int DEFAULT_BUFFER_SIZE = 50_000;
+
+    private static final String STAGING_TABLE = "datavalue_copy_staging";
+
+    private static final String COLUMNS = "dataelementid,periodid,sourceid,categoryoptioncomboid," +
+        "attributeoptioncomboid,value,storedby,created,lastupdated,comment,followup,deleted";
+
+    /**
+     * Existing values are updated like the import updates them: the created
+     * date is kept, a null value marks the value as deleted, a soft deleted
+     * value is restored and unchanged values are not touched.
+     */
+    static final String MERGE_SQL = "insert into datavalue (" + COLUMNS + ") " +
+        "select " + COLUMNS + " from " + STAGING_TABLE + " " +
+        "on conflict (dataelementid,periodid,sourceid,categoryoptioncomboid,attributeoptioncomboid) " +
+        "do update set value=excluded.value, storedby=excluded.storedby, " +
+        "lastupdated=excluded.lastupdated, comment=excluded.comment, followup=excluded.followup, " +
+        "deleted=(excluded.deleted or excluded.value is null) " +
+        "where datavalue.deleted or excluded.deleted or excluded.value is null " +
+        "or datavalue.value is distinct from excluded.value " +
+        "or datavalue.comment is distinct from excluded.comment " +
+        "or datavalue.followup is distinct from excluded.followup";
+
+    private final DataSource dataSource;
+
+    private final int bufferSize;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * Keys of the buffered values, the same key must not be merged twice by the
+     * same statement.
+     */
+    private final Set<List<Long>> bufferedKeys = new HashSet<>();
+
+    private Connection connection;
+
+    private int written;
+
+    public DataValueCopyWriter( DataSource dataSource )
+    {
+        this( dataSource, DEFAULT_BUFFER_SIZE );
+    }
+
+    public DataValueCopyWriter( DataSource dataSource, int bufferSize )
+    {
+        this.dataSource = dataSource;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Obtains the connection and creates the temporary staging table.
+     *
+     * @return this writer.
+     */
+    public DataValueCopyWriter init()
+    {
+        try
+        {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit( true );
+
+            execute( "create temp table if not exists " + STAGING_TABLE +
+                " (like datavalue including defaults) on commit preserve rows" );
+            execute( "truncate " + STAGING_TABLE );
+        }
+        catch ( SQLException ex )
+        {
+            if ( connection != null )
+            {
+                closeConnection();
+            }
+
+            throw new UncategorizedSQLException( "Initialize data value copy writer", null, ex );
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds the given value to the buffer, flushing the buffer when full.
+     *
+     * @param value the {@link DataValue}.
+     * @return false if a value with the same key is already buffered, true
+     *         otherwise.
+     */
+    public boolean addObject( DataValue value )
+    {
+        List<Long> key = List.of( value.getDataElement().getId(), value.getPeriod().getId(),
+            value.getSource().getId(), value.getCategoryOptionCombo().getId(),
+            value.getAttributeOptionCombo().getId() );
+
+        if ( !bufferedKeys.add( key ) )
+        {
+            return false;
+        }
+
+        for ( Long id : key )
+        {
+            buffer.append( id ).append( '\t' );
+        }
+
+        appendText( value.getValue() ).append( '\t' );
+        appendText( value.getStoredBy() ).append( '\t' );
+        appendText( getLongDateString( value.getCreated() ) ).append( '\t' );
+        appendText( getLongDateString( value.getLastUpdated() ) ).append( '\t' );
+        appendText( value.getComment() ).append( '\t' );
+        buffer.append( value.isFollowup() ).append( '\t' );
+        buffer.append( value.isDeleted() ).append( '\n' );
+
+        if ( bufferedKeys.size() >= bufferSize )
+        {
+            flush();
+        }
+
+        return true;
+    }
+
+    /**
+     * Copies the buffered values into the staging table and merges them into
+     * the data value table.
+     */
+    public void flush()
+    {
+        if ( bufferedKeys.isEmpty() )
+        {
+            return;
+        }
+
+        try
+        {
+            connection.unwrap( PGConnection.class ).getCopyAPI().copyIn(
+                "copy " + STAGING_TABLE + " (" + COLUMNS + ") from stdin",
+                new StringReader( buffer.toString() ) );
+
+            execute( MERGE_SQL );
+            execute( "truncate " + STAGING_TABLE );
+        }
+        catch ( SQLException ex )
+        {
+            throw new UncategorizedSQLException( "Copy data values", MERGE_SQL, ex );
+        }
+        catch ( IOException ex )
+        {
+            throw new UncheckedIOException( ex );
+        }
+
+        written += bufferedKeys.size();
+
+        log.debug( "Copied data values: {}, total: {}", bufferedKeys.size(), written );
+
+        buffer.setLength( 0 );
+        bufferedKeys.clear();
+    }
+
+    /**
+     * Drops the staging table and releases the connection. Values which have
+     * not been flushed are discarded.
+     */
+    @Override
+    public void close()
+    {
+        if ( connection == null )
+        {
+            return;
+        }
+
+        try
+        {
+            execute( "drop table if exists " + STAGING_TABLE );
+        }
+        catch ( SQLException ex )
+        {
+            throw new UncategorizedSQLException( "Close data value copy writer", null, ex );
+        }
+        finally
+        {
+            closeConnection();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private void execute( String sql )
+        throws SQLException
+    {
+        try ( Statement statement = connection.createStatement() )
+        {
+            statement.execute( sql );
+        }
+    }
+
+    private void closeConnection()
+    {
+        try
+        {
+            connection.close();
+        }
+        catch ( SQLException ex )
+        {
+            log.warn( "Failed to close data value copy writer connection", ex );
+        }
+        finally
+        {
+            connection = null;
+        }
+    }
+
+    /**
+     * Appends the given string in COPY text format, escaping backslash and
+     * delimiter characters and writing {@code null} as {@code \N}.
+     */
+    private StringBuilder appendText( String text )
+    {
+        if ( text == null )
+        {
+            return buffer.append( "\\N" );
+        }
+
+        for ( int i = 0; i < text.length(); i++ )
+        {
+            char c = text.charAt( i );
+
+            switch ( c )
+            {
+            case '\\':
+                buffer.append( "\\\\" );
+                break;
+            case '\t':
+                buffer.append( "\\t" );
+                break;
+            case '\n':
+                buffer.append( "\\n" );
+                break;
+            case '\r':
+                buffer.append( "\\r" );
+                break;
+            default:
+                buffer.append( c );
+            }
+        }
+
+        return buffer;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.jdbc.batchhandler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.Period;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.UncategorizedSQLException;
+
+/**
+ * {@see DataValueCopyWriter} tester.
+ */
+@ExtendWith( MockitoExtension.class )
+class DataValueCopyWriterTest
+{
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    private final List<String> copiedRows = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp()
+        throws Exception
+    {
+        when( dataSource.getConnection() ).thenReturn( connection );
+        when( connection.createStatement() ).thenReturn( statement );
+    }
+
+    @Test
+    void testFlushCopiesAndMergesBufferedValues()
+        throws Exception
+    {
+        mockCopy();
+
+        DataValueCopyWriter writer = new DataValueCopyWriter( dataSource ).init();
+
+        assertTrue( writer.addObject( createDataValue( 1, "10", "a\tb\\c" ) ) );
+        assertTrue( writer.addObject( createDataValue( 2, null, null ) ) );
+        assertFalse( writer.addObject( createDataValue( 1, "11", null ) ) );
+
+        writer.flush();
+        writer.close();
+
+        assertEquals( 2, copiedRows.size() );
+        assertTrue( copiedRows.get( 0 ).startsWith( "1\t2\t3\t4\t5\t10\tadmin\t" ) );
+        assertTrue( copiedRows.get( 0 ).endsWith( "\ta\\tb\\\\c\tfalse\tfalse" ) );
+        assertTrue( copiedRows.get( 1 ).startsWith( "2\t2\t3\t4\t5\t\\N\tadmin\t" ) );
+        assertTrue( copiedRows.get( 1 ).endsWith( "\t\\N\tfalse\tfalse" ) );
+
+        verify( statement ).execute( startsWith( "insert into datavalue" ) );
+        verify( statement ).execute( startsWith( "drop table" ) );
+        verify( connection ).close();
+    }
+
+    @Test
+    void testMergeStatementDoesNotUpdateCreated()
+        throws Exception
+    {
+        mockCopy();
+
+        DataValueCopyWriter writer = new DataValueCopyWriter( dataSource ).init();
+        writer.addObject( createDataValue( 1, "10", null ) );
+        writer.flush();
+
+        verify( statement ).execute( DataValueCopyWriter.MERGE_SQL );
+
+        String update = DataValueCopyWriter.MERGE_SQL
+            .substring( DataValueCopyWriter.MERGE_SQL.indexOf( "do update set" ) );
+        assertFalse( update.contains( "created=" ), update );
+        assertTrue( update.contains( "deleted=(excluded.deleted or excluded.value is null)" ), update );
+        assertTrue( update.contains( " where " ), update );
+    }
+
+    @Test
+    void testInitClosesConnectionOnFailure()
+        throws Exception
+    {
+        when( statement.execute( startsWith( "create temp table" ) ) ).thenThrow( new SQLException( "failed" ) );
+
+        DataValueCopyWriter writer = new DataValueCopyWriter( dataSource );
+
+        assertThrows( UncategorizedSQLException.class, writer::init );
+        verify( connection ).close();
+    }
+
+    @Test
+    void testFlushBufferSizeReached()
+        throws Exception
+    {
+        mockCopy();
+
+        DataValueCopyWriter writer = new DataValueCopyWriter( dataSource, 2 ).init();
+
+        writer.addObject( createDataValue( 1, "10", null ) );
+        writer.addObject( createDataValue( 2, "20", null ) );
+
+        assertEquals( 2, copiedRows.size() );
+    }
+
+    @Test
+    void testCloseDiscardsUnflushedValues()
+        throws SQLException
+    {
+        DataValueCopyWriter writer = new DataValueCopyWriter( dataSource ).init();
+
+        writer.addObject( createDataValue( 1, "10", null ) );
+        writer.close();
+
+        verify( statement, never() ).execute( startsWith( "insert into datavalue" ) );
+        verify( connection ).close();
+    }
+
+    private void mockCopy()
+        throws Exception
+    {
+        when( connection.unwrap( PGConnection.class ) ).thenReturn( pgConnection );
+        when( pgConnection.getCopyAPI() ).thenReturn( copyManager );
+        when( copyManager.copyIn( anyString(), any( Reader.class ) ) ).thenAnswer( invocation -> {
+            try ( BufferedReader reader = new BufferedReader( invocation.getArgument( 1 ) ) )
+            {
+                copiedRows.addAll( reader.lines().collect( Collectors.toList() ) );
+            }
+            return 0L;
+        } );
+    }
+
+    private static DataValue createDataValue( long dataElementId, String value, String comment )
+    {
+        DataElement dataElement = new DataElement();
+        dataElement.setId( dataElementId );
+        Period period = new Period();
+        period.setId( 2 );
+        OrganisationUnit orgUnit = new OrganisationUnit();
+        orgUnit.setId( 3 );
+        CategoryOptionCombo categoryOptionCombo = new CategoryOptionCombo();
+        categoryOptionCombo.setId( 4 );
+        CategoryOptionCombo attributeOptionCombo = new CategoryOptionCombo();
+        attributeOptionCombo.setId( 5 );
+
+        DataValue dataValue = new DataValue( dataElement, period, orgUnit, categoryOptionCombo,
+            attributeOptionCombo, value );
+        dataValue.setStoredBy( "admin" );
+        dataValue.setComment( comment );
+        return dataValue;
+    }
+}
@@ -46,10 +46,15 @@ public class DefaultCacheBuilderProvider implements CacheBuilderProvider
 
     private RedisTemplate<String, ?> redisTemplate;
 
+    private TwoTierCacheRegistry twoTierCacheRegistry;
+
+    private TwoTierCacheInvalidationPublisher invalidationPublisher;
+
     @Override
     public <V> CacheBuilder<V> newCacheBuilder()
     {
-        return new ExtendedCacheBuilder<>( redisTemplate, configurationProvider );
+        return new ExtendedCacheBuilder<>( redisTemplate, configurationProvider, twoTierCacheRegistry,
+            invalidationPublisher );
     }
 
     @Autowired
@@ -65,4 +70,16 @@ public class DefaultCacheBuilderProvider implements CacheBuilderProvider
         this.redisTemplate = redisTemplate;
     }
 
+    @Autowired( required = false )
+    public void setTwoTierCacheRegistry( TwoTierCacheRegistry twoTierCacheRegistry )
+    {
+        this.twoTierCacheRegistry = twoTierCacheRegistry;
+    }
+
+    @Autowired( required = false )
+    public void setInvalidationPublisher( TwoTierCacheInvalidationPublisher invalidationPublisher )
+    {
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
 }
@@ -88,6 +88,7 @@ public class DefaultCacheProvider
     private enum Region
     {
         analyticsResponse,
+        analyticsSubQuery,
         defaultObjectCache,
         isDataApproved,
         allConstantsCache,
@@ -114,6 +115,7 @@ public class DefaultCacheProvider
         propertyTransformerCache,
         programHasRulesCache,
         programRuleVariablesCache,
+        programRuleEngineContextCache,
         userGroupNameCache,
         userDisplayNameCache,
         programWebHookNotificationTemplateCache,
@@ -184,6 +186,15 @@ public class DefaultCacheProvider
             .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_10K ) ) ) );
     }
 
+    @Override
+    public <V> Cache<V> createAnalyticsSubQueryCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.analyticsSubQuery.name() )
+            .expireAfterWrite( 12, TimeUnit.HOURS )
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_10K ) ) ) );
+    }
+
     /**
      * Cache for default objects such as default category combination and
      * default category option combination which are permanent and will never
@@ -461,6 +472,17 @@ public class DefaultCacheProvider
             .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_1K ) ) ) );
     }
 
+    @Override
+    public <V> Cache<V> createProgramRuleEngineContextCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.programRuleEngineContextCache.name() )
+            .expireAfterWrite( 3, TimeUnit.HOURS )
+            .withInitialCapacity( (int) getActualSize( 20 ) )
+            .forceInMemory()
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_1K ) ) ) );
+    }
+
     @Override
     public <V> Cache<V> createUserGroupNameCache()
     {
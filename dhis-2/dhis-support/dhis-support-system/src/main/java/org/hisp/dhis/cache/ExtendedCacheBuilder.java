@@ -29,6 +29,7 @@ package org.hisp.dhis.cache;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -48,13 +49,26 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V>
 
     private final RedisTemplate<String, ?> redisTemplate;
 
+    private final TwoTierCacheRegistry twoTierCacheRegistry;
+
+    private final TwoTierCacheInvalidationPublisher invalidationPublisher;
+
     private boolean forceInMemory;
 
     public ExtendedCacheBuilder( RedisTemplate<String, ?> redisTemplate,
         DhisConfigurationProvider configuration )
+    {
+        this( redisTemplate, configuration, null, null );
+    }
+
+    public ExtendedCacheBuilder( RedisTemplate<String, ?> redisTemplate,
+        DhisConfigurationProvider configuration, TwoTierCacheRegistry twoTierCacheRegistry,
+        TwoTierCacheInvalidationPublisher invalidationPublisher )
     {
         this.configuration = configuration;
         this.redisTemplate = redisTemplate;
+        this.twoTierCacheRegistry = twoTierCacheRegistry;
+        this.invalidationPublisher = invalidationPublisher;
         this.forceInMemory = false;
     }
 
@@ -83,11 +97,15 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V>
      * implementation {@link LocalCache} will be returned. For Local cache,
      * every instance created using this method will be logically separate and
      * will not share any state. However, when using Redis Cache, every instance
-     * created using this method will use the same redis store.
+     * created using this method will use the same redis store. When
+     * {@code system.cache.two_tier.enabled} is on as well, regions listed in
+     * {@code system.cache.two_tier.regions} (all if blank) get a
+     * {@link TwoTierCache} with a bounded local tier in front of the redis
+     * store.
      *
      * @return A cache instance based on the system configuration and input
-     *         parameters. Returns one of {@link RedisCache}, {@link LocalCache}
-     *         or {@link NoOpCache}
+     *         parameters. Returns one of {@link TwoTierCache},
+     *         {@link RedisCache}, {@link LocalCache} or {@link NoOpCache}
      */
     @Override
     public Cache<V> build()
@@ -104,6 +122,13 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V>
         }
         if ( configuration.isEnabled( ConfigurationKey.REDIS_ENABLED ) )
         {
+            long localMaximumSize = getTwoTierLocalMaximumSize();
+
+            if ( localMaximumSize > 0 )
+            {
+                log.debug( String.format( "Two-tier Cache instance created for region:'%s'", getRegion() ) );
+                return buildTwoTierCache( localMaximumSize );
+            }
             log.debug( String.format( "Redis Cache instance created for region:'%s'", getRegion() ) );
             return new RedisCache<>( this );
         }
@@ -111,6 +136,54 @@ public class ExtendedCacheBuilder<V> extends SimpleCacheBuilder<V>
         return new LocalCache<>( this );
     }
 
+    private Cache<V> buildTwoTierCache( long localMaximumSize )
+    {
+        long localExpiry = Long.parseLong( configuration.getProperty( ConfigurationKey.CACHE_TWO_TIER_LOCAL_EXPIRY ) );
+
+        TwoTierCache<V> cache = new TwoTierCache<>( this, new RedisCache<>( this ), localMaximumSize, localExpiry,
+            invalidationPublisher );
+
+        if ( twoTierCacheRegistry != null )
+        {
+            twoTierCacheRegistry.register( cache );
+        }
+
+        return cache;
+    }
+
+    /**
+     * Returns the maximum size of the local tier for the region of this
+     * builder, or 0 if the region should not use two-tier caching.
+     */
+    private long getTwoTierLocalMaximumSize()
+    {
+        if ( !configuration.isEnabled( ConfigurationKey.CACHE_TWO_TIER_ENABLED ) )
+        {
+            return 0;
+        }
+
+        long defaultSize = Math.min( getMaximumSize(),
+            Long.parseLong( configuration.getProperty( ConfigurationKey.CACHE_TWO_TIER_LOCAL_MAX_SIZE ) ) );
+        String regions = configuration.getProperty( ConfigurationKey.CACHE_TWO_TIER_REGIONS );
+
+        if ( StringUtils.isBlank( regions ) )
+        {
+            return defaultSize;
+        }
+
+        for ( String region : regions.split( "," ) )
+        {
+            String[] parts = region.trim().split( ":" );
+
+            if ( parts[0].equals( getRegion() ) )
+            {
+                return parts.length > 1 ? Long.parseLong( parts[1].trim() ) : defaultSize;
+            }
+        }
+
+        return 0;
+    }
+
     public RedisTemplate<String, ?> getRedisTemplate()
     {
         return redisTemplate;
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.cache2k.Cache2kBuilder;
+import org.cache2k.event.CacheEntryEvictedListener;
+
+/**
+ * A two-tier implementation of {@link Cache}. A bounded local cache (L1) is
+ * kept in front of a shared cache (L2), usually a {@link RedisCache}. Reads are
+ * served from the local tier if possible and fall back to the shared tier,
+ * which is the source of truth for all nodes. Writes and invalidations go to
+ * both tiers and are published to the other nodes through a
+ * {@link TwoTierCacheInvalidationPublisher}, so that these drop their local
+ * copies.
+ * <p>
+ * Hits, misses and evictions are counted per tier to be exported as metrics.
+ */
+public class TwoTierCache<V> implements Cache<V>
+{
+    private static final String VALUE_CANNOT_BE_NULL = "Value cannot be null";
+
+    private final String region;
+
+    private final org.cache2k.Cache<String, V> localCache;
+
+    private final Cache<V> sharedCache;
+
+    private final V defaultValue;
+
+    private final TwoTierCacheInvalidationPublisher invalidationPublisher;
+
+    private final long localExpiryInSeconds;
+
+    private final LongAdder localHits = new LongAdder();
+
+    private final LongAdder sharedHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder localEvictions = new LongAdder();
+
+    /**
+     * Constructor for instantiating TwoTierCache.
+     *
+     * @param cacheBuilder the cache builder instance.
+     * @param sharedCache the shared (L2) cache.
+     * @param localMaximumSize the maximum number of entries in the local (L1)
+     *        cache.
+     * @param localExpiryInSeconds the time after which entries expire from
+     *        the local cache.
+     * @param invalidationPublisher the publisher of invalidations to other
+     *        nodes, can be null when running on a single node.
+     */
+    @SuppressWarnings( "unchecked" )
+    public TwoTierCache( CacheBuilder<V> cacheBuilder, Cache<V> sharedCache, long localMaximumSize,
+        long localExpiryInSeconds, TwoTierCacheInvalidationPublisher invalidationPublisher )
+    {
+        this.region = cacheBuilder.getRegion();
+        this.sharedCache = sharedCache;
+        this.defaultValue = cacheBuilder.getDefaultValue();
+        this.invalidationPublisher = invalidationPublisher;
+        this.localExpiryInSeconds = cacheBuilder.isExpiryEnabled()
+            ? Math.min( cacheBuilder.getExpiryInSeconds(), localExpiryInSeconds )
+            : localExpiryInSeconds;
+
+        Cache2kBuilder<?, ?> builder = Cache2kBuilder.forUnknownTypes()
+            .eternal( false )
+            .expireAfterWrite( this.localExpiryInSeconds, SECONDS )
+            .entryCapacity( localMaximumSize )
+            .addListener( (CacheEntryEvictedListener<Object, Object>) ( cache, entry ) -> localEvictions.increment() );
+
+        // Using unknown typed key for builder and casting it
+        this.localCache = (org.cache2k.Cache<String, V>) builder.build();
+    }
+
+    @Override
+    public Optional<V> getIfPresent( String key )
+    {
+        V value = localCache.get( key );
+
+        if ( value != null )
+        {
+            localHits.increment();
+            return Optional.of( value );
+        }
+
+        Optional<V> sharedValue = sharedCache.getIfPresent( key );
+
+        if ( sharedValue.isPresent() )
+        {
+            sharedHits.increment();
+            localCache.put( key, sharedValue.get() );
+        }
+        else
+        {
+            misses.increment();
+        }
+
+        return sharedValue;
+    }
+
+    @Override
+    public Optional<V> get( String key )
+    {
+        return Optional.ofNullable( getIfPresent( key ).orElse( defaultValue ) );
+    }
+
+    @Override
+    public V get( String key, Function<String, V> mappingFunction )
+    {
+        if ( null == mappingFunction )
+        {
+            throw new IllegalArgumentException( "MappingFunction cannot be null" );
+        }
+
+        Optional<V> cachedValue = getIfPresent( key );
+
+        if ( cachedValue.isPresent() )
+        {
+            return cachedValue.get();
+        }
+
+        V value = mappingFunction.apply( key );
+
+        if ( value != null )
+        {
+            sharedCache.put( key, value );
+            localCache.put( key, value );
+        }
+
+        return Optional.ofNullable( value ).orElse( defaultValue );
+    }
+
+    @Override
+    public Stream<V> getAll()
+    {
+        return sharedCache.getAll();
+    }
+
+    @Override
+    public Iterable<String> keys()
+    {
+        return sharedCache.keys();
+    }
+
+    @Override
+    public void put( String key, V value )
+    {
+        if ( null == value )
+        {
+            throw new IllegalArgumentException( VALUE_CANNOT_BE_NULL );
+        }
+
+        sharedCache.put( key, value );
+        localCache.put( key, value );
+        publishInvalidation( key );
+    }
+
+    @Override
+    public void put( String key, V value, long ttlInSeconds )
+    {
+        if ( null == value )
+        {
+            throw new IllegalArgumentException( VALUE_CANNOT_BE_NULL );
+        }
+
+        sharedCache.put( key, value, ttlInSeconds );
+        localCache.invoke( key, e -> e.setValue( value ).setExpiryTime(
+            currentTimeMillis() + SECONDS.toMillis( Math.min( ttlInSeconds, localExpiryInSeconds ) ) ) );
+        publishInvalidation( key );
+    }
+
+    @Override
+    public boolean putIfAbsent( String key, V value )
+    {
+        if ( null == value )
+        {
+            throw new IllegalArgumentException( VALUE_CANNOT_BE_NULL );
+        }
+
+        if ( !sharedCache.putIfAbsent( key, value ) )
+        {
+            return false;
+        }
+
+        localCache.put( key, value );
+        publishInvalidation( key );
+        return true;
+    }
+
+    @Override
+    public void invalidate( String key )
+    {
+        sharedCache.invalidate( key );
+        localCache.remove( key );
+        publishInvalidation( key );
+    }
+
+    @Override
+    public void invalidateAll()
+    {
+        sharedCache.invalidateAll();
+        localCache.removeAll();
+
+        if ( invalidationPublisher != null )
+        {
+            invalidationPublisher.publishInvalidationAll( region );
+        }
+    }
+
+    /**
+     * Removes the entry with the given key from the local tier only. Used when
+     * another node has changed the entry in the shared tier.
+     *
+     * @param key the cache key.
+     */
+    public void invalidateLocal( String key )
+    {
+        localCache.remove( key );
+    }
+
+    /**
+     * Removes all entries from the local tier only. Used when another node has
+     * cleared the shared tier.
+     */
+    public void invalidateAllLocal()
+    {
+        localCache.removeAll();
+    }
+
+    @Override
+    public CacheType getCacheType()
+    {
+        return CacheType.TWO_TIER;
+    }
+
+    public String getRegion()
+    {
+        return region;
+    }
+
+    public long getLocalHits()
+    {
+        return localHits.sum();
+    }
+
+    public long getSharedHits()
+    {
+        return sharedHits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    public long getLocalEvictions()
+    {
+        return localEvictions.sum();
+    }
+
+    private void publishInvalidation( String key )
+    {
+        if ( invalidationPublisher != null )
+        {
+            invalidationPublisher.publishInvalidation( region, key );
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps track of all {@link TwoTierCache} instances by region, so that
+ * invalidations received from other nodes can be applied to the local tier and
+ * so that metrics can be exported for each region.
+ */
+@Component
+public class TwoTierCacheRegistry
+{
+    private final Map<String, TwoTierCache<?>> caches = new ConcurrentHashMap<>();
+
+    private final List<Consumer<TwoTierCache<?>>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers the given cache. Registered listeners are notified.
+     *
+     * @param cache the {@link TwoTierCache}.
+     */
+    public void register( TwoTierCache<?> cache )
+    {
+        caches.put( cache.getRegion(), cache );
+        listeners.forEach( listener -> listener.accept( cache ) );
+    }
+
+    /**
+     * Adds a listener which is called for all caches registered now and in the
+     * future.
+     *
+     * @param listener the listener.
+     */
+    public void addListener( Consumer<TwoTierCache<?>> listener )
+    {
+        listeners.add( listener );
+        caches.values().forEach( listener );
+    }
+
+    /**
+     * Removes the entry with the given key from the local tier of the cache of
+     * the given region, if such a cache exists.
+     *
+     * @param region the cache region.
+     * @param key the cache key.
+     */
+    public void invalidateLocal( String region, String key )
+    {
+        TwoTierCache<?> cache = caches.get( region );
+
+        if ( cache != null )
+        {
+            cache.invalidateLocal( key );
+        }
+    }
+
+    /**
+     * Removes all entries from the local tier of the cache of the given region,
+     * if such a cache exists.
+     *
+     * @param region the cache region.
+     */
+    public void invalidateAllLocal( String region )
+    {
+        TwoTierCache<?> cache = caches.get( region );
+
+        if ( cache != null )
+        {
+            cache.invalidateAllLocal();
+        }
+    }
+
+    public Collection<TwoTierCache<?>> getCaches()
+    {
+        return caches.values();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.monitoring.metrics;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_CACHE_ENABLED;
+
+import org.hisp.dhis.cache.TwoTierCache;
+import org.hisp.dhis.cache.TwoTierCacheRegistry;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exports hit, miss and eviction counts per region and tier of all
+ * {@link TwoTierCache} instances.
+ */
+@Configuration
+@Conditional( CacheMetricsConfig.CacheMetricsEnabledCondition.class )
+public class CacheMetricsConfig
+{
+    @Autowired
+    public void bindToRegistry( MeterRegistry registry, TwoTierCacheRegistry twoTierCacheRegistry )
+    {
+        twoTierCacheRegistry.addListener( cache -> bindCacheToRegistry( cache, registry ) );
+    }
+
+    private void bindCacheToRegistry( TwoTierCache<?> cache, MeterRegistry registry )
+    {
+        FunctionCounter.builder( "cache.gets", cache, TwoTierCache::getLocalHits )
+            .tags( "cache", cache.getRegion(), "tier", "local", "result", "hit" )
+            .description( "Number of lookups served by the local tier" )
+            .register( registry );
+
+        FunctionCounter.builder( "cache.gets", cache, TwoTierCache::getSharedHits )
+            .tags( "cache", cache.getRegion(), "tier", "shared", "result", "hit" )
+            .description( "Number of lookups served by the shared tier" )
+            .register( registry );
+
+        FunctionCounter.builder( "cache.gets", cache, TwoTierCache::getMisses )
+            .tags( "cache", cache.getRegion(), "tier", "shared", "result", "miss" )
+            .description( "Number of lookups not found in any tier" )
+            .register( registry );
+
+        FunctionCounter.builder( "cache.evictions", cache, TwoTierCache::getLocalEvictions )
+            .tags( "cache", cache.getRegion(), "tier", "local" )
+            .description( "Number of entries evicted from the local tier due to its size bound" )
+            .register( registry );
+    }
+
+    static class CacheMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_CACHE_ENABLED;
+        }
+    }
+}
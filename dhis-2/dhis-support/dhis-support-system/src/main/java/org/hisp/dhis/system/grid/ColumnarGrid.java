@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.adapter.JacksonRowDataSerializer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * {@link Grid} which stores its values by column instead of by row. Columns of
+ * {@link Double} values are stored as primitive arrays with a null bitmap and
+ * columns of {@link String} values are dictionary encoded, see
+ * {@link GridColumn}, which avoids a boxed object per cell for the numeric
+ * and dimension columns of large analytics responses. Sorting and limiting
+ * operate on the column arrays.
+ * <p>
+ * Rows returned by {@link #getRow(int)} and {@link #getRows()} are views on
+ * the columns. Values can be replaced through {@link List#set(int, Object)},
+ * while adding or removing values must be done through the grid methods.
+ * Views refer to a row by index, hence they are not to be kept across sorting
+ * or limiting the grid.
+ */
+public class ColumnarGrid
+    extends AbstractGrid
+{
+    /**
+     * The columns of the grid. Every column holds a value for each row.
+     */
+    private List<GridColumn> columns;
+
+    /**
+     * The number of values added to each row.
+     */
+    private int[] rowWidths;
+
+    /**
+     * The number of rows.
+     */
+    private int height;
+
+    /**
+     * Indicating the current row in the grid for writing data.
+     */
+    private int currentRowWriteIndex = -1;
+
+    /**
+     * Default constructor.
+     */
+    public ColumnarGrid()
+    {
+        this( new HashMap<>(), new HashMap<>() );
+    }
+
+    /**
+     * @param metaData meta data.
+     * @param internalMetaData internal meta data.
+     */
+    public ColumnarGrid( Map<String, Object> metaData, Map<String, Object> internalMetaData )
+    {
+        super( metaData, internalMetaData );
+        this.columns = new ArrayList<>();
+        this.rowWidths = new int[16];
+    }
+
+    // ---------------------------------------------------------------------
+    // Public methods
+    // ---------------------------------------------------------------------
+
+    @Override
+    @JsonProperty
+    public int getHeight()
+    {
+        return height;
+    }
+
+    @Override
+    @JsonProperty
+    public int getWidth()
+    {
+        verifyGridState();
+
+        return height > 0 ? rowWidths[0] : 0;
+    }
+
+    @Override
+    public Grid addRow()
+    {
+        if ( height == rowWidths.length )
+        {
+            rowWidths = Arrays.copyOf( rowWidths, height + (height >> 1) + 1 );
+        }
+
+        rowWidths[height] = 0;
+
+        for ( GridColumn column : columns )
+        {
+            column.add( null );
+        }
+
+        currentRowWriteIndex = height++;
+
+        return this;
+    }
+
+    @Override
+    public Grid addRows( Grid grid )
+    {
+        for ( List<Object> row : grid.getRows() )
+        {
+            addRow();
+            addValuesAsList( row );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addValue( Object value )
+    {
+        int rowIndex = currentRowWriteIndex;
+        int columnIndex = rowWidths[rowIndex];
+
+        if ( columnIndex == columns.size() )
+        {
+            columns.add( GridColumn.forValue( value, height ) );
+        }
+
+        setValue( rowIndex, columnIndex, value );
+
+        rowWidths[rowIndex]++;
+
+        return this;
+    }
+
+    @Override
+    public List<Object> getRow( int rowIndex )
+    {
+        if ( rowIndex < 0 || rowIndex >= height )
+        {
+            throw new IndexOutOfBoundsException( "Row index: " + rowIndex + ", height: " + height );
+        }
+
+        return new RowView( rowIndex );
+    }
+
+    @Override
+    @JsonProperty
+    @JsonSerialize( using = JacksonRowDataSerializer.class )
+    public List<List<Object>> getRows()
+    {
+        return new RowsView();
+    }
+
+    @Override
+    public List<Object> getColumn( int columnIndex )
+    {
+        List<Object> column = new ArrayList<>( height );
+
+        for ( int rowIndex = 0; rowIndex < height; rowIndex++ )
+        {
+            column.add( getValue( rowIndex, columnIndex ) );
+        }
+
+        return column;
+    }
+
+    @Override
+    public Object getValue( int rowIndex, int columnIndex )
+    {
+        if ( rowIndex >= height || columnIndex >= rowWidths[rowIndex] )
+        {
+            throw new IllegalArgumentException( "Grid does not contain the requested row / column" );
+        }
+
+        return columns.get( columnIndex ).get( rowIndex );
+    }
+
+    @Override
+    public boolean columnIsEmpty( int columnIndex )
+    {
+        verifyGridState();
+
+        return height == 0 || columns.get( columnIndex ).isEmpty();
+    }
+
+    @Override
+    public Grid removeCurrentWriteRow()
+    {
+        int removedRow = currentRowWriteIndex;
+
+        selectRows( IntStream.range( 0, height ).filter( i -> i != removedRow ).toArray() );
+
+        currentRowWriteIndex--;
+
+        return this;
+    }
+
+    @Override
+    public void repositionColumns( List<Integer> columnIndexes )
+    {
+        verifyGridState();
+
+        if ( height == 0 )
+        {
+            return;
+        }
+
+        Map<GridColumn, Boolean> usedColumns = new IdentityHashMap<>();
+        List<GridColumn> orderedColumns = new ArrayList<>();
+
+        for ( int i = 0; i < rowWidths[0]; i++ )
+        {
+            GridColumn column = columns.get( columnIndexes.get( i ) );
+
+            // A column referenced twice must not share its storage
+
+            orderedColumns.add( usedColumns.put( column, Boolean.TRUE ) == null ? column
+                : column.slice( 0, height ) );
+        }
+
+        columns = orderedColumns;
+    }
+
+    // -------------------------------------------------------------------------
+    // Value storage
+    // -------------------------------------------------------------------------
+
+    @Override
+    protected void verifyGridState()
+    {
+        for ( int rowIndex = 1; rowIndex < height; rowIndex++ )
+        {
+            if ( rowWidths[rowIndex] != rowWidths[rowIndex - 1] )
+            {
+                throw new IllegalStateException( "Grid rows do not have the same number of cells, previous: "
+                    + rowWidths[rowIndex - 1] + ", this: " + rowWidths[rowIndex] + ", at row: " + rowIndex );
+            }
+        }
+    }
+
+    @Override
+    protected void insertColumnValues( int columnIndex, List<Object> columnValues )
+    {
+        columns.add( columnIndex, GridColumn.of( columnValues ) );
+
+        for ( int rowIndex = 0; rowIndex < height; rowIndex++ )
+        {
+            rowWidths[rowIndex]++;
+        }
+    }
+
+    @Override
+    protected void removeColumnValues( int columnIndex )
+    {
+        if ( height > 0 )
+        {
+            columns.remove( columnIndex );
+
+            for ( int rowIndex = 0; rowIndex < height; rowIndex++ )
+            {
+                rowWidths[rowIndex]--;
+            }
+        }
+    }
+
+    @Override
+    protected void sortRows( int columnIndex, int order )
+    {
+        GridColumn column = columns.get( columnIndex );
+
+        int[] sortedRows = IntStream.range( 0, height ).boxed()
+            .sorted( ( row1, row2 ) -> compareRows( column, row1, row2, order ) )
+            .mapToInt( Integer::intValue )
+            .toArray();
+
+        selectRows( sortedRows );
+    }
+
+    @Override
+    protected void sliceRows( int from, int to )
+    {
+        columns.replaceAll( column -> column.slice( from, to ) );
+
+        rowWidths = Arrays.copyOfRange( rowWidths, from, Math.max( to, from + 16 ) );
+        height = to - from;
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Sets the value of the given cell, widening the column storage if the
+     * value does not fit the current storage.
+     */
+    private void setValue( int rowIndex, int columnIndex, Object value )
+    {
+        GridColumn column = columns.get( columnIndex );
+        GridColumn widened = column.widen( value );
+
+        if ( widened != column )
+        {
+            columns.set( columnIndex, widened );
+        }
+
+        widened.set( rowIndex, value );
+    }
+
+    /**
+     * Retains the given rows, in the given order.
+     */
+    private void selectRows( int[] rows )
+    {
+        columns.replaceAll( column -> column.select( rows ) );
+
+        int[] widths = new int[Math.max( rows.length, 16 )];
+
+        for ( int i = 0; i < rows.length; i++ )
+        {
+            widths[i] = rowWidths[rows[i]];
+        }
+
+        rowWidths = widths;
+        height = rows.length;
+    }
+
+    /**
+     * Compares two rows by the values of the given column, placing null and
+     * non-comparable values last. Uses the same ordering as
+     * {@link ListGrid.GridRowComparator}.
+     */
+    private static int compareRows( GridColumn column, int row1, int row2, int order )
+    {
+        boolean row1Invalid = !column.isComparable( row1 );
+        boolean row2Invalid = !column.isComparable( row2 );
+
+        if ( row1Invalid && row2Invalid )
+        {
+            return 0;
+        }
+        else if ( row1Invalid )
+        {
+            return order > 0 ? 1 : -1;
+        }
+        else if ( row2Invalid )
+        {
+            return order > 0 ? -1 : 1;
+        }
+
+        return order > 0 ? column.compare( row2, row1 ) : column.compare( row1, row2 );
+    }
+
+    // -------------------------------------------------------------------------
+    // Row views
+    // -------------------------------------------------------------------------
+
+    /**
+     * View of a single row, supporting replacing values.
+     */
+    private class RowView
+        extends AbstractList<Object>
+        implements RandomAccess
+    {
+        private final int rowIndex;
+
+        RowView( int rowIndex )
+        {
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public Object get( int index )
+        {
+            checkIndex( index );
+
+            return columns.get( index ).get( rowIndex );
+        }
+
+        @Override
+        public Object set( int index, Object value )
+        {
+            checkIndex( index );
+
+            Object previous = columns.get( index ).get( rowIndex );
+
+            setValue( rowIndex, index, value );
+
+            return previous;
+        }
+
+        @Override
+        public int size()
+        {
+            return rowWidths[rowIndex];
+        }
+
+        private void checkIndex( int index )
+        {
+            if ( index < 0 || index >= size() )
+            {
+                throw new IndexOutOfBoundsException( "Index: " + index + ", size: " + size() );
+            }
+        }
+    }
+
+    /**
+     * View of all rows.
+     */
+    private class RowsView
+        extends AbstractList<List<Object>>
+        implements RandomAccess
+    {
+        @Override
+        public List<Object> get( int index )
+        {
+            return getRow( index );
+        }
+
+        @Override
+        public int size()
+        {
+            return height;
+        }
+    }
+}
@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage of a single column of a {@link ColumnarGrid}. Numeric columns keep
+ * their values as primitive doubles with a null bitmap, text columns keep
+ * dictionary codes pointing to the distinct values, and any other column
+ * falls back to a list of objects. A column is widened to a more general
+ * storage when a value it cannot hold is written.
+ */
+abstract class GridColumn
+    implements Serializable
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    protected int size;
+
+    /**
+     * Creates a column holding the given number of null values, with a storage
+     * suitable for the given value.
+     *
+     * @param value the value which determines the column storage.
+     * @param size the number of rows.
+     */
+    static GridColumn forValue( Object value, int size )
+    {
+        GridColumn column;
+
+        if ( value == null || value instanceof Double )
+        {
+            column = new DoubleColumn( size );
+        }
+        else if ( value instanceof String )
+        {
+            column = new DictionaryColumn( size );
+        }
+        else
+        {
+            column = new ObjectColumn( size );
+        }
+
+        for ( int i = 0; i < size; i++ )
+        {
+            column.add( null );
+        }
+
+        return column;
+    }
+
+    /**
+     * Creates a column holding the given values.
+     *
+     * @param values the column values.
+     */
+    static GridColumn of( List<?> values )
+    {
+        GridColumn column = new DoubleColumn( values.size() );
+
+        for ( Object value : values )
+        {
+            column = column.widen( value );
+            column.add( value );
+        }
+
+        return column;
+    }
+
+    /**
+     * Returns a column which can hold the given value, which is this column if
+     * the value fits its storage. Columns without non-null values are replaced
+     * by the storage best suited for the value, other columns fall back to
+     * object storage.
+     *
+     * @param value the value to be written.
+     */
+    GridColumn widen( Object value )
+    {
+        if ( accepts( value ) )
+        {
+            return this;
+        }
+
+        if ( isEmpty() )
+        {
+            return forValue( value, size );
+        }
+
+        ObjectColumn column = new ObjectColumn( size );
+
+        for ( int i = 0; i < size; i++ )
+        {
+            column.add( get( i ) );
+        }
+
+        return column;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns a column with the values of the given rows, in the given order.
+     *
+     * @param rows the row indexes.
+     */
+    GridColumn select( int[] rows )
+    {
+        GridColumn column = newInstance( rows.length );
+
+        for ( int row : rows )
+        {
+            column.add( get( row ) );
+        }
+
+        return column;
+    }
+
+    /**
+     * Indicates whether the value of the given row is non-null and
+     * {@link Comparable}.
+     *
+     * @param row the row index.
+     */
+    boolean isComparable( int row )
+    {
+        return get( row ) != null;
+    }
+
+    /**
+     * Compares the values of the given rows by natural order. Both values must
+     * be comparable.
+     *
+     * @param row1 the first row index.
+     * @param row2 the second row index.
+     */
+    abstract int compare( int row1, int row2 );
+
+    /**
+     * Indicates whether the given value can be stored in this column.
+     *
+     * @param value the value.
+     */
+    abstract boolean accepts( Object value );
+
+    /**
+     * Indicates whether all values of this column are null.
+     */
+    abstract boolean isEmpty();
+
+    abstract Object get( int row );
+
+    /**
+     * Sets the value of the given row. The value must be accepted by this
+     * column.
+     */
+    abstract void set( int row, Object value );
+
+    /**
+     * Appends a value. The value must be accepted by this column.
+     */
+    abstract void add( Object value );
+
+    /**
+     * Returns a column with the values of the rows from the given start index,
+     * inclusive, to the given end index, exclusive.
+     */
+    abstract GridColumn slice( int from, int to );
+
+    /**
+     * Returns an empty column of the same storage with the given capacity.
+     */
+    abstract GridColumn newInstance( int capacity );
+
+    // -------------------------------------------------------------------------
+    // Implementations
+    // -------------------------------------------------------------------------
+
+    /**
+     * Column of {@link Double} values stored as primitives, where nulls are
+     * tracked in a bitmap.
+     */
+    static final class DoubleColumn
+        extends GridColumn
+    {
+        private double[] values;
+
+        private BitSet nulls;
+
+        DoubleColumn( int capacity )
+        {
+            this.values = new double[Math.max( capacity, INITIAL_CAPACITY )];
+            this.nulls = new BitSet();
+        }
+
+        private DoubleColumn( double[] values, BitSet nulls, int size )
+        {
+            this.values = values;
+            this.nulls = nulls;
+            this.size = size;
+        }
+
+        @Override
+        boolean accepts( Object value )
+        {
+            return value == null || value instanceof Double;
+        }
+
+        @Override
+        boolean isEmpty()
+        {
+            return nulls.cardinality() == size;
+        }
+
+        @Override
+        Object get( int row )
+        {
+            return nulls.get( row ) ? null : values[row];
+        }
+
+        /**
+         * Returns the primitive value of the given row, which is 0 for null
+         * values.
+         */
+        double getDouble( int row )
+        {
+            return values[row];
+        }
+
+        @Override
+        void set( int row, Object value )
+        {
+            if ( value == null )
+            {
+                values[row] = 0d;
+                nulls.set( row );
+            }
+            else
+            {
+                values[row] = (Double) value;
+                nulls.clear( row );
+            }
+        }
+
+        @Override
+        void add( Object value )
+        {
+            if ( size == values.length )
+            {
+                values = Arrays.copyOf( values, size + (size >> 1) + 1 );
+            }
+
+            set( size++, value );
+        }
+
+        @Override
+        int compare( int row1, int row2 )
+        {
+            return Double.compare( values[row1], values[row2] );
+        }
+
+        @Override
+        GridColumn slice( int from, int to )
+        {
+            return new DoubleColumn( Arrays.copyOfRange( values, from, to ), nulls.get( from, to ), to - from );
+        }
+
+        @Override
+        GridColumn newInstance( int capacity )
+        {
+            return new DoubleColumn( capacity );
+        }
+    }
+
+    /**
+     * Column of {@link String} values stored as codes pointing to a dictionary
+     * of the distinct values, where null is represented by a negative code.
+     */
+    static final class DictionaryColumn
+        extends GridColumn
+    {
+        private static final int NULL_CODE = -1;
+
+        private int[] codes;
+
+        private final List<String> dictionary;
+
+        private final Map<String, Integer> codeMap;
+
+        DictionaryColumn( int capacity )
+        {
+            this( new int[Math.max( capacity, INITIAL_CAPACITY )], new ArrayList<>(), new HashMap<>(), 0 );
+        }
+
+        private DictionaryColumn( int[] codes, List<String> dictionary, Map<String, Integer> codeMap, int size )
+        {
+            this.codes = codes;
+            this.dictionary = dictionary;
+            this.codeMap = codeMap;
+            this.size = size;
+        }
+
+        @Override
+        boolean accepts( Object value )
+        {
+            return value == null || value instanceof String;
+        }
+
+        @Override
+        boolean isEmpty()
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                if ( codes[i] != NULL_CODE )
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        Object get( int row )
+        {
+            int code = codes[row];
+
+            return code == NULL_CODE ? null : dictionary.get( code );
+        }
+
+        @Override
+        void set( int row, Object value )
+        {
+            codes[row] = value == null ? NULL_CODE : codeMap.computeIfAbsent( (String) value, this::addToDictionary );
+        }
+
+        @Override
+        void add( Object value )
+        {
+            if ( size == codes.length )
+            {
+                codes = Arrays.copyOf( codes, size + (size >> 1) + 1 );
+            }
+
+            set( size++, value );
+        }
+
+        @Override
+        int compare( int row1, int row2 )
+        {
+            int code1 = codes[row1];
+            int code2 = codes[row2];
+
+            return code1 == code2 ? 0 : dictionary.get( code1 ).compareTo( dictionary.get( code2 ) );
+        }
+
+        @Override
+        GridColumn slice( int from, int to )
+        {
+            return new DictionaryColumn( Arrays.copyOfRange( codes, from, to ), dictionary, codeMap, to - from );
+        }
+
+        @Override
+        GridColumn select( int[] rows )
+        {
+            int[] selected = new int[rows.length];
+
+            for ( int i = 0; i < rows.length; i++ )
+            {
+                selected[i] = codes[rows[i]];
+            }
+
+            return new DictionaryColumn( selected, dictionary, codeMap, rows.length );
+        }
+
+        @Override
+        GridColumn newInstance( int capacity )
+        {
+            return new DictionaryColumn( capacity );
+        }
+
+        private int addToDictionary( String value )
+        {
+            dictionary.add( value );
+
+            return dictionary.size() - 1;
+        }
+    }
+
+    /**
+     * Column of arbitrary objects.
+     */
+    static final class ObjectColumn
+        extends GridColumn
+    {
+        private final ArrayList<Object> values;
+
+        ObjectColumn( int capacity )
+        {
+            this.values = new ArrayList<>( capacity );
+        }
+
+        @Override
+        boolean accepts( Object value )
+        {
+            return true;
+        }
+
+        @Override
+        boolean isEmpty()
+        {
+            return values.stream().allMatch( value -> value == null );
+        }
+
+        @Override
+        Object get( int row )
+        {
+            return values.get( row );
+        }
+
+        @Override
+        void set( int row, Object value )
+        {
+            values.set( row, value );
+        }
+
+        @Override
+        void add( Object value )
+        {
+            values.add( value );
+            size++;
+        }
+
+        @Override
+        boolean isComparable( int row )
+        {
+            return values.get( row ) instanceof Comparable<?>;
+        }
+
+        @Override
+        @SuppressWarnings( "unchecked" )
+        int compare( int row1, int row2 )
+        {
+            return ((Comparable<Object>) values.get( row1 )).compareTo( values.get( row2 ) );
+        }
+
+        @Override
+        GridColumn slice( int from, int to )
+        {
+            ObjectColumn column = new ObjectColumn( to - from );
+            column.values.addAll( values.subList( from, to ) );
+            column.size = to - from;
+            return column;
+        }
+
+        @Override
+        GridColumn newInstance( int capacity )
+        {
+            return new ObjectColumn( capacity );
+        }
+    }
+}
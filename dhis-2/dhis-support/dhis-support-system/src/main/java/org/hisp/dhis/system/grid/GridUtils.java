@@ -60,15 +60,6 @@ import net.sf.jasperreports.engine.JasperReport;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.DataFormat;
-import org.apache.poi.ss.usermodel.Font;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.velocity.VelocityContext;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.DimensionalObjectUtils;
@@ -81,7 +72,6 @@ import org.hisp.dhis.common.Reference;
 import org.hisp.dhis.commons.collection.ListUtils;
 import org.hisp.dhis.commons.util.Encoder;
 import org.hisp.dhis.commons.util.TextUtils;
-import org.hisp.dhis.system.util.CodecUtils;
 import org.hisp.dhis.system.util.MathUtils;
 import org.hisp.dhis.system.velocity.VelocityManager;
 import org.hisp.dhis.util.DateUtils;
@@ -113,12 +103,6 @@ public class GridUtils
 
     private static final char CSV_DELIMITER = ',';
 
-    private static final String XLS_SHEET_PREFIX = "Sheet ";
-
-    private static final int JXL_MAX_COLS = 256;
-
-    private static final String FONT_ARIAL = "Arial";
-
     private static final NodeFilter HTML_ROW_FILTER = new OrFilter( new TagNameFilter( "td" ),
         new TagNameFilter( "th" ) );
 
@@ -172,8 +156,6 @@ public class GridUtils
 
     private static final String ATTR_FIELD = "field";
 
-    private static final String DECIMAL_DIGITS_MASK = "#.##########";
-
     /**
      * Writes a PDF representation of the given Grid to the given OutputStream.
      */
@@ -265,25 +247,9 @@ public class GridUtils
      * to the given OutputStream.
      */
     public static void toXls( List<Grid> grids, OutputStream out )
-        throws Exception
+        throws IOException
     {
-        Workbook workbook = new HSSFWorkbook();
-
-        CellStyle headerCellStyle = createHeaderCellStyle( workbook );
-        CellStyle cellStyle = createCellStyle( workbook );
-
-        for ( int i = 0; i < grids.size(); i++ )
-        {
-            Grid grid = grids.get( i );
-
-            String sheetName = CodecUtils
-                .filenameEncode( StringUtils.defaultIfEmpty( grid.getTitle(), XLS_SHEET_PREFIX + (i + 1) ) );
-
-            toXlsInternal( grid, workbook.createSheet( sheetName ), headerCellStyle, cellStyle );
-        }
-
-        workbook.write( out );
-        workbook.close();
+        toWorkbook( GridWorkbookWriter.xls(), grids, out );
     }
 
     /**
@@ -293,111 +259,52 @@ public class GridUtils
     public static void toXls( Grid grid, OutputStream out )
         throws IOException
     {
-        Workbook workbook = new HSSFWorkbook();
-
-        String sheetName = CodecUtils
-            .filenameEncode( StringUtils.defaultIfEmpty( grid.getTitle(), XLS_SHEET_PREFIX + 1 ) );
-
-        toXlsInternal( grid, workbook.createSheet( sheetName ), createHeaderCellStyle( workbook ),
-            createCellStyle( workbook ) );
-
-        workbook.write( out );
-        workbook.close();
+        toWorkbook( GridWorkbookWriter.xls(), List.of( grid ), out );
     }
 
-    private static void toXlsInternal( Grid grid, Sheet sheet, CellStyle headerCellStyle, CellStyle cellStyle )
+    /**
+     * Writes a XLSX (Office Open XML workbook) representation of the given
+     * list of Grids to the given OutputStream. Rows are flushed to a temporary
+     * file as they are written, the workbook is never held in memory as a
+     * whole.
+     */
+    public static void toXlsx( List<Grid> grids, OutputStream out )
+        throws IOException
     {
-        if ( grid == null )
-        {
-            return;
-        }
-
-        int cols = grid.getVisibleHeaders().size();
-
-        if ( cols > JXL_MAX_COLS )
-        {
-            log.warn(
-                "Grid will be truncated, no of columns is greater than JXL max limit: " + cols + "/" + JXL_MAX_COLS );
-        }
-
-        int rowNumber = 0;
-
-        int columnIndex = 0;
-
-        if ( StringUtils.isNotEmpty( grid.getTitle() ) )
-        {
-            Cell cell = sheet.createRow( rowNumber ).createCell( columnIndex, CellType.STRING );
-            cell.setCellValue( grid.getTitle() );
-            cell.setCellStyle( headerCellStyle );
-
-            rowNumber++;
-        }
-
-        if ( StringUtils.isNotEmpty( grid.getSubtitle() ) )
-        {
-            Cell cell = sheet.createRow( ++rowNumber ).createCell( columnIndex, CellType.STRING );
-            cell.setCellValue( grid.getSubtitle() );
-            cell.setCellStyle( headerCellStyle );
-            rowNumber++;
-        }
-
-        List<GridHeader> headers = ListUtils.subList( grid.getVisibleHeaders(), 0, JXL_MAX_COLS );
-        Row headerRow = sheet.createRow( ++rowNumber );
-        for ( GridHeader header : headers )
-        {
-            Cell cell = headerRow.createCell( columnIndex++, CellType.STRING );
-            cell.setCellStyle( headerCellStyle );
-            cell.setCellValue( header.getColumn() );
-        }
-
-        rowNumber++;
+        toWorkbook( GridWorkbookWriter.xlsx(), grids, out );
+    }
 
-        CellStyle numberCellStyle = getNumberCellStyle( sheet );
+    /**
+     * Writes a XLSX (Office Open XML workbook) representation of the given
+     * Grid to the given OutputStream.
+     */
+    public static void toXlsx( Grid grid, OutputStream out )
+        throws IOException
+    {
+        toWorkbook( GridWorkbookWriter.xlsx(), List.of( grid ), out );
+    }
 
-        for ( List<Object> row : grid.getVisibleRows() )
+    private static void toWorkbook( GridWorkbookWriter writer, List<Grid> grids, OutputStream out )
+        throws IOException
+    {
+        try ( writer )
         {
-            Row xlsRow = sheet.createRow( rowNumber );
-            xlsRow.setRowStyle( cellStyle );
-            columnIndex = 0;
-
-            List<Object> columns = ListUtils.subList( row, 0, JXL_MAX_COLS );
-
-            for ( Object column : columns )
+            for ( Grid grid : grids )
             {
-                if ( column != null && Number.class.isAssignableFrom( column.getClass() ) )
+                if ( grid != null )
                 {
-                    Cell cell = xlsRow.createCell( columnIndex++, CellType.NUMERIC );
-                    cell.setCellStyle( numberCellStyle );
-                    cell.setCellValue( ((Number) column).doubleValue() );
+                    writer.startSheet( grid ).addRows( grid );
                 }
                 else
                 {
-                    xlsRow.createCell( columnIndex++, CellType.STRING )
-                        .setCellValue( column != null ? String.valueOf( column ) : EMPTY );
+                    writer.startSheet( new ListGrid() );
                 }
             }
 
-            rowNumber++;
+            writer.write( out );
         }
     }
 
-    /**
-     * Returns a {@CellStyle} object with a default number format/mask.
-     *
-     * @param sheet the {@link Sheet}
-     * @return the cell style object
-     */
-    private static CellStyle getNumberCellStyle( Sheet sheet )
-    {
-        Workbook wb = sheet.getWorkbook();
-        DataFormat format = wb.createDataFormat();
-
-        CellStyle cs = wb.createCellStyle();
-        cs.setDataFormat( format.getFormat( DECIMAL_DIGITS_MASK ) );
-
-        return cs;
-    }
-
     /**
      * Writes a CSV representation of the given Grid to the given OutputStream.
      */
@@ -883,25 +790,4 @@ public class GridUtils
     {
         return grid != null && grid.getVisibleWidth() > 0;
     }
-
-    private static CellStyle createHeaderCellStyle( Workbook workbook )
-    {
-        CellStyle headerCellStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold( true );
-        headerFont.setFontHeightInPoints( (short) 10 );
-        headerFont.setFontName( FONT_ARIAL );
-        headerCellStyle.setFont( headerFont );
-        return headerCellStyle;
-    }
-
-    private static CellStyle createCellStyle( Workbook workbook )
-    {
-        CellStyle cellStyle = workbook.createCellStyle();
-        Font cellFont = workbook.createFont();
-        cellFont.setFontHeightInPoints( (short) 10 );
-        cellFont.setFontName( FONT_ARIAL );
-        cellStyle.setFont( cellFont );
-        return cellStyle;
-    }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.commons.collection.ListUtils;
+import org.hisp.dhis.system.util.CodecUtils;
+
+/**
+ * Writes grids as sheets of an Excel workbook, one row at a time.
+ * <p>
+ * The {@link #xlsx()} writer is backed by a streaming workbook which only
+ * keeps a fixed window of rows in memory and flushes older rows to a
+ * (compressed) temporary file, so rows can be added straight from a query
+ * without holding all of them. The {@link #xls()} writer produces the legacy
+ * format and keeps the full workbook in memory.
+ * <p>
+ * Instances must be closed to release the temporary files.
+ */
+@Slf4j
+public class GridWorkbookWriter
+    implements AutoCloseable
+{
+    /**
+     * Number of rows of the streaming workbook kept in memory.
+     */
+    public static final int ROW_ACCESS_WINDOW_SIZE = 500;
+
+    private static final String EMPTY = "";
+
+    private static final String SHEET_PREFIX = "Sheet ";
+
+    private static final String FONT_ARIAL = "Arial";
+
+    private static final String DECIMAL_DIGITS_MASK = "#.##########";
+
+    private final Workbook workbook;
+
+    private final int maxColumns;
+
+    private final CellStyle headerCellStyle;
+
+    private final CellStyle cellStyle;
+
+    private final CellStyle numberCellStyle;
+
+    private Sheet sheet;
+
+    private int rowNumber;
+
+    private GridWorkbookWriter( Workbook workbook, SpreadsheetVersion version )
+    {
+        this.workbook = workbook;
+        this.maxColumns = version.getMaxColumns();
+        this.headerCellStyle = createCellStyle( workbook, true );
+        this.cellStyle = createCellStyle( workbook, false );
+        this.numberCellStyle = workbook.createCellStyle();
+        this.numberCellStyle.setDataFormat( workbook.createDataFormat().getFormat( DECIMAL_DIGITS_MASK ) );
+    }
+
+    /**
+     * @return a writer for the legacy binary Excel format (.xls).
+     */
+    public static GridWorkbookWriter xls()
+    {
+        return new GridWorkbookWriter( new HSSFWorkbook(), SpreadsheetVersion.EXCEL97 );
+    }
+
+    /**
+     * @return a streaming writer for the Office Open XML format (.xlsx).
+     */
+    public static GridWorkbookWriter xlsx()
+    {
+        SXSSFWorkbook workbook = new SXSSFWorkbook( ROW_ACCESS_WINDOW_SIZE );
+        workbook.setCompressTempFiles( true );
+
+        return new GridWorkbookWriter( workbook, SpreadsheetVersion.EXCEL2007 );
+    }
+
+    /**
+     * @return true if a sheet has been started.
+     */
+    public boolean hasSheet()
+    {
+        return sheet != null;
+    }
+
+    /**
+     * Starts a new sheet and writes the title, subtitle and visible headers of
+     * the given grid. Rows of the grid are not written, see
+     * {@link #addRows(Grid)}.
+     *
+     * @param grid the grid.
+     * @return this writer.
+     */
+    public GridWorkbookWriter startSheet( Grid grid )
+    {
+        String sheetName = CodecUtils.filenameEncode(
+            StringUtils.defaultIfEmpty( grid.getTitle(), SHEET_PREFIX + (workbook.getNumberOfSheets() + 1) ) );
+
+        sheet = workbook.createSheet( sheetName );
+        rowNumber = 0;
+
+        List<GridHeader> headers = grid.getVisibleHeaders();
+
+        if ( headers.size() > maxColumns )
+        {
+            log.warn( "Grid will be truncated, no of columns is greater than max limit: " + headers.size() + "/"
+                + maxColumns );
+        }
+
+        if ( StringUtils.isNotEmpty( grid.getTitle() ) )
+        {
+            addHeaderCell( sheet.createRow( rowNumber ), 0, grid.getTitle() );
+            rowNumber++;
+        }
+
+        if ( StringUtils.isNotEmpty( grid.getSubtitle() ) )
+        {
+            addHeaderCell( sheet.createRow( ++rowNumber ), 0, grid.getSubtitle() );
+            rowNumber++;
+        }
+
+        Row headerRow = sheet.createRow( ++rowNumber );
+        int columnIndex = 0;
+
+        for ( GridHeader header : ListUtils.subList( headers, 0, maxColumns ) )
+        {
+            addHeaderCell( headerRow, columnIndex++, header.getColumn() );
+        }
+
+        rowNumber++;
+
+        return this;
+    }
+
+    /**
+     * Writes the visible rows of the given grid to the current sheet.
+     *
+     * @param grid the grid.
+     * @return this writer.
+     */
+    public GridWorkbookWriter addRows( Grid grid )
+    {
+        for ( List<Object> row : grid.getVisibleRows() )
+        {
+            addRow( row );
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes the given row to the current sheet.
+     *
+     * @param row the row values.
+     * @return this writer.
+     */
+    public GridWorkbookWriter addRow( List<Object> row )
+    {
+        Row xlsRow = sheet.createRow( rowNumber++ );
+        xlsRow.setRowStyle( cellStyle );
+        int columnIndex = 0;
+
+        for ( Object column : ListUtils.subList( row, 0, maxColumns ) )
+        {
+            if ( column != null && Number.class.isAssignableFrom( column.getClass() ) )
+            {
+                Cell cell = xlsRow.createCell( columnIndex++, CellType.NUMERIC );
+                cell.setCellStyle( numberCellStyle );
+                cell.setCellValue( ((Number) column).doubleValue() );
+            }
+            else
+            {
+                xlsRow.createCell( columnIndex++, CellType.STRING )
+                    .setCellValue( column != null ? String.valueOf( column ) : EMPTY );
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes the workbook to the given output stream. Does not close the
+     * stream.
+     *
+     * @param out the output stream.
+     * @throws IOException if writing to the stream fails.
+     */
+    public void write( OutputStream out )
+        throws IOException
+    {
+        workbook.write( out );
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        if ( workbook instanceof SXSSFWorkbook )
+        {
+            ((SXSSFWorkbook) workbook).dispose();
+        }
+
+        workbook.close();
+    }
+
+    private void addHeaderCell( Row row, int columnIndex, String value )
+    {
+        Cell cell = row.createCell( columnIndex, CellType.STRING );
+        cell.setCellValue( value );
+        cell.setCellStyle( headerCellStyle );
+    }
+
+    private static CellStyle createCellStyle( Workbook workbook, boolean bold )
+    {
+        CellStyle cellStyle = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold( bold );
+        font.setFontHeightInPoints( (short) 10 );
+        font.setFontName( FONT_ARIAL );
+        cellStyle.setFont( font );
+        return cellStyle;
+    }
+}
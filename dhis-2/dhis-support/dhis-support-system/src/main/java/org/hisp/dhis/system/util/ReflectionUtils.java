@@ -42,6 +42,8 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -52,6 +54,7 @@ import org.springframework.util.StringUtils;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.primitives.Primitives;
 
 /**
  * @author Lars Helge Overland
@@ -457,6 +460,92 @@ public class ReflectionUtils
         }
     }
 
+    /**
+     * Reads the value of the given property from the target object. Uses the
+     * generated getter accessor of the property if present and falls back to
+     * {@link #invokeMethod(Object, Method, Object...)} on the getter method.
+     *
+     * @param target the object to read from
+     * @param property the property to read
+     * @return the property value, null if the target is null
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> T invokeGetter( Object target, Property property )
+    {
+        Function<Object, Object> getter = property.getGetterAccessor();
+
+        if ( getter == null || !isDeclaringInstance( target, property.getGetterMethod() ) )
+        {
+            return invokeMethod( target, property.getGetterMethod() );
+        }
+
+        try
+        {
+            return (T) getter.apply( target );
+        }
+        catch ( Throwable ex )
+        {
+            throw asInvocationException( ex );
+        }
+    }
+
+    /**
+     * Writes the value of the given property on the target object. Uses the
+     * generated setter accessor of the property if present and falls back to
+     * {@link #invokeMethod(Object, Method, Object...)} on the setter method.
+     *
+     * @param target the object to write to
+     * @param property the property to write
+     * @param value the new property value
+     */
+    public static void invokeSetter( Object target, Property property, Object value )
+    {
+        BiConsumer<Object, Object> setter = property.getSetterAccessor();
+        Method method = property.getSetterMethod();
+
+        if ( setter == null || !isDeclaringInstance( target, method ) || !isParameterInstance( method, value ) )
+        {
+            invokeMethod( target, method, value );
+            return;
+        }
+
+        try
+        {
+            setter.accept( target, value );
+        }
+        catch ( Throwable ex )
+        {
+            throw asInvocationException( ex );
+        }
+    }
+
+    private static boolean isDeclaringInstance( Object target, Method method )
+    {
+        return target != null && method.getDeclaringClass().isInstance( target );
+    }
+
+    /**
+     * Values the accessor cannot pass to the setter, like a value of another
+     * type or null for a primitive, are left to {@link Method#invoke} which
+     * converts or rejects them with an {@link IllegalArgumentException}.
+     */
+    private static boolean isParameterInstance( Method method, Object value )
+    {
+        Class<?> type = method.getParameterTypes()[0];
+
+        return value == null ? !type.isPrimitive() : Primitives.wrap( type ).isInstance( value );
+    }
+
+    /**
+     * Wraps an exception thrown by an accessor the same way
+     * {@link #invokeMethod(Object, Method, Object...)} wraps an exception
+     * thrown by the invoked method.
+     */
+    private static RuntimeException asInvocationException( Throwable ex )
+    {
+        return new RuntimeException( new InvocationTargetException( ex ) );
+    }
+
     public static Collection<Field> collectFields( Class<?> clazz, Predicate<Field> predicate )
     {
         Class<?> type = clazz;
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class TwoTierCacheTest
+{
+    @Mock
+    private TwoTierCacheInvalidationPublisher invalidationPublisher;
+
+    private Cache<String> sharedCache;
+
+    private TwoTierCache<String> cache;
+
+    @BeforeEach
+    void setUp()
+    {
+        CacheBuilder<String> builder = new SimpleCacheBuilder<String>().forRegion( "testRegion" )
+            .withMaximumSize( 100 );
+
+        sharedCache = builder.build();
+        cache = new TwoTierCache<>( builder, sharedCache, 10, 60, invalidationPublisher );
+    }
+
+    @Test
+    void testGetServedFromLocalAfterSharedHit()
+    {
+        sharedCache.put( "A", "valueA" );
+
+        assertEquals( "valueA", cache.get( "A" ).get() );
+        sharedCache.invalidate( "A" );
+        assertEquals( "valueA", cache.get( "A" ).get() );
+        assertFalse( cache.getIfPresent( "B" ).isPresent() );
+
+        assertEquals( 1, cache.getSharedHits() );
+        assertEquals( 1, cache.getLocalHits() );
+        assertEquals( 1, cache.getMisses() );
+    }
+
+    @Test
+    void testPutWritesBothTiersAndPublishes()
+    {
+        cache.put( "A", "valueA" );
+
+        assertEquals( "valueA", sharedCache.get( "A" ).get() );
+        assertEquals( "valueA", cache.get( "A" ).get() );
+        assertEquals( 1, cache.getLocalHits() );
+        verify( invalidationPublisher ).publishInvalidation( "testRegion", "A" );
+    }
+
+    @Test
+    void testPutWithExpiryRejectsNullValue()
+    {
+        assertThrows( IllegalArgumentException.class, () -> cache.put( "A", null, 30 ) );
+
+        assertFalse( sharedCache.get( "A" ).isPresent() );
+        assertFalse( cache.get( "A" ).isPresent() );
+        verifyNoInteractions( invalidationPublisher );
+    }
+
+    @Test
+    void testInvalidateLocalFallsBackToShared()
+    {
+        cache.put( "A", "valueA" );
+        sharedCache.put( "A", "valueB" );
+
+        cache.invalidateLocal( "A" );
+
+        assertEquals( "valueB", cache.get( "A" ).get() );
+        assertEquals( 1, cache.getSharedHits() );
+    }
+
+    @Test
+    void testInvalidateAllClearsBothTiersAndPublishes()
+    {
+        cache.put( "A", "valueA" );
+
+        cache.invalidateAll();
+
+        assertFalse( sharedCache.getIfPresent( "A" ).isPresent() );
+        assertFalse( cache.getIfPresent( "A" ).isPresent() );
+        verify( invalidationPublisher ).publishInvalidationAll( "testRegion" );
+    }
+
+    @Test
+    void testGetWithMappingFunctionPopulatesBothTiers()
+    {
+        assertEquals( "valueA", cache.get( "A", key -> "valueA" ) );
+
+        assertTrue( sharedCache.getIfPresent( "A" ).isPresent() );
+        assertEquals( "valueA", cache.get( "A", key -> "other" ) );
+        assertEquals( 1, cache.getLocalHits() );
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ColumnarGrid}, running the {@link GridTest} suite in
+ * addition to tests of the columnar storage.
+ */
+class ColumnarGridTest extends GridTest
+{
+    @Override
+    protected Grid newGrid()
+    {
+        return new ColumnarGrid();
+    }
+
+    @Test
+    void testNumericAndDimensionColumns()
+    {
+        Grid grid = newGrid();
+        grid.addRow().addValuesVar( "a", 1.5 );
+        grid.addRow().addValuesVar( "b", null );
+        grid.addRow().addValuesVar( "a", 3.0 );
+
+        assertEquals( List.of( "a", "b", "a" ), grid.getColumn( 0 ) );
+        assertEquals( 1.5, grid.getValue( 0, 1 ) );
+        assertNull( grid.getValue( 1, 1 ) );
+        assertEquals( 3.0, grid.getValue( 2, 1 ) );
+    }
+
+    @Test
+    void testWidenColumn()
+    {
+        Grid grid = newGrid();
+        grid.addRow().addValuesVar( null, 1.5 );
+        grid.addRow().addValuesVar( "b", 2 );
+        grid.addRow().addValuesVar( "c", "three" );
+
+        assertEquals( List.of( 1.5, 2, "three" ), grid.getColumn( 1 ) );
+        assertEquals( "b", grid.getValue( 1, 0 ) );
+        assertNull( grid.getValue( 0, 0 ) );
+    }
+
+    @Test
+    void testSetValueThroughRow()
+    {
+        Grid grid = newGrid();
+        grid.addRow().addValuesVar( "a", 1.0 );
+        grid.addRow().addValuesVar( "b", 2.0 );
+
+        List<Object> row = grid.getRow( 1 );
+        assertEquals( 2.0, row.set( 1, 4.0 ) );
+        row.set( 0, "c" );
+
+        assertEquals( List.of( "c", 4.0 ), grid.getRow( 1 ) );
+        assertThrows( UnsupportedOperationException.class, () -> row.add( 5.0 ) );
+    }
+
+    @Test
+    void testSortNumericColumnWithNulls()
+    {
+        Grid grid = newGrid();
+        grid.addRow().addValuesVar( "a", 5.2 );
+        grid.addRow().addValuesVar( "b", null );
+        grid.addRow().addValuesVar( "c", 108.1 );
+        grid.addRow().addValuesVar( "d", 0.1 );
+
+        grid.sortGrid( 2, 1 );
+        assertEquals( List.of( "c", "a", "d", "b" ), grid.getColumn( 0 ) );
+
+        grid.sortGrid( 2, -1 );
+        assertEquals( List.of( "b", "d", "a", "c" ), grid.getColumn( 0 ) );
+
+        grid.sortGrid( 1, 1 );
+        assertEquals( List.of( "d", "c", "b", "a" ), grid.getColumn( 0 ) );
+    }
+
+    @Test
+    void testLimitAndAddRows()
+    {
+        Grid grid = newGrid();
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            grid.addRow().addValuesVar( "ou" + i, (double) i );
+        }
+
+        grid.limitGrid( 10, 20 );
+        assertEquals( 10, grid.getHeight() );
+        assertEquals( "ou10", grid.getValue( 0, 0 ) );
+        assertEquals( 19.0, grid.getValue( 9, 1 ) );
+
+        grid.addRow().addValuesVar( "ou100", 100.0 );
+        assertEquals( 11, grid.getHeight() );
+        assertEquals( List.of( "ou100", 100.0 ), grid.getRow( 10 ) );
+    }
+
+    @Test
+    void testSerialization()
+    {
+        Grid grid = newGrid();
+        grid.addHeader( new GridHeader( "ou" ) ).addHeader( new GridHeader( "value" ) );
+        grid.addRow().addValuesVar( "a", 1.0 );
+        grid.addRow().addValuesVar( "b", null );
+
+        Grid clone = SerializationUtils.clone( grid );
+
+        assertEquals( 2, clone.getHeaderWidth() );
+        assertEquals( grid.getRows(), clone.getRows() );
+    }
+}
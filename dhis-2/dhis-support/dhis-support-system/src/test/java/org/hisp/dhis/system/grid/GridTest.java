@@ -82,8 +82,8 @@ class GridTest
     @BeforeEach
     void setUp()
     {
-        gridA = new ListGrid();
-        gridB = new ListGrid();
+        gridA = newGrid();
+        gridB = newGrid();
         headerA = new GridHeader( "ColA", "colA", ValueType.TEXT, false, true,
             null, null, "programStage", new RepeatableStageParams() );
         headerB = new GridHeader( "ColB", "colB", ValueType.TEXT, false, true );
@@ -113,6 +113,14 @@ class GridTest
         gridB.addValue( 13 );
     }
 
+    /**
+     * Returns the {@link Grid} implementation under test.
+     */
+    protected Grid newGrid()
+    {
+        return new ListGrid();
+    }
+
     @Test
     void testAddGrid()
     {
@@ -123,7 +131,7 @@ class GridTest
     @Test
     void testAddHeaders()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         GridHeader headerA = new GridHeader( "DataElementA", "Data element A" );
         GridHeader headerB = new GridHeader( "DataElementB", "Data element B" );
         GridHeader headerC = new GridHeader( "DataElementC", "Data element C" );
@@ -142,7 +150,7 @@ class GridTest
     @Test
     void testColumnIsEmpty()
     {
-        Grid grid = new ListGrid().addRow().addValuesVar( "A1", null, "A3", null ).addRow()
+        Grid grid = newGrid().addRow().addValuesVar( "A1", null, "A3", null ).addRow()
             .addValuesVar( "B1", null, "B3", null ).addRow().addValuesVar( null, null, "C3", null ).addRow()
             .addValuesVar( "D1", null, null, null );
         assertFalse( grid.columnIsEmpty( 0 ) );
@@ -154,7 +162,7 @@ class GridTest
     @Test
     void testRemoveEmptyColumns()
     {
-        Grid grid = new ListGrid().addHeader( new GridHeader( "H1" ) ).addHeader( new GridHeader( "H2" ) )
+        Grid grid = newGrid().addHeader( new GridHeader( "H1" ) ).addHeader( new GridHeader( "H2" ) )
             .addHeader( new GridHeader( "H3" ) ).addHeader( new GridHeader( "H4" ) ).addRow()
             .addValuesVar( "A1", null, "A3", null ).addRow().addValuesVar( "B1", null, "B3", null ).addRow()
             .addValuesVar( null, null, "C3", null ).addRow().addValuesVar( "D1", null, null, null );
@@ -167,7 +175,7 @@ class GridTest
     @Test
     void testRemoveEmptyColumnsWithoutHeaders()
     {
-        Grid grid = new ListGrid().addRow().addValuesVar( "A1", null, "A3", null ).addRow()
+        Grid grid = newGrid().addRow().addValuesVar( "A1", null, "A3", null ).addRow()
             .addValuesVar( "B1", null, "B3", null ).addRow().addValuesVar( null, null, "C3", null ).addRow()
             .addValuesVar( "D1", null, null, null );
         assertEquals( 4, grid.getWidth() );
@@ -178,7 +186,7 @@ class GridTest
     @Test
     void testAddHeaderList()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         GridHeader headerA = new GridHeader( "DataElementA", "Data element A" );
         GridHeader headerB = new GridHeader( "DataElementB", "Data element B" );
         GridHeader headerC = new GridHeader( "DataElementC", "Data element C" );
@@ -518,7 +526,7 @@ class GridTest
     @Test
     void testSortA()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addRow().addValue( 1 ).addValue( "a" );
         grid.addRow().addValue( 2 ).addValue( "b" );
         grid.addRow().addValue( 3 ).addValue( "c" );
@@ -534,7 +542,7 @@ class GridTest
     @Test
     void testSortB()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addRow().addValue( 3 ).addValue( "a" );
         grid.addRow().addValue( 2 ).addValue( "b" );
         grid.addRow().addValue( 1 ).addValue( "c" );
@@ -550,7 +558,7 @@ class GridTest
     @Test
     void testSortC()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addRow().addValue( 1 ).addValue( "c" );
         grid.addRow().addValue( 3 ).addValue( "a" );
         grid.addRow().addValue( 2 ).addValue( "b" );
@@ -566,7 +574,7 @@ class GridTest
     @Test
     void testSortD()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addRow().addValue( "a" ).addValue( "a" ).addValue( 5.2 );
         grid.addRow().addValue( "b" ).addValue( "b" ).addValue( 0.0 );
         grid.addRow().addValue( "c" ).addValue( "c" ).addValue( 108.1 );
@@ -591,7 +599,7 @@ class GridTest
     @Test
     void testSortE()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addRow().addValue( "two" ).addValue( 2 );
         grid.addRow().addValue( "null" ).addValue( null );
         grid.addRow().addValue( "three" ).addValue( 3 );
@@ -607,7 +615,7 @@ class GridTest
     @Test
     void testSortF()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addRow().addValue( "two" ).addValue( 2 );
         grid.addRow().addValue( "null" ).addValue( null );
         grid.addRow().addValue( "one" ).addValue( 1 );
@@ -640,7 +648,7 @@ class GridTest
     @Test
     void testAddRegressionColumn()
     {
-        gridA = new ListGrid();
+        gridA = newGrid();
         gridA.addRow();
         gridA.addValue( 10.0 );
         gridA.addRow();
@@ -661,7 +669,7 @@ class GridTest
     @Test
     void testAddCumulativeColumn()
     {
-        gridA = new ListGrid();
+        gridA = newGrid();
         gridA.addRow();
         gridA.addValue( 10.0 );
         gridA.addRow();
@@ -740,7 +748,7 @@ class GridTest
     @Test
     void testAddValuesAsList()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addRow().addValuesAsList( Lists.newArrayList( "colA1", "colB1", "colC1" ) );
         grid.addRow().addValuesAsList( Lists.newArrayList( "colA2", "colB2", "colC2" ) );
         assertEquals( 2, grid.getHeight() );
@@ -757,7 +765,7 @@ class GridTest
         GridHeader headerB = new GridHeader( "headerB", "Header B" );
         GridHeader headerC = new GridHeader( "headerC", "Header C" );
 
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addHeader( headerA );
         grid.addHeader( headerB );
         grid.addHeader( headerC );
@@ -784,7 +792,7 @@ class GridTest
         GridHeader headerB = new GridHeader( "headerB", "Header B" );
         GridHeader headerC = new GridHeader( "headerC", "Header C" );
 
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addHeader( headerA );
         grid.addHeader( headerB );
         grid.addHeader( headerC );
@@ -807,7 +815,7 @@ class GridTest
     @Test
     void testGetIndexOfHeader()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addHeader( new GridHeader( "headerA", "Header A" ) );
         grid.addHeader( new GridHeader( "headerB", "Header B" ) );
         grid.addHeader( new GridHeader( "headerC", "Header C" ) );
@@ -824,7 +832,7 @@ class GridTest
     @Test
     void testHeaderExists()
     {
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addHeader( new GridHeader( "headerA", "Header A" ) );
         grid.addHeader( new GridHeader( "headerB", "Header B" ) );
         grid.addHeader( new GridHeader( "headerC", "Header C" ) );
@@ -846,7 +854,7 @@ class GridTest
         GridHeader headerB = new GridHeader( "headerB", "Header B" );
         GridHeader headerC = new GridHeader( "headerC", "Header C" );
 
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addHeader( headerA );
         grid.addHeader( headerB );
         grid.addHeader( headerC );
@@ -874,7 +882,7 @@ class GridTest
         GridHeader headerB = new GridHeader( "headerB", "Header B" );
         GridHeader headerC = new GridHeader( "headerC", "Header C" );
 
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addHeader( headerA );
         grid.addHeader( headerB );
         grid.addHeader( headerC );
@@ -961,7 +969,7 @@ class GridTest
         GridHeader headerB = new GridHeader( "headerB", "Header B" );
         GridHeader headerC = new GridHeader( "headerC", "Header C" );
 
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addHeader( headerA );
         grid.addHeader( headerB );
         grid.addHeader( headerC );
@@ -988,7 +996,7 @@ class GridTest
         GridHeader headerB = new GridHeader( "headerB", "Header B" );
         GridHeader headerC = new GridHeader( "headerC", "Header C" );
 
-        Grid grid = new ListGrid();
+        Grid grid = newGrid();
         grid.addHeader( headerA );
         grid.addHeader( headerB );
         grid.addHeader( headerC );
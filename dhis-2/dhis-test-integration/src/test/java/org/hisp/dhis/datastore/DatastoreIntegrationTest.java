@@ -30,6 +30,7 @@ package org.hisp.dhis.datastore;
 import static java.util.stream.Collectors.toList;
 import static org.hisp.dhis.utils.JavaToJson.toJson;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import java.util.Map;
@@ -85,6 +86,57 @@ class DatastoreIntegrationTest extends IntegrationTestBase
         datastore.deleteNamespace( "pets" );
     }
 
+    /*
+     * Indexes
+     */
+
+    @Test
+    void testAddIndex()
+    {
+        createAndInjectAdminUser();
+        DatastoreIndex index = datastore.createIndex( "pets", "name" );
+        datastore.addIndex( index );
+        try
+        {
+            assertEquals( List.of( "name" ), datastore.getIndexedPaths( "pets" ) );
+            assertEntries( "name:eq:Miao", "cat" );
+            assertEntries( "name:!null", "cat", "cow", "hamster", "pig" );
+        }
+        finally
+        {
+            datastore.removeIndex( index );
+        }
+    }
+
+    @Test
+    void testAddIndex_AlreadyDeclared()
+    {
+        createAndInjectAdminUser();
+        DatastoreIndex index = datastore.createIndex( "pets", "age" );
+        datastore.addIndex( index );
+        try
+        {
+            datastore.addIndex( index );
+            assertEquals( List.of( "age" ), datastore.getIndexedPaths( "pets" ) );
+        }
+        finally
+        {
+            datastore.removeIndex( index );
+        }
+    }
+
+    @Test
+    void testRemoveIndex()
+    {
+        createAndInjectAdminUser();
+        DatastoreIndex index = datastore.createIndex( "pets", "name" );
+        datastore.addIndex( index );
+        datastore.removeIndex( index );
+
+        assertTrue( datastore.getIndexedPaths( "pets" ).isEmpty() );
+        assertEntries( "name:eq:Miao", "cat" );
+    }
+
     private DatastoreEntry addEntry( String key, String value )
     {
         DatastoreEntry entry = new DatastoreEntry( "pets", key, value.replace( '\'', '"' ), false );
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.jdbc.batchhandler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import javax.sql.DataSource;
+
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementService;
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodService;
+import org.hisp.dhis.period.PeriodType;
+import org.hisp.dhis.period.PeriodTypeEnum;
+import org.hisp.dhis.test.integration.IntegrationTestBase;
+import org.hisp.quick.BatchHandler;
+import org.hisp.quick.BatchHandlerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Tests the merge of the {@link DataValueCopyWriter} into existing data values
+ * on a postgres database.
+ */
+class DataValueCopyWriterIntegrationTest extends IntegrationTestBase
+{
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BatchHandlerFactory batchHandlerFactory;
+
+    @Autowired
+    private DataElementService dataElementService;
+
+    @Autowired
+    private PeriodService periodService;
+
+    @Autowired
+    private OrganisationUnitService organisationUnitService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private BatchHandler<DataValue> batchHandler;
+
+    private DataElement dataElementA;
+
+    private CategoryOptionCombo categoryOptionComboA;
+
+    private Period periodA;
+
+    private OrganisationUnit unitA;
+
+    @Override
+    public void setUpTest()
+    {
+        batchHandler = batchHandlerFactory.createBatchHandler( DataValueBatchHandler.class ).init();
+        dataElementA = createDataElement( 'A' );
+        dataElementService.addDataElement( dataElementA );
+        categoryOptionComboA = categoryService.getDefaultCategoryOptionCombo();
+        periodA = createPeriod( PeriodType.getPeriodType( PeriodTypeEnum.MONTHLY ), getDate( 2000, 1, 1 ),
+            getDate( 2000, 1, 31 ) );
+        periodService.addPeriod( periodA );
+        unitA = createOrganisationUnit( 'A' );
+        organisationUnitService.addOrganisationUnit( unitA );
+    }
+
+    @Override
+    public void tearDownTest()
+    {
+        batchHandler.flush();
+    }
+
+    @Test
+    void testMergeKeepsCreatedOfExistingValue()
+    {
+        copy( createValue( "10", getDate( 2000, 2, 1 ), false ) );
+        copy( createValue( "11", getDate( 2001, 2, 1 ), false ) );
+
+        DataValue value = batchHandler.findObject( createValue( null, null, false ) );
+        assertEquals( "11", value.getValue() );
+        assertEquals( getDate( 2000, 2, 1 ), new Date( value.getCreated().getTime() ) );
+        assertFalse( value.isDeleted() );
+    }
+
+    @Test
+    void testMergeRestoresSoftDeletedValue()
+    {
+        copy( createValue( "10", getDate( 2000, 2, 1 ), true ) );
+        copy( createValue( "11", getDate( 2001, 2, 1 ), false ) );
+
+        DataValue value = batchHandler.findObject( createValue( null, null, false ) );
+        assertEquals( "11", value.getValue() );
+        assertEquals( getDate( 2000, 2, 1 ), new Date( value.getCreated().getTime() ) );
+        assertFalse( value.isDeleted() );
+    }
+
+    @Test
+    void testMergeMarksValueDeleted()
+    {
+        copy( createValue( "10", getDate( 2000, 2, 1 ), false ) );
+        copy( createValue( "10", getDate( 2001, 2, 1 ), true ) );
+
+        assertTrue( batchHandler.findObject( createValue( null, null, false ) ).isDeleted() );
+    }
+
+    private void copy( DataValue value )
+    {
+        try ( DataValueCopyWriter writer = new DataValueCopyWriter( dataSource ).init() )
+        {
+            assertTrue( writer.addObject( value ) );
+            writer.flush();
+        }
+    }
+
+    private DataValue createValue( String value, Date created, boolean deleted )
+    {
+        DataValue dataValue = createDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA, value );
+        dataValue.setCreated( created );
+        dataValue.setLastUpdated( created );
+        dataValue.setDeleted( deleted );
+        return dataValue;
+    }
+}
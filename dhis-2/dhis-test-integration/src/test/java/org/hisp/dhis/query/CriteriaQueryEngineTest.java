@@ -37,6 +37,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.Hibernate;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ValueType;
@@ -637,4 +638,18 @@ class CriteriaQueryEngineTest extends TransactionalIntegrationTest
         assertEquals( 0, queryEngine.count( query ) );
         assertEquals( 0, queryEngine.query( query ).size() );
     }
+
+    @Test
+    void testFetchInitializesCollections()
+    {
+        identifiableObjectManager.flush();
+        identifiableObjectManager.clear();
+        Query query = Query.from( schemaService.getDynamicSchema( DataElement.class ) );
+        List<? extends IdentifiableObject> objects = queryEngine.query( query );
+        assertEquals( 6, objects.size() );
+        assertTrue( objects.stream().noneMatch( de -> Hibernate.isInitialized( ((DataElement) de).getGroups() ) ) );
+        queryEngine.fetch( DataElement.class, objects, List.of( "dataElementGroups" ) );
+        assertTrue( objects.stream().allMatch( de -> Hibernate.isInitialized( ((DataElement) de).getGroups() ) ) );
+        assertTrue( objects.stream().allMatch( de -> ((DataElement) de).getGroups().size() == 1 ) );
+    }
 }
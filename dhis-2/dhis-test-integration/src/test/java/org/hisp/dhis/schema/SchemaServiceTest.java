@@ -30,9 +30,17 @@ package org.hisp.dhis.schema;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.hisp.dhis.dataexchange.aggregate.AggregateDataExchange;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -143,4 +151,49 @@ class SchemaServiceTest extends SingleSetupIntegrationTestBase
         assertFalse( schema.getProperties().isEmpty() );
         assertEquals( 4, schema.getProperties().size() );
     }
+
+    @Test
+    void testGetDynamicSchemaConcurrently()
+        throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        CountDownLatch start = new CountDownLatch( 1 );
+        try
+        {
+            List<Future<Schema>> schemas = new ArrayList<>();
+            for ( int i = 0; i < 32; i++ )
+            {
+                schemas.add( executor.submit( () -> {
+                    start.await();
+                    return schemaService.getDynamicSchema( DynamicType.class );
+                } ) );
+            }
+            start.countDown();
+
+            Schema schema = schemaService.getDynamicSchema( DynamicType.class );
+            for ( Future<Schema> other : schemas )
+            {
+                assertSame( schema, other.get( 10, TimeUnit.SECONDS ) );
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    public static class DynamicType
+    {
+        private String name;
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public void setName( String name )
+        {
+            this.name = name;
+        }
+    }
 }
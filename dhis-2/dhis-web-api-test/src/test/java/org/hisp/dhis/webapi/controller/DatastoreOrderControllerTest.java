@@ -32,6 +32,7 @@ import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.hisp.dhis.web.HttpStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -83,4 +84,26 @@ class DatastoreOrderControllerTest extends AbstractDatastoreControllerTest
         assertJson( "[{'key':'cow'},{'key':'cat'},{'key':'pig'},{'key':'dog'}]",
             GET( "/dataStore/pets?fields=&headless=true&order=age:ndesc" ) );
     }
+
+    @Test
+    void testOrder_After_Asc()
+    {
+        assertJson( "[{'key':'cow'},{'key':'dog'}]",
+            GET( "/dataStore/pets?fields=&headless=true&pageSize=2&after=cat" ) );
+    }
+
+    @Test
+    void testOrder_After_Desc()
+    {
+        assertJson( "[{'key':'cow'},{'key':'cat'}]",
+            GET( "/dataStore/pets?fields=&headless=true&order=_:desc&after=dog" ) );
+    }
+
+    @Test
+    void testOrder_After_NonKeyOrder()
+    {
+        assertWebMessage( "Conflict", 409, "ERROR",
+            "Illegal paging after `cat`: paging after a key requires the entries to be ordered by key",
+            GET( "/dataStore/pets?fields=&headless=true&order=name&after=cat" ).content( HttpStatus.CONFLICT ) );
+    }
 }
@@ -38,7 +38,6 @@ import static org.springframework.http.MediaType.APPLICATION_XML_VALUE;
 import static org.springframework.http.MediaType.TEXT_XML_VALUE;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -91,6 +90,7 @@ import org.hisp.dhis.schema.MergeService;
 import org.hisp.dhis.schema.Property;
 import org.hisp.dhis.schema.validation.SchemaValidator;
 import org.hisp.dhis.sharing.SharingService;
+import org.hisp.dhis.system.util.ReflectionUtils;
 import org.hisp.dhis.translation.Translation;
 import org.hisp.dhis.user.CurrentUser;
 import org.hisp.dhis.user.User;
@@ -256,15 +256,8 @@ public abstract class AbstractCrudController<T extends IdentifiableObject> exten
             throw new BadRequestException( "Unknown payload format." );
         }
 
-        try
-        {
-            Object value = property.getGetterMethod().invoke( object );
-            property.getSetterMethod().invoke( patchedObject, value );
-        }
-        catch ( IllegalAccessException | InvocationTargetException ex )
-        {
-            throw new RuntimeException( ex );
-        }
+        Object value = ReflectionUtils.invokeGetter( object, property );
+        ReflectionUtils.invokeSetter( patchedObject, property, value );
         prePatchEntity( persistedObject, patchedObject );
 
         Map<String, List<String>> parameterValuesMap = contextService.getParameterValuesMap();
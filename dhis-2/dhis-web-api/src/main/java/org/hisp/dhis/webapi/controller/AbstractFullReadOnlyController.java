@@ -282,6 +282,11 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
             pager = new Pager( options.getPage(), totalCount, options.getPageSize() );
         }
 
+        // load the associations selected by the fields up front instead of
+        // lazy loading them per entity while rendering
+        queryService.fetch( getEntityClass(), entities,
+            fieldFilterService.getFetchPaths( getEntityClass(), fields ) );
+
         postProcessResponseEntities( entities, options, rpParameters );
 
         handleLinksAndAccess( entities, fields, false );
@@ -368,7 +373,7 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
                 {
                     schemaBuilder.addColumn( property.getName() );
                     obj2valueByProperty.put( property.getName(),
-                        obj -> ReflectionUtils.invokeMethod( obj, property.getGetterMethod() ) );
+                        obj -> ReflectionUtils.invokeGetter( obj, property ) );
                 }
             }
         }
@@ -428,7 +433,7 @@ public abstract class AbstractFullReadOnlyController<T extends IdentifiableObjec
 
     private static List<String> getCollectionValue( Object obj, Property property )
     {
-        Object value = ReflectionUtils.invokeMethod( obj, property.getGetterMethod() );
+        Object value = ReflectionUtils.invokeGetter( obj, property );
 
         @SuppressWarnings( "unchecked" )
         Collection<IdentifiableObject> collection = (Collection<IdentifiableObject>) value;
@@ -166,6 +166,17 @@ public class AnalyticsController
             "data.xls", response ), response.getOutputStream() );
     }
 
+    @GetMapping( value = RESOURCE_PATH + ".xlsx" )
+    public void getXlsx(
+        AggregateAnalyticsQueryCriteria criteria,
+        DhisApiVersion apiVersion,
+        HttpServletResponse response )
+        throws Exception
+    {
+        GridUtils.toXlsx( getGridWithAttachment( criteria, apiVersion, ContextUtils.CONTENT_TYPE_XLSX,
+            "data.xlsx", response ), response.getOutputStream() );
+    }
+
     @GetMapping( value = RESOURCE_PATH + ".jrxml" )
     public void getJrxml(
         AggregateAnalyticsQueryCriteria criteria,
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.webapi.controller;
+
+import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.conflict;
+import static org.hisp.dhis.dxf2.webmessage.WebMessageUtils.jobConfigurationReport;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+
+import org.hisp.dhis.common.DhisApiVersion;
+import org.hisp.dhis.common.OpenApi;
+import org.hisp.dhis.datastore.DatastoreIndex;
+import org.hisp.dhis.datastore.DatastoreService;
+import org.hisp.dhis.dxf2.webmessage.WebMessage;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.scheduling.SchedulingManager;
+import org.hisp.dhis.scheduling.parameters.DatastoreIndexJobParameters;
+import org.hisp.dhis.user.CurrentUser;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.webapi.mvc.annotation.ApiVersion;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * Manages the {@link DatastoreIndex}es of datastore namespaces. Kept apart from
+ * {@link DatastoreController} so that the paths do not shadow entry keys.
+ * Indexes are added and removed by a job as building them takes long for large
+ * namespaces.
+ */
+@OpenApi.Tags( "data" )
+@Controller
+@RequestMapping( "/dataStoreIndexes" )
+@ApiVersion( { DhisApiVersion.DEFAULT, DhisApiVersion.ALL } )
+@RequiredArgsConstructor
+public class DatastoreIndexController
+{
+    private final DatastoreService service;
+
+    private final SchedulingManager schedulingManager;
+
+    /**
+     * Returns the paths indexed in the given namespace.
+     */
+    @GetMapping( value = "/{namespace}", produces = APPLICATION_JSON_VALUE )
+    public @ResponseBody List<String> getIndexedPaths( @PathVariable String namespace )
+    {
+        return service.getIndexedPaths( namespace );
+    }
+
+    /**
+     * Starts indexing the values at the given path for the entries in the
+     * given namespace.
+     */
+    @ResponseBody
+    @PutMapping( value = "/{namespace}/{path:.+}", produces = APPLICATION_JSON_VALUE )
+    public WebMessage addIndex( @PathVariable String namespace, @PathVariable String path,
+        @CurrentUser User currentUser )
+    {
+        return runIndexJob( service.createIndex( namespace, path ), false, currentUser );
+    }
+
+    /**
+     * Starts removing the index of the values at the given path for the
+     * entries in the given namespace.
+     */
+    @ResponseBody
+    @DeleteMapping( value = "/{namespace}/{path:.+}", produces = APPLICATION_JSON_VALUE )
+    public WebMessage removeIndex( @PathVariable String namespace, @PathVariable String path,
+        @CurrentUser User currentUser )
+    {
+        return runIndexJob( service.createIndex( namespace, path ), true, currentUser );
+    }
+
+    private WebMessage runIndexJob( DatastoreIndex index, boolean remove, User currentUser )
+    {
+        DatastoreIndexJobParameters params = new DatastoreIndexJobParameters( index.getNamespace(),
+            index.getPath(), remove );
+        JobConfiguration config = new JobConfiguration( "datastoreIndex", JobType.DATASTORE_INDEX, null,
+            params, true, true );
+        config.setUserUid( currentUser.getUid() );
+        config.setAutoFields();
+
+        if ( !schedulingManager.executeNow( config ) )
+        {
+            return conflict( "A datastore index is already being added or removed" );
+        }
+        return jobConfigurationReport( config );
+    }
+}
@@ -138,6 +138,27 @@ public class SqlViewController
         GridUtils.toXls( grid, response.getOutputStream() );
     }
 
+    @GetMapping( "/{uid}/data.xlsx" )
+    public void getViewXlsx( @PathVariable( "uid" ) String uid,
+        @RequestParam( required = false ) Set<String> criteria,
+        @RequestParam( name = "var", required = false ) Set<String> vars,
+        HttpServletResponse response )
+        throws NotFoundException,
+        IOException
+    {
+        SqlView sqlView = getExistingSQLView( uid );
+
+        List<String> filters = Lists.newArrayList( contextService.getParameterValues( "filter" ) );
+        List<String> fields = Lists.newArrayList( contextService.getParameterValues( "fields" ) );
+
+        String filename = CodecUtils.filenameEncode( sqlView.getName() ) + ".xlsx";
+        contextUtils.configureResponse( response, ContextUtils.CONTENT_TYPE_XLSX, sqlView.getCacheStrategy(),
+            filename, true );
+
+        sqlViewService.writeSqlViewXlsx( sqlView, getCriteria( criteria ), getCriteria( vars ), filters, fields,
+            response.getOutputStream() );
+    }
+
     @GetMapping( "/{uid}/data.html" )
     public void getViewHtml( @PathVariable( "uid" ) String uid,
         @RequestParam( required = false ) Set<String> criteria,
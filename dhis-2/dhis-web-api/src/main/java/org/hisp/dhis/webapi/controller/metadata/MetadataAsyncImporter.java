@@ -35,6 +35,7 @@ import org.hisp.dhis.commons.util.DebugUtils;
 import org.hisp.dhis.dbms.DbmsUtils;
 import org.hisp.dhis.dxf2.metadata.MetadataImportParams;
 import org.hisp.dhis.dxf2.metadata.MetadataImportService;
+import org.hisp.dhis.scheduling.NotifierJobProgress;
 import org.hisp.dhis.security.SecurityContextRunnable;
 import org.hisp.dhis.system.notification.NotificationLevel;
 import org.hisp.dhis.system.notification.Notifier;
@@ -79,7 +80,7 @@ public class MetadataAsyncImporter extends SecurityContextRunnable
             params.setOverrideUser( manager.get( User.class, params.getOverrideUser().getUid() ) );
         }
 
-        metadataImportService.importMetadata( params );
+        metadataImportService.importMetadata( params, new NotifierJobProgress( notifier, params.getId() ) );
     }
 
     @Override
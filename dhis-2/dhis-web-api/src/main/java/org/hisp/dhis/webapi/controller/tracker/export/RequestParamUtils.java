@@ -44,6 +44,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.common.BaseIdentifiableObject;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.DimensionalObject;
+import org.hisp.dhis.common.PageCursor;
 import org.hisp.dhis.common.QueryFilter;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.common.QueryOperator;
@@ -52,6 +53,7 @@ import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
 import org.hisp.dhis.util.CheckedFunction;
+import org.hisp.dhis.webapi.controller.event.webrequest.OrderCriteria;
 
 /**
  * RequestParamUtils are functions used to parse and transform tracker request
@@ -151,6 +153,46 @@ class RequestParamUtils
             .collect( Collectors.toSet() );
     }
 
+    /**
+     * Parse the cursor of a keyset paging request. An empty cursor requests
+     * the first page. Keyset paging always orders by last updated date and id,
+     * so it cannot be combined with other orders.
+     *
+     * @param cursor cursor token, null if keyset paging is not requested
+     * @param order requested order
+     * @return the cursor or null if the first page is requested
+     * @throws BadRequestException if the cursor is invalid or an order is
+     *         requested
+     */
+    static PageCursor parseCursor( String cursor, List<OrderCriteria> order )
+        throws BadRequestException
+    {
+        if ( cursor == null )
+        {
+            return null;
+        }
+
+        if ( !CollectionUtils.isEmpty( order ) )
+        {
+            throw new BadRequestException(
+                "Order cannot be combined with cursor paging, results are ordered by last updated date and id" );
+        }
+
+        if ( cursor.isEmpty() )
+        {
+            return null;
+        }
+
+        try
+        {
+            return PageCursor.decode( cursor );
+        }
+        catch ( IllegalArgumentException ex )
+        {
+            throw new BadRequestException( ex.getMessage() );
+        }
+    }
+
     private static Stream<String> parseUidString( String input )
     {
         return CollectionUtils.emptyIfNull( TextUtils.splitToSet( input, TextUtils.SEMICOLON ) )
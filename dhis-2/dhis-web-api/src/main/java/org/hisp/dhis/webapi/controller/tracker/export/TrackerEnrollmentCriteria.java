@@ -75,6 +75,13 @@ public class TrackerEnrollmentCriteria extends PagingAndSortingCriteriaAdapter
 
     private boolean includeDeleted;
 
+    /**
+     * Cursor returned as {@code nextCursor} by the previous page. Requests
+     * keyset paging on last updated date and id instead of paging by page
+     * number. An empty cursor requests the first page.
+     */
+    private String cursor;
+
     @Override
     public boolean isLegacy()
     {
@@ -31,6 +31,7 @@ import static org.apache.commons.lang3.BooleanUtils.toBooleanDefaultIfNull;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.hisp.dhis.webapi.controller.event.mapper.OrderParamsHelper.toOrderParams;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamUtils.applyIfNonEmpty;
+import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamUtils.parseCursor;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamUtils.parseUids;
 
 import java.util.HashSet;
@@ -42,6 +43,7 @@ import javax.annotation.Nonnull;
 import lombok.RequiredArgsConstructor;
 
 import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.PageCursor;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.feedback.ForbiddenException;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -103,6 +105,8 @@ public class TrackerEnrollmentCriteriaMapper
         Set<String> orgUnitIds = parseUids( criteria.getOrgUnit() );
         Set<OrganisationUnit> orgUnits = validateOrgUnits( orgUnitIds, user );
 
+        PageCursor cursor = parseCursor( criteria.getCursor(), criteria.getOrder() );
+
         ProgramInstanceQueryParams params = new ProgramInstanceQueryParams();
         params.setProgram( program );
         params.setProgramStatus( criteria.getProgramStatus() );
@@ -120,6 +124,8 @@ public class TrackerEnrollmentCriteriaMapper
         params.setPageSize( criteria.getPageSize() );
         params.setTotalPages( criteria.isTotalPages() );
         params.setSkipPaging( toBooleanDefaultIfNull( criteria.isSkipPaging(), false ) );
+        params.setCursorPaging( criteria.getCursor() != null );
+        params.setCursor( cursor );
         params.setIncludeDeleted( criteria.isIncludeDeleted() );
         params.setUser( user );
         params.setOrder( toOrderParams( criteria.getOrder() ) );
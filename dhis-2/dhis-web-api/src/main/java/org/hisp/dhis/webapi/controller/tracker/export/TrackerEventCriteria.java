@@ -113,4 +113,11 @@ class TrackerEventCriteria extends PagingAndSortingCriteriaAdapter
     private Set<String> enrollments = new HashSet<>();
 
     private IdSchemes idSchemes = new IdSchemes();
+
+    /**
+     * Cursor returned as {@code nextCursor} by the previous page. Requests
+     * keyset paging on last updated date and id instead of paging by page
+     * number. An empty cursor requests the first page.
+     */
+    private String cursor;
 }
@@ -31,6 +31,7 @@ import static org.apache.commons.lang3.BooleanUtils.toBooleanDefaultIfNull;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamUtils.applyIfNonEmpty;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamUtils.parseAndFilterUids;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamUtils.parseAttributeQueryItems;
+import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamUtils.parseCursor;
 import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamUtils.parseQueryItem;
 
 import java.util.ArrayList;
@@ -51,6 +52,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.common.PageCursor;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.commons.collection.CollectionUtils;
 import org.hisp.dhis.dataelement.DataElement;
@@ -166,6 +168,8 @@ class TrackerEventCriteriaMapper
 
         Set<String> assignedUserIds = parseAndFilterUids( criteria.getAssignedUser() );
 
+        PageCursor cursor = parseCursor( criteria.getCursor(), criteria.getOrder() );
+
         Map<String, SortDirection> dataElementOrders = getDataElementsFromOrder( criteria.getOrder() );
 
         List<QueryItem> dataElements = new ArrayList<>();
@@ -214,6 +218,7 @@ class TrackerEventCriteriaMapper
             .setPage( criteria.getPage() )
             .setPageSize( criteria.getPageSize() ).setTotalPages( criteria.isTotalPages() )
             .setSkipPaging( toBooleanDefaultIfNull( criteria.isSkipPaging(), false ) )
+            .setCursorPaging( criteria.getCursor() != null ).setCursor( cursor )
             .setSkipEventId( criteria.getSkipEventId() ).setIncludeAttributes( false )
             .setIncludeAllDataElements( false ).addDataElements( dataElements )
             .addFilters( filters ).addFilterAttributes( filterAttributes )
@@ -35,8 +35,10 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Nonnull;
@@ -45,6 +47,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import lombok.RequiredArgsConstructor;
 
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.hisp.dhis.common.DhisApiVersion;
 import org.hisp.dhis.common.OpenApi;
 import org.hisp.dhis.commons.collection.CollectionUtils;
@@ -74,6 +77,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @OpenApi.Tags( "tracker" )
@@ -89,6 +94,11 @@ public class TrackerEventsExportController
 
     private static final EventMapper EVENTS_MAPPER = Mappers.getMapper( EventMapper.class );
 
+    /**
+     * Number of events fetched per batch when streaming unpaged exports.
+     */
+    private static final int STREAM_BATCH_SIZE = 1000;
+
     @Nonnull
     private final EventService eventService;
 
@@ -106,6 +116,8 @@ public class TrackerEventsExportController
 
     private final EventFieldsParamMapper eventsMapper;
 
+    private final ObjectMapper jsonMapper;
+
     @GetMapping( produces = APPLICATION_JSON_VALUE )
     public PagingWrapper<ObjectNode> getEvents(
         TrackerEventCriteria eventCriteria,
@@ -135,6 +147,48 @@ public class TrackerEventsExportController
         return pagingWrapper.withInstances( objectNodes );
     }
 
+    /**
+     * Unpaged export. Unless an order is requested, events are fetched in
+     * batches using keyset paging and each batch is written to the response
+     * before the next is fetched, so that the export is never held in memory
+     * as a whole.
+     */
+    @GetMapping( produces = APPLICATION_JSON_VALUE, params = "skipPaging=true" )
+    public void getEventsUnpaged(
+        TrackerEventCriteria eventCriteria,
+        @RequestParam( defaultValue = DEFAULT_FIELDS_PARAM ) List<FieldPath> fields,
+        HttpServletResponse response )
+        throws IOException,
+        BadRequestException,
+        ForbiddenException
+    {
+        EventSearchParams eventSearchParams = requestToSearchParams.map( eventCriteria );
+
+        response.setContentType( APPLICATION_JSON_VALUE );
+
+        try ( JsonGenerator generator = jsonMapper.getFactory().createGenerator( response.getOutputStream() ) )
+        {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart( "instances" );
+
+            if ( !areAllEnrollmentsInvalid( eventCriteria, eventSearchParams ) )
+            {
+                forEachEventBatch( eventCriteria, eventSearchParams, events -> {
+                    for ( ObjectNode objectNode : fieldFilterService
+                        .toObjectNodes( EVENTS_MAPPER.fromCollection( events ), fields ) )
+                    {
+                        jsonMapper.writeTree( generator, objectNode );
+                    }
+
+                    generator.flush();
+                } );
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
     @GetMapping( produces = { CONTENT_TYPE_CSV, CONTENT_TYPE_CSV_GZIP, CONTENT_TYPE_TEXT_CSV } )
     public void getCsvEvents(
         TrackerEventCriteria eventCriteria,
@@ -152,8 +206,6 @@ public class TrackerEventsExportController
             return;
         }
 
-        Events events = eventService.getEvents( eventSearchParams );
-
         OutputStream outputStream = response.getOutputStream();
         response.setContentType( CONTENT_TYPE_CSV );
         response.setHeader( HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.csv\"" );
@@ -166,7 +218,65 @@ public class TrackerEventsExportController
             response.setHeader( HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.csv.gz\"" );
         }
 
-        csvEventService.writeEvents( outputStream, EVENTS_MAPPER.fromCollection( events.getEvents() ), !skipHeader );
+        if ( !eventSearchParams.isSkipPaging() )
+        {
+            Events events = eventService.getEvents( eventSearchParams );
+            csvEventService.writeEvents( outputStream, EVENTS_MAPPER.fromCollection( events.getEvents() ),
+                !skipHeader );
+            return;
+        }
+
+        try ( OutputStream csvOutputStream = outputStream )
+        {
+            // Each batch is written separately, the stream is closed at the end
+            OutputStream batchOutputStream = CloseShieldOutputStream.wrap( csvOutputStream );
+            AtomicBoolean withHeader = new AtomicBoolean( !skipHeader );
+
+            forEachEventBatch( eventCriteria, eventSearchParams,
+                events -> csvEventService.writeEvents( batchOutputStream, EVENTS_MAPPER.fromCollection( events ),
+                    withHeader.getAndSet( false ) ) );
+        }
+    }
+
+    /**
+     * Passes the events matching the given params to the consumer. Events are
+     * streamed in batches unless an order is requested, which keyset paging
+     * does not support. Then all events are passed in one batch.
+     */
+    private void forEachEventBatch( TrackerEventCriteria eventCriteria, EventSearchParams eventSearchParams,
+        EventBatchConsumer consumer )
+        throws IOException
+    {
+        if ( eventCriteria.isSortingRequest() )
+        {
+            consumer.accept( eventService.getEvents( eventSearchParams ).getEvents() );
+            return;
+        }
+
+        try
+        {
+            eventService.streamEvents( eventSearchParams, STREAM_BATCH_SIZE, events -> {
+                try
+                {
+                    consumer.accept( events );
+                }
+                catch ( IOException ex )
+                {
+                    throw new UncheckedIOException( ex );
+                }
+            } );
+        }
+        catch ( UncheckedIOException ex )
+        {
+            throw ex.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface EventBatchConsumer
+    {
+        void accept( List<ProgramStageInstance> events )
+            throws IOException;
     }
 
     private boolean areAllEnrollmentsInvalid( TrackerEventCriteria eventCriteria, EventSearchParams eventSearchParams )
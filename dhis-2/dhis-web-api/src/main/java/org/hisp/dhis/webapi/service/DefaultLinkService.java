@@ -51,6 +51,7 @@ import org.hisp.dhis.schema.Property;
 import org.hisp.dhis.schema.PropertyType;
 import org.hisp.dhis.schema.Schema;
 import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.system.util.ReflectionUtils;
 import org.springframework.stereotype.Service;
 
 /**
@@ -371,7 +372,7 @@ public class DefaultLinkService implements LinkService
 
         try
         {
-            Object value = id.getGetterMethod().invoke( object );
+            Object value = ReflectionUtils.invokeGetter( object, id );
 
             if ( !String.class.isInstance( value ) )
             {
@@ -32,17 +32,22 @@ import static org.hisp.dhis.webapi.controller.tracker.export.RequestParamUtils.p
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
+import org.hisp.dhis.common.PageCursor;
 import org.hisp.dhis.common.QueryFilter;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.common.QueryOperator;
 import org.hisp.dhis.feedback.BadRequestException;
 import org.hisp.dhis.trackedentity.TrackedEntityAttribute;
+import org.hisp.dhis.webapi.controller.event.mapper.SortDirection;
+import org.hisp.dhis.webapi.controller.event.webrequest.OrderCriteria;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -160,6 +165,25 @@ class RequestParamUtilsTest
             RequestParamUtils.parseQueryFilter( "like:project:x" ) );
     }
 
+    @Test
+    void shouldParseCursor()
+        throws BadRequestException
+    {
+        PageCursor cursor = PageCursor.of( new Date(), 42L );
+
+        assertEquals( cursor, RequestParamUtils.parseCursor( cursor.encode(), null ) );
+        assertNull( RequestParamUtils.parseCursor( "", null ) );
+        assertNull( RequestParamUtils.parseCursor( null, null ) );
+    }
+
+    @Test
+    void shouldFailWhenCursorIsInvalidOrCombinedWithOrder()
+    {
+        assertThrows( BadRequestException.class, () -> RequestParamUtils.parseCursor( "invalid", null ) );
+        assertThrows( BadRequestException.class, () -> RequestParamUtils.parseCursor( "",
+            List.of( OrderCriteria.of( "createdAt", SortDirection.ASC ) ) ) );
+    }
+
     private TrackedEntityAttribute trackedEntityAttribute( String uid )
     {
         TrackedEntityAttribute tea = new TrackedEntityAttribute();